@@ -5,6 +5,7 @@ module org.sgraph {
     requires javafx.controls;
     requires javafx.fxml;
     requires net.synedra.validatorfx;
+    requires static jdk.incubator.vector;
 
 
     opens org.sgraph to javafx.fxml;
@@ -0,0 +1,682 @@
+package org.sgraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Klasa realizująca przeszukiwanie wszerz (BFS) grafu-siatki na zbiorach bitowych, przełączające się między rozwijaniem frontu
+ * od odwiedzonych wierzchołków (top-down) i sprawdzaniem wszystkich nieodwiedzonych wierzchołków słowami 64-bitowymi (bottom-up).
+ * <p>
+ * Połączenia są przechowywane jako dwa zbiory bitowe (krawędzie w prawo i w dół), a odwiedzone wierzchołki - jako trzeci zbiór,
+ * więc bez zapisywania liczby kroków algorytm zajmuje około 3 bitów na wierzchołek (5 bitów po przejściu w tryb bottom-up).
+ * Mały front jest przetwarzany listą indeksów, a duży - przesunięciami bitowymi całych słów, równolegle w pasach słów w puli ForkJoinPool.
+ * Kolejne wywołania metody run nie zerują odwiedzonych wierzchołków, co pozwala wyznaczać spójne składowe tak jak klasą BreadthFirstSearch.
+ * Obiekt klasy nie może być współdzielony między wątkami.
+ *
+ * @see BreadthFirstSearch
+ */
+public class BitsetBreadthFirstSearch {
+    /**
+     * Względny koszt przetworzenia jednego wierzchołka frontu w trybie top-down w porównaniu z przetworzeniem jednego słowa w trybie bottom-up.
+     * Tryb bottom-up jest wybierany, gdy front pomnożony przez ten koszt przekracza liczbę słów w obszarze frontu.
+     */
+    private static final int TOP_DOWN_COST = 2;
+    /**
+     * Liczba słów przetwarzanych sekwencyjnie przez jedno zadanie w trybie bottom-up.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Liczba wierzchołków w siatce.
+     */
+    private final int nodeCount;
+    /**
+     * Zbiór bitowy krawędzi - bit i oznacza połączenie wierzchołka i z sąsiadem po prawej.
+     */
+    private final long[] rightEdges;
+    /**
+     * Zbiór bitowy krawędzi - bit i oznacza połączenie wierzchołka i z sąsiadem poniżej.
+     */
+    private final long[] downEdges;
+    /**
+     * Zbiór bitowy odwiedzonych wierzchołków.
+     */
+    private final long[] visitedNodes;
+    /**
+     * Tablica liczby kroków od wierzchołka początkowego (-1 dla nieodwiedzonych) lub null, jeżeli liczba kroków nie jest zapisywana.
+     */
+    private final int[] hopDistances;
+    /**
+     * Pula wątków przetwarzająca front w trybie bottom-up.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Lista wierzchołków aktualnego frontu w trybie top-down.
+     */
+    private IntArrayList frontier = new IntArrayList();
+    /**
+     * Lista wierzchołków następnego frontu w trybie top-down.
+     */
+    private IntArrayList nextFrontier = new IntArrayList();
+    /**
+     * Zbiór bitowy aktualnego frontu w trybie bottom-up, tworzony przy pierwszym przejściu w ten tryb. Poza obszarem frontu zawiera same zera.
+     */
+    private long[] frontierBits;
+    /**
+     * Zbiór bitowy następnego frontu w trybie bottom-up. Poza obszarem frontu zawiera same zera.
+     */
+    private long[] nextFrontierBits;
+    /**
+     * Liczba wierzchołków frontu wyznaczonego w ostatnim kroku algorytmu.
+     */
+    private int nextFrontierSize;
+    /**
+     * Liczba odwiedzonych wierzchołków we wszystkich wywołaniach.
+     */
+    private int visitedNodeCount;
+    /**
+     * Liczba poziomów (kroków) ostatniego przeszukiwania.
+     */
+    private int levelCount;
+    /**
+     * Liczba poziomów ostatniego przeszukiwania przetworzonych w trybie bottom-up.
+     */
+    private int bottomUpLevelCount;
+    /**
+     * Indeks słowa, od którego wyszukiwany jest nieodwiedzony wierzchołek.
+     */
+    private int notVisitedWordIndex;
+
+    /**
+     * Konstruktor klasy
+     * Zapisuje liczbę kroków do odwiedzonych wierzchołków i przetwarza duże fronty we wspólnej puli ForkJoinPool.
+     *
+     * @param snapshot kopia grafu, w którym będzie działać algorytm
+     */
+    public BitsetBreadthFirstSearch(GraphSnapshot snapshot) {
+        this(snapshot, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot           kopia grafu, w którym będzie działać algorytm
+     * @param recordHopDistances informacja, czy zapisywać liczbę kroków do odwiedzonych wierzchołków (4 bajty na wierzchołek)
+     * @param pool               pula wątków przetwarzająca duże fronty
+     */
+    public BitsetBreadthFirstSearch(GraphSnapshot snapshot, boolean recordHopDistances, ForkJoinPool pool) {
+        this(snapshot, recordHopDistances, pool, null);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Krawędzie zablokowane przez maskę i krawędzie zablokowanych wierzchołków są pomijane już przy budowie zbiorów bitowych połączeń,
+     * więc maska nie zwiększa kosztu przeszukiwania. Zablokowane wierzchołki są od początku oznaczone jako odwiedzone (bez liczby kroków),
+     * dzięki czemu nie są osiągane ani nie tworzą osobnych składowych.
+     *
+     * @param snapshot           kopia grafu, w którym będzie działać algorytm
+     * @param recordHopDistances informacja, czy zapisywać liczbę kroków do odwiedzonych wierzchołków (4 bajty na wierzchołek)
+     * @param pool               pula wątków przetwarzająca duże fronty
+     * @param mask               maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane
+     * @throws IllegalArgumentException jeżeli maska nie pasuje do wymiarów grafu
+     */
+    public BitsetBreadthFirstSearch(GraphSnapshot snapshot, boolean recordHopDistances, ForkJoinPool pool, BlockMask mask) {
+        if (mask != null && !mask.matches(snapshot))
+            throw new IllegalArgumentException("BitsetBreadthFirstSearch: The mask does not match graph dimensions.");
+
+        this.pool = pool;
+
+        columnCount = snapshot.getColumnCount();
+        nodeCount = snapshot.getNodeCount();
+
+        int wordCount = (nodeCount + 63) >>> 6;
+        rightEdges = new long[wordCount];
+        downEdges = new long[wordCount];
+        visitedNodes = new long[wordCount];
+
+        for (int i = 0; i < nodeCount; i++) {
+            int rightNodeIndex = snapshot.getAdjacentNodeIndex(i, Move.MoveDirection.RIGHT);
+            int downNodeIndex = snapshot.getAdjacentNodeIndex(i, Move.MoveDirection.DOWN);
+
+            if (mask != null && mask.isNodeBlocked(i)) {
+                visitedNodes[i >>> 6] |= 1L << i;
+                visitedNodeCount++;
+                continue;
+            }
+
+            // blocking is symmetric, so the edge and the far end are enough
+            if (rightNodeIndex != -1 && (mask == null || !mask.isMoveBlocked(2 * i, rightNodeIndex)))
+                rightEdges[i >>> 6] |= 1L << i;
+
+            if (downNodeIndex != -1 && (mask == null || !mask.isMoveBlocked(2 * i + 1, downNodeIndex)))
+                downEdges[i >>> 6] |= 1L << i;
+        }
+
+        if (recordHopDistances) {
+            hopDistances = new int[nodeCount];
+            Arrays.fill(hopDistances, -1);
+        } else {
+            hopDistances = null;
+        }
+    }
+
+    /**
+     * Wyznacza liczbę spójnych składowych grafu kolejnymi przeszukiwaniami od nieodwiedzonych wierzchołków.
+     *
+     * @param snapshot kopia grafu
+     * @return liczba spójnych składowych
+     */
+    public static int countComponents(GraphSnapshot snapshot) {
+        return countComponents(snapshot, null);
+    }
+
+    /**
+     * Wyznacza liczbę spójnych składowych grafu z pominięciem wierzchołków i krawędzi zablokowanych przez maskę.
+     *
+     * @param snapshot kopia grafu
+     * @param mask     maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane
+     * @return liczba spójnych składowych niezablokowanych wierzchołków
+     * @throws IllegalArgumentException jeżeli maska nie pasuje do wymiarów grafu
+     */
+    public static int countComponents(GraphSnapshot snapshot, BlockMask mask) {
+        BitsetBreadthFirstSearch bfs = new BitsetBreadthFirstSearch(snapshot, false, ForkJoinPool.commonPool(), mask);
+        int componentCount = 0;
+
+        for (int nodeIndex = bfs.getNotVisitedNode(); nodeIndex != -1; nodeIndex = bfs.getNotVisitedNode()) {
+            bfs.run(nodeIndex);
+            componentCount++;
+        }
+
+        return componentCount;
+    }
+
+    /**
+     * Rozpoczyna działanie algorytmu BFS i odwiedza wszystkie wierzchołki połączone z wierzchołkiem początkowym.
+     * Jeżeli wierzchołek początkowy został odwiedzony w poprzednim wywołaniu, nic nie robi.
+     *
+     * @param startNodeIndex indeks wierzchołka, od którego rozpoczyna się działanie algorytmu
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public void run(int startNodeIndex) {
+        run(startNodeIndex, CancellationToken.none());
+    }
+
+    /**
+     * Rozpoczyna działanie algorytmu BFS i odwiedza wszystkie wierzchołki połączone z wierzchołkiem początkowym,
+     * przerywając działanie po zgłoszeniu przerwania lub upływie terminu. Stan przerwania jest sprawdzany przed każdym poziomem.
+     * Po przerwaniu wierzchołki odwiedzone do tej pory pozostają oznaczone wraz z liczbą kroków.
+     *
+     * @param startNodeIndex indeks wierzchołka, od którego rozpoczyna się działanie algorytmu
+     * @param token          obiekt zgłaszający przerwanie
+     * @return true, jeżeli odwiedzono wszystkie połączone wierzchołki; false, jeżeli działanie zostało przerwane
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public boolean run(int startNodeIndex, CancellationToken token) {
+        if (startNodeIndex < 0 || startNodeIndex >= nodeCount)
+            throw new IllegalArgumentException(String.format("BitsetBreadthFirstSearch: Invalid starting node index. Allowed range: %d - %d", 0, nodeCount - 1));
+
+        levelCount = 0;
+        bottomUpLevelCount = 0;
+
+        if (isVisited(startNodeIndex))
+            return true;
+
+        frontier.clear();
+        visit(startNodeIndex, 0);
+        frontier.add(startNodeIndex);
+
+        int frontierSize = 1;
+        int firstNodeIndex = startNodeIndex; // bounds of the frontier
+        int lastNodeIndex = startNodeIndex;
+        boolean isBottomUp = false;
+
+        while (frontierSize > 0) {
+            if (token.isCancelled()) {
+                if (isBottomUp)
+                    Arrays.fill(frontierBits, firstNodeIndex >>> 6, (lastNodeIndex >>> 6) + 1, 0);
+
+                return false;
+            }
+
+            levelCount++;
+
+            int areaWordCount = getAreaLastWord(lastNodeIndex) - getAreaFirstWord(firstNodeIndex) + 1;
+
+            if (!isBottomUp && (long) frontierSize * TOP_DOWN_COST > areaWordCount) {
+                toFrontierBits();
+                isBottomUp = true;
+            } else if (isBottomUp && (long) frontierSize * TOP_DOWN_COST * 2 < areaWordCount) { // hysteresis avoids switching back and forth
+                toFrontierList(firstNodeIndex, lastNodeIndex);
+                isBottomUp = false;
+            }
+
+            long bounds;
+
+            if (isBottomUp) {
+                bottomUpLevelCount++;
+                bounds = stepBottomUp(firstNodeIndex, lastNodeIndex);
+            } else {
+                bounds = stepTopDown();
+            }
+
+            frontierSize = nextFrontierSize;
+            firstNodeIndex = (int) (bounds >>> 32);
+            lastNodeIndex = (int) bounds;
+        }
+
+        levelCount--; // the last level did not reach any node
+
+        if (isBottomUp)
+            bottomUpLevelCount--;
+
+        return true;
+    }
+
+    /**
+     * Wykonuje jeden krok algorytmu w trybie top-down - sprawdza sąsiadów wszystkich wierzchołków frontu.
+     *
+     * @return indeksy pierwszego i ostatniego wierzchołka nowego frontu zapisane jako (first << 32) | last
+     */
+    private long stepTopDown() {
+        int level = levelCount;
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+
+        nextFrontier.clear();
+
+        for (int k = 0; k < frontier.size(); k++) {
+            int nodeIndex = frontier.get(k);
+            int up = nodeIndex - columnCount;
+            int down = nodeIndex + columnCount;
+
+            if (up >= 0 && isSet(downEdges, up) && !isVisited(up)) {
+                visit(up, level);
+                nextFrontier.add(up);
+            }
+
+            if (nodeIndex > 0 && isSet(rightEdges, nodeIndex - 1) && !isVisited(nodeIndex - 1)) {
+                visit(nodeIndex - 1, level);
+                nextFrontier.add(nodeIndex - 1);
+            }
+
+            if (isSet(rightEdges, nodeIndex) && !isVisited(nodeIndex + 1)) {
+                visit(nodeIndex + 1, level);
+                nextFrontier.add(nodeIndex + 1);
+            }
+
+            if (isSet(downEdges, nodeIndex) && !isVisited(down)) {
+                visit(down, level);
+                nextFrontier.add(down);
+            }
+        }
+
+        for (int k = 0; k < nextFrontier.size(); k++) {
+            int nodeIndex = nextFrontier.get(k);
+
+            if (nodeIndex < first)
+                first = nodeIndex;
+
+            if (nodeIndex > last)
+                last = nodeIndex;
+        }
+
+        IntArrayList swap = frontier;
+        frontier = nextFrontier;
+        nextFrontier = swap;
+        nextFrontierSize = frontier.size();
+
+        return nextFrontierSize == 0 ? 0 : ((long) first << 32) | last;
+    }
+
+    /**
+     * Wykonuje jeden krok algorytmu w trybie bottom-up - wyznacza nowy front przesunięciami bitowymi słów z obszaru frontu.
+     * Duże obszary są przetwarzane równolegle w pasach słów, a każde zadanie zapisuje wyłącznie własne słowa.
+     *
+     * @param firstNodeIndex indeks pierwszego wierzchołka aktualnego frontu
+     * @param lastNodeIndex  indeks ostatniego wierzchołka aktualnego frontu
+     * @return indeksy pierwszego i ostatniego wierzchołka nowego frontu zapisane jako (first << 32) | last
+     */
+    private long stepBottomUp(int firstNodeIndex, int lastNodeIndex) {
+        int level = levelCount;
+        int firstWord = getAreaFirstWord(firstNodeIndex);
+        int lastWord = getAreaLastWord(lastNodeIndex);
+        FrontierBounds bounds;
+
+        if (lastWord - firstWord < SEQUENTIAL_THRESHOLD) {
+            bounds = expandWords(firstWord, lastWord + 1, level);
+        } else {
+            FrontierBounds total = new FrontierBounds();
+            ParallelTasks.forEachRange(pool, firstWord, lastWord + 1, SEQUENTIAL_THRESHOLD, (from, to) -> total.merge(expandWords(from, to, level)));
+            bounds = total;
+        }
+
+        // keeps the invariant that the frontier sets are empty outside the frontier area
+        Arrays.fill(frontierBits, firstNodeIndex >>> 6, (lastNodeIndex >>> 6) + 1, 0);
+        long[] swap = frontierBits;
+        frontierBits = nextFrontierBits;
+        nextFrontierBits = swap;
+
+        visitedNodeCount += bounds.size;
+        nextFrontierSize = bounds.size;
+
+        return nextFrontierSize == 0 ? 0 : ((long) bounds.first << 32) | bounds.last;
+    }
+
+    /**
+     * Wyznacza słowa następnego frontu z określonego zakresu i oznacza nowe wierzchołki jako odwiedzone.
+     *
+     * @param from  indeks pierwszego słowa zakresu
+     * @param to    indeks słowa za ostatnim słowem zakresu
+     * @param level liczba kroków do wierzchołków nowego frontu
+     * @return liczba i zakres indeksów wierzchołków nowego frontu w przetworzonych słowach
+     */
+    private FrontierBounds expandWords(int from, int to, int level) {
+        FrontierBounds bounds = new FrontierBounds();
+        long[] current = frontierBits;
+        long[] next = nextFrontierBits;
+
+        for (int w = from; w < to; w++) {
+            if (visitedNodes[w] == -1L) { // the inside of the searched area is mostly visited already
+                next[w] = 0;
+                continue;
+            }
+
+            long position = (long) w << 6;
+            long reached = getBitsAnd(current, rightEdges, position - 1) // from the left neighbour
+                    | getBitsAnd(current, downEdges, position - columnCount) // from the neighbour above
+                    | (getBits(current, position + 1) & rightEdges[w]) // from the right neighbour
+                    | (getBits(current, position + columnCount) & downEdges[w]); // from the neighbour below
+
+            reached &= ~visitedNodes[w];
+            next[w] = reached;
+
+            if (reached == 0)
+                continue;
+
+            visitedNodes[w] |= reached;
+            bounds.size += Long.bitCount(reached);
+            bounds.first = Math.min(bounds.first, (w << 6) + Long.numberOfTrailingZeros(reached));
+            bounds.last = (w << 6) + 63 - Long.numberOfLeadingZeros(reached);
+
+            if (hopDistances != null) {
+                for (long bits = reached; bits != 0; bits &= bits - 1)
+                    hopDistances[(w << 6) + Long.numberOfTrailingZeros(bits)] = level;
+            }
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Przenosi front z listy indeksów do zbioru bitowego.
+     */
+    private void toFrontierBits() {
+        if (frontierBits == null) {
+            frontierBits = new long[visitedNodes.length];
+            nextFrontierBits = new long[visitedNodes.length];
+        }
+
+        for (int k = 0; k < frontier.size(); k++) {
+            int nodeIndex = frontier.get(k);
+            frontierBits[nodeIndex >>> 6] |= 1L << nodeIndex;
+        }
+
+        frontier.clear();
+    }
+
+    /**
+     * Przenosi front ze zbioru bitowego do listy indeksów i zeruje słowa zbioru.
+     *
+     * @param firstNodeIndex indeks pierwszego wierzchołka frontu
+     * @param lastNodeIndex  indeks ostatniego wierzchołka frontu
+     */
+    private void toFrontierList(int firstNodeIndex, int lastNodeIndex) {
+        frontier.clear();
+
+        for (int w = firstNodeIndex >>> 6; w <= lastNodeIndex >>> 6; w++) {
+            for (long bits = frontierBits[w]; bits != 0; bits &= bits - 1)
+                frontier.add((w << 6) + Long.numberOfTrailingZeros(bits));
+
+            frontierBits[w] = 0;
+        }
+    }
+
+    /**
+     * Zwraca indeks pierwszego słowa, w którym mogą znaleźć się sąsiedzi wierzchołków frontu.
+     *
+     * @param firstNodeIndex indeks pierwszego wierzchołka frontu
+     * @return indeks słowa
+     */
+    private int getAreaFirstWord(int firstNodeIndex) {
+        return Math.max(0, firstNodeIndex - columnCount) >>> 6;
+    }
+
+    /**
+     * Zwraca indeks ostatniego słowa, w którym mogą znaleźć się sąsiedzi wierzchołków frontu.
+     *
+     * @param lastNodeIndex indeks ostatniego wierzchołka frontu
+     * @return indeks słowa
+     */
+    private int getAreaLastWord(int lastNodeIndex) {
+        return (int) (Math.min((long) nodeCount - 1, (long) lastNodeIndex + columnCount) >>> 6);
+    }
+
+    /**
+     * Zwraca 64 bity zbioru zaczynające się od określonej pozycji. Bity spoza zbioru są traktowane jako zera.
+     *
+     * @param bits     zbiór bitowy
+     * @param position pozycja pierwszego bitu (może być ujemna)
+     * @return słowo zawierające bity z pozycji [position; position + 64)
+     */
+    private static long getBits(long[] bits, long position) {
+        int w = (int) (position >> 6);
+        int shift = (int) (position & 63);
+        long low = w >= 0 && w < bits.length ? bits[w] : 0;
+
+        if (shift == 0)
+            return low;
+
+        long high = w + 1 >= 0 && w + 1 < bits.length ? bits[w + 1] : 0;
+
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * Zwraca 64 bity iloczynu dwóch zbiorów zaczynające się od określonej pozycji. Bity spoza zbiorów są traktowane jako zera.
+     *
+     * @param bits     pierwszy zbiór bitowy
+     * @param mask     drugi zbiór bitowy tej samej długości
+     * @param position pozycja pierwszego bitu (może być ujemna)
+     * @return słowo zawierające bity iloczynu z pozycji [position; position + 64)
+     */
+    private static long getBitsAnd(long[] bits, long[] mask, long position) {
+        int w = (int) (position >> 6);
+        int shift = (int) (position & 63);
+        long low = w >= 0 && w < bits.length ? bits[w] & mask[w] : 0;
+
+        if (shift == 0)
+            return low;
+
+        long high = w + 1 >= 0 && w + 1 < bits.length ? bits[w + 1] & mask[w + 1] : 0;
+
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * Sprawdza, czy bit o określonej pozycji jest ustawiony.
+     *
+     * @param bits     zbiór bitowy
+     * @param position pozycja bitu
+     * @return true, jeżeli bit jest ustawiony; w przeciwnym razie false
+     */
+    private static boolean isSet(long[] bits, int position) {
+        return (bits[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Oznacza wierzchołek jako odwiedzony i zapisuje liczbę kroków do niego.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param level     liczba kroków od wierzchołka początkowego
+     */
+    private void visit(int nodeIndex, int level) {
+        visitedNodes[nodeIndex >>> 6] |= 1L << nodeIndex;
+        visitedNodeCount++;
+
+        if (hopDistances != null)
+            hopDistances[nodeIndex] = level;
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek został odwiedzony w którymkolwiek wywołaniu.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return true, jeżeli wierzchołek został odwiedzony; w przeciwnym razie false
+     */
+    public boolean isVisited(int nodeIndex) {
+        return isSet(visitedNodes, nodeIndex);
+    }
+
+    /**
+     * Sprawdza, czy w grafie jest jakiś nieodwiedzony wierzchołek.
+     *
+     * @return true, jeżeli jakiś wierzchołek nie został odwiedzony, w przeciwnym razie false
+     */
+    public boolean hasNotVisitedNode() {
+        return visitedNodeCount < nodeCount;
+    }
+
+    /**
+     * Zwraca indeks nieodwiedzonego wierzchołka o najmniejszym indeksie.
+     * Jeżeli nie ma takiego wierzchołka, zwraca -1.
+     *
+     * @return indeks nieodwiedzonego wierzchołka
+     */
+    public int getNotVisitedNode() {
+        // visited nodes are never cleared, so the words before the cursor stay full
+        for (; notVisitedWordIndex < visitedNodes.length; notVisitedWordIndex++) {
+            long notVisited = ~visitedNodes[notVisitedWordIndex];
+
+            if (notVisited != 0) {
+                int nodeIndex = (notVisitedWordIndex << 6) + Long.numberOfTrailingZeros(notVisited);
+
+                return nodeIndex < nodeCount ? nodeIndex : -1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków odwiedzonych we wszystkich wywołaniach, łącznie z wierzchołkami zablokowanymi przez maskę.
+     *
+     * @return liczba odwiedzonych wierzchołków
+     */
+    public int getVisitedNodeCount() {
+        return visitedNodeCount;
+    }
+
+    /**
+     * Zwraca indeksy wierzchołków odwiedzonych we wszystkich wywołaniach (łącznie z zablokowanymi) w rosnącej kolejności.
+     *
+     * @return tablica indeksów odwiedzonych wierzchołków
+     */
+    public int[] getVisitedNodeIndexes() {
+        int[] nodeIndexes = new int[visitedNodeCount];
+        int k = 0;
+
+        for (int w = 0; w < visitedNodes.length; w++) {
+            for (long bits = visitedNodes[w]; bits != 0; bits &= bits - 1)
+                nodeIndexes[k++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        return nodeIndexes;
+    }
+
+    /**
+     * Zwraca kopię zbioru bitowego odwiedzonych wierzchołków - bit i słowa i / 64 oznacza odwiedzenie wierzchołka i.
+     *
+     * @return zbiór bitowy odwiedzonych wierzchołków
+     */
+    public long[] getVisitedNodeBits() {
+        return visitedNodes.clone();
+    }
+
+    /**
+     * Zwraca liczbę kroków od wierzchołka początkowego przeszukiwania, w którym wierzchołek został odwiedzony.
+     * Jeżeli wierzchołek nie został odwiedzony, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return liczba kroków lub -1
+     * @throws IllegalStateException jeżeli liczba kroków nie jest zapisywana
+     */
+    public int getHopDistance(int nodeIndex) {
+        if (hopDistances == null)
+            throw new IllegalStateException("BitsetBreadthFirstSearch: Hop distances are not recorded.");
+
+        return hopDistances[nodeIndex];
+    }
+
+    /**
+     * Zwraca kopię tablicy liczby kroków do wierzchołków (-1 dla nieodwiedzonych).
+     *
+     * @return tablica liczby kroków
+     * @throws IllegalStateException jeżeli liczba kroków nie jest zapisywana
+     */
+    public int[] getHopDistances() {
+        if (hopDistances == null)
+            throw new IllegalStateException("BitsetBreadthFirstSearch: Hop distances are not recorded.");
+
+        return hopDistances.clone();
+    }
+
+    /**
+     * Zwraca liczbę poziomów ostatniego przeszukiwania, czyli największą liczbę kroków do odwiedzonego w nim wierzchołka.
+     *
+     * @return liczba poziomów
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Zwraca liczbę poziomów ostatniego przeszukiwania przetworzonych w trybie bottom-up.
+     *
+     * @return liczba poziomów przetworzonych w trybie bottom-up
+     */
+    public int getBottomUpLevelCount() {
+        return bottomUpLevelCount;
+    }
+
+    /**
+     * Klasa przechowująca liczbę wierzchołków i zakres indeksów części nowego frontu.
+     */
+    private static class FrontierBounds {
+        /**
+         * Liczba wierzchołków.
+         */
+        private int size;
+        /**
+         * Najmniejszy indeks wierzchołka.
+         */
+        private int first = Integer.MAX_VALUE;
+        /**
+         * Największy indeks wierzchołka.
+         */
+        private int last = -1;
+
+        /**
+         * Dołącza część frontu wyznaczoną przez inne zadanie.
+         *
+         * @param other dołączana część frontu
+         */
+        private synchronized void merge(FrontierBounds other) {
+            size += other.size;
+            first = Math.min(first, other.first);
+            last = Math.max(last, other.last);
+        }
+    }
+}
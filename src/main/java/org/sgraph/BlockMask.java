@@ -0,0 +1,300 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca maskę zablokowanych wierzchołków i krawędzi grafu-siatki w postaci zbiorów bitowych.
+ * Maska pozwala wyszukiwać ścieżki tak, jakby część wierzchołków lub połączeń została usunięta, bez modyfikowania grafu,
+ * więc wiele scenariuszy może być sprawdzanych jednocześnie na jednej wspólnej kopii grafu.
+ * Zablokowany wierzchołek jest nieosiągalny (również jako wierzchołek początkowy), a zablokowana krawędź nie jest przechodzona w żadną stronę.
+ * Krawędzie są indeksowane tak jak w klasie GraphSnapshot - krawędź o indeksie 2i łączy wierzchołek i z sąsiadem po prawej, a krawędź o indeksie 2i + 1 - z sąsiadem poniżej.
+ * Obiekt klasy może być współdzielony między wątkami, o ile nie jest modyfikowany w trakcie wyszukiwań.
+ *
+ * @see GraphSnapshot
+ */
+public class BlockMask {
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Liczba wierzchołków w siatce.
+     */
+    private final int nodeCount;
+    /**
+     * Zbiór bitowy zablokowanych wierzchołków - bit i słowa i / 64 oznacza wierzchołek o indeksie i.
+     */
+    private final long[] blockedNodes;
+    /**
+     * Zbiór bitowy zablokowanych krawędzi - bit e słowa e / 64 oznacza krawędź o indeksie e.
+     */
+    private final long[] blockedEdges;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy pustą maskę, która niczego nie blokuje.
+     *
+     * @param columnCount liczba kolumn w siatce
+     * @param rowCount    liczba wierszy w siatce
+     * @throws IllegalArgumentException jeżeli wymiary siatki są niedodatnie
+     */
+    public BlockMask(int columnCount, int rowCount) {
+        this(columnCount, rowCount, null, null);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Kopiuje przekazane zbiory bitowe. Wartość null oznacza pusty zbiór.
+     *
+     * @param columnCount  liczba kolumn w siatce
+     * @param rowCount     liczba wierszy w siatce
+     * @param blockedNodes zbiór bitowy zablokowanych wierzchołków lub null
+     * @param blockedEdges zbiór bitowy zablokowanych krawędzi lub null
+     * @throws IllegalArgumentException jeżeli wymiary siatki są niedodatnie lub długość zbioru bitowego nie odpowiada wymiarom
+     */
+    public BlockMask(int columnCount, int rowCount, long[] blockedNodes, long[] blockedEdges) {
+        if (columnCount <= 0 || rowCount <= 0)
+            throw new IllegalArgumentException("BlockMask: The number of columns and rows must be positive.");
+
+        this.columnCount = columnCount;
+        nodeCount = columnCount * rowCount;
+
+        int nodeWordCount = (nodeCount + 63) >>> 6;
+        int edgeWordCount = (2 * nodeCount + 63) >>> 6;
+
+        if ((blockedNodes != null && blockedNodes.length != nodeWordCount) || (blockedEdges != null && blockedEdges.length != edgeWordCount))
+            throw new IllegalArgumentException("BlockMask: The bitset length does not match graph dimensions.");
+
+        this.blockedNodes = blockedNodes == null ? new long[nodeWordCount] : blockedNodes.clone();
+        this.blockedEdges = blockedEdges == null ? new long[edgeWordCount] : blockedEdges.clone();
+    }
+
+    /**
+     * Blokuje wierzchołek o określonym indeksie.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     */
+    public void blockNode(int nodeIndex) {
+        checkNodeIndex(nodeIndex);
+        blockedNodes[nodeIndex >>> 6] |= 1L << nodeIndex;
+    }
+
+    /**
+     * Odblokowuje wierzchołek o określonym indeksie.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     */
+    public void unblockNode(int nodeIndex) {
+        checkNodeIndex(nodeIndex);
+        blockedNodes[nodeIndex >>> 6] &= ~(1L << nodeIndex);
+    }
+
+    /**
+     * Blokuje krawędź o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @throws IllegalArgumentException jeżeli indeks krawędzi jest niepoprawny
+     */
+    public void blockEdge(int edgeIndex) {
+        checkEdgeIndex(edgeIndex);
+        blockedEdges[edgeIndex >>> 6] |= 1L << edgeIndex;
+    }
+
+    /**
+     * Odblokowuje krawędź o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @throws IllegalArgumentException jeżeli indeks krawędzi jest niepoprawny
+     */
+    public void unblockEdge(int edgeIndex) {
+        checkEdgeIndex(edgeIndex);
+        blockedEdges[edgeIndex >>> 6] &= ~(1L << edgeIndex);
+    }
+
+    /**
+     * Blokuje krawędź łączącą dwa sąsiednie w siatce wierzchołki.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeksy wierzchołków są niepoprawne lub wierzchołki nie sąsiadują w siatce
+     */
+    public void blockConnection(int firstNodeIndex, int secondNodeIndex) {
+        blockEdge(getEdgeIndexBetween(firstNodeIndex, secondNodeIndex));
+    }
+
+    /**
+     * Odblokowuje krawędź łączącą dwa sąsiednie w siatce wierzchołki.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeksy wierzchołków są niepoprawne lub wierzchołki nie sąsiadują w siatce
+     */
+    public void unblockConnection(int firstNodeIndex, int secondNodeIndex) {
+        unblockEdge(getEdgeIndexBetween(firstNodeIndex, secondNodeIndex));
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek o określonym indeksie jest zablokowany.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return true, jeżeli wierzchołek jest zablokowany; w przeciwnym razie false
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     */
+    public boolean isNodeBlocked(int nodeIndex) {
+        checkNodeIndex(nodeIndex);
+
+        return (blockedNodes[nodeIndex >>> 6] & (1L << nodeIndex)) != 0;
+    }
+
+    /**
+     * Sprawdza, czy krawędź o określonym indeksie jest zablokowana.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return true, jeżeli krawędź jest zablokowana; w przeciwnym razie false
+     * @throws IllegalArgumentException jeżeli indeks krawędzi jest niepoprawny
+     */
+    public boolean isEdgeBlocked(int edgeIndex) {
+        checkEdgeIndex(edgeIndex);
+
+        return (blockedEdges[edgeIndex >>> 6] & (1L << edgeIndex)) != 0;
+    }
+
+    /**
+     * Sprawdza, czy przejście krawędzią do sąsiedniego wierzchołka jest zablokowane przez krawędź lub wierzchołek docelowy.
+     * Metoda jest przeznaczona do wewnętrznych pętli algorytmów i nie sprawdza poprawności indeksów.
+     *
+     * @param edgeIndex         indeks przechodzonej krawędzi
+     * @param adjacentNodeIndex indeks wierzchołka docelowego
+     * @return true, jeżeli przejście jest zablokowane; w przeciwnym razie false
+     */
+    boolean isMoveBlocked(int edgeIndex, int adjacentNodeIndex) {
+        return ((blockedEdges[edgeIndex >>> 6] >>> edgeIndex | blockedNodes[adjacentNodeIndex >>> 6] >>> adjacentNodeIndex) & 1) != 0;
+    }
+
+    /**
+     * Sprawdza, czy przejście między dwoma sąsiednimi w siatce wierzchołkami jest zablokowane przez krawędź lub wierzchołek docelowy.
+     * Metoda jest przeznaczona do wewnętrznych pętli algorytmów i nie sprawdza poprawności indeksów.
+     *
+     * @param nodeIndex         indeks wierzchołka, z którego następuje przejście
+     * @param adjacentNodeIndex indeks sąsiedniego wierzchołka docelowego
+     * @return true, jeżeli przejście jest zablokowane; w przeciwnym razie false
+     */
+    boolean isConnectionBlocked(int nodeIndex, int adjacentNodeIndex) {
+        // vertical neighbours are checked first, since in a single column they also differ by 1
+        int edgeIndex = Math.abs(nodeIndex - adjacentNodeIndex) == columnCount ? 2 * Math.min(nodeIndex, adjacentNodeIndex) + 1 : 2 * Math.min(nodeIndex, adjacentNodeIndex);
+
+        return isMoveBlocked(edgeIndex, adjacentNodeIndex);
+    }
+
+    /**
+     * Sprawdza, czy maska pasuje do wymiarów grafu.
+     *
+     * @param graph graf
+     * @return true, jeżeli wymiary są zgodne; w przeciwnym razie false
+     */
+    public boolean matches(Graph graph) {
+        return graph.getColumnCount() == columnCount && graph.getNodeCount() == nodeCount;
+    }
+
+    /**
+     * Sprawdza, czy maska pasuje do wymiarów kopii grafu.
+     *
+     * @param snapshot kopia grafu
+     * @return true, jeżeli wymiary są zgodne; w przeciwnym razie false
+     */
+    public boolean matches(GraphSnapshot snapshot) {
+        return snapshot.getColumnCount() == columnCount && snapshot.getNodeCount() == nodeCount;
+    }
+
+    /**
+     * Zwraca liczbę zablokowanych wierzchołków.
+     *
+     * @return liczba zablokowanych wierzchołków
+     */
+    public int getBlockedNodeCount() {
+        int count = 0;
+
+        for (long word : blockedNodes)
+            count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     * Zwraca liczbę zablokowanych krawędzi.
+     *
+     * @return liczba zablokowanych krawędzi
+     */
+    public int getBlockedEdgeCount() {
+        int count = 0;
+
+        for (long word : blockedEdges)
+            count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     * Zwraca kopię zbioru bitowego zablokowanych wierzchołków.
+     *
+     * @return zbiór bitowy zablokowanych wierzchołków
+     */
+    public long[] getBlockedNodeBits() {
+        return blockedNodes.clone();
+    }
+
+    /**
+     * Zwraca kopię zbioru bitowego zablokowanych krawędzi.
+     *
+     * @return zbiór bitowy zablokowanych krawędzi
+     */
+    public long[] getBlockedEdgeBits() {
+        return blockedEdges.clone();
+    }
+
+    /**
+     * Zwraca indeks krawędzi łączącej dwa sąsiednie w siatce wierzchołki.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @return indeks krawędzi
+     * @throws IllegalArgumentException jeżeli indeksy wierzchołków są niepoprawne lub wierzchołki nie sąsiadują w siatce
+     */
+    private int getEdgeIndexBetween(int firstNodeIndex, int secondNodeIndex) {
+        checkNodeIndex(firstNodeIndex);
+        checkNodeIndex(secondNodeIndex);
+
+        int nodeIndex = Math.min(firstNodeIndex, secondNodeIndex);
+        int difference = Math.abs(firstNodeIndex - secondNodeIndex);
+
+        if (difference == 1 && nodeIndex % columnCount + 1 != columnCount)
+            return 2 * nodeIndex;
+
+        if (difference == columnCount)
+            return 2 * nodeIndex + 1;
+
+        throw new IllegalArgumentException(String.format("BlockMask: Nodes %d and %d are not adjacent.", firstNodeIndex, secondNodeIndex));
+    }
+
+    /**
+     * Sprawdza poprawność indeksu wierzchołka.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     */
+    private void checkNodeIndex(int nodeIndex) {
+        if (nodeIndex < 0 || nodeIndex >= nodeCount)
+            throw new IllegalArgumentException(String.format("BlockMask: Invalid node index. Allowed range: %d - %d", 0, nodeCount - 1));
+    }
+
+    /**
+     * Sprawdza poprawność indeksu krawędzi.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @throws IllegalArgumentException jeżeli indeks krawędzi jest niepoprawny
+     */
+    private void checkEdgeIndex(int edgeIndex) {
+        if (edgeIndex < 0 || edgeIndex >= 2 * nodeCount)
+            throw new IllegalArgumentException(String.format("BlockMask: Invalid edge index. Allowed range: %d - %d", 0, 2 * nodeCount - 1));
+    }
+}
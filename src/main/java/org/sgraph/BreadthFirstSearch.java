@@ -8,9 +8,13 @@ import java.util.LinkedList;
  */
 public class BreadthFirstSearch {
     /**
-     * Graf przeszukiwany algorytmem BFS.
+     * Graf przeszukiwany algorytmem BFS lub null, jeżeli przeszukiwana jest kopia grafu.
      */
     private final Graph graph;
+    /**
+     * Kopia grafu (np. widok fragmentu siatki) przeszukiwana algorytmem BFS lub null, jeżeli przeszukiwany jest graf.
+     */
+    private final GraphSnapshot snapshot;
     /**
      * Tablica przechowująca informacje o tym, czy wierzchołek o danym indeksie został odwiedzony przez BFS.
      */
@@ -23,6 +27,10 @@ public class BreadthFirstSearch {
      * Kolejka FIFO przechowująca wierzchołki, które wymagają odwiedzenia.
      */
     private final LinkedList<Integer> queue;
+    /**
+     * Maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane.
+     */
+    private final BlockMask mask;
 
     /**
      * Konstruktor klasy
@@ -31,8 +39,54 @@ public class BreadthFirstSearch {
      * @throws IllegalArgumentException jeżeli liczba wierzchołków jest niedodatnia
      */
     public BreadthFirstSearch(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Przeszukiwanie omija wierzchołki i krawędzie zablokowane przez maskę bez modyfikowania grafu.
+     * Zablokowane wierzchołki są od początku oznaczone jako odwiedzone, więc nie są zwracane jako nieodwiedzone i nie są przeszukiwane.
+     *
+     * @param graph graf, w którym będzie działać BFS
+     * @param mask  maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane
+     * @throws IllegalArgumentException jeżeli maska nie pasuje do wymiarów grafu
+     */
+    public BreadthFirstSearch(Graph graph, BlockMask mask) {
+        if (mask != null && !mask.matches(graph))
+            throw new IllegalArgumentException("BreadthFirstSearch: The mask does not match graph dimensions.");
+
         this.graph = graph;
+        this.mask = mask;
+        snapshot = null;
         visitedNodes = new boolean[graph.getNodeCount()];
+
+        for (int i = 0; i < visitedNodes.length && mask != null; i++)
+            visitedNodes[i] = mask.isNodeBlocked(i);
+
+        queue = new LinkedList<>();
+        connectedNodeIndexes = new ArrayList<>();
+    }
+
+    /**
+     * Konstruktor klasy
+     * Przeszukuje kopię grafu, np. widok fragmentu siatki utworzony metodą GraphSnapshot.subgrid, zamiast listy połączeń wierzchołków.
+     *
+     * @param snapshot kopia grafu, w której będzie działać BFS
+     * @param mask     maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane
+     * @throws IllegalArgumentException jeżeli maska nie pasuje do wymiarów grafu
+     */
+    public BreadthFirstSearch(GraphSnapshot snapshot, BlockMask mask) {
+        if (mask != null && !mask.matches(snapshot))
+            throw new IllegalArgumentException("BreadthFirstSearch: The mask does not match graph dimensions.");
+
+        this.snapshot = snapshot;
+        this.mask = mask;
+        graph = null;
+        visitedNodes = new boolean[snapshot.getNodeCount()];
+
+        for (int i = 0; i < visitedNodes.length && mask != null; i++)
+            visitedNodes[i] = mask.isNodeBlocked(i);
+
         queue = new LinkedList<>();
         connectedNodeIndexes = new ArrayList<>();
     }
@@ -45,27 +99,70 @@ public class BreadthFirstSearch {
      */
     public void run(int startNodeIndex)
     {
-        if (startNodeIndex < 0 || startNodeIndex >= graph.getNodeCount())
-            throw new IllegalArgumentException(String.format("BreadthFirstSearch: Invalid starting node index. Allowed range: %d - %d", 0, graph.getNodeCount() - 1));
+        run(startNodeIndex, CancellationToken.none());
+    }
+
+    /**
+     * Rozpoczyna działanie algorytmu BFS i przechodzi po wszystkich połączonych wierzchołkach wszerz,
+     * przerywając działanie po zgłoszeniu przerwania lub upływie terminu.
+     * Po przerwaniu tablica connectedNodeIndexes zawiera wierzchołki odwiedzone do tej pory.
+     *
+     * @param startNodeIndex indeks wierzchołka, od którego rozpoczyna się działanie algorytmu
+     * @param token          obiekt zgłaszający przerwanie
+     * @return true, jeżeli odwiedzono wszystkie połączone wierzchołki; false, jeżeli działanie zostało przerwane
+     */
+    public boolean run(int startNodeIndex, CancellationToken token)
+    {
+        if (startNodeIndex < 0 || startNodeIndex >= visitedNodes.length)
+            throw new IllegalArgumentException(String.format("BreadthFirstSearch: Invalid starting node index. Allowed range: %d - %d", 0, visitedNodes.length - 1));
 
         int parsedNodeIndex;
+        int step = 0;
+
+        if (mask != null && mask.isNodeBlocked(startNodeIndex))
+            return true;
 
         queue.add(startNodeIndex);
         visitedNodes[startNodeIndex] = true;
 
         while (!queue.isEmpty()) {
+            if (step++ % CancellationToken.CHECK_INTERVAL == 0 && token.isCancelled()) {
+                queue.clear();
+                return false;
+            }
+
             parsedNodeIndex = queue.removeFirst();
 
-            for (int nodeIndex : graph.getConnectedNodeIndexes(parsedNodeIndex))
-            {
-                if (!visitedNodes[nodeIndex])
-                {
-                    queue.add(nodeIndex);
-                    connectedNodeIndexes.add(nodeIndex);
-                    visitedNodes[nodeIndex] = true;
+            if (graph != null) {
+                for (int nodeIndex : graph.getConnectedNodeIndexes(parsedNodeIndex))
+                    visit(parsedNodeIndex, nodeIndex);
+            } else {
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                    if (nodeIndex != -1)
+                        visit(parsedNodeIndex, nodeIndex);
                 }
             }
         }
+
+        return true;
+    }
+
+    /**
+     * Dodaje do kolejki połączony wierzchołek, jeżeli nie był jeszcze odwiedzony, a połączenie nie jest zablokowane.
+     *
+     * @param parsedNodeIndex indeks przetwarzanego wierzchołka
+     * @param nodeIndex       indeks połączonego wierzchołka
+     */
+    private void visit(int parsedNodeIndex, int nodeIndex)
+    {
+        if (!visitedNodes[nodeIndex] && (mask == null || !mask.isConnectionBlocked(parsedNodeIndex, nodeIndex)))
+        {
+            queue.add(nodeIndex);
+            connectedNodeIndexes.add(nodeIndex);
+            visitedNodes[nodeIndex] = true;
+        }
     }
 
     /**
@@ -0,0 +1,99 @@
+package org.sgraph;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Klasa reprezentująca żądanie przerwania długotrwałej operacji - jawne (metodą cancel) lub po upływie terminu.
+ * Algorytmy sprawdzają stan obiektu w regularnych odstępach i kończą działanie, zwracając częściowe wyniki tam, gdzie mają one sens.
+ * Obiekt klasy może być współdzielony między wątkami.
+ */
+public class CancellationToken {
+    /**
+     * Liczba kroków pętli algorytmów między kolejnymi sprawdzeniami stanu obiektu.
+     */
+    static final int CHECK_INTERVAL = 1024;
+    /**
+     * Obiekt, który nigdy nie zgłasza przerwania.
+     */
+    private static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE) {
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("CancellationToken: The shared token cannot be cancelled.");
+        }
+    };
+    /**
+     * Termin w jednostkach System.nanoTime, po którym operacja zostaje przerwana, lub Long.MAX_VALUE, jeżeli termin nie został ustalony.
+     */
+    private final long deadline;
+    /**
+     * Informacja, czy przerwanie zostało zgłoszone metodą cancel.
+     */
+    private volatile boolean isCancelled;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy obiekt bez terminu, który zgłasza przerwanie dopiero po wywołaniu metody cancel.
+     */
+    public CancellationToken() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param deadline termin w jednostkach System.nanoTime lub Long.MAX_VALUE
+     */
+    private CancellationToken(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Zwraca obiekt, który nigdy nie zgłasza przerwania.
+     *
+     * @return obiekt bez możliwości przerwania
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    /**
+     * Tworzy obiekt zgłaszający przerwanie po upływie określonego czasu od utworzenia lub po wywołaniu metody cancel.
+     *
+     * @param timeoutMillis czas w milisekundach
+     * @return obiekt z terminem przerwania
+     * @throws IllegalArgumentException jeżeli czas jest ujemny
+     */
+    public static CancellationToken withTimeout(long timeoutMillis) {
+        if (timeoutMillis < 0)
+            throw new IllegalArgumentException("CancellationToken: The timeout must not be negative.");
+
+        return new CancellationToken(System.nanoTime() + timeoutMillis * 1_000_000L);
+    }
+
+    /**
+     * Zgłasza przerwanie operacji.
+     */
+    public void cancel() {
+        isCancelled = true;
+    }
+
+    /**
+     * Sprawdza, czy przerwanie zostało zgłoszone lub termin już minął.
+     *
+     * @return true, jeżeli operacja powinna zostać przerwana; w przeciwnym razie false
+     */
+    public boolean isCancelled() {
+        return isCancelled || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0);
+    }
+
+    /**
+     * Zgłasza wyjątek, jeżeli operacja powinna zostać przerwana.
+     *
+     * @param operation nazwa przerywanej operacji użyta w komunikacie wyjątku
+     * @throws CancellationException jeżeli przerwanie zostało zgłoszone lub termin już minął
+     */
+    public void throwIfCancelled(String operation) {
+        if (isCancelled())
+            throw new CancellationException(operation + ": The operation was cancelled or its deadline has passed.");
+    }
+}
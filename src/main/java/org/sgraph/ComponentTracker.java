@@ -0,0 +1,255 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa utrzymująca etykiety spójnych składowych grafu przy dodawaniu i usuwaniu pojedynczych połączeń bez ponownego etykietowania całego grafu.
+ * <p>
+ * Po dodaniu połączenia między składowymi mniejsza składowa otrzymuje etykietę większej. Po usunięciu połączenia od obu jego końców
+ * uruchamiane są naprzemiennie dwa przeszukiwania wszerz - jeżeli się spotkają, składowa pozostaje spójna, a jeżeli jedno z nich się wyczerpie,
+ * odwiedzone przez nie wierzchołki tworzą nową składową. Koszt zmiany jest więc proporcjonalny do mniejszej z rozdzielanych lub łączonych części,
+ * a w siatce zwykle zamyka się na najbliższym cyklu.
+ * Etykiety są liczbami z zakresu indeksów wierzchołków, a zwolnione etykiety są używane ponownie.
+ */
+class ComponentTracker {
+    /**
+     * Graf, którego składowe są śledzone.
+     */
+    private final Graph graph;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Tablica etykiet składowych wierzchołków.
+     */
+    private final int[] labels;
+    /**
+     * Tablica liczby wierzchołków składowych indeksowana etykietą.
+     */
+    private final int[] sizes;
+    /**
+     * Stos nieużywanych etykiet.
+     */
+    private final IntArrayList freeLabels = new IntArrayList();
+    /**
+     * Tablica znaczników przeszukiwań - 2s dla wierzchołków odwiedzonych od pierwszego końca, 2s + 1 od drugiego w przeszukiwaniu numer s.
+     */
+    private final int[] marks;
+    /**
+     * Wierzchołki odwiedzone od pierwszego końca usuwanego połączenia w kolejności odwiedzenia.
+     */
+    private final IntArrayList firstVisited = new IntArrayList();
+    /**
+     * Wierzchołki odwiedzone od drugiego końca usuwanego połączenia w kolejności odwiedzenia.
+     */
+    private final IntArrayList secondVisited = new IntArrayList();
+    /**
+     * Numer aktualnego przeszukiwania.
+     */
+    private int stamp;
+    /**
+     * Liczba spójnych składowych.
+     */
+    private int componentCount;
+
+    /**
+     * Konstruktor klasy
+     * Etykietuje składowe całego grafu.
+     *
+     * @param graph graf, którego składowe będą śledzone
+     */
+    ComponentTracker(Graph graph) {
+        this.graph = graph;
+        columnCount = graph.getColumnCount();
+
+        ParallelComponentLabeling labeling = new ParallelComponentLabeling(new GraphSnapshot(graph));
+        labeling.run();
+
+        labels = labeling.getComponentLabels();
+        sizes = new int[labels.length];
+        marks = new int[labels.length];
+        componentCount = labeling.getComponentCount();
+
+        for (int label : labels)
+            sizes[label]++;
+
+        for (int label = labels.length - 1; label >= 0; label--) {
+            if (sizes[label] == 0)
+                freeLabels.add(label);
+        }
+    }
+
+    /**
+     * Uwzględnia dodane połączenie między dwoma wierzchołkami.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     */
+    void connectionAdded(int firstNodeIndex, int secondNodeIndex) {
+        int firstLabel = labels[firstNodeIndex];
+        int secondLabel = labels[secondNodeIndex];
+
+        if (firstLabel == secondLabel)
+            return;
+
+        // the smaller component takes the label of the larger one
+        boolean isFirstSmaller = sizes[firstLabel] < sizes[secondLabel];
+        int smallLabel = isFirstSmaller ? firstLabel : secondLabel;
+        int largeLabel = isFirstSmaller ? secondLabel : firstLabel;
+
+        relabel(isFirstSmaller ? firstNodeIndex : secondNodeIndex, smallLabel, largeLabel);
+
+        sizes[largeLabel] += sizes[smallLabel];
+        sizes[smallLabel] = 0;
+        freeLabels.add(smallLabel);
+        componentCount--;
+    }
+
+    /**
+     * Uwzględnia usunięte połączenie między dwoma wierzchołkami.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     */
+    void connectionRemoved(int firstNodeIndex, int secondNodeIndex) {
+        int label = labels[firstNodeIndex];
+
+        if (++stamp == Integer.MAX_VALUE / 2) { // marks would overflow
+            Arrays.fill(marks, 0);
+            stamp = 1;
+        }
+
+        int firstMark = 2 * stamp;
+
+        firstVisited.clear();
+        secondVisited.clear();
+        firstVisited.add(firstNodeIndex);
+        secondVisited.add(secondNodeIndex);
+        marks[firstNodeIndex] = firstMark;
+        marks[secondNodeIndex] = firstMark + 1;
+
+        int firstHead = 0;
+        int secondHead = 0;
+
+        // the visited lists double as queues; both searches advance one node at a time
+        while (firstHead < firstVisited.size() && secondHead < secondVisited.size()) {
+            if (expand(firstVisited.get(firstHead++), firstVisited, firstMark) || expand(secondVisited.get(secondHead++), secondVisited, firstMark + 1))
+                return; // the searches met, the component stays connected
+        }
+
+        IntArrayList separated = firstHead == firstVisited.size() ? firstVisited : secondVisited;
+        int newLabel = freeLabels.get(freeLabels.size() - 1);
+        freeLabels.removeLast(1);
+
+        for (int i = 0; i < separated.size(); i++)
+            labels[separated.get(i)] = newLabel;
+
+        sizes[newLabel] = separated.size();
+        sizes[label] -= separated.size();
+        componentCount++;
+    }
+
+    /**
+     * Dodaje do przeszukiwania nieodwiedzonych sąsiadów wierzchołka.
+     *
+     * @param nodeIndex indeks rozwijanego wierzchołka
+     * @param visited   lista wierzchołków odwiedzonych przez przeszukiwanie
+     * @param mark      znacznik przeszukiwania
+     * @return true, jeżeli przeszukiwanie dotarło do wierzchołka odwiedzonego przez drugie przeszukiwanie; w przeciwnym razie false
+     */
+    private boolean expand(int nodeIndex, IntArrayList visited, int mark) {
+        int otherMark = mark ^ 1;
+
+        for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+            int adjacentNodeIndex = getAdjacentNodeIndex(nodeIndex, d);
+
+            if (adjacentNodeIndex == -1 || marks[adjacentNodeIndex] == mark)
+                continue;
+
+            if (marks[adjacentNodeIndex] == otherMark)
+                return true;
+
+            marks[adjacentNodeIndex] = mark;
+            visited.add(adjacentNodeIndex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Zmienia etykietę wszystkich wierzchołków składowej osiągalnych z wierzchołka początkowego.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @param oldLabel       dotychczasowa etykieta składowej
+     * @param newLabel       nowa etykieta składowej
+     */
+    private void relabel(int startNodeIndex, int oldLabel, int newLabel) {
+        IntArrayList queue = firstVisited;
+        queue.clear();
+        queue.add(startNodeIndex);
+        labels[startNodeIndex] = newLabel;
+
+        for (int head = 0; head < queue.size(); head++) {
+            int nodeIndex = queue.get(head);
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int adjacentNodeIndex = getAdjacentNodeIndex(nodeIndex, d);
+
+                if (adjacentNodeIndex != -1 && labels[adjacentNodeIndex] == oldLabel) {
+                    labels[adjacentNodeIndex] = newLabel;
+                    queue.add(adjacentNodeIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zwraca indeks wierzchołka połączonego z przekazanym wierzchołkiem w określonym kierunku.
+     * Waga krawędzi jest odczytywana metodą Graph.getEdge bez tworzenia obiektów pomocniczych.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param direction numer kierunku (ordinal elementu typu Move.MoveDirection)
+     * @return indeks połączonego wierzchołka lub -1
+     */
+    private int getAdjacentNodeIndex(int nodeIndex, int direction) {
+        int adjacentNodeIndex = switch (direction) {
+            case 0 -> nodeIndex - columnCount; // UP
+            case 1 -> nodeIndex % columnCount != 0 ? nodeIndex - 1 : -1; // LEFT
+            case 2 -> (nodeIndex + 1) % columnCount != 0 ? nodeIndex + 1 : -1; // RIGHT
+            default -> nodeIndex + columnCount; // DOWN
+        };
+
+        if (adjacentNodeIndex < 0 || adjacentNodeIndex >= labels.length)
+            return -1;
+
+        // the edge is stored by its left or upper node
+        int edgeIndex = switch (direction) {
+            case 0 -> 2 * adjacentNodeIndex + 1; // UP
+            case 1 -> 2 * adjacentNodeIndex; // LEFT
+            case 2 -> 2 * nodeIndex; // RIGHT
+            default -> 2 * nodeIndex + 1; // DOWN
+        };
+
+        return graph.getEdge(edgeIndex) != 0 ? adjacentNodeIndex : -1;
+    }
+
+    /**
+     * Zwraca liczbę spójnych składowych.
+     *
+     * @return liczba składowych
+     */
+    int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Zwraca etykietę składowej wierzchołka. Wierzchołki mają tę samą etykietę wtedy i tylko wtedy, gdy należą do tej samej składowej.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return etykieta składowej
+     */
+    int getComponentLabel(int nodeIndex) {
+        return labels[nodeIndex];
+    }
+}
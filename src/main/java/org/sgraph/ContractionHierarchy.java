@@ -0,0 +1,803 @@
+package org.sgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+
+/**
+ * Klasa przechowująca hierarchię skrótów (contraction hierarchy) grafu-siatki.
+ * Wierzchołki są kolejno usuwane (kontraktowane) z grafu, a najkrótsze ścieżki przechodzące przez usunięty wierzchołek są zachowywane za pomocą krawędzi-skrótów.
+ * Dla każdego wierzchołka przechowywane są krawędzie (oryginalne i skróty) prowadzące do wierzchołków o wyższej randze, w tablicach typu prostego.
+ * Zapytania o najkrótsze ścieżki obsługuje klasa ContractionHierarchyQuery.
+ *
+ * @see ContractionHierarchyQuery
+ */
+public class ContractionHierarchy {
+    /**
+     * Liczba rozpoczynająca plik z zapisaną hierarchią.
+     */
+    private static final int FILE_MAGIC = 0x53474348; // "SGCH"
+    /**
+     * Rozmiar nagłówka pliku w bajtach: liczba magiczna, wymiary siatki, liczba krawędzi i czas budowania.
+     */
+    private static final int HEADER_SIZE = 4 * 4 + 8;
+    /**
+     * Największa bezpieczna długość tablicy w maszynie wirtualnej.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Liczba wierszy w siatce.
+     */
+    private final int rowCount;
+    /**
+     * Tablica rang wierzchołków (kolejność kontrakcji).
+     */
+    private final int[] rank;
+    /**
+     * Tablica pozycji pierwszych krawędzi wierzchołków w tablicach krawędzi; krawędzie wierzchołka i zajmują pozycje [firstEdge[i]; firstEdge[i + 1]).
+     */
+    private final int[] firstEdge;
+    /**
+     * Tablica indeksów wierzchołków docelowych krawędzi (zawsze o wyższej randze niż wierzchołek, z którego krawędź wychodzi).
+     */
+    private final int[] edgeTarget;
+    /**
+     * Tablica wag krawędzi.
+     */
+    private final double[] edgeWeight;
+    /**
+     * Tablica indeksów wierzchołków pośrednich skrótów. Dla krawędzi oryginalnych wartość ustalona na -1.
+     */
+    private final int[] edgeMiddle;
+    /**
+     * Czas budowania hierarchii w milisekundach.
+     */
+    private final long preprocessingTime;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param columnCount       liczba kolumn w siatce
+     * @param rowCount          liczba wierszy w siatce
+     * @param rank              tablica rang wierzchołków
+     * @param firstEdge         tablica pozycji pierwszych krawędzi wierzchołków
+     * @param edgeTarget        tablica indeksów wierzchołków docelowych krawędzi
+     * @param edgeWeight        tablica wag krawędzi
+     * @param edgeMiddle        tablica indeksów wierzchołków pośrednich skrótów
+     * @param preprocessingTime czas budowania hierarchii w milisekundach
+     */
+    private ContractionHierarchy(int columnCount, int rowCount, int[] rank, int[] firstEdge, int[] edgeTarget, double[] edgeWeight, int[] edgeMiddle, long preprocessingTime) {
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.rank = rank;
+        this.firstEdge = firstEdge;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+        this.edgeMiddle = edgeMiddle;
+        this.preprocessingTime = preprocessingTime;
+    }
+
+    /**
+     * Buduje hierarchię skrótów dla przekazanego grafu.
+     *
+     * @param graph graf, dla którego budowana jest hierarchia
+     * @return hierarchia skrótów
+     */
+    public static ContractionHierarchy build(Graph graph) {
+        return build(new GraphSnapshot(graph));
+    }
+
+    /**
+     * Buduje hierarchię skrótów dla przekazanej kopii grafu.
+     * Kolejność kontrakcji wyznaczana jest na podstawie różnicy krawędzi (liczba dodanych skrótów minus liczba usuniętych krawędzi) i liczby już usuniętych sąsiadów.
+     * Wierzchołki są usuwane rundami - w każdej rundzie usuwane są wierzchołki o priorytecie mniejszym od priorytetów wszystkich sąsiadów,
+     * a następnie priorytety ich sąsiadów są obliczane ponownie.
+     *
+     * @param snapshot kopia grafu, dla której budowana jest hierarchia
+     * @return hierarchia skrótów
+     */
+    public static ContractionHierarchy build(GraphSnapshot snapshot) {
+        long start = System.nanoTime();
+        Contractor contractor = new Contractor(snapshot);
+        contractor.run();
+
+        return contractor.toHierarchy(snapshot.getColumnCount(), snapshot.getRowCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Zapisuje hierarchię do pliku binarnego.
+     *
+     * @param file plik, do którego będzie zapisywana hierarchia
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia podczas pisania do pliku
+     */
+    public void writeToFile(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(rowCount);
+            out.writeInt(columnCount);
+            out.writeInt(edgeTarget.length);
+            out.writeLong(preprocessingTime);
+
+            for (int r : rank)
+                out.writeInt(r);
+
+            for (int f : firstEdge)
+                out.writeInt(f);
+
+            for (int i = 0; i < edgeTarget.length; i++) {
+                out.writeInt(edgeTarget[i]);
+                out.writeDouble(edgeWeight[i]);
+                out.writeInt(edgeMiddle[i]);
+            }
+        }
+    }
+
+    /**
+     * Wczytuje hierarchię z pliku binarnego zapisanego metodą writeToFile.
+     * Przed utworzeniem hierarchii sprawdzana jest spójność wczytanych tablic, tak aby uszkodzony plik nie prowadził do błędów podczas zapytań.
+     *
+     * @param file plik wejściowy
+     * @return hierarchia wczytana z pliku
+     * @throws IOException            jeżeli wystąpił błąd z czytaniem pliku lub nie udało się go otworzyć
+     * @throws InputMismatchException jeżeli plik nie zawiera hierarchii skrótów, jego rozmiar nie zgadza się z nagłówkiem lub wczytane tablice są niespójne
+     */
+    public static ContractionHierarchy readFromFile(File file) throws IOException {
+        try (InputStream stream = new FileInputStream(file); DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != FILE_MAGIC)
+                throw new InputMismatchException("ContractionHierarchy: File does not contain a contraction hierarchy.");
+
+            int rowCount = in.readInt();
+            int columnCount = in.readInt();
+            int edgeCount = in.readInt();
+            long preprocessingTime = in.readLong();
+
+            if (rowCount <= 0 || columnCount <= 0 || edgeCount < 0)
+                throw new InputMismatchException("ContractionHierarchy: Incorrect hierarchy dimensions.");
+
+            long nodeCount = (long) rowCount * columnCount;
+
+            // the size is checked before allocating, so a corrupted header cannot request huge arrays
+            if (nodeCount >= MAX_ARRAY_LENGTH || file.length() != HEADER_SIZE + 8 * nodeCount + 4 + 16L * edgeCount)
+                throw new InputMismatchException("ContractionHierarchy: File size does not match the hierarchy dimensions.");
+
+            int[] rank = new int[(int) nodeCount];
+            int[] firstEdge = new int[(int) nodeCount + 1];
+            int[] edgeTarget = new int[edgeCount];
+            double[] edgeWeight = new double[edgeCount];
+            int[] edgeMiddle = new int[edgeCount];
+
+            for (int i = 0; i < rank.length; i++)
+                rank[i] = in.readInt();
+
+            for (int i = 0; i < firstEdge.length; i++)
+                firstEdge[i] = in.readInt();
+
+            for (int i = 0; i < edgeCount; i++) {
+                edgeTarget[i] = in.readInt();
+                edgeWeight[i] = in.readDouble();
+                edgeMiddle[i] = in.readInt();
+            }
+
+            checkArrays(rank, firstEdge, edgeTarget, edgeMiddle);
+
+            return new ContractionHierarchy(columnCount, rowCount, rank, firstEdge, edgeTarget, edgeWeight, edgeMiddle, preprocessingTime);
+        }
+    }
+
+    /**
+     * Sprawdza spójność tablic wczytanej hierarchii.
+     *
+     * @param rank       tablica rang wierzchołków
+     * @param firstEdge  tablica pozycji pierwszych krawędzi wierzchołków
+     * @param edgeTarget tablica indeksów wierzchołków docelowych krawędzi
+     * @param edgeMiddle tablica indeksów wierzchołków pośrednich skrótów
+     * @throws InputMismatchException jeżeli rangi nie są permutacją, pozycje krawędzi nie są niemalejące lub indeksy wierzchołków wykraczają poza graf
+     */
+    private static void checkArrays(int[] rank, int[] firstEdge, int[] edgeTarget, int[] edgeMiddle) {
+        int nodeCount = rank.length;
+        boolean[] isRankUsed = new boolean[nodeCount];
+
+        for (int r : rank) {
+            if (r < 0 || r >= nodeCount || isRankUsed[r])
+                throw new InputMismatchException("ContractionHierarchy: Node ranks are not a permutation.");
+
+            isRankUsed[r] = true;
+        }
+
+        if (firstEdge[0] != 0 || firstEdge[nodeCount] != edgeTarget.length)
+            throw new InputMismatchException("ContractionHierarchy: Edge offsets do not cover the edge arrays.");
+
+        for (int i = 0; i < nodeCount; i++) {
+            if (firstEdge[i] > firstEdge[i + 1])
+                throw new InputMismatchException("ContractionHierarchy: Edge offsets are not monotone.");
+
+            for (int e = firstEdge[i]; e < firstEdge[i + 1]; e++) {
+                // queries only follow edges upwards, so a target must also outrank the source
+                if (edgeTarget[e] < 0 || edgeTarget[e] >= nodeCount || rank[edgeTarget[e]] <= rank[i])
+                    throw new InputMismatchException("ContractionHierarchy: Edge target is out of range.");
+
+                if (edgeMiddle[e] < -1 || edgeMiddle[e] >= nodeCount)
+                    throw new InputMismatchException("ContractionHierarchy: Shortcut middle node is out of range.");
+            }
+        }
+    }
+
+    /**
+     * Zwraca liczbę kolumn w siatce.
+     *
+     * @return liczba kolumn w siatce
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Zwraca liczbę wierszy w siatce.
+     *
+     * @return liczba wierszy w siatce
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków w grafie.
+     *
+     * @return liczba wierzchołków w grafie
+     */
+    public int getNodeCount() {
+        return rank.length;
+    }
+
+    /**
+     * Zwraca rangę wierzchołka (pozycję w kolejności kontrakcji).
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return ranga wierzchołka
+     */
+    public int getRank(int nodeIndex) {
+        return rank[nodeIndex];
+    }
+
+    /**
+     * Zwraca liczbę krawędzi-skrótów w hierarchii.
+     *
+     * @return liczba skrótów
+     */
+    public int getShortcutCount() {
+        int count = 0;
+
+        for (int middle : edgeMiddle) {
+            if (middle != -1)
+                count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Zwraca przybliżony rozmiar tablic hierarchii w bajtach.
+     *
+     * @return rozmiar hierarchii w bajtach
+     */
+    public long getMemoryUsage() {
+        return 4L * rank.length + 4L * firstEdge.length + (4L + 8L + 4L) * edgeTarget.length;
+    }
+
+    /**
+     * Zwraca czas budowania hierarchii w milisekundach.
+     *
+     * @return czas budowania hierarchii
+     */
+    public long getPreprocessingTime() {
+        return preprocessingTime;
+    }
+
+    /**
+     * Zwraca pozycję pierwszej krawędzi wierzchołka w tablicach krawędzi.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return pozycja pierwszej krawędzi
+     */
+    int getFirstEdge(int nodeIndex) {
+        return firstEdge[nodeIndex];
+    }
+
+    /**
+     * Zwraca indeks wierzchołka docelowego krawędzi.
+     *
+     * @param edge pozycja krawędzi
+     * @return indeks wierzchołka docelowego
+     */
+    int getEdgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    /**
+     * Zwraca wagę krawędzi.
+     *
+     * @param edge pozycja krawędzi
+     * @return waga krawędzi
+     */
+    double getEdgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    /**
+     * Zwraca indeks wierzchołka pośredniego skrótu lub -1 dla krawędzi oryginalnej.
+     *
+     * @param edge pozycja krawędzi
+     * @return indeks wierzchołka pośredniego
+     */
+    int getEdgeMiddle(int edge) {
+        return edgeMiddle[edge];
+    }
+
+    /**
+     * Zwraca pozycję krawędzi łączącej dwa wierzchołki. Krawędź jest szukana wśród krawędzi wierzchołka o niższej randze.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @return pozycja krawędzi lub -1, jeżeli krawędź nie istnieje
+     */
+    int findEdge(int firstNodeIndex, int secondNodeIndex) {
+        int lower = rank[firstNodeIndex] < rank[secondNodeIndex] ? firstNodeIndex : secondNodeIndex;
+        int upper = lower == firstNodeIndex ? secondNodeIndex : firstNodeIndex;
+
+        for (int e = firstEdge[lower]; e < firstEdge[lower + 1]; e++) {
+            if (edgeTarget[e] == upper)
+                return e;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Klasa odpowiadająca za kontrakcję wierzchołków grafu i budowanie krawędzi hierarchii.
+     */
+    private static class Contractor {
+        /**
+         * Tablice indeksów sąsiadów wierzchołków w grafie z usuniętymi wierzchołkami.
+         */
+        private final int[][] neighbours;
+        /**
+         * Tablice wag krawędzi do sąsiadów.
+         */
+        private final double[][] weights;
+        /**
+         * Tablice wierzchołków pośrednich krawędzi do sąsiadów (-1 dla krawędzi oryginalnych).
+         */
+        private final int[][] middles;
+        /**
+         * Liczby sąsiadów wierzchołków.
+         */
+        private final int[] degree;
+        /**
+         * Liczby usuniętych sąsiadów wierzchołków.
+         */
+        private final int[] contractedNeighbours;
+        /**
+         * Tablica rang wierzchołków (-1 dla wierzchołków nieusuniętych).
+         */
+        private final int[] rank;
+        /**
+         * Tablice krawędzi prowadzących w górę hierarchii, zapisywane w kolejności kontrakcji.
+         */
+        private final IntArrayList upSource = new IntArrayList(), upTarget = new IntArrayList(), upMiddle = new IntArrayList();
+        /**
+         * Wagi krawędzi prowadzących w górę hierarchii.
+         */
+        private double[] upWeight = new double[16];
+        /**
+         * Tablica odległości wyszukiwania świadków.
+         */
+        private final double[] witnessDistance;
+        /**
+         * Tablica numerów wyszukiwań świadków, w których wierzchołki zostały osiągnięte.
+         */
+        private final int[] witnessStamp;
+        /**
+         * Tablica numerów wyszukiwań świadków, w których wierzchołki są szukanymi sąsiadami, dla których nie rozstrzygnięto jeszcze istnienia świadka.
+         */
+        private final int[] witnessTarget;
+        /**
+         * Tablica długości ścieżek przez kontraktowany wierzchołek do szukanych sąsiadów.
+         */
+        private final double[] witnessLimit;
+        /**
+         * Kolejka wyszukiwania świadków.
+         */
+        private final NodeHeap witnessHeap;
+        /**
+         * Numer aktualnego wyszukiwania świadków.
+         */
+        private int stamp;
+
+        /**
+         * Konstruktor klasy
+         *
+         * @param snapshot kopia grafu, dla której budowana jest hierarchia
+         */
+        Contractor(GraphSnapshot snapshot) {
+            int nodeCount = snapshot.getNodeCount();
+
+            neighbours = new int[nodeCount][];
+            weights = new double[nodeCount][];
+            middles = new int[nodeCount][];
+            degree = new int[nodeCount];
+            contractedNeighbours = new int[nodeCount];
+            rank = new int[nodeCount];
+            witnessDistance = new double[nodeCount];
+            witnessStamp = new int[nodeCount];
+            witnessTarget = new int[nodeCount];
+            witnessLimit = new double[nodeCount];
+            witnessHeap = new NodeHeap(nodeCount);
+
+            Arrays.fill(rank, -1);
+
+            for (int i = 0; i < nodeCount; i++) {
+                neighbours[i] = new int[GraphSnapshot.DIRECTION_COUNT];
+                weights[i] = new double[GraphSnapshot.DIRECTION_COUNT];
+                middles[i] = new int[GraphSnapshot.DIRECTION_COUNT];
+
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    int nodeIndex = snapshot.getAdjacentNodeIndex(i, d);
+
+                    if (nodeIndex != -1) {
+                        neighbours[i][degree[i]] = nodeIndex;
+                        weights[i][degree[i]] = snapshot.getEdge(i, d);
+                        middles[i][degree[i]] = -1;
+                        degree[i]++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Usuwa wszystkie wierzchołki grafu rundami.
+         * W każdej rundzie usuwane są wierzchołki, których priorytet jest mniejszy od priorytetów wszystkich sąsiadów (przy równych priorytetach decyduje mniejszy indeks).
+         * Usuwane w jednej rundzie wierzchołki nie sąsiadują ze sobą, więc po rundzie wystarczy raz obliczyć ponownie priorytet każdego sąsiada usuniętych wierzchołków.
+         */
+        void run() {
+            int nodeCount = rank.length;
+            double[] priority = new double[nodeCount];
+            int[] remaining = new int[nodeCount];
+            int[] updateRound = new int[nodeCount];
+            IntArrayList contracted = new IntArrayList();
+            IntArrayList updated = new IntArrayList();
+            int remainingCount = nodeCount;
+            int nextRank = 0;
+            int round = 0;
+
+            for (int i = 0; i < nodeCount; i++) {
+                remaining[i] = i;
+                priority[i] = getPriority(i);
+            }
+
+            while (remainingCount > 0) {
+                round++;
+                contracted.clear();
+                updated.clear();
+
+                // the node with the smallest priority and index is always a local minimum, so every round makes progress
+                for (int i = 0; i < remainingCount; i++) {
+                    if (isLocalMinimum(remaining[i], priority))
+                        contracted.add(remaining[i]);
+                }
+
+                for (int i = 0; i < contracted.size(); i++) {
+                    int nodeIndex = contracted.get(i);
+
+                    contract(nodeIndex, true);
+                    rank[nodeIndex] = nextRank++;
+
+                    // the contracted node keeps its own neighbour list, which holds exactly the nodes whose priorities changed
+                    for (int j = 0; j < degree[nodeIndex]; j++) {
+                        int neighbourIndex = neighbours[nodeIndex][j];
+
+                        if (updateRound[neighbourIndex] != round) {
+                            updateRound[neighbourIndex] = round;
+                            updated.add(neighbourIndex);
+                        }
+                    }
+
+                    degree[nodeIndex] = 0;
+                }
+
+                for (int i = 0; i < updated.size(); i++)
+                    priority[updated.get(i)] = getPriority(updated.get(i));
+
+                int count = 0;
+
+                for (int i = 0; i < remainingCount; i++) {
+                    if (rank[remaining[i]] == -1)
+                        remaining[count++] = remaining[i];
+                }
+
+                remainingCount = count;
+            }
+        }
+
+        /**
+         * Sprawdza, czy priorytet wierzchołka jest mniejszy od priorytetów wszystkich jego sąsiadów.
+         *
+         * @param nodeIndex indeks wierzchołka
+         * @param priority  tablica priorytetów wierzchołków
+         * @return true, jeżeli wierzchołek może zostać usunięty w bieżącej rundzie; w przeciwnym razie false
+         */
+        private boolean isLocalMinimum(int nodeIndex, double[] priority) {
+            for (int i = 0; i < degree[nodeIndex]; i++) {
+                int neighbourIndex = neighbours[nodeIndex][i];
+
+                if (priority[neighbourIndex] < priority[nodeIndex] || (priority[neighbourIndex] == priority[nodeIndex] && neighbourIndex < nodeIndex))
+                    return false;
+            }
+
+            return true;
+        }
+
+        /**
+         * Oblicza priorytet kontrakcji wierzchołka - podwojoną różnicę krawędzi powiększoną o liczbę usuniętych sąsiadów.
+         * Różnica krawędzi jest wyznaczana przez symulację kontrakcji, bez modyfikowania grafu i bez kopiowania tablic.
+         *
+         * @param nodeIndex indeks wierzchołka
+         * @return priorytet wierzchołka
+         */
+        private double getPriority(int nodeIndex) {
+            return 2.0 * (contract(nodeIndex, false) - degree[nodeIndex]) + contractedNeighbours[nodeIndex];
+        }
+
+        /**
+         * Symuluje lub wykonuje kontrakcję wierzchołka.
+         * Dla każdej pary sąsiadów sprawdza, czy istnieje ścieżka alternatywna (świadek) nie dłuższa od ścieżki przez wierzchołek; jeżeli nie, potrzebny jest skrót.
+         * Lista sąsiadów kontraktowanego wierzchołka nie jest zmieniana, dlatego po wykonaniu kontrakcji nadal wskazuje wierzchołki, których priorytety należy obliczyć ponownie.
+         *
+         * @param nodeIndex indeks wierzchołka
+         * @param apply     true, jeżeli kontrakcja ma zostać wykonana; false, jeżeli tylko symulowana
+         * @return liczba potrzebnych skrótów
+         */
+        private int contract(int nodeIndex, boolean apply) {
+            // shortcuts are only added between the neighbours, so these arrays are never modified during the contraction
+            int count = degree[nodeIndex];
+            int[] nodes = neighbours[nodeIndex];
+            double[] edges = weights[nodeIndex];
+            int shortcuts = 0;
+
+            if (apply) {
+                for (int i = 0; i < count; i++) {
+                    upSource.add(nodeIndex);
+                    upTarget.add(nodes[i]);
+                    upMiddle.add(middles[nodeIndex][i]);
+
+                    if (upSource.size() > upWeight.length)
+                        upWeight = Arrays.copyOf(upWeight, 2 * upWeight.length);
+
+                    upWeight[upSource.size() - 1] = edges[i];
+                }
+            }
+
+            for (int i = 0; i < count - 1; i++) {
+                searchWitnesses(nodes, edges, i, count, nodeIndex);
+
+                for (int j = i + 1; j < count; j++) {
+                    double viaNode = edges[i] + edges[j];
+
+                    if (witnessStamp[nodes[j]] == stamp && witnessDistance[nodes[j]] <= viaNode)
+                        continue;
+
+                    shortcuts++;
+
+                    if (apply)
+                        addShortcut(nodes[i], nodes[j], viaNode, nodeIndex);
+                }
+            }
+
+            if (apply) {
+                for (int i = 0; i < count; i++) {
+                    removeNeighbour(nodes[i], nodeIndex);
+                    contractedNeighbours[nodes[i]]++;
+                }
+            }
+
+            return shortcuts;
+        }
+
+        /**
+         * Wykonuje ograniczone wyszukiwanie najkrótszych ścieżek od sąsiada kontraktowanego wierzchołka, pomijając kontraktowany wierzchołek.
+         * Wyszukiwanie jest ograniczone długością najdłuższej ścieżki przez kontraktowany wierzchołek do sąsiada, dla którego nie rozstrzygnięto jeszcze istnienia świadka.
+         * Świadkiem jest już każda osiągnięta ścieżka nie dłuższa od ścieżki przez kontraktowany wierzchołek, dlatego wyszukiwanie kończy się, gdy rozstrzygnięto wszystkich sąsiadów.
+         *
+         * @param nodes            tablica sąsiadów kontraktowanego wierzchołka
+         * @param edges            tablica wag krawędzi do sąsiadów
+         * @param startPosition    pozycja sąsiada, od którego rozpoczyna się wyszukiwanie
+         * @param count            liczba sąsiadów
+         * @param skippedNodeIndex indeks pomijanego (kontraktowanego) wierzchołka
+         */
+        private void searchWitnesses(int[] nodes, double[] edges, int startPosition, int count, int skippedNodeIndex) {
+            stamp++;
+            witnessHeap.clear();
+
+            for (int j = startPosition + 1; j < count; j++) {
+                witnessTarget[nodes[j]] = stamp;
+                witnessLimit[nodes[j]] = edges[startPosition] + edges[j];
+            }
+
+            int startNodeIndex = nodes[startPosition];
+            int remainingTargets = count - startPosition - 1;
+            double maxDistance = getWitnessLimit(nodes, startPosition, count);
+            witnessStamp[startNodeIndex] = stamp;
+            witnessDistance[startNodeIndex] = 0;
+            witnessHeap.insertOrDecrease(startNodeIndex, 0);
+
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= maxDistance) {
+                int parsedNodeIndex = witnessHeap.poll();
+
+                // a target settled above its limit has no witness
+                if (witnessTarget[parsedNodeIndex] == stamp) {
+                    witnessTarget[parsedNodeIndex] = 0;
+
+                    if (--remainingTargets == 0)
+                        return;
+
+                    maxDistance = getWitnessLimit(nodes, startPosition, count);
+                }
+
+                for (int i = 0; i < degree[parsedNodeIndex]; i++) {
+                    int nodeIndex = neighbours[parsedNodeIndex][i];
+
+                    if (nodeIndex == skippedNodeIndex)
+                        continue;
+
+                    double distance = witnessDistance[parsedNodeIndex] + weights[parsedNodeIndex][i];
+
+                    if (distance > maxDistance || (witnessStamp[nodeIndex] == stamp && distance >= witnessDistance[nodeIndex]))
+                        continue;
+
+                    witnessStamp[nodeIndex] = stamp;
+                    witnessDistance[nodeIndex] = distance;
+                    witnessHeap.insertOrDecrease(nodeIndex, distance);
+
+                    // a target reached within its limit has a witness, even before it is settled
+                    if (witnessTarget[nodeIndex] == stamp && distance <= witnessLimit[nodeIndex]) {
+                        witnessTarget[nodeIndex] = 0;
+
+                        if (--remainingTargets == 0)
+                            return;
+
+                        if (witnessLimit[nodeIndex] == maxDistance)
+                            maxDistance = getWitnessLimit(nodes, startPosition, count);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Zwraca długość najdłuższej ścieżki przez kontraktowany wierzchołek do sąsiada, dla którego nie rozstrzygnięto jeszcze istnienia świadka.
+         *
+         * @param nodes         tablica sąsiadów kontraktowanego wierzchołka
+         * @param startPosition pozycja sąsiada, od którego rozpoczyna się wyszukiwanie
+         * @param count         liczba sąsiadów
+         * @return ograniczenie odległości wyszukiwania świadków
+         */
+        private double getWitnessLimit(int[] nodes, int startPosition, int count) {
+            double maxDistance = 0;
+
+            for (int j = startPosition + 1; j < count; j++) {
+                if (witnessTarget[nodes[j]] == stamp)
+                    maxDistance = Math.max(maxDistance, witnessLimit[nodes[j]]);
+            }
+
+            return maxDistance;
+        }
+
+        /**
+         * Dodaje skrót między dwoma wierzchołkami lub skraca istniejącą między nimi krawędź.
+         *
+         * @param firstNodeIndex  indeks pierwszego wierzchołka
+         * @param secondNodeIndex indeks drugiego wierzchołka
+         * @param weight          waga skrótu
+         * @param middleNodeIndex indeks wierzchołka pośredniego
+         */
+        private void addShortcut(int firstNodeIndex, int secondNodeIndex, double weight, int middleNodeIndex) {
+            setEdge(firstNodeIndex, secondNodeIndex, weight, middleNodeIndex);
+            setEdge(secondNodeIndex, firstNodeIndex, weight, middleNodeIndex);
+        }
+
+        /**
+         * Ustawia krawędź skierowaną od wierzchołka do sąsiada, jeżeli nie istnieje lub jest dłuższa.
+         *
+         * @param nodeIndex       indeks wierzchołka
+         * @param neighbourIndex  indeks sąsiada
+         * @param weight          waga krawędzi
+         * @param middleNodeIndex indeks wierzchołka pośredniego
+         */
+        private void setEdge(int nodeIndex, int neighbourIndex, double weight, int middleNodeIndex) {
+            for (int i = 0; i < degree[nodeIndex]; i++) {
+                if (neighbours[nodeIndex][i] == neighbourIndex) {
+                    if (weight < weights[nodeIndex][i]) {
+                        weights[nodeIndex][i] = weight;
+                        middles[nodeIndex][i] = middleNodeIndex;
+                    }
+
+                    return;
+                }
+            }
+
+            int i = degree[nodeIndex]++;
+
+            if (i == neighbours[nodeIndex].length) {
+                neighbours[nodeIndex] = Arrays.copyOf(neighbours[nodeIndex], 2 * i);
+                weights[nodeIndex] = Arrays.copyOf(weights[nodeIndex], 2 * i);
+                middles[nodeIndex] = Arrays.copyOf(middles[nodeIndex], 2 * i);
+            }
+
+            neighbours[nodeIndex][i] = neighbourIndex;
+            weights[nodeIndex][i] = weight;
+            middles[nodeIndex][i] = middleNodeIndex;
+        }
+
+        /**
+         * Usuwa sąsiada z listy sąsiadów wierzchołka.
+         *
+         * @param nodeIndex      indeks wierzchołka
+         * @param neighbourIndex indeks usuwanego sąsiada
+         */
+        private void removeNeighbour(int nodeIndex, int neighbourIndex) {
+            for (int i = 0; i < degree[nodeIndex]; i++) {
+                if (neighbours[nodeIndex][i] == neighbourIndex) {
+                    int last = --degree[nodeIndex];
+                    neighbours[nodeIndex][i] = neighbours[nodeIndex][last];
+                    weights[nodeIndex][i] = weights[nodeIndex][last];
+                    middles[nodeIndex][i] = middles[nodeIndex][last];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Tworzy hierarchię z zapisanych krawędzi prowadzących w górę, porządkując je według wierzchołków źródłowych.
+         *
+         * @param columnCount       liczba kolumn w siatce
+         * @param rowCount          liczba wierszy w siatce
+         * @param preprocessingTime czas budowania hierarchii w milisekundach
+         * @return hierarchia skrótów
+         */
+        ContractionHierarchy toHierarchy(int columnCount, int rowCount, long preprocessingTime) {
+            int nodeCount = rank.length;
+            int edgeCount = upSource.size();
+            int[] firstEdge = new int[nodeCount + 1];
+            int[] edgeTarget = new int[edgeCount];
+            double[] edgeWeight = new double[edgeCount];
+            int[] edgeMiddle = new int[edgeCount];
+
+            for (int i = 0; i < edgeCount; i++)
+                firstEdge[upSource.get(i) + 1]++;
+
+            for (int i = 0; i < nodeCount; i++)
+                firstEdge[i + 1] += firstEdge[i];
+
+            int[] position = Arrays.copyOf(firstEdge, nodeCount);
+
+            for (int i = 0; i < edgeCount; i++) {
+                int e = position[upSource.get(i)]++;
+                edgeTarget[e] = upTarget.get(i);
+                edgeWeight[e] = upWeight[i];
+                edgeMiddle[e] = upMiddle.get(i);
+            }
+
+            return new ContractionHierarchy(columnCount, rowCount, rank, firstEdge, edgeTarget, edgeWeight, edgeMiddle, preprocessingTime);
+        }
+    }
+}
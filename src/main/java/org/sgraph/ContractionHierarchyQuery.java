@@ -0,0 +1,267 @@
+package org.sgraph;
+
+/**
+ * Klasa realizująca zapytania o najkrótsze ścieżki w hierarchii skrótów.
+ * Wyszukiwanie jest dwukierunkowe - z obu końców ścieżki przegląda się wyłącznie krawędzie prowadzące do wierzchołków o wyższej randze.
+ * Skróty na znalezionej ścieżce są rozwijane do ciągu sąsiednich wierzchołków siatki, zgodnego z ruchami typu Move.
+ * Obiekt klasy przechowuje tablice robocze wielokrotnego użytku i nie może być współdzielony między wątkami.
+ *
+ * @see ContractionHierarchy
+ */
+public class ContractionHierarchyQuery {
+    /**
+     * Hierarchia skrótów, w której wykonywane są zapytania.
+     */
+    private final ContractionHierarchy hierarchy;
+    /**
+     * Tablice odległości wierzchołków od wierzchołka początkowego (forward) i docelowego (backward).
+     */
+    private final double[] forwardDistance, backwardDistance;
+    /**
+     * Tablice krawędzi, którymi wierzchołki zostały osiągnięte w obu kierunkach wyszukiwania.
+     */
+    private final int[] forwardEdge, backwardEdge;
+    /**
+     * Tablice wierzchołków, z których wierzchołki zostały osiągnięte w obu kierunkach wyszukiwania.
+     */
+    private final int[] forwardPrevious, backwardPrevious;
+    /**
+     * Tablice numerów zapytań, w których wierzchołki zostały osiągnięte w obu kierunkach wyszukiwania.
+     */
+    private final int[] forwardStamp, backwardStamp;
+    /**
+     * Kolejki obu kierunków wyszukiwania.
+     */
+    private final NodeHeap forwardHeap, backwardHeap;
+    /**
+     * Numer aktualnego zapytania.
+     */
+    private int stamp;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param hierarchy hierarchia skrótów, w której wykonywane będą zapytania
+     */
+    public ContractionHierarchyQuery(ContractionHierarchy hierarchy) {
+        int nodeCount = hierarchy.getNodeCount();
+
+        this.hierarchy = hierarchy;
+        forwardDistance = new double[nodeCount];
+        backwardDistance = new double[nodeCount];
+        forwardEdge = new int[nodeCount];
+        backwardEdge = new int[nodeCount];
+        forwardPrevious = new int[nodeCount];
+        backwardPrevious = new int[nodeCount];
+        forwardStamp = new int[nodeCount];
+        backwardStamp = new int[nodeCount];
+        forwardHeap = new NodeHeap(nodeCount);
+        backwardHeap = new NodeHeap(nodeCount);
+    }
+
+    /**
+     * Wyszukuje najkrótszą ścieżkę między dwoma wierzchołkami.
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @return wynik zapytania zawierający długość ścieżki i indeksy kolejnych sąsiednich wierzchołków ścieżki
+     * @throws IllegalArgumentException jeżeli któryś z indeksów jest spoza zakresu
+     */
+    public PathQueryResult findPath(int startNodeIndex, int targetNodeIndex) {
+        int nodeCount = hierarchy.getNodeCount();
+
+        if (startNodeIndex < 0 || startNodeIndex >= nodeCount || targetNodeIndex < 0 || targetNodeIndex >= nodeCount)
+            throw new IllegalArgumentException(String.format("ContractionHierarchyQuery: Invalid node index. Allowed range: %d - %d", 0, nodeCount - 1));
+
+        stamp++;
+        forwardHeap.clear();
+        backwardHeap.clear();
+        reach(forwardHeap, forwardDistance, forwardEdge, forwardPrevious, forwardStamp, startNodeIndex, 0, -1, -1);
+        reach(backwardHeap, backwardDistance, backwardEdge, backwardPrevious, backwardStamp, targetNodeIndex, 0, -1, -1);
+
+        double best = Double.MAX_VALUE;
+        int meetingNodeIndex = -1;
+
+        while (true) {
+            boolean forwardActive = !forwardHeap.isEmpty() && forwardHeap.peekKey() < best;
+            boolean backwardActive = !backwardHeap.isEmpty() && backwardHeap.peekKey() < best;
+
+            if (!forwardActive && !backwardActive)
+                break;
+
+            // advance the direction with the smaller key, so both searches stop at a similar radius
+            boolean forward = forwardActive && (!backwardActive || forwardHeap.peekKey() <= backwardHeap.peekKey());
+            int nodeIndex = forward ? settle(forwardHeap, forwardDistance, forwardEdge, forwardPrevious, forwardStamp)
+                    : settle(backwardHeap, backwardDistance, backwardEdge, backwardPrevious, backwardStamp);
+
+            if (forwardStamp[nodeIndex] == stamp && backwardStamp[nodeIndex] == stamp) {
+                double distance = forwardDistance[nodeIndex] + backwardDistance[nodeIndex];
+
+                if (distance < best) {
+                    best = distance;
+                    meetingNodeIndex = nodeIndex;
+                }
+            }
+        }
+
+        if (meetingNodeIndex == -1)
+            return new PathQueryResult(startNodeIndex, targetNodeIndex, -1, null);
+
+        return new PathQueryResult(startNodeIndex, targetNodeIndex, best, unpackPath(meetingNodeIndex));
+    }
+
+    /**
+     * Zwraca hierarchię skrótów, w której wykonywane są zapytania.
+     *
+     * @return hierarchia skrótów
+     */
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Wyjmuje z kolejki wierzchołek o najmniejszej odległości i relaksuje jego krawędzie prowadzące w górę hierarchii, chyba że wierzchołek jest zablokowany.
+     *
+     * @param heap     kolejka kierunku wyszukiwania
+     * @param distance tablica odległości kierunku wyszukiwania
+     * @param edge     tablica krawędzi, którymi osiągnięto wierzchołki
+     * @param previous tablica poprzedników wierzchołków
+     * @param stamps   tablica numerów zapytań, w których osiągnięto wierzchołki
+     * @return indeks wyjętego wierzchołka
+     */
+    private int settle(NodeHeap heap, double[] distance, int[] edge, int[] previous, int[] stamps) {
+        int parsedNodeIndex = heap.poll();
+
+        if (isStalled(distance, stamps, parsedNodeIndex))
+            return parsedNodeIndex;
+
+        for (int e = hierarchy.getFirstEdge(parsedNodeIndex); e < hierarchy.getFirstEdge(parsedNodeIndex + 1); e++)
+            reach(heap, distance, edge, previous, stamps, hierarchy.getEdgeTarget(e), distance[parsedNodeIndex] + hierarchy.getEdgeWeight(e), e, parsedNodeIndex);
+
+        return parsedNodeIndex;
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek można osiągnąć krócej, schodząc z już osiągniętego wierzchołka o wyższej randze (stall-on-demand).
+     * Odległość takiego wierzchołka nie jest najkrótsza, dlatego jego krawędzie nie muszą być relaksowane.
+     * Graf jest nieskierowany, więc krawędzie w dół hierarchii to krawędzie w górę przechodzone w przeciwnym kierunku.
+     *
+     * @param distance  tablica odległości kierunku wyszukiwania
+     * @param stamps    tablica numerów zapytań, w których osiągnięto wierzchołki
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return true, jeżeli relaksowanie krawędzi wierzchołka można pominąć; w przeciwnym razie false
+     */
+    private boolean isStalled(double[] distance, int[] stamps, int nodeIndex) {
+        for (int e = hierarchy.getFirstEdge(nodeIndex); e < hierarchy.getFirstEdge(nodeIndex + 1); e++) {
+            int upperNodeIndex = hierarchy.getEdgeTarget(e);
+
+            if (stamps[upperNodeIndex] == stamp && distance[upperNodeIndex] + hierarchy.getEdgeWeight(e) < distance[nodeIndex])
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Aktualizuje odległość wierzchołka, jeżeli nie został jeszcze osiągnięty lub nowa odległość jest mniejsza.
+     *
+     * @param heap              kolejka kierunku wyszukiwania
+     * @param distance          tablica odległości kierunku wyszukiwania
+     * @param edge              tablica krawędzi, którymi osiągnięto wierzchołki
+     * @param previous          tablica poprzedników wierzchołków
+     * @param stamps            tablica numerów zapytań, w których osiągnięto wierzchołki
+     * @param nodeIndex         indeks osiąganego wierzchołka
+     * @param nodeDistance      nowa odległość wierzchołka
+     * @param edgeIndex         pozycja krawędzi, którą osiągnięto wierzchołek
+     * @param previousNodeIndex indeks poprzednika wierzchołka
+     */
+    private void reach(NodeHeap heap, double[] distance, int[] edge, int[] previous, int[] stamps, int nodeIndex, double nodeDistance, int edgeIndex, int previousNodeIndex) {
+        if (stamps[nodeIndex] == stamp && nodeDistance >= distance[nodeIndex])
+            return;
+
+        stamps[nodeIndex] = stamp;
+        distance[nodeIndex] = nodeDistance;
+        edge[nodeIndex] = edgeIndex;
+        previous[nodeIndex] = previousNodeIndex;
+        heap.insertOrDecrease(nodeIndex, nodeDistance);
+    }
+
+    /**
+     * Odtwarza ścieżkę przechodzącą przez wierzchołek spotkania obu kierunków wyszukiwania i rozwija jej skróty.
+     *
+     * @param meetingNodeIndex indeks wierzchołka spotkania
+     * @return tablica indeksów kolejnych wierzchołków ścieżki
+     */
+    private int[] unpackPath(int meetingNodeIndex) {
+        IntArrayList upwardEdges = new IntArrayList();
+        IntArrayList upwardNodes = new IntArrayList();
+
+        for (int nodeIndex = meetingNodeIndex; forwardPrevious[nodeIndex] != -1; nodeIndex = forwardPrevious[nodeIndex]) {
+            upwardEdges.add(forwardEdge[nodeIndex]);
+            upwardNodes.add(forwardPrevious[nodeIndex]);
+        }
+
+        IntArrayList path = new IntArrayList();
+        path.add(upwardNodes.isEmpty() ? meetingNodeIndex : upwardNodes.get(upwardNodes.size() - 1));
+
+        for (int i = upwardEdges.size() - 1; i >= 0; i--)
+            unpackEdge(upwardNodes.get(i), upwardEdges.get(i), false, path);
+
+        for (int nodeIndex = meetingNodeIndex; backwardPrevious[nodeIndex] != -1; nodeIndex = backwardPrevious[nodeIndex])
+            unpackEdge(backwardPrevious[nodeIndex], backwardEdge[nodeIndex], true, path);
+
+        return path.toArray();
+    }
+
+    /**
+     * Rozwija krawędź hierarchii do ciągu oryginalnych krawędzi i dopisuje kolejne wierzchołki (bez pierwszego) do ścieżki.
+     * Skróty są rozwijane iteracyjnie za pomocą stosu, ponieważ ich zagnieżdżenie może być głębokie.
+     *
+     * @param lowerNodeIndex indeks wierzchołka, z którego krawędź wychodzi (o niższej randze)
+     * @param edgeIndex      pozycja krawędzi w hierarchii
+     * @param reversed       true, jeżeli krawędź jest przechodzona od wierzchołka o wyższej randze
+     * @param path           lista indeksów wierzchołków ścieżki
+     */
+    private void unpackEdge(int lowerNodeIndex, int edgeIndex, boolean reversed, IntArrayList path) {
+        int upperNodeIndex = hierarchy.getEdgeTarget(edgeIndex);
+        IntArrayList stack = new IntArrayList();
+
+        // segments are pushed as (from, to) pairs and popped in path order
+        if (reversed) {
+            stack.add(upperNodeIndex);
+            stack.add(lowerNodeIndex);
+        } else {
+            stack.add(lowerNodeIndex);
+            stack.add(upperNodeIndex);
+        }
+
+        int[] values = new int[2];
+
+        while (!stack.isEmpty()) {
+            popPair(stack, values);
+            int from = values[0], to = values[1];
+            int middle = hierarchy.getEdgeMiddle(hierarchy.findEdge(from, to));
+
+            if (middle == -1) {
+                path.add(to);
+            } else {
+                stack.add(middle);
+                stack.add(to);
+                stack.add(from);
+                stack.add(middle);
+            }
+        }
+    }
+
+    /**
+     * Zdejmuje ze stosu parę indeksów wierzchołków.
+     *
+     * @param stack  stos indeksów wierzchołków
+     * @param values tablica, do której zapisywana jest para
+     */
+    private static void popPair(IntArrayList stack, int[] values) {
+        values[1] = stack.get(stack.size() - 1);
+        values[0] = stack.get(stack.size() - 2);
+        stack.removeLast(2);
+    }
+}
@@ -0,0 +1,337 @@
+package org.sgraph;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Klasa odpowiadająca za równoległe wyznaczanie najkrótszych ścieżek od wierzchołka początkowego algorytmem delta-stepping.
+ * Wierzchołki są grupowane w kubełki o szerokości delta według odległości, a relaksacje krawędzi wierzchołków z jednego kubełka są wykonywane równolegle w puli ForkJoinPool.
+ * Wyznaczone odległości są identyczne z odległościami wyznaczanymi sekwencyjnym algorytmem Dijkstry.
+ * Przy kilku ścieżkach o równej długości poprzednik wierzchołka może być inny niż w algorytmie Dijkstry.
+ */
+public class DeltaSteppingPathFinder {
+    /**
+     * Maksymalna liczba wierzchołków przetwarzanych sekwencyjnie przez jedno zadanie.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    /**
+     * Kopia grafu, w którym działa algorytm.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Szerokość kubełka. Krawędzie o wadze nie większej od delta są krawędziami lekkimi.
+     */
+    private final double delta;
+    /**
+     * Pula wątków wykonująca relaksacje krawędzi.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego zapisanych jako bity wartości typu double.
+     * Dla nieujemnych wartości typu double porządek bitów jest zgodny z porządkiem wartości, co pozwala na atomowe zmniejszanie odległości.
+     */
+    private AtomicLongArray distanceBits;
+    /**
+     * Drzewo najkrótszych ścieżek wyznaczone przez algorytm.
+     */
+    private ShortestPathTree tree;
+
+    /**
+     * Konstruktor klasy
+     * Szerokość kubełka jest ustalana na środek zakresu wartości wag na krawędziach w grafie, a relaksacje wykonywane są we wspólnej puli ForkJoinPool.
+     *
+     * @param graph          graf, w którym będzie działał algorytm
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public DeltaSteppingPathFinder(Graph graph, int startNodeIndex) {
+        this(new GraphSnapshot(graph), startNodeIndex);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Szerokość kubełka jest ustalana na środek zakresu wartości wag na krawędziach w grafie, a relaksacje wykonywane są we wspólnej puli ForkJoinPool.
+     *
+     * @param snapshot       kopia grafu, w którym będzie działał algorytm
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public DeltaSteppingPathFinder(GraphSnapshot snapshot, int startNodeIndex) {
+        this(snapshot, startNodeIndex, getDefaultDelta(snapshot.getEdgeValueRange()), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot       kopia grafu, w którym będzie działał algorytm
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @param delta          szerokość kubełka
+     * @param pool           pula wątków wykonująca relaksacje krawędzi
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny lub szerokość kubełka jest niedodatnia
+     */
+    public DeltaSteppingPathFinder(GraphSnapshot snapshot, int startNodeIndex, double delta, ForkJoinPool pool) {
+        if (snapshot.isIndexNotInBounds(startNodeIndex))
+            throw new IllegalArgumentException(String.format("DeltaSteppingPathFinder: Invalid starting node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        if (!(delta > 0) || Double.isInfinite(delta))
+            throw new IllegalArgumentException("DeltaSteppingPathFinder: Bucket width must be positive and finite.");
+
+        this.snapshot = snapshot;
+        this.startNodeIndex = startNodeIndex;
+        this.delta = delta;
+        this.pool = pool;
+    }
+
+    /**
+     * Zwraca domyślną szerokość kubełka dla zakresu wartości wag na krawędziach - środek zakresu.
+     * Jeżeli w grafie nie ma krawędzi, zwraca 1.
+     *
+     * @param edgeValueRange zakres wartości wag na krawędziach
+     * @return domyślna szerokość kubełka
+     */
+    public static double getDefaultDelta(Range edgeValueRange) {
+        double middle = (edgeValueRange.getMin() + edgeValueRange.getMax()) / 2;
+
+        return middle > 0 ? middle : 1;
+    }
+
+    /**
+     * Uruchamia algorytm delta-stepping i wyznacza najkrótsze ścieżki w grafie.
+     * Kubełki są przetwarzane w kolejności rosnących odległości; w obrębie kubełka najpierw relaksowane są wielokrotnie krawędzie lekkie, a na końcu jednokrotnie krawędzie ciężkie.
+     */
+    public void run() {
+        int nodeCount = snapshot.getNodeCount();
+        long infinity = Double.doubleToRawLongBits(Double.MAX_VALUE);
+
+        distanceBits = new AtomicLongArray(nodeCount);
+        ParallelTasks.forEachRange(pool, 0, nodeCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++)
+                distanceBits.set(i, infinity);
+        });
+        distanceBits.set(startNodeIndex, Double.doubleToRawLongBits(0));
+
+        TreeMap<Long, IntArrayList> buckets = new TreeMap<>();
+        int[] frontierStamp = new int[nodeCount];
+        int[] parsedStamp = new int[nodeCount];
+        int frontierNumber = 0;
+        int bucketNumber = 0;
+
+        IntArrayList first = new IntArrayList();
+        first.add(startNodeIndex);
+        buckets.put(0L, first);
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntArrayList> entry = buckets.pollFirstEntry();
+            long bucket = entry.getKey();
+            IntArrayList candidates = entry.getValue();
+            IntArrayList parsedNodes = new IntArrayList();
+            IntArrayList frontier = new IntArrayList();
+
+            bucketNumber++;
+            frontierNumber++;
+
+            for (int i = 0; i < candidates.size(); i++) {
+                int nodeIndex = candidates.get(i);
+
+                // skips stale entries of nodes moved to a lower bucket and duplicates
+                if (getBucket(nodeIndex) == bucket && frontierStamp[nodeIndex] != frontierNumber) {
+                    frontierStamp[nodeIndex] = frontierNumber;
+                    frontier.add(nodeIndex);
+                }
+            }
+
+            while (!frontier.isEmpty()) {
+                for (int i = 0; i < frontier.size(); i++) {
+                    int nodeIndex = frontier.get(i);
+
+                    if (parsedStamp[nodeIndex] != bucketNumber) {
+                        parsedStamp[nodeIndex] = bucketNumber;
+                        parsedNodes.add(nodeIndex);
+                    }
+                }
+
+                ConcurrentLinkedQueue<IntArrayList> updated = relax(frontier, true);
+                frontier = new IntArrayList();
+                frontierNumber++;
+
+                for (IntArrayList nodes : updated) {
+                    for (int i = 0; i < nodes.size(); i++) {
+                        int nodeIndex = nodes.get(i);
+                        long nodeBucket = getBucket(nodeIndex);
+
+                        if (nodeBucket == bucket) {
+                            if (frontierStamp[nodeIndex] != frontierNumber) {
+                                frontierStamp[nodeIndex] = frontierNumber;
+                                frontier.add(nodeIndex);
+                            }
+                        } else {
+                            buckets.computeIfAbsent(nodeBucket, k -> new IntArrayList()).add(nodeIndex);
+                        }
+                    }
+                }
+            }
+
+            for (IntArrayList nodes : relax(parsedNodes, false)) {
+                for (int i = 0; i < nodes.size(); i++)
+                    buckets.computeIfAbsent(getBucket(nodes.get(i)), k -> new IntArrayList()).add(nodes.get(i));
+            }
+        }
+
+        tree = buildTree();
+        distanceBits = null;
+    }
+
+    /**
+     * Równolegle relaksuje lekkie albo ciężkie krawędzie wychodzące z przekazanych wierzchołków.
+     *
+     * @param nodes wierzchołki, których krawędzie są relaksowane
+     * @param light true, jeżeli relaksowane są krawędzie lekkie; false, jeżeli ciężkie
+     * @return kolekcja tablic wierzchołków, których odległość została zmniejszona (wierzchołki mogą się powtarzać)
+     */
+    private ConcurrentLinkedQueue<IntArrayList> relax(IntArrayList nodes, boolean light) {
+        ConcurrentLinkedQueue<IntArrayList> updated = new ConcurrentLinkedQueue<>();
+
+        ParallelTasks.forEachRange(pool, 0, nodes.size(), SEQUENTIAL_THRESHOLD, (from, to) -> {
+            IntArrayList local = new IntArrayList();
+
+            for (int i = from; i < to; i++) {
+                int parsedNodeIndex = nodes.get(i);
+                double distance = Double.longBitsToDouble(distanceBits.get(parsedNodeIndex));
+
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    double edge = snapshot.getEdge(parsedNodeIndex, d);
+
+                    if (edge == 0 || (edge <= delta) != light)
+                        continue;
+
+                    int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+                    long newBits = Double.doubleToRawLongBits(distance + edge);
+                    long oldBits = distanceBits.get(nodeIndex);
+
+                    while (newBits < oldBits) {
+                        if (distanceBits.compareAndSet(nodeIndex, oldBits, newBits)) {
+                            local.add(nodeIndex);
+                            break;
+                        }
+
+                        oldBits = distanceBits.get(nodeIndex);
+                    }
+                }
+            }
+
+            if (!local.isEmpty())
+                updated.add(local);
+        });
+
+        return updated;
+    }
+
+    /**
+     * Zwraca numer kubełka, do którego należy wierzchołek według aktualnej odległości.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return numer kubełka
+     */
+    private long getBucket(int nodeIndex) {
+        return (long) (Double.longBitsToDouble(distanceBits.get(nodeIndex)) / delta);
+    }
+
+    /**
+     * Tworzy drzewo najkrótszych ścieżek na podstawie ostatecznych odległości.
+     * Poprzednikiem wierzchołka zostaje pierwszy sąsiad, przez którego prowadzi najkrótsza ścieżka.
+     *
+     * @return drzewo najkrótszych ścieżek
+     */
+    private ShortestPathTree buildTree() {
+        int nodeCount = snapshot.getNodeCount();
+        double[] distanceToNode = new double[nodeCount];
+        int[] previousNode = new int[nodeCount];
+
+        ParallelTasks.forEachRange(pool, 0, nodeCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++)
+                distanceToNode[i] = Double.longBitsToDouble(distanceBits.get(i));
+        });
+
+        ParallelTasks.forEachRange(pool, 0, nodeCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                previousNode[i] = -1;
+
+                if (i == startNodeIndex || distanceToNode[i] == Double.MAX_VALUE)
+                    continue;
+
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    int nodeIndex = snapshot.getAdjacentNodeIndex(i, d);
+
+                    if (nodeIndex != -1 && distanceToNode[nodeIndex] + snapshot.getEdge(i, d) == distanceToNode[i]) {
+                        previousNode[i] = nodeIndex;
+                        break;
+                    }
+                }
+            }
+        });
+
+        return new ShortestPathTree(startNodeIndex, distanceToNode, previousNode);
+    }
+
+    /**
+     * Zwraca odległość wierzchołka o określonym indeksie od wierzchołka początkowego.
+     * Jeżeli wierzchołek nie jest połączony z wierzchołkiem początkowym, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return odległość sprawdzanego wierzchołka od wierzchołka początkowego
+     * @throws IllegalStateException jeżeli algorytm nie został uruchomiony
+     */
+    public double getDistanceToNode(int nodeIndex) {
+        return getShortestPathTree().getDistanceToNode(nodeIndex);
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę do wierzchołka o określonym indeksie w postaci tablicy indeksów wierzchołków.
+     * Jeżeli droga nie istnieje, to zwraca null.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     * @throws IllegalStateException jeżeli algorytm nie został uruchomiony
+     */
+    public int[] getIndexPathToNode(int nodeIndex) {
+        return getShortestPathTree().getIndexPathToNode(nodeIndex);
+    }
+
+    /**
+     * Zwraca drzewo najkrótszych ścieżek wyznaczone przez algorytm.
+     *
+     * @return drzewo najkrótszych ścieżek
+     * @throws IllegalStateException jeżeli algorytm nie został uruchomiony
+     */
+    public ShortestPathTree getShortestPathTree() {
+        if (tree == null)
+            throw new IllegalStateException("DeltaSteppingPathFinder: The algorithm has not been run yet.");
+
+        return tree;
+    }
+
+    /**
+     * Zwraca szerokość kubełka używaną przez algorytm.
+     *
+     * @return szerokość kubełka
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka, od którego rozpoczyna się wyznaczanie najkrótszych ścieżek w grafie.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+}
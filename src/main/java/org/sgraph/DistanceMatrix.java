@@ -0,0 +1,286 @@
+package org.sgraph;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Klasa przechowująca tablicę odległości między wierzchołkami źródłowymi a wierzchołkami docelowymi.
+ * Odległości są przechowywane w jednowymiarowej tablicy wierszami (jeden wiersz na wierzchołek źródłowy).
+ * Wartość -1 oznacza brak ścieżki między wierzchołkami.
+ */
+public class DistanceMatrix {
+    /**
+     * Liczba wierszy wyznaczanych jednocześnie podczas zapisu tablicy odległości do pliku.
+     */
+    private static final int ROW_BLOCK_SIZE = 256;
+    /**
+     * Tablica indeksów wierzchołków źródłowych (wierszy).
+     */
+    private final int[] sourceNodeIndexes;
+    /**
+     * Tablica indeksów wierzchołków docelowych (kolumn).
+     */
+    private final int[] targetNodeIndexes;
+    /**
+     * Tablica odległości zapisana wierszami.
+     */
+    private final double[] distances;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @param distances         tablica odległości zapisana wierszami
+     */
+    private DistanceMatrix(int[] sourceNodeIndexes, int[] targetNodeIndexes, double[] distances) {
+        this.sourceNodeIndexes = sourceNodeIndexes;
+        this.targetNodeIndexes = targetNodeIndexes;
+        this.distances = distances;
+    }
+
+    /**
+     * Wyznacza tablicę odległości między wierzchołkami źródłowymi a docelowymi w przekazanym grafie.
+     * Wykorzystuje tymczasową pulę wątków o rozmiarze równym liczbie dostępnych procesorów.
+     *
+     * @param graph             graf, w którym wyznaczane są odległości
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @return tablica odległości
+     * @throws IllegalArgumentException jeżeli któryś z indeksów wierzchołków jest niepoprawny
+     */
+    public static DistanceMatrix calculate(Graph graph, int[] sourceNodeIndexes, int[] targetNodeIndexes) {
+        try (PathQueryService service = new PathQueryService(graph)) {
+            return calculate(service, sourceNodeIndexes, targetNodeIndexes);
+        }
+    }
+
+    /**
+     * Wyznacza tablicę odległości między wierzchołkami źródłowymi a docelowymi, wykonując równolegle wyszukiwania z każdego wierzchołka źródłowego.
+     * Wyszukiwanie z danego wierzchołka kończy się po przetworzeniu wszystkich wierzchołków docelowych, a przy pustym zbiorze wierzchołków docelowych
+     * wyszukiwania nie są wykonywane.
+     *
+     * @param service           obiekt wykonujący zapytania
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @return tablica odległości
+     * @throws IllegalArgumentException jeżeli któryś z indeksów wierzchołków jest niepoprawny
+     */
+    public static DistanceMatrix calculate(PathQueryService service, int[] sourceNodeIndexes, int[] targetNodeIndexes) {
+        int[] sources = sourceNodeIndexes.clone();
+        int[] targets = targetNodeIndexes.clone();
+        double[] distances = new double[sources.length * targets.length];
+
+        if (targets.length == 0) { // every row is empty, so no search is needed
+            checkSourceNodes(service.getSnapshot(), sources);
+            return new DistanceMatrix(sources, targets, distances);
+        }
+
+        boolean[] targetNodes = markTargetNodes(service.getSnapshot(), targets);
+        List<CompletableFuture<double[]>> rows = submitRows(service, sources, targets, targetNodes, 0, sources.length);
+
+        for (int i = 0; i < rows.size(); i++)
+            System.arraycopy(rows.get(i).join(), 0, distances, i * targets.length, targets.length);
+
+        return new DistanceMatrix(sources, targets, distances);
+    }
+
+    /**
+     * Wyznacza tablicę odległości i zapisuje ją wierszami do pliku tekstowego bez przechowywania całej tablicy w pamięci.
+     * Pierwsza linia pliku zawiera wymiary tablicy, druga - indeksy wierzchołków docelowych, a każda kolejna zawiera indeks wierzchołka źródłowego i odległości do wierzchołków docelowych.
+     *
+     * @param service           obiekt wykonujący zapytania
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @param file              plik, do którego będzie zapisywana tablica
+     * @throws IOException              jeżeli wystąpił błąd wejścia/wyjścia podczas pisania do pliku
+     * @throws IllegalArgumentException jeżeli któryś z indeksów wierzchołków jest niepoprawny
+     */
+    public static void writeToFile(PathQueryService service, int[] sourceNodeIndexes, int[] targetNodeIndexes, File file) throws IOException {
+        boolean[] targetNodes = markTargetNodes(service.getSnapshot(), targetNodeIndexes);
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write(String.format("%d %d\n", sourceNodeIndexes.length, targetNodeIndexes.length));
+
+            StringBuilder header = new StringBuilder();
+
+            for (int targetNodeIndex : targetNodeIndexes)
+                header.append(targetNodeIndex).append(' ');
+
+            writer.write(header.toString().trim() + "\n");
+
+            for (int first = 0; first < sourceNodeIndexes.length; first += ROW_BLOCK_SIZE) {
+                int last = Math.min(first + ROW_BLOCK_SIZE, sourceNodeIndexes.length);
+                List<CompletableFuture<double[]>> rows = submitRows(service, sourceNodeIndexes, targetNodeIndexes, targetNodes, first, last);
+
+                for (int i = 0; i < rows.size(); i++)
+                    writeRow(writer, sourceNodeIndexes[first + i], rows.get(i).join());
+            }
+        }
+    }
+
+    /**
+     * Tworzy tablicę oznaczającą wierzchołki docelowe.
+     *
+     * @param snapshot          kopia grafu, w którym wyznaczane są odległości
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @return tablica oznaczająca wierzchołki docelowe
+     * @throws IllegalArgumentException jeżeli któryś z indeksów wierzchołków jest niepoprawny
+     */
+    private static boolean[] markTargetNodes(GraphSnapshot snapshot, int[] targetNodeIndexes) {
+        boolean[] targetNodes = new boolean[snapshot.getNodeCount()];
+
+        for (int nodeIndex : targetNodeIndexes) {
+            if (snapshot.isIndexNotInBounds(nodeIndex))
+                throw new IllegalArgumentException(String.format("DistanceMatrix: Invalid target node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+            targetNodes[nodeIndex] = true;
+        }
+
+        return targetNodes;
+    }
+
+    /**
+     * Sprawdza poprawność indeksów wierzchołków źródłowych, jeżeli wyszukiwania nie są wykonywane.
+     *
+     * @param snapshot          kopia grafu, w którym wyznaczane są odległości
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @throws IllegalArgumentException jeżeli któryś z indeksów wierzchołków jest niepoprawny
+     */
+    private static void checkSourceNodes(GraphSnapshot snapshot, int[] sourceNodeIndexes) {
+        for (int nodeIndex : sourceNodeIndexes) {
+            if (snapshot.isIndexNotInBounds(nodeIndex))
+                throw new IllegalArgumentException(String.format("DistanceMatrix: Invalid source node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+        }
+    }
+
+    /**
+     * Zleca wyznaczenie wierszy tablicy odległości dla wierzchołków źródłowych z określonego przedziału.
+     *
+     * @param service           obiekt wykonujący zapytania
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @param targetNodes       tablica oznaczająca wierzchołki docelowe
+     * @param first             pozycja pierwszego wierzchołka źródłowego (włącznie)
+     * @param last              pozycja ostatniego wierzchołka źródłowego (wyłącznie)
+     * @return lista obiektów reprezentujących przyszłe wiersze tablicy
+     */
+    private static List<CompletableFuture<double[]>> submitRows(PathQueryService service, int[] sourceNodeIndexes, int[] targetNodeIndexes, boolean[] targetNodes, int first, int last) {
+        int targetNodeCount = (int) Arrays.stream(targetNodeIndexes).distinct().count(); // duplicated targets are settled only once
+        List<CompletableFuture<double[]>> rows = new ArrayList<>(last - first);
+
+        if (targetNodeCount == 0) { // the rows are empty, so the sources are only checked
+            checkSourceNodes(service.getSnapshot(), Arrays.copyOfRange(sourceNodeIndexes, first, last));
+
+            for (int i = first; i < last; i++)
+                rows.add(CompletableFuture.completedFuture(new double[0]));
+
+            return rows;
+        }
+
+        for (int i = first; i < last; i++)
+            rows.add(service.findDistances(sourceNodeIndexes[i], targetNodeIndexes, targetNodes, targetNodeCount));
+
+        return rows;
+    }
+
+    /**
+     * Zapisuje do pliku wiersz tablicy poprzedzony indeksem wierzchołka źródłowego.
+     *
+     * @param writer          obiekt zapisujący do pliku
+     * @param sourceNodeIndex indeks wierzchołka źródłowego
+     * @param distances       odległości zapisywane w wierszu
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia podczas pisania do pliku
+     */
+    private static void writeRow(BufferedWriter writer, int sourceNodeIndex, double[] distances) throws IOException {
+        StringBuilder line = new StringBuilder().append(sourceNodeIndex).append(':');
+
+        for (double distance : distances)
+            line.append(' ').append(distance);
+
+        writer.write(line.append('\n').toString());
+    }
+
+    /**
+     * Zwraca liczbę wierszy tablicy (wierzchołków źródłowych).
+     *
+     * @return liczba wierszy tablicy
+     */
+    public int getRowCount() {
+        return sourceNodeIndexes.length;
+    }
+
+    /**
+     * Zwraca liczbę kolumn tablicy (wierzchołków docelowych).
+     *
+     * @return liczba kolumn tablicy
+     */
+    public int getColumnCount() {
+        return targetNodeIndexes.length;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka źródłowego odpowiadającego wierszowi tablicy.
+     *
+     * @param row numer wiersza
+     * @return indeks wierzchołka źródłowego
+     */
+    public int getSourceNodeIndex(int row) {
+        return sourceNodeIndexes[row];
+    }
+
+    /**
+     * Zwraca indeks wierzchołka docelowego odpowiadającego kolumnie tablicy.
+     *
+     * @param column numer kolumny
+     * @return indeks wierzchołka docelowego
+     */
+    public int getTargetNodeIndex(int column) {
+        return targetNodeIndexes[column];
+    }
+
+    /**
+     * Zwraca odległość między wierzchołkiem źródłowym a docelowym o określonych pozycjach w tablicy.
+     * Jeżeli ścieżka nie istnieje, zwraca -1.
+     *
+     * @param row    numer wiersza (pozycja wierzchołka źródłowego)
+     * @param column numer kolumny (pozycja wierzchołka docelowego)
+     * @return odległość między wierzchołkami
+     * @throws IllegalArgumentException jeżeli numer wiersza lub kolumny jest spoza zakresu
+     */
+    public double getDistance(int row, int column) {
+        if (row < 0 || row >= getRowCount() || column < 0 || column >= getColumnCount())
+            throw new IllegalArgumentException(String.format("DistanceMatrix: Cannot get a cell (%d, %d) of a %dx%d matrix.", row, column, getRowCount(), getColumnCount()));
+
+        return distances[row * targetNodeIndexes.length + column];
+    }
+
+    /**
+     * Zwraca tablicę odległości zapisaną wierszami. Zwracana tablica nie jest kopiowana.
+     *
+     * @return jednowymiarowa tablica odległości
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Zwraca kopię tablicy odległości w postaci tablicy dwuwymiarowej.
+     *
+     * @return dwuwymiarowa tablica odległości
+     */
+    public double[][] toArray() {
+        double[][] array = new double[getRowCount()][];
+
+        for (int i = 0; i < array.length; i++)
+            array[i] = Arrays.copyOfRange(distances, i * getColumnCount(), (i + 1) * getColumnCount());
+
+        return array;
+    }
+}
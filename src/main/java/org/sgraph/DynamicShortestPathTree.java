@@ -0,0 +1,330 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa przechowująca drzewo najkrótszych ścieżek od wierzchołka początkowego, naprawiane przyrostowo po zmianach krawędzi grafu.
+ * Po zmniejszeniu wagi lub dodaniu krawędzi odległości są poprawiane algorytmem Dijkstry rozpoczynanym tylko od wierzchołków, których odległość się zmniejszyła.
+ * Po zwiększeniu wagi lub usunięciu krawędzi drzewa wyznaczane są ponownie jedynie odległości wierzchołków z poddrzewa zawieszonego na tej krawędzi
+ * (na wzór algorytmu Ramalingama-Repsa). Zmiany krawędzi spoza drzewa, które nie skracają żadnej ścieżki, nie wymagają obliczeń.
+ * Obiekt klasy nie może być używany jednocześnie przez kilka wątków.
+ */
+public class DynamicShortestPathTree {
+    /**
+     * Graf, którego zmiany są śledzone.
+     */
+    private final Graph graph;
+    /**
+     * Tablica wag krawędzi grafu indeksowana indeksem krawędzi, aktualizowana przy zmianach połączeń.
+     */
+    private final double[] edges;
+    /**
+     * Widok grafu na tablicy wag krawędzi. Nie jest udostępniany poza klasą, ponieważ jego wagi zmieniają się przy zmianach połączeń.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Tablica najkrótszych odległości do wierzchołka początkowego.
+     * Wartość Double.MAX_VALUE oznacza brak połączenia.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     * Dla wierzchołka początkowego i wierzchołków niepołączonych, wartość ustalona na -1.
+     */
+    private final int[] previousNode;
+    /**
+     * Tablica numerów napraw, w których wierzchołki należały do naprawianego poddrzewa.
+     */
+    private final int[] affectedStamp;
+    /**
+     * Kolejka wierzchołków, których odległość się zmieniła.
+     */
+    private final NodeHeap heap;
+    /**
+     * Numer aktualnej naprawy.
+     */
+    private int stamp;
+    /**
+     * Liczba wierzchołków, których odległość została zmieniona przez ostatnią operację.
+     */
+    private int affectedNodeCount;
+
+    /**
+     * Konstruktor klasy
+     * Wyznacza początkowe drzewo najkrótszych ścieżek algorytmem Dijkstry.
+     *
+     * @param graph          graf, w którym wyznaczane są najkrótsze ścieżki
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public DynamicShortestPathTree(Graph graph, int startNodeIndex) {
+        GraphSnapshot copy = new GraphSnapshot(graph);
+
+        if (copy.isIndexNotInBounds(startNodeIndex))
+            throw new IllegalArgumentException(String.format("DynamicShortestPathTree: Invalid starting node index. Allowed range: %d - %d", 0, copy.getNodeCount() - 1));
+
+        this.graph = graph;
+        this.startNodeIndex = startNodeIndex;
+        edges = new double[copy.getEdgeIndexCount()];
+
+        for (int i = 0; i < edges.length; i++)
+            edges[i] = copy.getEdge(i);
+
+        snapshot = new GraphSnapshot(copy.getColumnCount(), copy.getRowCount(), edges);
+        distanceToNode = new double[copy.getNodeCount()];
+        previousNode = new int[copy.getNodeCount()];
+        affectedStamp = new int[copy.getNodeCount()];
+        heap = new NodeHeap(copy.getNodeCount());
+
+        Arrays.fill(distanceToNode, Double.MAX_VALUE);
+        Arrays.fill(previousNode, -1);
+
+        distanceToNode[startNodeIndex] = 0;
+        heap.insertOrDecrease(startNodeIndex, 0);
+        affectedNodeCount = propagate();
+    }
+
+    /**
+     * Dodaje połączenie do grafu i poprawia odległości wierzchołków, do których prowadzi teraz krótsza ścieżka.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     * @param edge            wartość wagi na krawędzi połączenia
+     * @throws IllegalArgumentException jeżeli połączenie nie może zostać dodane do grafu
+     */
+    public void addConnection(int firstNodeIndex, int secondNodeIndex, double edge) {
+        graph.addConnection(firstNodeIndex, secondNodeIndex, edge);
+        setEdge(firstNodeIndex, secondNodeIndex, edge);
+    }
+
+    /**
+     * Usuwa połączenie z grafu i naprawia drzewo, jeżeli połączenie do niego należało.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     */
+    public void removeConnection(int firstNodeIndex, int secondNodeIndex) {
+        graph.removeConnection(firstNodeIndex, secondNodeIndex);
+        setEdge(firstNodeIndex, secondNodeIndex, 0);
+    }
+
+    /**
+     * Zmienia wagę istniejącego połączenia w grafie i naprawia drzewo.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     * @param edge            nowa wartość wagi na krawędzi połączenia
+     * @throws IllegalArgumentException jeżeli połączenie nie istnieje lub nowa wartość wagi jest niedodatnia
+     */
+    public void updateConnection(int firstNodeIndex, int secondNodeIndex, double edge) {
+        if (graph.getEdgeOnNodeConnection(firstNodeIndex, secondNodeIndex) == 0)
+            throw new IllegalArgumentException(String.format("DynamicShortestPathTree: Nodes %d and %d are not connected.", firstNodeIndex, secondNodeIndex));
+
+        if (edge <= 0)
+            throw new IllegalArgumentException("DynamicShortestPathTree: The edge value must be positive.");
+
+        graph.removeConnection(firstNodeIndex, secondNodeIndex);
+        graph.addConnection(firstNodeIndex, secondNodeIndex, edge);
+        setEdge(firstNodeIndex, secondNodeIndex, edge);
+    }
+
+    /**
+     * Ustawia wagę krawędzi między wierzchołkami i naprawia drzewo. Waga 0 oznacza usunięcie krawędzi.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @param edge            nowa waga krawędzi
+     */
+    private void setEdge(int firstNodeIndex, int secondNodeIndex, double edge) {
+        int edgeIndex = snapshot.getEdgeIndexBetween(firstNodeIndex, secondNodeIndex);
+        affectedNodeCount = 0;
+
+        if (edgeIndex == -1 || edges[edgeIndex] == edge)
+            return;
+
+        double oldEdge = edges[edgeIndex];
+        edges[edgeIndex] = edge;
+
+        if (oldEdge == 0 || (edge != 0 && edge < oldEdge)) {
+            decrease(firstNodeIndex, secondNodeIndex, edge);
+            decrease(secondNodeIndex, firstNodeIndex, edge);
+        } else if (previousNode[secondNodeIndex] == firstNodeIndex) {
+            increase(secondNodeIndex);
+        } else if (previousNode[firstNodeIndex] == secondNodeIndex) {
+            increase(firstNodeIndex);
+        }
+    }
+
+    /**
+     * Poprawia odległości po skróceniu krawędzi prowadzącej od jednego wierzchołka do drugiego.
+     *
+     * @param fromNodeIndex indeks wierzchołka, z którego prowadzi krawędź
+     * @param toNodeIndex   indeks wierzchołka, do którego prowadzi krawędź
+     * @param edge          nowa waga krawędzi
+     */
+    private void decrease(int fromNodeIndex, int toNodeIndex, double edge) {
+        if (distanceToNode[fromNodeIndex] == Double.MAX_VALUE || distanceToNode[fromNodeIndex] + edge >= distanceToNode[toNodeIndex])
+            return;
+
+        distanceToNode[toNodeIndex] = distanceToNode[fromNodeIndex] + edge;
+        previousNode[toNodeIndex] = fromNodeIndex;
+        heap.insertOrDecrease(toNodeIndex, distanceToNode[toNodeIndex]);
+        affectedNodeCount += propagate();
+    }
+
+    /**
+     * Naprawia drzewo po wydłużeniu lub usunięciu krawędzi drzewa prowadzącej do wierzchołka.
+     * Odległości wierzchołków poddrzewa są usuwane, a następnie wyznaczane ponownie od ich sąsiadów spoza poddrzewa.
+     *
+     * @param rootNodeIndex indeks wierzchołka, do którego prowadziła zmieniona krawędź
+     */
+    private void increase(int rootNodeIndex) {
+        stamp++;
+
+        IntArrayList subtree = new IntArrayList();
+        subtree.add(rootNodeIndex);
+        affectedStamp[rootNodeIndex] = stamp;
+
+        // children are found among the grid neighbours, so no child lists are stored
+        for (int head = 0; head < subtree.size(); head++) {
+            int parsedNodeIndex = subtree.get(head);
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex != -1 && previousNode[nodeIndex] == parsedNodeIndex && affectedStamp[nodeIndex] != stamp) {
+                    affectedStamp[nodeIndex] = stamp;
+                    subtree.add(nodeIndex);
+                }
+            }
+        }
+
+        for (int i = 0; i < subtree.size(); i++) {
+            distanceToNode[subtree.get(i)] = Double.MAX_VALUE;
+            previousNode[subtree.get(i)] = -1;
+        }
+
+        for (int i = 0; i < subtree.size(); i++) {
+            int nodeIndex = subtree.get(i);
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int adjacentNodeIndex = snapshot.getAdjacentNodeIndex(nodeIndex, d);
+
+                if (adjacentNodeIndex == -1 || affectedStamp[adjacentNodeIndex] == stamp || distanceToNode[adjacentNodeIndex] == Double.MAX_VALUE)
+                    continue;
+
+                double distance = distanceToNode[adjacentNodeIndex] + snapshot.getEdge(nodeIndex, d);
+
+                if (distance < distanceToNode[nodeIndex]) {
+                    distanceToNode[nodeIndex] = distance;
+                    previousNode[nodeIndex] = adjacentNodeIndex;
+                }
+            }
+
+            if (distanceToNode[nodeIndex] != Double.MAX_VALUE)
+                heap.insertOrDecrease(nodeIndex, distanceToNode[nodeIndex]);
+        }
+
+        propagate();
+        affectedNodeCount = subtree.size();
+    }
+
+    /**
+     * Przetwarza wierzchołki z kolejki w kolejności odległości, poprawiając odległości ich sąsiadów, do których prowadzi krótsza ścieżka.
+     *
+     * @return liczba przetworzonych wierzchołków
+     */
+    private int propagate() {
+        int parsedCount = 0;
+
+        while (!heap.isEmpty()) {
+            int parsedNodeIndex = heap.poll();
+            parsedCount++;
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1)
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (distance < distanceToNode[nodeIndex]) {
+                    distanceToNode[nodeIndex] = distance;
+                    previousNode[nodeIndex] = parsedNodeIndex;
+                    heap.insertOrDecrease(nodeIndex, distance);
+                }
+            }
+        }
+
+        return parsedCount;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca odległość wierzchołka o określonym indeksie od wierzchołka początkowego.
+     * Jeżeli wierzchołek nie jest połączony z wierzchołkiem początkowym, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return odległość sprawdzanego wierzchołka od wierzchołka początkowego
+     */
+    public double getDistanceToNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return distanceToNode[nodeIndex] == Double.MAX_VALUE ? -1 : distanceToNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca indeks poprzednika wierzchołka na najkrótszej ścieżce.
+     * Dla wierzchołka początkowego i wierzchołków niepołączonych zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return indeks poprzednika wierzchołka
+     */
+    public int getPreviousNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return previousNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków, których odległość była wyznaczana ponownie podczas ostatniej operacji.
+     *
+     * @return liczba zmienionych wierzchołków
+     */
+    public int getAffectedNodeCount() {
+        return affectedNodeCount;
+    }
+
+    /**
+     * Tworzy niezależną kopię aktualnego drzewa najkrótszych ścieżek.
+     *
+     * @return drzewo najkrótszych ścieżek
+     */
+    public ShortestPathTree toShortestPathTree() {
+        return new ShortestPathTree(startNodeIndex, distanceToNode.clone(), previousNode.clone());
+    }
+
+    /**
+     * Sprawdza poprawność indeksu wierzchołka.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest spoza zakresu
+     */
+    private void checkIndex(int nodeIndex) {
+        if (snapshot.isIndexNotInBounds(nodeIndex))
+            throw new IllegalArgumentException(String.format("DynamicShortestPathTree: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+    }
+}
@@ -0,0 +1,116 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa przechowująca paczkę zmian połączeń grafu (ustawienie wagi, dodanie lub usunięcie połączenia) wprowadzanych jednym wywołaniem Graph.applyBatch.
+ * Zmiany są przechowywane w tablicach typów prostych i wprowadzane w kolejności dodania, więc późniejsza zmiana tego samego połączenia zastępuje wcześniejszą.
+ *
+ * @see Graph#applyBatch(EdgeBatch)
+ */
+public class EdgeBatch {
+    /**
+     * Lista indeksów pierwszych wierzchołków zmienianych połączeń.
+     */
+    private final IntArrayList firstNodeIndexes = new IntArrayList();
+    /**
+     * Lista indeksów drugich wierzchołków zmienianych połączeń.
+     */
+    private final IntArrayList secondNodeIndexes = new IntArrayList();
+    /**
+     * Tablica nowych wag połączeń - wartość 0 oznacza usunięcie połączenia.
+     */
+    private double[] edges = new double[16];
+
+    /**
+     * Dodaje do paczki ustawienie wagi połączenia między dwoma wierzchołkami.
+     * Jeżeli połączenie nie istnieje w chwili wprowadzania paczki, zostanie dodane.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     * @param edge            nowa wartość wagi na krawędzi połączenia
+     * @throws IllegalArgumentException jeżeli wartość wagi jest niedodatnia
+     */
+    public void setConnection(int firstNodeIndex, int secondNodeIndex, double edge) {
+        if (edge <= 0)
+            throw new IllegalArgumentException("EdgeBatch: The edge value must be positive.");
+
+        add(firstNodeIndex, secondNodeIndex, edge);
+    }
+
+    /**
+     * Dodaje do paczki usunięcie połączenia między dwoma wierzchołkami.
+     * Jeżeli połączenie nie istnieje w chwili wprowadzania paczki, zmiana jest pomijana.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     */
+    public void removeConnection(int firstNodeIndex, int secondNodeIndex) {
+        add(firstNodeIndex, secondNodeIndex, 0);
+    }
+
+    /**
+     * Dodaje zmianę połączenia na koniec paczki.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     * @param edge            nowa wartość wagi lub 0 dla usunięcia połączenia
+     */
+    private void add(int firstNodeIndex, int secondNodeIndex, double edge) {
+        int i = firstNodeIndexes.size();
+
+        if (i == edges.length)
+            edges = Arrays.copyOf(edges, 2 * i);
+
+        firstNodeIndexes.add(firstNodeIndex);
+        secondNodeIndexes.add(secondNodeIndex);
+        edges[i] = edge;
+    }
+
+    /**
+     * Zwraca liczbę zmian w paczce.
+     *
+     * @return liczba zmian
+     */
+    public int size() {
+        return firstNodeIndexes.size();
+    }
+
+    /**
+     * Usuwa wszystkie zmiany z paczki, pozwalając użyć jej ponownie.
+     */
+    public void clear() {
+        firstNodeIndexes.clear();
+        secondNodeIndexes.clear();
+    }
+
+    /**
+     * Zwraca indeks pierwszego wierzchołka i-tej zmiany.
+     *
+     * @param i numer zmiany
+     * @return indeks pierwszego wierzchołka
+     */
+    int getFirstNodeIndex(int i) {
+        return firstNodeIndexes.get(i);
+    }
+
+    /**
+     * Zwraca indeks drugiego wierzchołka i-tej zmiany.
+     *
+     * @param i numer zmiany
+     * @return indeks drugiego wierzchołka
+     */
+    int getSecondNodeIndex(int i) {
+        return secondNodeIndexes.get(i);
+    }
+
+    /**
+     * Zwraca nową wagę połączenia i-tej zmiany lub 0, jeżeli zmiana usuwa połączenie.
+     *
+     * @param i numer zmiany
+     * @return nowa wartość wagi lub 0
+     */
+    double getEdge(int i) {
+        return edges[i];
+    }
+}
@@ -0,0 +1,110 @@
+package org.sgraph;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Klasa przechodząca po indeksach istniejących krawędzi grafu-siatki w zakresie wierszy.
+ * Podział zakresu następuje na granicy wierszy, więc każda część obejmuje ciągły fragment tablicy wag i krawędzie wychodzące z jej wierszy.
+ * Przeznaczona do tworzenia strumieni IntStream, które mogą być przetwarzane równolegle bez opakowywania indeksów.
+ *
+ * @see GraphSnapshot#edges()
+ * @see Graph#edges()
+ */
+class EdgeSpliterator implements Spliterator.OfInt {
+    /**
+     * Minimalna liczba wierszy w części, poniżej której zakres nie jest dalej dzielony.
+     */
+    private static final int MIN_SPLIT_ROW_COUNT = 2;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Funkcja zwracająca wagę krawędzi o podanym indeksie lub 0, jeżeli krawędź nie istnieje.
+     */
+    private final IntToDoubleFunction weights;
+    /**
+     * Numer wiersza za ostatnim wierszem zakresu.
+     */
+    private final int toRow;
+    /**
+     * Indeks następnej sprawdzanej krawędzi.
+     */
+    private int edgeIndex;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param columnCount liczba kolumn w siatce
+     * @param fromRow     numer pierwszego wiersza zakresu
+     * @param toRow       numer wiersza za ostatnim wierszem zakresu
+     * @param weights     funkcja zwracająca wagę krawędzi o podanym indeksie lub 0, jeżeli krawędź nie istnieje
+     */
+    EdgeSpliterator(int columnCount, int fromRow, int toRow, IntToDoubleFunction weights) {
+        this.columnCount = columnCount;
+        this.toRow = toRow;
+        this.weights = weights;
+        edgeIndex = 2 * fromRow * columnCount;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        int end = 2 * toRow * columnCount;
+
+        while (edgeIndex < end) {
+            int e = edgeIndex++;
+
+            if (weights.applyAsDouble(e) != 0) {
+                action.accept(e);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int end = 2 * toRow * columnCount;
+
+        for (int e = edgeIndex; e < end; e++) {
+            if (weights.applyAsDouble(e) != 0)
+                action.accept(e);
+        }
+
+        edgeIndex = end;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        int currentRow = edgeIndex / (2 * columnCount);
+        int middleRow = (currentRow + toRow) >>> 1;
+
+        if (edgeIndex != 2 * currentRow * columnCount || toRow - currentRow < 2 * MIN_SPLIT_ROW_COUNT)
+            return null; // started mid-row or too small to split
+
+        // the first half of the rows is handed off, this part keeps the rest
+        EdgeSpliterator prefix = new EdgeSpliterator(columnCount, currentRow, middleRow, weights);
+        edgeIndex = 2 * middleRow * columnCount;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return 2L * toRow * columnCount - edgeIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null; // natural order of edge indexes
+    }
+}
@@ -0,0 +1,108 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca oszacowanie wykorzystania krawędzi przez najkrótsze ścieżki (krawędziową miarę pośrednictwa).
+ * Wykorzystanie krawędzi to liczba uporządkowanych par wierzchołków, których najkrótsza ścieżka przechodzi przez krawędź;
+ * przy kilku najkrótszych ścieżkach para jest dzielona między nie proporcjonalnie do ich liczby.
+ * Wartości wyznaczone z próbki wierzchołków początkowych są przeskalowane do wszystkich wierzchołków.
+ * Obiekty klasy są niezmienne.
+ *
+ * @see EdgeUsageEstimator
+ */
+public class EdgeUsage {
+    /**
+     * Tablica wykorzystania krawędzi indeksowana indeksem krawędzi.
+     */
+    private final double[] usage;
+    /**
+     * Liczba wierzchołków początkowych, od których wyznaczono najkrótsze ścieżki.
+     */
+    private final int sampleCount;
+    /**
+     * Informacja, czy najkrótsze ścieżki wyznaczono od wszystkich wierzchołków.
+     */
+    private final boolean isExact;
+    /**
+     * Indeks krawędzi o największym wykorzystaniu lub -1, jeżeli żadna krawędź nie jest wykorzystywana.
+     */
+    private final int maxUsageEdgeIndex;
+
+    /**
+     * Konstruktor klasy
+     * Przekazana tablica nie jest kopiowana i nie może być później modyfikowana.
+     *
+     * @param usage       tablica wykorzystania krawędzi
+     * @param sampleCount liczba wierzchołków początkowych
+     * @param isExact     informacja, czy najkrótsze ścieżki wyznaczono od wszystkich wierzchołków
+     */
+    EdgeUsage(double[] usage, int sampleCount, boolean isExact) {
+        this.usage = usage;
+        this.sampleCount = sampleCount;
+        this.isExact = isExact;
+
+        int max = -1;
+
+        for (int e = 0; e < usage.length; e++) {
+            if (usage[e] > 0 && (max == -1 || usage[e] > usage[max]))
+                max = e;
+        }
+
+        maxUsageEdgeIndex = max;
+    }
+
+    /**
+     * Zwraca wykorzystanie krawędzi o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return wykorzystanie krawędzi
+     */
+    public double getUsage(int edgeIndex) {
+        return usage[edgeIndex];
+    }
+
+    /**
+     * Zwraca kopię tablicy wykorzystania krawędzi indeksowanej indeksem krawędzi.
+     *
+     * @return tablica wykorzystania krawędzi
+     */
+    public double[] getUsages() {
+        return usage.clone();
+    }
+
+    /**
+     * Zwraca zakres wartości wykorzystania krawędzi od 0 do największej wartości.
+     *
+     * @return zakres wartości wykorzystania
+     */
+    public Range getUsageRange() {
+        return new Range(0, maxUsageEdgeIndex == -1 ? 0 : usage[maxUsageEdgeIndex]);
+    }
+
+    /**
+     * Zwraca indeks krawędzi o największym wykorzystaniu, czyli najbardziej obciążonego wąskiego gardła.
+     * Jeżeli żadna krawędź nie jest wykorzystywana, zwraca -1.
+     *
+     * @return indeks krawędzi lub -1
+     */
+    public int getMaxUsageEdgeIndex() {
+        return maxUsageEdgeIndex;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków początkowych, od których wyznaczono najkrótsze ścieżki.
+     *
+     * @return liczba wierzchołków początkowych
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Sprawdza, czy najkrótsze ścieżki wyznaczono od wszystkich wierzchołków, czyli czy wartości są dokładne.
+     *
+     * @return true, jeżeli wartości są dokładne; w przeciwnym razie false
+     */
+    public boolean isExact() {
+        return isExact;
+    }
+}
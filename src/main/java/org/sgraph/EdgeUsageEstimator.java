@@ -0,0 +1,223 @@
+package org.sgraph;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Klasa odpowiadająca za szacowanie wykorzystania krawędzi przez najkrótsze ścieżki algorytmem Brandesa na losowej próbce wierzchołków początkowych.
+ * Od każdego wierzchołka z próbki wykonywany jest algorytm Dijkstry zliczający najkrótsze ścieżki, a następnie zależności są sumowane
+ * w odwrotnej kolejności przetwarzania. Wyszukiwania są wykonywane równolegle w puli ForkJoinPool, a każde zadanie sumuje wyniki
+ * w tablicy pobranej ze wspólnej kolejki i zwraca ją po zakończeniu, więc tablice są łączone dopiero po zakończeniu wszystkich wyszukiwań
+ * i nie pozostają przypisane do wątków puli.
+ * Większa próbka daje dokładniejsze wartości kosztem proporcjonalnie dłuższego czasu działania.
+ *
+ * @see EdgeUsage
+ */
+public class EdgeUsageEstimator {
+    /**
+     * Kopia grafu, w którym szacowane jest wykorzystanie krawędzi.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Pula wątków wykonująca wyszukiwania.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy kopię przekazanego grafu i wykonuje wyszukiwania we wspólnej puli ForkJoinPool.
+     *
+     * @param graph graf, w którym będzie szacowane wykorzystanie krawędzi
+     */
+    public EdgeUsageEstimator(Graph graph) {
+        this(new GraphSnapshot(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym będzie szacowane wykorzystanie krawędzi
+     * @param pool     pula wątków wykonująca wyszukiwania
+     */
+    public EdgeUsageEstimator(GraphSnapshot snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Szacuje wykorzystanie krawędzi na podstawie losowej próbki wierzchołków początkowych.
+     *
+     * @param sampleCount liczba wierzchołków początkowych
+     * @return oszacowanie wykorzystania krawędzi
+     * @throws IllegalArgumentException jeżeli liczba wierzchołków początkowych jest niedodatnia
+     */
+    public EdgeUsage estimate(int sampleCount) {
+        return estimate(sampleCount, new Random().nextLong());
+    }
+
+    /**
+     * Szacuje wykorzystanie krawędzi na podstawie losowej próbki wierzchołków początkowych wyznaczonej przez ziarno generatora.
+     * Jeżeli liczba wierzchołków początkowych nie jest mniejsza od liczby wierzchołków grafu, wyszukiwania są wykonywane od wszystkich wierzchołków,
+     * a wynik jest dokładny. W przeciwnym razie wierzchołki są losowane bez powtórzeń, a wynik jest mnożony przez stosunek liczby wierzchołków do wielkości próbki.
+     *
+     * @param sampleCount liczba wierzchołków początkowych
+     * @param seed        ziarno generatora liczb losowych
+     * @return oszacowanie wykorzystania krawędzi
+     * @throws IllegalArgumentException jeżeli liczba wierzchołków początkowych jest niedodatnia
+     */
+    public EdgeUsage estimate(int sampleCount, long seed) {
+        if (sampleCount <= 0)
+            throw new IllegalArgumentException("EdgeUsageEstimator: The sample count must be positive.");
+
+        int nodeCount = snapshot.getNodeCount();
+        int[] sources = new int[nodeCount];
+
+        for (int i = 0; i < nodeCount; i++)
+            sources[i] = i;
+
+        boolean isExact = sampleCount >= nodeCount;
+        int sourceCount = Math.min(sampleCount, nodeCount);
+        Random random = new Random(seed);
+
+        // partial Fisher-Yates shuffle picks distinct sources
+        for (int i = 0; i < sourceCount && !isExact; i++) {
+            int j = i + random.nextInt(nodeCount - i);
+            int swap = sources[i];
+            sources[i] = sources[j];
+            sources[j] = swap;
+        }
+
+        // each range takes an idle accumulator and returns it, so at most one accumulator per running task is created
+        // and all of them are back in the queue once the searches finish
+        ConcurrentLinkedQueue<DependencyAccumulator> accumulators = new ConcurrentLinkedQueue<>();
+
+        ParallelTasks.forEachRange(pool, 0, sourceCount, 1, (from, to) -> {
+            DependencyAccumulator accumulator = accumulators.poll();
+
+            if (accumulator == null)
+                accumulator = new DependencyAccumulator();
+
+            for (int k = from; k < to; k++)
+                accumulator.accumulate(sources[k]);
+
+            accumulators.add(accumulator);
+        });
+
+        double[] usage = new double[snapshot.getEdgeIndexCount()];
+        double scale = (double) nodeCount / sourceCount;
+
+        for (DependencyAccumulator accumulator : accumulators) {
+            for (int e = 0; e < usage.length; e++)
+                usage[e] += accumulator.usage[e];
+        }
+
+        for (int e = 0; e < usage.length; e++)
+            usage[e] *= scale;
+
+        return new EdgeUsage(usage, sourceCount, isExact);
+    }
+
+    /**
+     * Klasa przechowująca tablice robocze i sumę zależności krawędzi z wyszukiwań wykonanych przez zadania, które z niej korzystały.
+     */
+    private class DependencyAccumulator {
+        /**
+         * Tablica sum zależności krawędzi indeksowana indeksem krawędzi.
+         */
+        private final double[] usage = new double[snapshot.getEdgeIndexCount()];
+        /**
+         * Tablica odległości wierzchołków od wierzchołka początkowego.
+         */
+        private final double[] distanceToNode = new double[snapshot.getNodeCount()];
+        /**
+         * Tablica liczby najkrótszych ścieżek od wierzchołka początkowego do wierzchołków.
+         */
+        private final double[] pathCount = new double[snapshot.getNodeCount()];
+        /**
+         * Tablica zależności wierzchołków, czyli sum udziałów ścieżek przechodzących przez wierzchołek.
+         */
+        private final double[] dependency = new double[snapshot.getNodeCount()];
+        /**
+         * Tablica indeksów wierzchołków w kolejności przetwarzania.
+         */
+        private final int[] order = new int[snapshot.getNodeCount()];
+        /**
+         * Tablica numerów wyszukiwań, w których wierzchołki zostały osiągnięte.
+         */
+        private final int[] reachedStamp = new int[snapshot.getNodeCount()];
+        /**
+         * Kolejka priorytetowa wierzchołków do przetworzenia.
+         */
+        private final NodeHeap heap = new NodeHeap(snapshot.getNodeCount());
+        /**
+         * Numer aktualnego wyszukiwania.
+         */
+        private int stamp;
+
+        /**
+         * Wyznacza najkrótsze ścieżki od wierzchołka początkowego i dodaje zależności krawędzi do sum.
+         *
+         * @param startNodeIndex indeks wierzchołka początkowego
+         */
+        private void accumulate(int startNodeIndex) {
+            stamp++;
+            int settledCount = 0;
+
+            distanceToNode[startNodeIndex] = 0;
+            pathCount[startNodeIndex] = 1;
+            reachedStamp[startNodeIndex] = stamp;
+            heap.insertOrDecrease(startNodeIndex, 0);
+
+            while (!heap.isEmpty()) {
+                int nodeIndex = heap.poll();
+                order[settledCount++] = nodeIndex;
+                dependency[nodeIndex] = 0;
+
+                for (int direction = 0; direction < GraphSnapshot.DIRECTION_COUNT; direction++) {
+                    int adjacentNodeIndex = snapshot.getAdjacentNodeIndex(nodeIndex, direction);
+
+                    if (adjacentNodeIndex == -1)
+                        continue;
+
+                    double distance = distanceToNode[nodeIndex] + snapshot.getEdge(nodeIndex, direction);
+
+                    if (reachedStamp[adjacentNodeIndex] != stamp || distance < distanceToNode[adjacentNodeIndex]) {
+                        reachedStamp[adjacentNodeIndex] = stamp;
+                        distanceToNode[adjacentNodeIndex] = distance;
+                        pathCount[adjacentNodeIndex] = pathCount[nodeIndex];
+                        heap.insertOrDecrease(adjacentNodeIndex, distance);
+                    } else if (distance == distanceToNode[adjacentNodeIndex]) {
+                        pathCount[adjacentNodeIndex] += pathCount[nodeIndex];
+                    }
+                }
+            }
+
+            // predecessors are recognised by their distances, so no predecessor lists are needed
+            for (int k = settledCount - 1; k > 0; k--) {
+                int nodeIndex = order[k];
+                double coefficient = (1 + dependency[nodeIndex]) / pathCount[nodeIndex];
+
+                for (int direction = 0; direction < GraphSnapshot.DIRECTION_COUNT; direction++) {
+                    int adjacentNodeIndex = snapshot.getAdjacentNodeIndex(nodeIndex, direction);
+
+                    if (adjacentNodeIndex == -1 || distanceToNode[adjacentNodeIndex] + snapshot.getEdge(nodeIndex, direction) != distanceToNode[nodeIndex])
+                        continue;
+
+                    double share = pathCount[adjacentNodeIndex] * coefficient;
+                    usage[snapshot.getEdgeIndex(nodeIndex, direction)] += share;
+                    dependency[adjacentNodeIndex] += share;
+                }
+            }
+        }
+    }
+
+    /**
+     * Zwraca kopię grafu, w którym szacowane jest wykorzystanie krawędzi.
+     *
+     * @return kopia grafu
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -1,6 +1,7 @@
 package org.sgraph;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -9,6 +10,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.image.PixelWriter;
@@ -27,9 +29,11 @@ import net.synedra.validatorfx.Validator;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.sgraph.Move.*;
 import static org.sgraph.Properties.*;
@@ -43,9 +47,37 @@ public class GUI extends Application {
      */
     private Graph graph;
     /**
-     * Obiekt odpowiadający za wyszukiwanie ścieżek do aktualnie wybranego wierzchołka początkowego.
+     * Pamięć podręczna drzew najkrótszych ścieżek aktualnego grafu.
      */
-    private PathFinder pf;
+    private ShortestPathTreeCache treeCache;
+    /**
+     * Drzewo najkrótszych ścieżek od aktualnie wybranego wierzchołka początkowego.
+     */
+    private ShortestPathTree tree;
+    /**
+     * Obiekt wyznaczający obszary osiągalne w określonej odległości od wierzchołka w aktualnym grafie.
+     */
+    private IsochroneFinder isochroneFinder;
+    /**
+     * Minimalny las rozpinający aktualnego grafu lub null, jeżeli nie został jeszcze wyznaczony.
+     */
+    private SpanningForest spanningForest;
+    /**
+     * Oszacowanie wykorzystania krawędzi aktualnego grafu przez najkrótsze ścieżki lub null, jeżeli krawędzie są zabarwiane według wag.
+     */
+    private EdgeUsage edgeUsage;
+    /**
+     * Wyszukiwanie, którego front jest aktualnie rysowany, lub null, jeżeli żadne wyszukiwanie nie jest rysowane.
+     */
+    private SettledNodePublisher searchPublisher;
+    /**
+     * Zakres wartości najkrótszych odległości połączonych wierzchołków od aktualnie wybranego wierzchołka początkowego.
+     */
+    private Range nodeValueRange;
+    /**
+     * Tablica indeksów wierzchołków źródłowych wybranych do podziału grafu między najbliższe źródła.
+     */
+    private final ArrayList<Integer> sourceNodeIndexes = new ArrayList<>();
     /**
      * Obiekt odpowiadający za rysowanie po canvasie.
      */
@@ -83,6 +115,10 @@ public class GUI extends Application {
      * Etykieta prawej granicy zakresu wartości wag na krawędziach.
      */
     private Label labelEdgeRangeMax;
+    /**
+     * Etykieta skali kolorów krawędzi, której podpowiedź przedstawia rozkład wag krawędzi.
+     */
+    private Label labelEdgeRangeTitle;
     /**
      * Etykieta lewej granicy zakresu wartości odległości od wierzchołka początkowego.
      */
@@ -226,7 +262,13 @@ public class GUI extends Application {
             if (!graph.isConnected())
                 System.out.println("Graph is not connected - detected fragments: " + graph.getSubgraphCount());
 
-            pf = null; // clearing PathFinder from previous usages;
+            treeCache = new ShortestPathTreeCache(graph, TREE_CACHE_SIZE);
+            tree = null; // clearing paths from previous usages;
+            isochroneFinder = null;
+            spanningForest = null;
+            edgeUsage = null;
+            searchPublisher = null;
+            sourceNodeIndexes.clear();
             setNodeRangeLabels();
             setEdgeRangeLabels();
 
@@ -258,7 +300,13 @@ public class GUI extends Application {
             if (graph.getSubgraphCount() != 1)
                 System.out.println("Graph is not connected - detected fragments: " + graph.getSubgraphCount());
 
-            pf = null; // clearing up PathFinder from previous graph usages
+            treeCache = new ShortestPathTreeCache(graph, TREE_CACHE_SIZE);
+            tree = null; // clearing up paths from previous graph usages
+            isochroneFinder = null;
+            spanningForest = null;
+            edgeUsage = null;
+            searchPublisher = null;
+            sourceNodeIndexes.clear();
             setNodeRangeLabels();
             setEdgeRangeLabels();
 
@@ -284,7 +332,29 @@ public class GUI extends Application {
             }
         });
 
-        VBox buttonBox = new VBox(PADDING, buttonFileOpen, buttonFileSave);
+        Button buttonEdgeUsage = new Button("Toggle edge usage");
+        buttonEdgeUsage.setOnAction(actionEvent -> {
+            if (graph == null) {
+                System.err.println("The graph has not been generated yet - cannot estimate edge usage.");
+                return;
+            }
+
+            if (edgeUsage == null) {
+                edgeUsage = new EdgeUsageEstimator(graph).estimate(EDGE_USAGE_SAMPLE_COUNT);
+                System.out.println("Edge usage estimated from " + edgeUsage.getSampleCount() + " sources" + (edgeUsage.isExact() ? " (exact)" : "") + ", busiest edge: " + edgeUsage.getMaxUsageEdgeIndex());
+            } else {
+                edgeUsage = null; // colouring edges by weight again
+            }
+
+            tree = null;
+            searchPublisher = null;
+            setNodeRangeLabels();
+            setEdgeRangeLabels();
+
+            draw(graph.getColumnCount(), graph.getRowCount());
+        });
+
+        VBox buttonBox = new VBox(PADDING, buttonFileOpen, buttonFileSave, buttonEdgeUsage);
 
         HBox topBar = new HBox(PADDING, columnBox, rowBox, subgraphBox, weightBox, generateButtonWrapper, buttonBox);
         topBar.setPadding(new Insets(PADDING));
@@ -318,16 +388,38 @@ public class GUI extends Application {
                 return;
             }
 
-            if (event.getButton() == MouseButton.PRIMARY) {
+            if (event.getButton() == MouseButton.PRIMARY && event.isShiftDown()) {
+                if (wasPathDrawn.get()) {
+                    draw(graph.getColumnCount(), graph.getRowCount());
+                    wasPathDrawn.set(false);
+                }
+
+                drawOwners(posX + posY * graph.getColumnCount());
+                System.out.println("Chosen source nodes: " + sourceNodeIndexes);
+            } else if (event.getButton() == MouseButton.PRIMARY && event.isControlDown()) {
+                if (tree == null) // no node chosen
+                    return;
+
+                draw(graph.getColumnCount(), graph.getRowCount());
+                drawIsochrone(posX + posY * graph.getColumnCount());
+
+                wasPathDrawn.set(true);
+            } else if (event.getButton() == MouseButton.PRIMARY) {
                 if (wasPathDrawn.get()) {
                     draw(graph.getColumnCount(), graph.getRowCount());
                     wasPathDrawn.set(false);
                 }
 
+                sourceNodeIndexes.clear();
                 drawNodes(posX + posY * graph.getColumnCount());
-                System.out.println("Chosen node: number " + pf.getStartNodeIndex());
+                System.out.println("Chosen node: number " + (posX + posY * graph.getColumnCount()));
+            } else if (event.getButton() == MouseButton.MIDDLE) {
+                draw(graph.getColumnCount(), graph.getRowCount());
+                drawSpanningForest();
+
+                wasPathDrawn.set(true);
             } else if (event.getButton() == MouseButton.SECONDARY) {
-                if (pf == null) // no node chosen
+                if (tree == null) // no node chosen
                     return;
 
                 drawPath(posX + posY * graph.getColumnCount());
@@ -345,7 +437,7 @@ public class GUI extends Application {
         labelEdgeRangeMax = new Label("MAX");
         labelEdgeRangeMax.getStyleClass().addAll("wide-label", "edge-max");
 
-        Label labelEdgeRangeTitle = new Label("Edge color scale");
+        labelEdgeRangeTitle = new Label("Edge color scale");
         labelEdgeRangeTitle.getStyleClass().addAll("wide-label", "edge-text");
 
         HBox edgeRangeContainer = new HBox(0, labelEdgeRangeMin, labelEdgeRangeTitle, labelEdgeRangeMax);
@@ -412,7 +504,7 @@ public class GUI extends Application {
                 parsedNodeIndex = j * columnCount + i;
                 // vertical connection
                 if ((adhNodeIndex = checkDown(parsedNodeIndex)) != -1) {
-                    gc.setStroke(graph.getEdgeValueRange().getHSBValue(graph.getEdgeOnNodeConnection(parsedNodeIndex, adhNodeIndex)));
+                    gc.setStroke(getEdgeColor(parsedNodeIndex, adhNodeIndex));
                     gc.beginPath();
                     gc.moveTo(PADDING + ovalR + i * edgeLength, PADDING + ovalR + j * edgeLength);
                     gc.lineTo(PADDING + ovalR + i * edgeLength + 0, PADDING + ovalR + j * edgeLength + edgeLength);
@@ -421,7 +513,7 @@ public class GUI extends Application {
                 }
                 // horizontal connection
                 if ((adhNodeIndex = checkRight(parsedNodeIndex)) != -1) {
-                    gc.setStroke(graph.getEdgeValueRange().getHSBValue(graph.getEdgeOnNodeConnection(parsedNodeIndex, adhNodeIndex)));
+                    gc.setStroke(getEdgeColor(parsedNodeIndex, adhNodeIndex));
                     gc.beginPath();
                     gc.moveTo(PADDING + ovalR + i * edgeLength, PADDING + ovalR + j * edgeLength);
                     gc.lineTo(PADDING + ovalR + i * edgeLength + edgeLength, PADDING + ovalR + j * edgeLength);
@@ -476,15 +568,110 @@ public class GUI extends Application {
 
     /**
      * Wyznacza najkrótsze ścieżki do wybranego wierzchołka w grafie i zabarwia wierzchołki względem zakresu wartości odległości od wierzchołka początkowego.
+     * W dużych grafach, dla których drzewo nie jest zapamiętane, rysuje front wyszukiwania w trakcie jego trwania.
      *
      * @param startNodeIndex indeks wierzchołka początkowego
      */
     private void drawNodes(int startNodeIndex) {
-        pf = new PathFinder(graph, startNodeIndex);
-        pf.run();
-        pf.calculateNodeValueRange();
+        searchPublisher = null;
+
+        if (graph.getNodeCount() >= PROGRESSIVE_RENDER_NODE_COUNT && !treeCache.contains(startNodeIndex)) {
+            drawNodesProgressively(startNodeIndex);
+            return;
+        }
+
+        tree = treeCache.getShortestPathTree(startNodeIndex);
+        calculateNodeValueRange();
         setNodeRangeLabels();
+        fillNodes();
+    }
 
+    /**
+     * Uruchamia wyszukiwanie najkrótszych ścieżek w osobnym wątku i zabarwia przetworzone wierzchołki w miarę postępu wyszukiwania.
+     * Po zakończeniu wyszukiwania zapamiętuje drzewo w pamięci podręcznej i zabarwia wierzchołki względem zakresu wartości odległości od wierzchołka początkowego.
+     * Paczki zdarzeń, których interfejs nie zdążył narysować, są łączone przez publikującego.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @see SettledNodePublisher
+     */
+    private void drawNodesProgressively(int startNodeIndex) {
+        long graphVersion = graph.getVersion();
+        ShortestPathTreeCache cache = treeCache;
+        SettledNodePublisher publisher = new SettledNodePublisher(new GraphSnapshot(graph), startNodeIndex, SETTLE_BATCH_SIZE, Platform::runLater);
+        searchPublisher = publisher;
+        tree = null; // the previous tree no longer matches the drawn nodes
+        setNodeRangeLabels();
+
+        int columnCount = graph.getColumnCount();
+        int rowCount = graph.getRowCount();
+
+        // scale
+        double ovalR = columnCount > rowCount ? (CANVAS_RESOLUTION - 2 * PADDING) / (2 * columnCount + (LINE_LENGTH_PROPORTION - 2.0) * (columnCount - 1)) : (CANVAS_RESOLUTION - 2 * PADDING) / (2 * rowCount + (LINE_LENGTH_PROPORTION - 2.0) * (rowCount - 1));
+        double edgeLength = LINE_LENGTH_PROPORTION * ovalR; // edge length
+
+        gc.setFill(Color.BLACK);
+
+        for (int j = 0; j < rowCount; j++) {
+            for (int i = 0; i < columnCount; i++) {
+                gc.fillOval(PADDING + i * edgeLength, PADDING + j * edgeLength, ovalR * 2, ovalR * 2);
+            }
+        }
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(SettledNodeBatch batch) {
+                if (searchPublisher != publisher) { // another node or graph was chosen in the meantime
+                    subscription.cancel();
+                    return;
+                }
+
+                gc.setFill(Color.LIGHTGRAY);
+
+                for (int k = 0; k < batch.getSize(); k++) {
+                    int nodeIndex = batch.getNodeIndex(k);
+                    gc.fillOval(PADDING + (nodeIndex % columnCount) * edgeLength, PADDING + (nodeIndex / columnCount) * edgeLength, ovalR * 2, ovalR * 2);
+                }
+
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                System.err.println("Drawing the search progress failed - error message: " + throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+                if (searchPublisher != publisher)
+                    return;
+
+                searchPublisher = null;
+                tree = publisher.toShortestPathTree();
+                cache.put(tree, graphVersion); // repeated clicks on this node reuse the tree
+                calculateNodeValueRange();
+                setNodeRangeLabels();
+                fillNodes();
+            }
+        });
+
+        Thread thread = new Thread(publisher::run, "sgraph-progressive-search");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Zabarwia wierzchołki względem zakresu wartości odległości od aktualnie wybranego wierzchołka początkowego.
+     * Wierzchołki niepołączone z wierzchołkiem początkowym są rysowane na czarno.
+     */
+    private void fillNodes() {
         int columnCount = graph.getColumnCount();
         int rowCount = graph.getRowCount();
 
@@ -495,10 +682,142 @@ public class GUI extends Application {
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(LINE_WIDTH_PROPORTION * ovalR);
 
+        double[] normalizedDistances = tree.getNormalizedDistances(nodeValueRange);
+
+        for (int j = 0; j < rowCount; j++) {
+            for (int i = 0; i < columnCount; i++) {
+                if (tree.getDistanceToNode(j * graph.getColumnCount() + i) != -1) {
+                    gc.setFill(nodeValueRange.getNormalizedHSBValue(normalizedDistances[j * graph.getColumnCount() + i]));
+                } else {
+                    gc.setFill(Color.BLACK); // doesn't colour nodes which are not connected
+                }
+
+                gc.fillOval(PADDING + i * edgeLength, PADDING + j * edgeLength, ovalR * 2, ovalR * 2);
+            }
+        }
+    }
+
+    /**
+     * Zabarwia wierzchołki osiągalne z aktualnie wybranego wierzchołka początkowego w odległości nie większej niż odległość do klikniętego wierzchołka
+     * i rysuje krawędzie brzegowe tego obszaru. Pozostałe wierzchołki nie są zabarwiane.
+     *
+     * @param clickedNodeIndex indeks wierzchołka wyznaczającego promień obszaru
+     * @see IsochroneFinder
+     */
+    private void drawIsochrone(int clickedNodeIndex) {
+        double radius = tree.getDistanceToNode(clickedNodeIndex);
+
+        if (radius == -1) {
+            System.out.println("There is no path between node " + tree.getStartNodeIndex() + " and node " + clickedNodeIndex + ".");
+            return;
+        }
+
+        if (isochroneFinder == null)
+            isochroneFinder = new IsochroneFinder(graph);
+
+        Isochrone isochrone = isochroneFinder.calculate(tree.getStartNodeIndex(), radius);
+        Range isochroneRange = new Range(0, radius);
+
+        int columnCount = graph.getColumnCount();
+        int rowCount = graph.getRowCount();
+
+        // scale
+        double ovalR = columnCount > rowCount ? (CANVAS_RESOLUTION - 2 * PADDING) / (2 * columnCount + (LINE_LENGTH_PROPORTION - 2.0) * (columnCount - 1)) : (CANVAS_RESOLUTION - 2 * PADDING) / (2 * rowCount + (LINE_LENGTH_PROPORTION - 2.0) * (rowCount - 1));
+        double edgeLength = LINE_LENGTH_PROPORTION * ovalR; // edge length
+
+        gc.setStroke(Color.DARKSLATEGRAY);
+        gc.setLineWidth(LINE_WIDTH_PROPORTION * ovalR);
+
+        for (int edgeIndex : isochrone.getBoundaryEdgeIndexes()) {
+            int nodeIndex = edgeIndex / 2;
+            int i = nodeIndex % columnCount;
+            int j = nodeIndex / columnCount;
+            boolean isHorizontal = edgeIndex % 2 == 0; // even edges lead to the right neighbour
+
+            gc.beginPath();
+            gc.moveTo(PADDING + ovalR + i * edgeLength, PADDING + ovalR + j * edgeLength);
+            gc.lineTo(PADDING + ovalR + i * edgeLength + (isHorizontal ? edgeLength : 0), PADDING + ovalR + j * edgeLength + (isHorizontal ? 0 : edgeLength));
+            gc.stroke();
+            gc.closePath();
+        }
+
+        for (int nodeIndex : isochrone.getNodeIndexes()) {
+            gc.setFill(isochroneRange.getHSBValue(isochrone.getDistanceToNode(nodeIndex)));
+            gc.fillOval(PADDING + (nodeIndex % columnCount) * edgeLength, PADDING + (nodeIndex / columnCount) * edgeLength, ovalR * 2, ovalR * 2);
+        }
+
+        System.out.println("Nodes within distance " + radius + " from node " + tree.getStartNodeIndex() + ": " + isochrone.getNodeCount());
+    }
+
+    /**
+     * Rysuje krawędzie minimalnego lasu rozpinającego aktualnego grafu na narysowanym grafie.
+     * Las jest wyznaczany przy pierwszym wywołaniu dla danego grafu.
+     *
+     * @see SpanningForestFinder
+     */
+    private void drawSpanningForest() {
+        if (spanningForest == null)
+            spanningForest = new SpanningForestFinder(graph).find();
+
+        int columnCount = graph.getColumnCount();
+        int rowCount = graph.getRowCount();
+
+        // scale
+        double ovalR = columnCount > rowCount ? (CANVAS_RESOLUTION - 2 * PADDING) / (2 * columnCount + (LINE_LENGTH_PROPORTION - 2.0) * (columnCount - 1)) : (CANVAS_RESOLUTION - 2 * PADDING) / (2 * rowCount + (LINE_LENGTH_PROPORTION - 2.0) * (rowCount - 1));
+        double edgeLength = LINE_LENGTH_PROPORTION * ovalR; // edge length
+
+        gc.setStroke(Color.DARKSLATEGRAY);
+        gc.setLineWidth(LINE_WIDTH_PROPORTION * ovalR);
+
+        for (int edgeIndex : spanningForest.getEdgeIndexes()) {
+            int nodeIndex = edgeIndex / 2;
+            int i = nodeIndex % columnCount;
+            int j = nodeIndex / columnCount;
+            boolean isHorizontal = edgeIndex % 2 == 0; // even edges lead to the right neighbour
+
+            gc.beginPath();
+            gc.moveTo(PADDING + ovalR + i * edgeLength, PADDING + ovalR + j * edgeLength);
+            gc.lineTo(PADDING + ovalR + i * edgeLength + (isHorizontal ? edgeLength : 0), PADDING + ovalR + j * edgeLength + (isHorizontal ? 0 : edgeLength));
+            gc.stroke();
+            gc.closePath();
+        }
+
+        System.out.println("Minimum spanning forest: " + spanningForest.getEdgeCount() + " edges in " + spanningForest.getTreeCount() + " trees, total weight " + spanningForest.getTotalWeight());
+    }
+
+    /**
+     * Dodaje wierzchołek do wierzchołków źródłowych, dzieli graf między najbliższe źródła i zabarwia wierzchołki kolorem źródła, do którego należą.
+     * Wierzchołki źródłowe są rysowane ciemniejszym odcieniem koloru, a wierzchołki niepołączone z żadnym źródłem - na czarno.
+     *
+     * @param sourceNodeIndex indeks dodawanego wierzchołka źródłowego
+     * @see MultiSourcePathFinder
+     */
+    private void drawOwners(int sourceNodeIndex) {
+        if (!sourceNodeIndexes.contains(sourceNodeIndex))
+            sourceNodeIndexes.add(sourceNodeIndex);
+
+        MultiSourcePathFinder msf = new MultiSourcePathFinder(graph, sourceNodeIndexes.stream().mapToInt(Integer::intValue).toArray());
+        msf.run();
+
+        tree = null; // paths and the distance scale refer to a single starting node
+        searchPublisher = null;
+        setNodeRangeLabels();
+
+        int columnCount = graph.getColumnCount();
+        int rowCount = graph.getRowCount();
+
+        // scale
+        double ovalR = columnCount > rowCount ? (CANVAS_RESOLUTION - 2 * PADDING) / (2 * columnCount + (LINE_LENGTH_PROPORTION - 2.0) * (columnCount - 1)) : (CANVAS_RESOLUTION - 2 * PADDING) / (2 * rowCount + (LINE_LENGTH_PROPORTION - 2.0) * (rowCount - 1));
+        double edgeLength = LINE_LENGTH_PROPORTION * ovalR; // edge length
+
         for (int j = 0; j < rowCount; j++) {
             for (int i = 0; i < columnCount; i++) {
-                if (pf.getDistanceToNode(j * graph.getColumnCount() + i) != -1) {
-                    gc.setFill(pf.getNodeValueRange().getHSBValue(pf.getDistanceToNode(j * graph.getColumnCount() + i)));
+                int nodeIndex = j * columnCount + i;
+                int owner = msf.getOwnerOfNode(nodeIndex);
+
+                if (owner != -1) {
+                    double hue = 360.0 * owner / sourceNodeIndexes.size();
+                    gc.setFill(Color.hsb(hue, 1, sourceNodeIndexes.get(owner) == nodeIndex ? 0.5 : 1));
                 } else {
                     gc.setFill(Color.BLACK); // doesn't colour nodes which are not connected
                 }
@@ -536,8 +855,49 @@ public class GUI extends Application {
      * Jeżeli graf nie został jeszcze wygenerowany, ustawia ich wartości odpowiednio na "MIN" i "MAX".
      */
     private void setEdgeRangeLabels() {
-        labelEdgeRangeMin.setText(graph == null ? "MIN" : Double.toString(graph.getEdgeValueRange().getMin()));
-        labelEdgeRangeMax.setText(graph == null ? "MAX" : Double.toString(graph.getEdgeValueRange().getMax()));
+        Range edgeRange = graph == null ? null : edgeUsage == null ? graph.getEdgeValueRange() : edgeUsage.getUsageRange();
+
+        labelEdgeRangeMin.setText(edgeRange == null ? "MIN" : Double.toString(edgeRange.getMin()));
+        labelEdgeRangeMax.setText(edgeRange == null ? "MAX" : Double.toString(edgeRange.getMax()));
+        labelEdgeRangeTitle.setTooltip(graph == null || edgeUsage != null ? null : new Tooltip(formatEdgeHistogram()));
+    }
+
+    /**
+     * Zwraca opis rozkładu wag krawędzi grafu w przedziałach równej szerokości, po jednym przedziale w linii.
+     *
+     * @return opis rozkładu wag krawędzi
+     * @see GraphSnapshot#getEdgeHistogram(int)
+     */
+    private String formatEdgeHistogram() {
+        GraphSnapshot snapshot = new GraphSnapshot(graph);
+        Range edgeRange = snapshot.getEdgeValueRange();
+        int[] bins = snapshot.getEdgeHistogram(EDGE_HISTOGRAM_BIN_COUNT);
+        double binWidth = (edgeRange.getMax() - edgeRange.getMin()) / bins.length;
+        StringBuilder builder = new StringBuilder("Edge weight distribution");
+
+        for (int i = 0; i < bins.length; i++) {
+            double binMin = edgeRange.getMin() + i * binWidth;
+            builder.append(String.format("%n%.3f - %.3f: %d", binMin, binMin + binWidth, bins[i]));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Zwraca kolor krawędzi łączącej wierzchołek z sąsiadem po prawej lub poniżej.
+     * Jeżeli wyznaczono wykorzystanie krawędzi, kolor odpowiada wykorzystaniu krawędzi; w przeciwnym razie - wadze krawędzi.
+     *
+     * @param nodeIndex         indeks wierzchołka
+     * @param adjacentNodeIndex indeks sąsiada po prawej lub poniżej
+     * @return kolor krawędzi
+     */
+    private Color getEdgeColor(int nodeIndex, int adjacentNodeIndex) {
+        if (edgeUsage == null)
+            return graph.getEdgeValueRange().getHSBValue(graph.getEdgeOnNodeConnection(nodeIndex, adjacentNodeIndex));
+
+        int edgeIndex = adjacentNodeIndex == nodeIndex + 1 ? 2 * nodeIndex : 2 * nodeIndex + 1; // right neighbour or the one below
+
+        return edgeUsage.getUsageRange().getHSBValue(edgeUsage.getUsage(edgeIndex));
     }
 
     /**
@@ -545,8 +905,18 @@ public class GUI extends Application {
      * Jeżeli żaden wierzchołek nie został jeszcze wybrany, ustawia ich wartości odpowiednio na "MIN" i "MAX".
      */
     private void setNodeRangeLabels() {
-        labelNodeRangeMin.setText(pf == null ? "MIN" : Double.toString(pf.getNodeValueRange().getMin()));
-        labelNodeRangeMax.setText(pf == null ? "MAX" : Double.toString(pf.getNodeValueRange().getMax()));
+        labelNodeRangeMin.setText(tree == null ? "MIN" : Double.toString(nodeValueRange.getMin()));
+        labelNodeRangeMax.setText(tree == null ? "MAX" : Double.toString(nodeValueRange.getMax()));
+    }
+
+    /**
+     * Oblicza zakres wartości najkrótszych odległości od aktualnie wybranego wierzchołka początkowego.
+     * Ignoruje wierzchołki niepołączone z wierzchołkiem początkowym.
+     *
+     * @see ShortestPathTree#getDistanceRange()
+     */
+    private void calculateNodeValueRange() {
+        nodeValueRange = tree.getDistanceRange();
     }
 
     /**
@@ -566,22 +936,22 @@ public class GUI extends Application {
         gc.setStroke(Color.DARKSLATEGRAY);
         gc.setLineWidth(LINE_WIDTH_PROPORTION * ovalR);
 
-        LinkedList<Integer> path = pf.getIndexPathToNode(clickedNodeIndex);
+        int[] path = tree.getIndexPathToNode(clickedNodeIndex);
 
         if (path == null) {
-            System.err.printf("There is not path between nodes %d and %d.%n", pf.getStartNodeIndex(), clickedNodeIndex);
+            System.err.printf("There is not path between nodes %d and %d.%n", tree.getStartNodeIndex(), clickedNodeIndex);
             return;
         }
 
         MoveDirection move;
-        int x = path.get(0) % graph.getColumnCount();
-        int y = path.get(0) / graph.getColumnCount();
+        int x = path[0] % graph.getColumnCount();
+        int y = path[0] / graph.getColumnCount();
 
         gc.fillOval(PADDING + x * edgeLength, PADDING + y * edgeLength, ovalR * 2, ovalR * 2);
         gc.beginPath();
 
-        for (int i = 1; i < path.size(); i++) {
-            move = getDirection(path.get(i - 1), path.get(i), graph.getColumnCount(), graph.getRowCount());
+        for (int i = 1; i < path.length; i++) {
+            move = getDirection(path[i - 1], path[i], graph.getColumnCount(), graph.getRowCount());
 
             if (move == MoveDirection.DOWN) {
                 gc.moveTo(PADDING + ovalR + x * edgeLength, PADDING + ovalR + y * edgeLength);
@@ -600,14 +970,14 @@ public class GUI extends Application {
                 return;
             }
 
-            x = path.get(i) % graph.getColumnCount();
-            y = path.get(i) / graph.getColumnCount();
+            x = path[i] % graph.getColumnCount();
+            y = path[i] / graph.getColumnCount();
             gc.fillOval(PADDING + x * edgeLength, PADDING + y * edgeLength, ovalR * 2, ovalR * 2);
         }
         gc.stroke();
         gc.closePath();
 
-        System.out.printf("Distance between nodes %d and %d: %g%n", pf.getStartNodeIndex(), clickedNodeIndex, pf.getDistanceToNode(clickedNodeIndex));
-        System.out.printf("Path: %s%n", pf.getPathToNode(clickedNodeIndex));
+        System.out.printf("Distance between nodes %d and %d: %g%n", tree.getStartNodeIndex(), clickedNodeIndex, tree.getDistanceToNode(clickedNodeIndex));
+        System.out.printf("Path: %s%n", Arrays.stream(path).mapToObj(Integer::toString).collect(Collectors.joining(" -> ")));
     }
 }
@@ -6,6 +6,9 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.sgraph.Move.getDirection;
 import static org.sgraph.Move.MoveDirection;
@@ -14,6 +17,20 @@ import static org.sgraph.Move.MoveDirection;
  * Klasa odpowiadająca za przechowywanie informacji o grafie-siatce i zarządzanie jego elementami.
  */
 public class Graph {
+    /**
+     * Interfejs obiektów powiadamianych o każdej zmianie połączenia w grafie, np. dziennika zmian.
+     */
+    public interface MutationListener {
+        /**
+         * Wywoływana po dodaniu, usunięciu lub zmianie wagi połączenia.
+         *
+         * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+         * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+         * @param edge            nowa wartość wagi na krawędzi połączenia lub 0, jeżeli połączenie zostało usunięte
+         */
+        void connectionChanged(int firstNodeIndex, int secondNodeIndex, double edge);
+    }
+
     /**
      * Liczba kolumn w siatce.
      */
@@ -32,8 +49,34 @@ public class Graph {
     private final ArrayList<Node> nodes;
     /**
      * Zakres w jakim znajdują się wagi na krawędziach w grafie.
+     * Pole jest ulotne, ponieważ interfejs graficzny odczytuje zakres z innych wątków niż wątek zmieniający graf.
      */
-    private Range edgeValueRange;
+    private volatile Range edgeValueRange;
+    /**
+     * Liczba krawędzi o wadze równej dolnej granicy zakresu wag.
+     */
+    private int minEdgeCount;
+    /**
+     * Liczba krawędzi o wadze równej górnej granicy zakresu wag.
+     */
+    private int maxEdgeCount;
+    /**
+     * Informacja, czy usunięto ostatnią krawędź o wadze równej granicy zakresu wag i zakres wymaga ponownego obliczenia.
+     * Zakres jest obliczany ponownie przed zakończeniem metody, która go unieważniła, więc flaga jest ustawiona tylko w trakcie zmiany.
+     */
+    private boolean isEdgeValueRangeStale;
+    /**
+     * Obiekt utrzymujący etykiety spójnych składowych po zmianach połączeń lub null, jeżeli nie wprowadzono jeszcze żadnej paczki zmian.
+     */
+    private ComponentTracker componentTracker;
+    /**
+     * Licznik modyfikacji grafu, zwiększany przy każdym dodaniu lub usunięciu połączenia i przy każdej wprowadzonej paczce zmian.
+     */
+    private long version;
+    /**
+     * Obiekt powiadamiany o zmianach połączeń lub null, jeżeli zmiany nie są obserwowane.
+     */
+    private MutationListener mutationListener;
 
     /**
      * Konstruktor klasy.
@@ -98,13 +141,33 @@ public class Graph {
 
     /**
      * Zwraca zakres wartości wag na krawędziach w grafie.
+     * Po obliczeniu zakres jest aktualizowany przy każdej zmianie połączeń, a ponownie obliczany tylko po usunięciu lub zmianie wagi ostatniej krawędzi o wadze granicznej.
+     * Metoda nie zmienia stanu grafu, więc może być wywoływana z innego wątku niż wątek zmieniający graf.
      *
-     * @return zakres wartości wag na krawędziach
+     * @return zakres wartości wag na krawędziach lub null, jeżeli zakres nie został jeszcze obliczony
      */
     public Range getEdgeValueRange() {
         return edgeValueRange;
     }
 
+    /**
+     * Zwraca licznik modyfikacji grafu. Wyniki obliczeń wyznaczone dla innej wartości licznika mogą być nieaktualne.
+     *
+     * @return licznik modyfikacji grafu
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Ustawia obiekt powiadamiany o każdej zmianie połączenia w grafie.
+     *
+     * @param mutationListener obiekt powiadamiany o zmianach lub null, aby przestać powiadamiać
+     */
+    public void setMutationListener(MutationListener mutationListener) {
+        this.mutationListener = mutationListener;
+    }
+
     /**
      * Zwraca wierzchołek o podanym indeksie.
      *
@@ -148,10 +211,22 @@ public class Graph {
 
         node1.addConnection(node2, edge);
         node2.addConnection(node1, edge);
+        edgeAdded(edge);
+
+        if (componentTracker != null) {
+            componentTracker.connectionAdded(firstNodeIndex, secondNodeIndex);
+            subgraphCount = componentTracker.getComponentCount();
+        }
+
+        if (mutationListener != null)
+            mutationListener.connectionChanged(firstNodeIndex, secondNodeIndex, edge);
+
+        version++;
     }
 
     /**
      * Usuwa połączenie między dwoma wierzchołkami o podanych indeksach.
+     * Jeżeli połączenie nie istnieje, licznik modyfikacji grafu nie jest zwiększany.
      *
      * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
      * @param secondNodeIndex indeks drugiego wierzchołka połączenia
@@ -160,9 +235,263 @@ public class Graph {
 
         Node node1 = getNode(firstNodeIndex);
         Node node2 = getNode(secondNodeIndex);
+        double edge = node1.getEdgeOnConnection(node2);
 
         node1.removeConnection(node2);
         node2.removeConnection(node1);
+
+        if (edge != 0) {
+            edgeRemoved(edge);
+
+            if (isEdgeValueRangeStale) // the last edge with a boundary weight was removed
+                calculateEdgeValueRange();
+
+            if (componentTracker != null) {
+                componentTracker.connectionRemoved(firstNodeIndex, secondNodeIndex);
+                subgraphCount = componentTracker.getComponentCount();
+            }
+
+            if (mutationListener != null)
+                mutationListener.connectionChanged(firstNodeIndex, secondNodeIndex, 0);
+
+            version++; // removing a missing connection leaves version-keyed caches valid
+        }
+    }
+
+    /**
+     * Wprowadza paczkę zmian połączeń jednym wywołaniem, zwiększając licznik modyfikacji grafu jednokrotnie.
+     * Wszystkie zmiany są sprawdzane przed wprowadzeniem pierwszej z nich, więc niepoprawna paczka nie zmienia grafu.
+     * Zakres wag i liczba spójnych grafów są aktualizowane przyrostowo: zmiana wagi kosztuje O(1), a dodanie lub usunięcie połączenia
+     * przegląda jedynie mniejszą z łączonych lub rozdzielanych części grafu. Pierwsza paczka jednorazowo etykietuje składowe całego grafu.
+     * Jeżeli paczka usuwa ostatnią krawędź o wadze granicznej, zakres wag jest obliczany ponownie jeden raz, po wprowadzeniu wszystkich zmian.
+     *
+     * @param batch paczka zmian połączeń
+     * @return liczba połączeń, które zostały zmienione
+     * @throws IllegalArgumentException jeżeli wierzchołki którejś zmiany nie mogą ze sobą sąsiadować w takim grafie
+     */
+    public int applyBatch(EdgeBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Node node1 = getNode(batch.getFirstNodeIndex(i));
+            Node node2 = getNode(batch.getSecondNodeIndex(i));
+
+            if (!canNodesAdhere(node1, node2))
+                throw new IllegalArgumentException(String.format("Graph: Nodes %d and %d cannot adhere in a %dx%d graph.", node1.getIndex(), node2.getIndex(), rowCount, columnCount));
+        }
+
+        if (edgeValueRange == null)
+            calculateEdgeValueRange();
+
+        if (componentTracker == null) {
+            componentTracker = new ComponentTracker(this);
+            subgraphCount = componentTracker.getComponentCount();
+        }
+
+        int changeCount = 0;
+
+        for (int i = 0; i < batch.size(); i++) {
+            int firstNodeIndex = batch.getFirstNodeIndex(i);
+            int secondNodeIndex = batch.getSecondNodeIndex(i);
+            Node node1 = getNode(firstNodeIndex);
+            Node node2 = getNode(secondNodeIndex);
+            double oldEdge = node1.getEdgeOnConnection(node2);
+            double newEdge = batch.getEdge(i);
+
+            if (oldEdge == newEdge)
+                continue;
+
+            if (oldEdge == 0) { // new connection
+                node1.addConnection(node2, newEdge);
+                node2.addConnection(node1, newEdge);
+                componentTracker.connectionAdded(firstNodeIndex, secondNodeIndex);
+            } else if (newEdge == 0) { // removed connection
+                node1.removeConnection(node2);
+                node2.removeConnection(node1);
+                componentTracker.connectionRemoved(firstNodeIndex, secondNodeIndex);
+            } else { // changed weight, the components stay the same
+                node1.setEdgeOnConnection(node2, newEdge);
+                node2.setEdgeOnConnection(node1, newEdge);
+            }
+
+            if (oldEdge != 0)
+                edgeRemoved(oldEdge);
+
+            if (newEdge != 0)
+                edgeAdded(newEdge);
+
+            if (mutationListener != null)
+                mutationListener.connectionChanged(firstNodeIndex, secondNodeIndex, newEdge);
+
+            changeCount++;
+        }
+
+        subgraphCount = componentTracker.getComponentCount();
+
+        if (isEdgeValueRangeStale) // recalculated once for the whole batch
+            calculateEdgeValueRange();
+
+        if (changeCount > 0)
+            version++;
+
+        return changeCount;
+    }
+
+    /**
+     * Zwraca wartość wagi na krawędzi o określonym indeksie w układzie indeksów klasy GraphSnapshot.
+     * Krawędź o indeksie 2i łączy wierzchołek i z sąsiadem po prawej, a krawędź o indeksie 2i+1 - z sąsiadem poniżej.
+     * Waga jest odczytywana z listy połączeń wierzchołka bez tworzenia obiektów pomocniczych.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return wartość wagi na krawędzi lub 0, jeżeli połączenie nie istnieje
+     * @throws IllegalArgumentException jeżeli indeks krawędzi jest spoza zakresu
+     */
+    public double getEdge(int edgeIndex) {
+        if (edgeIndex < 0 || edgeIndex >= 2 * getNodeCount())
+            throw new IllegalArgumentException(String.format("Graph: Invalid edge index. Allowed range: %d - %d", 0, 2 * getNodeCount() - 1));
+
+        int firstNodeIndex = getEdgeFirstNodeIndex(edgeIndex);
+        int secondNodeIndex = getEdgeSecondNodeIndex(edgeIndex);
+
+        if ((edgeIndex & 1) == 0 ? firstNodeIndex % columnCount + 1 == columnCount : secondNodeIndex >= getNodeCount())
+            return 0; // no neighbour in the grid
+
+        Node node = nodes.get(firstNodeIndex);
+
+        for (int i = 0; i < node.getAdherentNumber(); i++) {
+            if (node.getConnectedNodeIndex(i) == secondNodeIndex)
+                return node.getEdgeOnConnection(i);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka po lewej lub górnej stronie krawędzi o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return indeks pierwszego wierzchołka krawędzi
+     */
+    public int getEdgeFirstNodeIndex(int edgeIndex) {
+        return edgeIndex >> 1;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka po prawej lub dolnej stronie krawędzi o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return indeks drugiego wierzchołka krawędzi
+     */
+    public int getEdgeSecondNodeIndex(int edgeIndex) {
+        return (edgeIndex & 1) == 0 ? (edgeIndex >> 1) + 1 : (edgeIndex >> 1) + columnCount;
+    }
+
+    /**
+     * Zwraca strumień indeksów wszystkich wierzchołków grafu.
+     *
+     * @return strumień indeksów wierzchołków
+     */
+    public IntStream nodes() {
+        return IntStream.range(0, getNodeCount());
+    }
+
+    /**
+     * Zwraca strumień indeksów istniejących krawędzi grafu (w układzie indeksów klasy GraphSnapshot) w rosnącej kolejności.
+     * Strumień równoległy dzieli siatkę na pasy wierszy i nie może być przetwarzany podczas zmiany połączeń.
+     * Końce i wagę krawędzi zwracają metody getEdgeFirstNodeIndex, getEdgeSecondNodeIndex i getEdge, które przeglądają listy połączeń wierzchołków.
+     * Do obliczeń zbiorczych na dużych grafach szybszy jest strumień new GraphSnapshot(graph).edges(), odczytujący wagi z tablicy.
+     *
+     * @return strumień indeksów krawędzi
+     * @see GraphSnapshot#edges()
+     */
+    public IntStream edges() {
+        return StreamSupport.intStream(new EdgeSpliterator(columnCount, 0, rowCount, this::getEdge), false);
+    }
+
+    /**
+     * Tworzy kopię prostokątnego fragmentu siatki w tablicy typu prostego bez tworzenia nowego grafu.
+     * Koszt jest proporcjonalny do rozmiaru fragmentu, a nie całej siatki, a wagi są odczytywane metodą getEdge bez tworzenia obiektów pomocniczych. Wierzchołki kopii są indeksowane od lewego górnego rogu fragmentu,
+     * a połączenia z resztą siatki są pomijane. Fragmenty już utworzonej kopii grafu można oglądać bez kopiowania metodą GraphSnapshot.subgrid.
+     *
+     * @param firstColumn numer pierwszej kolumny fragmentu (liczony od 0)
+     * @param firstRow    numer pierwszego wiersza fragmentu (liczony od 0)
+     * @param columnCount liczba kolumn fragmentu
+     * @param rowCount    liczba wierszy fragmentu
+     * @return kopia fragmentu siatki
+     * @throws IllegalArgumentException jeżeli wymiary fragmentu są niedodatnie lub fragment wykracza poza siatkę
+     * @see GraphSnapshot#subgrid(int, int, int, int)
+     */
+    public GraphSnapshot subgrid(int firstColumn, int firstRow, int columnCount, int rowCount) {
+        if (columnCount <= 0 || rowCount <= 0)
+            throw new IllegalArgumentException("Graph: The number of subgrid columns and rows must be positive.");
+
+        if (firstColumn < 0 || firstRow < 0 || firstColumn + columnCount > this.columnCount || firstRow + rowCount > this.rowCount)
+            throw new IllegalArgumentException(String.format("Graph: The %dx%d subgrid at column %d, row %d exceeds a %dx%d graph.", rowCount, columnCount, firstColumn, firstRow, this.rowCount, this.columnCount));
+
+        double[] edges = new double[2 * columnCount * rowCount];
+
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                int nodeIndex = (firstRow + row) * this.columnCount + firstColumn + column;
+                int i = row * columnCount + column;
+
+                if (column + 1 < columnCount) // if node is not in the last column of the fragment
+                    edges[2 * i] = getEdge(2 * nodeIndex);
+
+                if (row + 1 < rowCount) // if node is not in the last row of the fragment
+                    edges[2 * i + 1] = getEdge(2 * nodeIndex + 1);
+            }
+        }
+
+        return new GraphSnapshot(columnCount, rowCount, edges);
+    }
+
+    /**
+     * Uwzględnia wagę dodanej krawędzi w zakresie wag, jeżeli zakres został już obliczony.
+     *
+     * @param edge wartość wagi dodanej krawędzi
+     */
+    private void edgeAdded(double edge) {
+        if (edgeValueRange == null || isEdgeValueRangeStale)
+            return;
+
+        if (edgeValueRange.getMax() == 0) { // the first edge in the graph
+            edgeValueRange = new Range(edge, edge);
+            minEdgeCount = 1;
+            maxEdgeCount = 1;
+            return;
+        }
+
+        if (edge < edgeValueRange.getMin()) {
+            edgeValueRange = new Range(edge, edgeValueRange.getMax());
+            minEdgeCount = 0;
+        }
+
+        if (edge > edgeValueRange.getMax()) {
+            edgeValueRange = new Range(edgeValueRange.getMin(), edge);
+            maxEdgeCount = 0;
+        }
+
+        if (edge == edgeValueRange.getMin())
+            minEdgeCount++;
+
+        if (edge == edgeValueRange.getMax())
+            maxEdgeCount++;
+    }
+
+    /**
+     * Uwzględnia wagę usuniętej krawędzi w zakresie wag, jeżeli zakres został już obliczony.
+     * Usunięcie ostatniej krawędzi o wadze granicznej oznacza zakres do ponownego obliczenia przy następnym odczycie.
+     *
+     * @param edge wartość wagi usuniętej krawędzi
+     */
+    private void edgeRemoved(double edge) {
+        if (edgeValueRange == null || isEdgeValueRangeStale)
+            return;
+
+        if (edge == edgeValueRange.getMin() && --minEdgeCount == 0)
+            isEdgeValueRangeStale = true;
+
+        if (edge == edgeValueRange.getMax() && --maxEdgeCount == 0)
+            isEdgeValueRangeStale = true;
     }
 
     /**
@@ -179,7 +508,8 @@ public class Graph {
         int col1 = getNodeColumnNumber(firstNode.getIndex());
         int col2 = getNodeColumnNumber(secondNode.getIndex());
 
-        return Math.abs(row1 - row2) == 1 || Math.abs(col1 - col2) == 1;
+        // neighbours share a row or a column and are one step apart
+        return Math.abs(row1 - row2) + Math.abs(col1 - col2) == 1;
     }
 
     /**
@@ -201,55 +531,69 @@ public class Graph {
     }
 
     /**
-     * Oblicza liczbę spójnych grafów w siatce przy użyciu algorytmu przeszukiwania wszerz.
+     * Oblicza liczbę spójnych grafów w siatce przy użyciu algorytmu przeszukiwania wszerz na zbiorach bitowych.
+     * Duże siatki są etykietowane równolegle w pasach wierszy, jeżeli wspólna pula ForkJoinPool ma więcej niż jeden wątek.
      *
-     * @see BreadthFirstSearch
+     * @see BitsetBreadthFirstSearch
+     * @see ParallelComponentLabeling
      */
     public void calculateSubraphCount() {
-        int n = 0;
-        BreadthFirstSearch bfs = new BreadthFirstSearch(this);
-
-        while (bfs.hasNotVisitedNode()) {
-            n++;
-            bfs.run(bfs.getNotVisitedNode());
-        }
+        GraphSnapshot snapshot = new GraphSnapshot(this);
 
-        subgraphCount = n;
+        if (getNodeCount() >= Properties.PARALLEL_LABELING_NODE_COUNT && ForkJoinPool.getCommonPoolParallelism() > 1)
+            subgraphCount = ParallelComponentLabeling.countComponents(snapshot);
+        else
+            subgraphCount = BitsetBreadthFirstSearch.countComponents(snapshot);
     }
 
     /**
-     * Oblicza zakres wartości wag na krawędziach w grafie.
+     * Oblicza zakres wartości wag na krawędziach w grafie wraz z liczbą krawędzi o wagach granicznych.
+     * Wagi są kopiowane do tablicy indeksowanej indeksem krawędzi, którą przeglądają pętle domyślnej implementacji ScanKernel.
      * Jeżeli w grafie nie ma żadnych krawędzi, zakres zostaje ustawiony na [0;0].
+     *
+     * @see ScanKernel#getDefault()
      */
     public void calculateEdgeValueRange() {
-        double min = Double.MAX_VALUE;
-        double max = 0;
-        double edge;
+        ScanKernel kernel = ScanKernel.getDefault();
+        double[] edges = copyEdges();
 
-        for (Node n : nodes) {
-            if (getNodeColumnNumber(n.getIndex()) != columnCount) {
-                edge = n.getEdgeOnConnection(getNode(n.getIndex() + 1));
+        edgeValueRange = kernel.edgeValueRange(edges);
 
-                if (edge > max)
-                    max = edge;
+        if (edgeValueRange.getMax() == 0) { // missing edges are stored as 0 and must not be counted
+            minEdgeCount = 0;
+            maxEdgeCount = 0;
+        } else {
+            minEdgeCount = kernel.count(edges, edgeValueRange.getMin());
+            maxEdgeCount = kernel.count(edges, edgeValueRange.getMax());
+        }
 
-                if (edge != 0 && edge < min)
-                    min = edge;
+        isEdgeValueRangeStale = false;
+    }
 
-            }
+    /**
+     * Kopiuje wagi krawędzi z list połączeń wierzchołków do tablicy indeksowanej indeksem krawędzi.
+     * Krawędź o indeksie 2i łączy wierzchołek i z sąsiadem po prawej, a krawędź o indeksie 2i+1 - z sąsiadem poniżej.
+     * Brakujące krawędzie mają w tablicy wagę 0.
+     *
+     * @return tablica wag krawędzi
+     */
+    double[] copyEdges() {
+        double[] edges = new double[2 * getNodeCount()];
 
-            if (getNodeRowNumber(n.getIndex()) != rowCount) {
-                edge = n.getEdgeOnConnection(getNode(n.getIndex() + columnCount));
+        for (Node n : nodes) {
+            for (int i = 0; i < n.getAdherentNumber(); i++) {
+                int adjacentNodeIndex = n.getConnectedNodeIndex(i);
 
-                if (edge > max)
-                    max = edge;
+                if (adjacentNodeIndex < n.getIndex()) // stored by the node on the other end
+                    continue;
 
-                if (edge != 0 && edge < min)
-                    min = edge;
+                // the lower neighbour is checked first, as in a single column it also follows the node directly
+                int edgeIndex = (adjacentNodeIndex - n.getIndex() == columnCount) ? 2 * n.getIndex() + 1 : 2 * n.getIndex();
+                edges[edgeIndex] = n.getEdgeOnConnection(i);
             }
         }
 
-        edgeValueRange = (max == 0) ? new Range(0, 0) : new Range(min, max);
+        return edges;
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.sgraph;
 
 import java.util.Random;
+import java.util.concurrent.CancellationException;
 
 /**
  * Klasa zawierająca statyczne metody pozwalające na wygenerowanie grafu na podstawie parametrów wejściowych.
@@ -18,6 +19,24 @@ public class GraphGenerator {
      * @throws IllegalArgumentException jeżeli liczba spójnych grafów jest niedodatnia lub większa od liczby wierzchołków, MIN jest ujemne lub mniejsze od MAX
      */
     public static Graph generateGraph(int columnCount, int rowCount, int subgraphCount, double min, double max) {
+        return generateGraph(columnCount, rowCount, subgraphCount, min, max, CancellationToken.none());
+    }
+
+    /**
+     * Generuje graf-siatkę na podstawie podanych parametrów wejściowych, przerywając generowanie po zgłoszeniu przerwania lub upływie terminu.
+     * Częściowo wygenerowany graf nie jest zwracany.
+     *
+     * @param columnCount   liczba kolumn w siatce
+     * @param rowCount      liczba wierszy w siatce
+     * @param subgraphCount liczba spójnych grafów w siatce
+     * @param min           lewa granica zakresu wartości wag na krawędziach
+     * @param max           prawa granica zakresu wartości wag na krawędziach
+     * @param token         obiekt zgłaszający przerwanie
+     * @return graf wygenerowany na podstawie danych wejściowych
+     * @throws IllegalArgumentException jeżeli liczba spójnych grafów jest niedodatnia lub większa od liczby wierzchołków, MIN jest ujemne lub mniejsze od MAX
+     * @throws CancellationException    jeżeli generowanie zostało przerwane
+     */
+    public static Graph generateGraph(int columnCount, int rowCount, int subgraphCount, double min, double max, CancellationToken token) {
         Graph graph = new Graph(columnCount, rowCount);
         Random rand = new Random();
         Range edgeRange = new Range(min, max);
@@ -29,6 +48,9 @@ public class GraphGenerator {
             throw new IllegalArgumentException("GraphGenerator: Invalid edge value range. MIN must not be equal to MAX.");
 
         for (int i = 0; i < graph.getNodeCount(); i++) {
+            if (i % CancellationToken.CHECK_INTERVAL == 0)
+                token.throwIfCancelled("GraphGenerator");
+
             if (i % columnCount + 1 != columnCount) // if node is not in the last column
                 graph.addConnection(i, i + 1, rand.nextDouble(edgeRange.getMin(), edgeRange.getMax()));
 
@@ -40,6 +62,7 @@ public class GraphGenerator {
 
         if (subgraphCount != 1) {
             while (subgraphCount > graph.getSubgraphCount()) {
+                token.throwIfCancelled("GraphGenerator");
                 graph.split();
                 graph.calculateSubraphCount();
             }
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 /**
  * Klasa zawierająca statyczne metody pozwalające na wczytanie grafu z pliku wejściowego.
@@ -23,6 +24,22 @@ public class GraphReader {
      * @throws NoSuchElementException jeżeli w pliku jest mniej linii niż wynika z wczytanych wymiarów grafu
      */
     public static Graph readFromFile(File file) throws IOException {
+        return readFromFile(file, CancellationToken.none());
+    }
+
+    /**
+     * Wczytuje graf z pliku wejściowego o określonym formacie, przerywając wczytywanie po zgłoszeniu przerwania lub upływie terminu.
+     * Częściowo wczytany graf nie jest zwracany.
+     *
+     * @param file  plik wejściowy
+     * @param token obiekt zgłaszający przerwanie
+     * @return graf wczytany z pliku wejściowego
+     * @throws IOException            jeżeli wystąpił błąd z czytaniem pliku lub nie udało się go otworzyć
+     * @throws InputMismatchException jeżeli wymiary grafu lub liczba danych w jednej linii jest niepoprawna
+     * @throws NoSuchElementException jeżeli w pliku jest mniej linii niż wynika z wczytanych wymiarów grafu
+     * @throws CancellationException  jeżeli wczytywanie zostało przerwane
+     */
+    public static Graph readFromFile(File file, CancellationToken token) throws IOException {
         String[] lineSplit;
         ArrayList<Double> convertedLine;
         Scanner file_scanner;
@@ -50,6 +67,11 @@ public class GraphReader {
         Graph g = new Graph(convertedLine.get(1).intValue(), convertedLine.get(0).intValue());
 
         for (int i = 0; i < g.getNodeCount(); i++) {
+            if (i % CancellationToken.CHECK_INTERVAL == 0 && token.isCancelled()) {
+                file_scanner.close();
+                token.throwIfCancelled("GraphReader");
+            }
+
             try {
                 lineSplit = file_scanner.nextLine().replace(":", " ").split("\\s+");
             } catch (NoSuchElementException e) {
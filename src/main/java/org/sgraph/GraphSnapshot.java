@@ -0,0 +1,325 @@
+package org.sgraph;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.sgraph.Move.MoveDirection;
+
+/**
+ * Klasa przechowująca niezmienną kopię wag krawędzi grafu-siatki w tablicy typu prostego.
+ * Przeznaczona do wielokrotnego i współbieżnego odczytu przez algorytmy wyszukiwania ścieżek.
+ * Zmiany w grafie wprowadzone po utworzeniu kopii nie są w niej widoczne.
+ */
+public class GraphSnapshot {
+    /**
+     * Liczba kierunków przejść między sąsiednimi wierzchołkami w siatce.
+     * Kierunki są numerowane zgodnie z kolejnością elementów typu Move.MoveDirection (UP, LEFT, RIGHT, DOWN).
+     */
+    public static final int DIRECTION_COUNT = 4;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Liczba wierszy w siatce.
+     */
+    private final int rowCount;
+    /**
+     * Tablica wag krawędzi indeksowana indeksem krawędzi.
+     * Krawędź o indeksie 2i łączy wierzchołek i z sąsiadem po prawej, a krawędź o indeksie 2i+1 - z sąsiadem poniżej.
+     * Wartość 0 oznacza brak połączenia.
+     */
+    private final double[] edges;
+    /**
+     * Zakres w jakim znajdują się wagi na krawędziach w grafie.
+     */
+    private final Range edgeValueRange;
+
+    /**
+     * Konstruktor klasy
+     * Kopiuje wagi wszystkich krawędzi przekazanego grafu.
+     *
+     * @param graph graf, którego kopia zostanie utworzona
+     */
+    public GraphSnapshot(Graph graph) {
+        this(graph.getColumnCount(), graph.getRowCount(), graph.copyEdges());
+    }
+
+    /**
+     * Konstruktor klasy
+     * Przekazana tablica wag nie jest kopiowana i nie może być później modyfikowana.
+     *
+     * @param columnCount liczba kolumn w siatce
+     * @param rowCount    liczba wierszy w siatce
+     * @param edges       tablica wag krawędzi indeksowana indeksem krawędzi
+     * @throws IllegalArgumentException jeżeli wymiary siatki są niedodatnie lub długość tablicy wag nie odpowiada wymiarom
+     */
+    GraphSnapshot(int columnCount, int rowCount, double[] edges) {
+        if (columnCount <= 0 || rowCount <= 0)
+            throw new IllegalArgumentException("GraphSnapshot: The number of columns and rows must be positive.");
+
+        if (edges.length != 2 * columnCount * rowCount)
+            throw new IllegalArgumentException("GraphSnapshot: The edge array length does not match graph dimensions.");
+
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.edges = edges;
+
+        edgeValueRange = ScanKernel.getDefault().edgeValueRange(edges);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Przeznaczony dla widoków, które odczytują wagi krawędzi z innej kopii i nie mają własnej tablicy wag.
+     *
+     * @param columnCount    liczba kolumn w siatce
+     * @param rowCount       liczba wierszy w siatce
+     * @param edgeValueRange zakres wartości wag na krawędziach
+     */
+    GraphSnapshot(int columnCount, int rowCount, Range edgeValueRange) {
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.edgeValueRange = edgeValueRange;
+        edges = null;
+    }
+
+    /**
+     * Zwraca liczbę kolumn w siatce.
+     *
+     * @return liczba kolumn w siatce
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Zwraca liczbę wierszy w siatce.
+     *
+     * @return liczba wierszy w siatce
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków w grafie.
+     *
+     * @return liczba wierzchołków w grafie
+     */
+    public int getNodeCount() {
+        return rowCount * columnCount;
+    }
+
+    /**
+     * Zwraca zakres wartości wag na krawędziach w grafie.
+     * Jeżeli w grafie nie ma żadnych krawędzi, zakres wynosi [0;0].
+     *
+     * @return zakres wartości wag na krawędziach
+     */
+    public Range getEdgeValueRange() {
+        return edgeValueRange;
+    }
+
+    /**
+     * Zwraca rozmiar przestrzeni indeksów krawędzi (dwukrotność liczby wierzchołków).
+     * Nie wszystkie indeksy odpowiadają istniejącym krawędziom.
+     *
+     * @return rozmiar przestrzeni indeksów krawędzi
+     */
+    public int getEdgeIndexCount() {
+        return 2 * getNodeCount();
+    }
+
+    /**
+     * Zwraca wartość wagi na krawędzi o określonym indeksie.
+     * Jeżeli krawędź nie istnieje, zwraca 0.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return wartość wagi na krawędzi
+     */
+    public double getEdge(int edgeIndex) {
+        return edges[edgeIndex];
+    }
+
+    /**
+     * Zwraca indeks krawędzi wychodzącej z wierzchołka w określonym kierunku.
+     * Jeżeli w tym kierunku nie ma sąsiedniego wierzchołka w siatce, zwraca -1.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param direction numer kierunku (ordinal elementu typu Move.MoveDirection)
+     * @return indeks krawędzi lub -1
+     */
+    public int getEdgeIndex(int nodeIndex, int direction) {
+        return switch (direction) {
+            case 0 -> nodeIndex >= columnCount ? 2 * (nodeIndex - columnCount) + 1 : -1; // UP
+            case 1 -> nodeIndex % columnCount != 0 ? 2 * (nodeIndex - 1) : -1; // LEFT
+            case 2 -> nodeIndex % columnCount + 1 != columnCount ? 2 * nodeIndex : -1; // RIGHT
+            case 3 -> nodeIndex + columnCount < getNodeCount() ? 2 * nodeIndex + 1 : -1; // DOWN
+            default -> -1;
+        };
+    }
+
+    /**
+     * Zwraca indeks krawędzi łączącej dwa sąsiednie w siatce wierzchołki, niezależnie od tego, czy połączenie istnieje.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @return indeks krawędzi lub -1, jeżeli wierzchołki nie sąsiadują w siatce
+     */
+    public int getEdgeIndexBetween(int firstNodeIndex, int secondNodeIndex) {
+        if (isIndexNotInBounds(firstNodeIndex) || isIndexNotInBounds(secondNodeIndex))
+            return -1;
+
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            int edgeIndex = getEdgeIndex(firstNodeIndex, d);
+
+            // directions are ordered so that d and DIRECTION_COUNT - 1 - d are opposite
+            if (edgeIndex != -1 && edgeIndex == getEdgeIndex(secondNodeIndex, DIRECTION_COUNT - 1 - d))
+                return edgeIndex;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Zwraca wartość wagi na krawędzi wychodzącej z wierzchołka w określonym kierunku.
+     * Jeżeli połączenie nie istnieje, zwraca 0.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param direction numer kierunku (ordinal elementu typu Move.MoveDirection)
+     * @return wartość wagi na krawędzi
+     */
+    public double getEdge(int nodeIndex, int direction) {
+        int edgeIndex = getEdgeIndex(nodeIndex, direction);
+
+        return edgeIndex == -1 ? 0 : getEdge(edgeIndex);
+    }
+
+    /**
+     * Zwraca indeks wierzchołka połączonego z przekazanym wierzchołkiem w określonym kierunku.
+     * Jeżeli połączenie nie istnieje, zwraca -1.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param direction numer kierunku (ordinal elementu typu Move.MoveDirection)
+     * @return indeks połączonego wierzchołka lub -1
+     */
+    public int getAdjacentNodeIndex(int nodeIndex, int direction) {
+        if (getEdge(nodeIndex, direction) == 0)
+            return -1;
+
+        return switch (direction) {
+            case 0 -> nodeIndex - columnCount;
+            case 1 -> nodeIndex - 1;
+            case 2 -> nodeIndex + 1;
+            default -> nodeIndex + columnCount;
+        };
+    }
+
+    /**
+     * Zwraca indeks wierzchołka połączonego z przekazanym wierzchołkiem w określonym kierunku.
+     * Jeżeli połączenie nie istnieje, zwraca -1.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param direction kierunek przejścia
+     * @return indeks połączonego wierzchołka lub -1
+     */
+    public int getAdjacentNodeIndex(int nodeIndex, MoveDirection direction) {
+        return direction == MoveDirection.NO_MOVE ? -1 : getAdjacentNodeIndex(nodeIndex, direction.ordinal());
+    }
+
+    /**
+     * Zwraca indeks wierzchołka po lewej lub górnej stronie krawędzi o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return indeks pierwszego wierzchołka krawędzi
+     */
+    public int getEdgeFirstNodeIndex(int edgeIndex) {
+        return edgeIndex >> 1;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka po prawej lub dolnej stronie krawędzi o określonym indeksie.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return indeks drugiego wierzchołka krawędzi
+     */
+    public int getEdgeSecondNodeIndex(int edgeIndex) {
+        return (edgeIndex & 1) == 0 ? (edgeIndex >> 1) + 1 : (edgeIndex >> 1) + columnCount;
+    }
+
+    /**
+     * Zwraca strumień indeksów wszystkich wierzchołków grafu.
+     *
+     * @return strumień indeksów wierzchołków
+     */
+    public IntStream nodes() {
+        return IntStream.range(0, getNodeCount());
+    }
+
+    /**
+     * Zwraca strumień indeksów istniejących krawędzi grafu w rosnącej kolejności, w którym każda krawędź nieskierowana występuje raz.
+     * Strumień równoległy dzieli siatkę na pasy wierszy. Końce i wagę krawędzi zwracają metody getEdgeFirstNodeIndex, getEdgeSecondNodeIndex i getEdge.
+     *
+     * @return strumień indeksów krawędzi
+     */
+    public IntStream edges() {
+        return StreamSupport.intStream(new EdgeSpliterator(columnCount, 0, rowCount, this::getEdge), false);
+    }
+
+    /**
+     * Zwraca strumień wag istniejących krawędzi grafu w kolejności indeksów krawędzi.
+     *
+     * @return strumień wag krawędzi
+     */
+    public DoubleStream edgeWeights() {
+        return edges().mapToDouble(this::getEdge);
+    }
+
+    /**
+     * Zlicza istniejące krawędzie w przedziałach wag równej szerokości, które razem obejmują zakres wartości wag na krawędziach.
+     * Krawędzie o wadze równej prawej granicy zakresu należą do ostatniego przedziału, a jeżeli granice zakresu są równe - wszystkie krawędzie należą do pierwszego.
+     *
+     * @param binCount liczba przedziałów
+     * @return tablica liczby krawędzi w kolejnych przedziałach
+     * @throws IllegalArgumentException jeżeli liczba przedziałów jest niedodatnia
+     * @see ScanKernel#histogram(double[], Range, int)
+     */
+    public int[] getEdgeHistogram(int binCount) {
+        // missing edges are stored as 0 and fall outside the range unless the graph has no edges at all
+        double[] weights = edgeValueRange.getMax() == 0 ? new double[0] : edges != null ? edges : edgeWeights().toArray();
+
+        return ScanKernel.getDefault().histogram(weights, edgeValueRange, binCount);
+    }
+
+    /**
+     * Zwraca widok prostokątnego fragmentu siatki, który odczytuje wagi krawędzi z tej kopii bez ich kopiowania.
+     * Wierzchołki widoku są indeksowane od lewego górnego rogu fragmentu, a krawędzie wychodzące poza fragment nie istnieją w widoku.
+     *
+     * @param firstColumn numer pierwszej kolumny fragmentu (liczony od 0)
+     * @param firstRow    numer pierwszego wiersza fragmentu (liczony od 0)
+     * @param columnCount liczba kolumn fragmentu
+     * @param rowCount    liczba wierszy fragmentu
+     * @return widok fragmentu siatki
+     * @throws IllegalArgumentException jeżeli wymiary fragmentu są niedodatnie lub fragment wykracza poza siatkę
+     */
+    public GraphSubgrid subgrid(int firstColumn, int firstRow, int columnCount, int rowCount) {
+        if (columnCount <= 0 || rowCount <= 0)
+            throw new IllegalArgumentException("GraphSnapshot: The number of subgrid columns and rows must be positive.");
+
+        if (firstColumn < 0 || firstRow < 0 || firstColumn + columnCount > this.columnCount || firstRow + rowCount > this.rowCount)
+            throw new IllegalArgumentException(String.format("GraphSnapshot: The %dx%d subgrid at column %d, row %d exceeds a %dx%d graph.", rowCount, columnCount, firstColumn, firstRow, this.rowCount, this.columnCount));
+
+        return new GraphSubgrid(this, firstColumn, firstRow, columnCount, rowCount);
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek o podanym indeksie nie znajduje się w grafie.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return wartość logiczną, czy wierzchołek o podanym indeksie nie znajduje się w grafie
+     */
+    public boolean isIndexNotInBounds(int nodeIndex) {
+        return nodeIndex < 0 || nodeIndex >= getNodeCount();
+    }
+}
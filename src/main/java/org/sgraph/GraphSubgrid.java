@@ -0,0 +1,190 @@
+package org.sgraph;
+
+/**
+ * Klasa widoku prostokątnego fragmentu siatki, który odczytuje wagi krawędzi bezpośrednio z kopii całego grafu.
+ * Utworzenie widoku nie kopiuje wag, więc algorytmy przyjmujące GraphSnapshot (PathFinder, BitsetBreadthFirstSearch, ParallelComponentLabeling itd.)
+ * mogą działać na fragmencie dużej siatki bez budowania nowego grafu. Indeksy wierzchołków i krawędzi widoku są liczone tak jak w siatce
+ * o wymiarach fragmentu, a krawędzie łączące fragment z resztą siatki w widoku nie istnieją.
+ * <p>
+ * Każdy odczyt wagi przelicza indeks krawędzi na indeks w kopii nadrzędnej. Jeżeli widok będzie przeszukiwany wielokrotnie,
+ * tańsze może być jednorazowe utworzenie zwartej kopii metodą compact().
+ *
+ * @see GraphSnapshot#subgrid(int, int, int, int)
+ */
+public class GraphSubgrid extends GraphSnapshot {
+    /**
+     * Kopia całego grafu, z której odczytywane są wagi krawędzi.
+     */
+    private final GraphSnapshot parent;
+    /**
+     * Numer pierwszej kolumny fragmentu w kopii nadrzędnej.
+     */
+    private final int columnOffset;
+    /**
+     * Numer pierwszego wiersza fragmentu w kopii nadrzędnej.
+     */
+    private final int rowOffset;
+    /**
+     * Indeks lewego górnego wierzchołka fragmentu w kopii nadrzędnej.
+     */
+    private final int firstNodeIndex;
+    /**
+     * Liczba kolumn kopii nadrzędnej.
+     */
+    private final int parentColumnCount;
+
+    /**
+     * Konstruktor klasy
+     * Widok fragmentu innego widoku odczytuje wagi bezpośrednio z jego kopii nadrzędnej.
+     *
+     * @param parent      kopia grafu, której fragment jest widoczny
+     * @param firstColumn numer pierwszej kolumny fragmentu
+     * @param firstRow    numer pierwszego wiersza fragmentu
+     * @param columnCount liczba kolumn fragmentu
+     * @param rowCount    liczba wierszy fragmentu
+     */
+    GraphSubgrid(GraphSnapshot parent, int firstColumn, int firstRow, int columnCount, int rowCount) {
+        super(columnCount, rowCount, calculateEdgeValueRange(parent, firstColumn, firstRow, columnCount, rowCount));
+
+        if (parent instanceof GraphSubgrid view) { // nested views translate straight to the outermost copy
+            firstColumn += view.columnOffset;
+            firstRow += view.rowOffset;
+            parent = view.parent;
+        }
+
+        this.parent = parent;
+        columnOffset = firstColumn;
+        rowOffset = firstRow;
+        parentColumnCount = parent.getColumnCount();
+        firstNodeIndex = firstRow * parentColumnCount + firstColumn;
+    }
+
+    /**
+     * Oblicza zakres wartości wag na krawędziach wewnątrz fragmentu siatki.
+     *
+     * @param parent      kopia grafu, której fragment jest widoczny
+     * @param firstColumn numer pierwszej kolumny fragmentu
+     * @param firstRow    numer pierwszego wiersza fragmentu
+     * @param columnCount liczba kolumn fragmentu
+     * @param rowCount    liczba wierszy fragmentu
+     * @return zakres wartości wag lub [0;0], jeżeli we fragmencie nie ma żadnych krawędzi
+     */
+    private static Range calculateEdgeValueRange(GraphSnapshot parent, int firstColumn, int firstRow, int columnCount, int rowCount) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+
+        for (int row = firstRow; row < firstRow + rowCount; row++) {
+            for (int column = firstColumn; column < firstColumn + columnCount; column++) {
+                int nodeIndex = row * parent.getColumnCount() + column;
+
+                // edges leaving the fragment are skipped
+                double right = column + 1 < firstColumn + columnCount ? parent.getEdge(2 * nodeIndex) : 0;
+                double down = row + 1 < firstRow + rowCount ? parent.getEdge(2 * nodeIndex + 1) : 0;
+
+                max = Math.max(max, Math.max(right, down));
+
+                if (right != 0 && right < min)
+                    min = right;
+
+                if (down != 0 && down < min)
+                    min = down;
+            }
+        }
+
+        return (max == 0) ? new Range(0, 0) : new Range(min, max);
+    }
+
+    /**
+     * Zwraca wartość wagi na krawędzi widoku o określonym indeksie, odczytaną z kopii nadrzędnej.
+     * Krawędzie wychodzące poza fragment mają wagę 0.
+     *
+     * @param edgeIndex indeks krawędzi w widoku
+     * @return wartość wagi na krawędzi
+     */
+    @Override
+    public double getEdge(int edgeIndex) {
+        int nodeIndex = edgeIndex >> 1;
+        int row = nodeIndex / getColumnCount();
+        int column = nodeIndex - row * getColumnCount();
+        boolean isDown = (edgeIndex & 1) != 0;
+
+        if (isDown ? row + 1 == getRowCount() : column + 1 == getColumnCount()) // the edge leaves the fragment
+            return 0;
+
+        return parent.getEdge(2 * (firstNodeIndex + row * parentColumnCount + column) + (edgeIndex & 1));
+    }
+
+    /**
+     * Zwraca kopię grafu, z której widok odczytuje wagi krawędzi.
+     *
+     * @return kopia nadrzędna
+     */
+    public GraphSnapshot getParent() {
+        return parent;
+    }
+
+    /**
+     * Zwraca numer pierwszej kolumny fragmentu w kopii nadrzędnej.
+     *
+     * @return numer kolumny liczony od 0
+     */
+    public int getColumnOffset() {
+        return columnOffset;
+    }
+
+    /**
+     * Zwraca numer pierwszego wiersza fragmentu w kopii nadrzędnej.
+     *
+     * @return numer wiersza liczony od 0
+     */
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * Przelicza indeks wierzchołka widoku na indeks tego wierzchołka w kopii nadrzędnej.
+     *
+     * @param nodeIndex indeks wierzchołka w widoku
+     * @return indeks wierzchołka w kopii nadrzędnej
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest spoza widoku
+     */
+    public int getParentNodeIndex(int nodeIndex) {
+        if (isIndexNotInBounds(nodeIndex))
+            throw new IllegalArgumentException(String.format("GraphSubgrid: Invalid node index. Allowed range: %d - %d", 0, getNodeCount() - 1));
+
+        return firstNodeIndex + nodeIndex / getColumnCount() * parentColumnCount + nodeIndex % getColumnCount();
+    }
+
+    /**
+     * Przelicza indeks wierzchołka kopii nadrzędnej na indeks tego wierzchołka w widoku.
+     *
+     * @param parentNodeIndex indeks wierzchołka w kopii nadrzędnej
+     * @return indeks wierzchołka w widoku lub -1, jeżeli wierzchołek leży poza fragmentem
+     */
+    public int getNodeIndex(int parentNodeIndex) {
+        if (parent.isIndexNotInBounds(parentNodeIndex))
+            return -1;
+
+        int column = parentNodeIndex % parentColumnCount - columnOffset;
+        int row = parentNodeIndex / parentColumnCount - rowOffset;
+
+        if (column < 0 || column >= getColumnCount() || row < 0 || row >= getRowCount())
+            return -1;
+
+        return row * getColumnCount() + column;
+    }
+
+    /**
+     * Tworzy zwartą kopię fragmentu z własną tablicą wag, w której odczyt wagi nie wymaga przeliczania indeksów.
+     *
+     * @return kopia fragmentu siatki
+     */
+    public GraphSnapshot compact() {
+        double[] edges = new double[getEdgeIndexCount()];
+
+        for (int e = 0; e < edges.length; e++)
+            edges[e] = getEdge(e);
+
+        return new GraphSnapshot(getColumnCount(), getRowCount(), edges);
+    }
+}
@@ -0,0 +1,452 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa odpowiadająca za hierarchiczne wyszukiwanie najkrótszych ścieżek w grafie-siatce (HPA*).
+ * Siatka jest dzielona na kwadratowe klastry. Wierzchołki klastra połączone krawędzią z wierzchołkiem innego klastra są wejściami,
+ * a dla każdej pary wejść tego samego klastra zapamiętywana jest długość najkrótszej ścieżki przebiegającej wewnątrz klastra.
+ * Zapytanie jest rozwiązywane w grafie abstrakcyjnym złożonym z wejść, a następnie ścieżka jest odtwarzana wyłącznie w klastrach, przez które przechodzi.
+ * Ponieważ graf abstrakcyjny zawiera wszystkie krawędzie między klastrami, zwracane ścieżki są najkrótsze.
+ * Obiekt klasy przechowuje tablice robocze wielokrotnego użytku i nie może być współdzielony między wątkami.
+ */
+public class HierarchicalPathFinder {
+    /**
+     * Domyślna długość boku klastra.
+     */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+    /**
+     * Graf, w którym wyszukiwane są ścieżki.
+     */
+    private final Graph graph;
+    /**
+     * Tablica wag krawędzi grafu indeksowana indeksem krawędzi, aktualizowana przy usuwaniu połączeń.
+     */
+    private final double[] edges;
+    /**
+     * Widok grafu na tablicy wag krawędzi. Nie jest udostępniany poza klasą, ponieważ jego wagi zmieniają się przy usuwaniu połączeń.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Długość boku klastra.
+     */
+    private final int clusterSize;
+    /**
+     * Liczba kolumn klastrów.
+     */
+    private final int clusterColumnCount;
+    /**
+     * Najmniejsza waga krawędzi w grafie w chwili utworzenia obiektu, używana przez heurystykę wyszukiwania w grafie abstrakcyjnym.
+     */
+    private final double minEdge;
+    /**
+     * Tablice indeksów wejść klastrów.
+     */
+    private final int[][] clusterEntrances;
+    /**
+     * Macierze odległości między wejściami klastrów wewnątrz klastra, zapisane wierszami. Wartość Double.MAX_VALUE oznacza brak ścieżki.
+     */
+    private final double[][] clusterDistances;
+    /**
+     * Tablica pozycji wierzchołków na liście wejść ich klastra. Wartość -1 oznacza, że wierzchołek nie jest wejściem.
+     */
+    private final int[] entrancePosition;
+    /**
+     * Tablica odległości wierzchołków w wyszukiwaniu wewnątrz klastra.
+     */
+    private final double[] localDistance;
+    /**
+     * Tablice poprzedników i numerów wyszukiwań, w których wierzchołki zostały osiągnięte, w wyszukiwaniu wewnątrz klastra.
+     */
+    private final int[] localPrevious, localStamp;
+    /**
+     * Kolejka wyszukiwania wewnątrz klastra.
+     */
+    private final NodeHeap localHeap;
+    /**
+     * Tablica odległości wejść w wyszukiwaniu w grafie abstrakcyjnym.
+     */
+    private final double[] abstractDistance;
+    /**
+     * Tablice poprzedników i numerów wyszukiwań, w których wejścia zostały osiągnięte, w wyszukiwaniu w grafie abstrakcyjnym.
+     */
+    private final int[] abstractPrevious, abstractStamp;
+    /**
+     * Kolejka wyszukiwania w grafie abstrakcyjnym.
+     */
+    private final NodeHeap abstractHeap;
+    /**
+     * Numery aktualnych wyszukiwań wewnątrz klastra i w grafie abstrakcyjnym.
+     */
+    private int localSearch, abstractSearch;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy graf abstrakcyjny z klastrami o domyślnej długości boku.
+     *
+     * @param graph graf, w którym wyszukiwane będą ścieżki
+     */
+    public HierarchicalPathFinder(Graph graph) {
+        this(graph, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Tworzy graf abstrakcyjny, wyznaczając wejścia i odległości między nimi we wszystkich klastrach.
+     *
+     * @param graph       graf, w którym wyszukiwane będą ścieżki
+     * @param clusterSize długość boku klastra
+     * @throws IllegalArgumentException jeżeli długość boku klastra jest niedodatnia
+     */
+    public HierarchicalPathFinder(Graph graph, int clusterSize) {
+        if (clusterSize <= 0)
+            throw new IllegalArgumentException("HierarchicalPathFinder: The cluster size must be positive.");
+
+        GraphSnapshot copy = new GraphSnapshot(graph);
+        int nodeCount = copy.getNodeCount();
+
+        this.graph = graph;
+        this.clusterSize = clusterSize;
+        edges = new double[copy.getEdgeIndexCount()];
+
+        for (int i = 0; i < edges.length; i++)
+            edges[i] = copy.getEdge(i);
+
+        snapshot = new GraphSnapshot(copy.getColumnCount(), copy.getRowCount(), edges);
+        minEdge = copy.getEdgeValueRange().getMin();
+        clusterColumnCount = (copy.getColumnCount() + clusterSize - 1) / clusterSize;
+
+        int clusterCount = clusterColumnCount * ((copy.getRowCount() + clusterSize - 1) / clusterSize);
+        clusterEntrances = new int[clusterCount][];
+        clusterDistances = new double[clusterCount][];
+        entrancePosition = new int[nodeCount];
+        localDistance = new double[nodeCount];
+        localPrevious = new int[nodeCount];
+        localStamp = new int[nodeCount];
+        localHeap = new NodeHeap(nodeCount);
+        abstractDistance = new double[nodeCount];
+        abstractPrevious = new int[nodeCount];
+        abstractStamp = new int[nodeCount];
+        abstractHeap = new NodeHeap(nodeCount);
+
+        Arrays.fill(entrancePosition, -1);
+
+        for (int i = 0; i < clusterCount; i++)
+            buildCluster(i);
+    }
+
+    /**
+     * Usuwa połączenie między dwoma wierzchołkami w grafie i ponownie wyznacza wejścia oraz odległości tylko w klastrach zawierających te wierzchołki.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     */
+    public void removeConnection(int firstNodeIndex, int secondNodeIndex) {
+        graph.removeConnection(firstNodeIndex, secondNodeIndex);
+
+        int edgeIndex = snapshot.getEdgeIndexBetween(firstNodeIndex, secondNodeIndex);
+
+        if (edgeIndex == -1 || edges[edgeIndex] == 0)
+            return;
+
+        edges[edgeIndex] = 0;
+
+        int firstCluster = getCluster(firstNodeIndex);
+        int secondCluster = getCluster(secondNodeIndex);
+
+        buildCluster(firstCluster);
+
+        if (secondCluster != firstCluster)
+            buildCluster(secondCluster);
+    }
+
+    /**
+     * Wyszukuje najkrótszą ścieżkę między dwoma wierzchołkami.
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @return wynik zapytania zawierający długość ścieżki i indeksy kolejnych wierzchołków ścieżki
+     * @throws IllegalArgumentException jeżeli któryś z indeksów jest spoza zakresu
+     */
+    public PathQueryResult findPath(int startNodeIndex, int targetNodeIndex) {
+        if (snapshot.isIndexNotInBounds(startNodeIndex) || snapshot.isIndexNotInBounds(targetNodeIndex))
+            throw new IllegalArgumentException(String.format("HierarchicalPathFinder: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        int startCluster = getCluster(startNodeIndex);
+        int targetCluster = getCluster(targetNodeIndex);
+
+        // distances from the target to the entrances of its cluster, also giving the direct in-cluster path
+        searchCluster(targetCluster, targetNodeIndex, -1);
+        double[] targetDistances = getEntranceDistances(targetCluster);
+        double best = localStamp[startNodeIndex] == localSearch ? localDistance[startNodeIndex] : Double.MAX_VALUE;
+        int bestNodeIndex = -1;
+
+        searchCluster(startCluster, startNodeIndex, -1);
+        abstractSearch++;
+        abstractHeap.clear();
+
+        for (int entrance : clusterEntrances[startCluster]) {
+            if (localStamp[entrance] == localSearch)
+                reachEntrance(entrance, localDistance[entrance], -1, targetNodeIndex);
+        }
+
+        while (!abstractHeap.isEmpty() && abstractHeap.peekKey() < best) {
+            int entrance = abstractHeap.poll();
+            double distance = abstractDistance[entrance];
+            int cluster = getCluster(entrance);
+            int position = entrancePosition[entrance];
+
+            if (cluster == targetCluster && distance + targetDistances[position] < best) {
+                best = distance + targetDistances[position];
+                bestNodeIndex = entrance;
+            }
+
+            int[] entrances = clusterEntrances[cluster];
+            double[] distances = clusterDistances[cluster];
+
+            for (int i = 0; i < entrances.length; i++) {
+                double edge = distances[position * entrances.length + i];
+
+                if (edge != Double.MAX_VALUE)
+                    reachEntrance(entrances[i], distance + edge, entrance, targetNodeIndex);
+            }
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(entrance, d);
+
+                if (nodeIndex != -1 && getCluster(nodeIndex) != cluster)
+                    reachEntrance(nodeIndex, distance + snapshot.getEdge(entrance, d), entrance, targetNodeIndex);
+            }
+        }
+
+        if (best == Double.MAX_VALUE)
+            return new PathQueryResult(startNodeIndex, targetNodeIndex, -1, null);
+
+        IntArrayList path = new IntArrayList();
+        path.add(startNodeIndex);
+
+        if (bestNodeIndex == -1) {
+            appendLocalPath(startCluster, startNodeIndex, targetNodeIndex, path);
+        } else {
+            IntArrayList route = new IntArrayList();
+
+            for (int entrance = bestNodeIndex; entrance != -1; entrance = abstractPrevious[entrance])
+                route.add(entrance);
+
+            int previousNodeIndex = startNodeIndex;
+
+            for (int i = route.size() - 1; i >= 0; i--) {
+                int entrance = route.get(i);
+
+                if (getCluster(entrance) != getCluster(previousNodeIndex))
+                    path.add(entrance); // edge between clusters
+                else
+                    appendLocalPath(getCluster(entrance), previousNodeIndex, entrance, path);
+
+                previousNodeIndex = entrance;
+            }
+
+            appendLocalPath(targetCluster, bestNodeIndex, targetNodeIndex, path);
+        }
+
+        return new PathQueryResult(startNodeIndex, targetNodeIndex, best, path.toArray());
+    }
+
+    /**
+     * Zwraca długość boku klastra.
+     *
+     * @return długość boku klastra
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * Zwraca liczbę klastrów.
+     *
+     * @return liczba klastrów
+     */
+    public int getClusterCount() {
+        return clusterEntrances.length;
+    }
+
+    /**
+     * Zwraca liczbę wejść we wszystkich klastrach (wierzchołków grafu abstrakcyjnego).
+     *
+     * @return liczba wejść
+     */
+    public int getEntranceCount() {
+        int count = 0;
+
+        for (int[] entrances : clusterEntrances)
+            count += entrances.length;
+
+        return count;
+    }
+
+    /**
+     * Wyznacza wejścia klastra i odległości między nimi wewnątrz klastra.
+     *
+     * @param cluster numer klastra
+     */
+    private void buildCluster(int cluster) {
+        int columnCount = snapshot.getColumnCount();
+        int firstColumn = cluster % clusterColumnCount * clusterSize;
+        int firstRow = cluster / clusterColumnCount * clusterSize;
+        int lastColumn = Math.min(firstColumn + clusterSize, columnCount);
+        int lastRow = Math.min(firstRow + clusterSize, snapshot.getRowCount());
+        IntArrayList entrances = new IntArrayList();
+
+        for (int row = firstRow; row < lastRow; row++) {
+            for (int column = firstColumn; column < lastColumn; column++) {
+                int nodeIndex = row * columnCount + column;
+                entrancePosition[nodeIndex] = -1;
+
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    int adjacentNodeIndex = snapshot.getAdjacentNodeIndex(nodeIndex, d);
+
+                    if (adjacentNodeIndex != -1 && getCluster(adjacentNodeIndex) != cluster) {
+                        entrancePosition[nodeIndex] = entrances.size();
+                        entrances.add(nodeIndex);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int[] entranceArray = entrances.toArray();
+        double[] distances = new double[entranceArray.length * entranceArray.length];
+
+        for (int i = 0; i < entranceArray.length; i++) {
+            searchCluster(cluster, entranceArray[i], -1);
+
+            for (int j = 0; j < entranceArray.length; j++)
+                distances[i * entranceArray.length + j] = localStamp[entranceArray[j]] == localSearch ? localDistance[entranceArray[j]] : Double.MAX_VALUE;
+        }
+
+        clusterEntrances[cluster] = entranceArray;
+        clusterDistances[cluster] = distances;
+    }
+
+    /**
+     * Wykonuje algorytm Dijkstry ograniczony do wierzchołków jednego klastra.
+     *
+     * @param cluster         numer klastra
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego lub -1, jeżeli mają zostać wyznaczone odległości do wszystkich wierzchołków klastra
+     */
+    private void searchCluster(int cluster, int startNodeIndex, int targetNodeIndex) {
+        localSearch++;
+        localHeap.clear();
+        localStamp[startNodeIndex] = localSearch;
+        localDistance[startNodeIndex] = 0;
+        localPrevious[startNodeIndex] = -1;
+        localHeap.insertOrDecrease(startNodeIndex, 0);
+
+        while (!localHeap.isEmpty()) {
+            int parsedNodeIndex = localHeap.poll();
+
+            if (parsedNodeIndex == targetNodeIndex)
+                break;
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || getCluster(nodeIndex) != cluster)
+                    continue;
+
+                double distance = localDistance[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (localStamp[nodeIndex] != localSearch || distance < localDistance[nodeIndex]) {
+                    localStamp[nodeIndex] = localSearch;
+                    localDistance[nodeIndex] = distance;
+                    localPrevious[nodeIndex] = parsedNodeIndex;
+                    localHeap.insertOrDecrease(nodeIndex, distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zwraca odległości od wierzchołka początkowego ostatniego wyszukiwania wewnątrz klastra do wejść klastra.
+     *
+     * @param cluster numer klastra
+     * @return tablica odległości indeksowana pozycją wejścia
+     */
+    private double[] getEntranceDistances(int cluster) {
+        int[] entrances = clusterEntrances[cluster];
+        double[] distances = new double[entrances.length];
+
+        for (int i = 0; i < entrances.length; i++)
+            distances[i] = localStamp[entrances[i]] == localSearch ? localDistance[entrances[i]] : Double.MAX_VALUE;
+
+        return distances;
+    }
+
+    /**
+     * Aktualizuje odległość wejścia w grafie abstrakcyjnym. Priorytet wejścia jest powiększany o dolne ograniczenie odległości do wierzchołka docelowego.
+     *
+     * @param entrance          indeks wejścia
+     * @param distance          nowa odległość wejścia
+     * @param previousNodeIndex indeks poprzedniego wejścia lub -1, jeżeli wejście osiągnięto bezpośrednio z wierzchołka początkowego
+     * @param targetNodeIndex   indeks wierzchołka docelowego
+     */
+    private void reachEntrance(int entrance, double distance, int previousNodeIndex, int targetNodeIndex) {
+        if (abstractStamp[entrance] == abstractSearch && distance >= abstractDistance[entrance])
+            return;
+
+        abstractStamp[entrance] = abstractSearch;
+        abstractDistance[entrance] = distance;
+        abstractPrevious[entrance] = previousNodeIndex;
+        abstractHeap.insertOrDecrease(entrance, distance + getLowerBound(entrance, targetNodeIndex));
+    }
+
+    /**
+     * Zwraca dolne ograniczenie odległości między wierzchołkami - odległość w metryce taksówkowej pomnożoną przez najmniejszą wagę krawędzi.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka
+     * @param secondNodeIndex indeks drugiego wierzchołka
+     * @return dolne ograniczenie odległości
+     */
+    private double getLowerBound(int firstNodeIndex, int secondNodeIndex) {
+        int columnCount = snapshot.getColumnCount();
+
+        return minEdge * (Math.abs(firstNodeIndex % columnCount - secondNodeIndex % columnCount) + Math.abs(firstNodeIndex / columnCount - secondNodeIndex / columnCount));
+    }
+
+    /**
+     * Dopisuje do ścieżki najkrótszą ścieżkę wewnątrz klastra (bez jej pierwszego wierzchołka).
+     *
+     * @param cluster         numer klastra
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @param path            lista indeksów wierzchołków ścieżki
+     */
+    private void appendLocalPath(int cluster, int startNodeIndex, int targetNodeIndex, IntArrayList path) {
+        searchCluster(cluster, startNodeIndex, targetNodeIndex);
+
+        int from = path.size();
+
+        for (int nodeIndex = targetNodeIndex; nodeIndex != startNodeIndex; nodeIndex = localPrevious[nodeIndex])
+            path.add(nodeIndex);
+
+        // reverse the appended part into start-to-target order
+        for (int i = from, j = path.size() - 1; i < j; i++, j--) {
+            int value = path.get(i);
+            path.set(i, path.get(j));
+            path.set(j, value);
+        }
+    }
+
+    /**
+     * Zwraca numer klastra, do którego należy wierzchołek.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return numer klastra
+     */
+    private int getCluster(int nodeIndex) {
+        int columnCount = snapshot.getColumnCount();
+
+        return nodeIndex / columnCount / clusterSize * clusterColumnCount + nodeIndex % columnCount / clusterSize;
+    }
+}
@@ -0,0 +1,220 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca wynik wyznaczania średnic spójnych składowych grafu mierzonych liczbą kroków.
+ * Dla każdej składowej zawiera jej etykietę (najmniejszy indeks wierzchołka), liczbę wierzchołków, ograniczenia średnicy
+ * i ekscentryczność wierzchołka środkowego (górne ograniczenie promienia), a dla całego wyniku - liczbę przeszukiwań wszerz i czas działania.
+ * Obiekty klasy są niezmienne.
+ *
+ * @see HopDiameterEstimator
+ */
+public class HopDiameterEstimate {
+    /**
+     * Tablica etykiet składowych w rosnącej kolejności.
+     */
+    private final int[] componentLabels;
+    /**
+     * Tablica liczby wierzchołków składowych.
+     */
+    private final int[] componentSizes;
+    /**
+     * Tablica dolnych ograniczeń średnic składowych.
+     */
+    private final int[] lowerBounds;
+    /**
+     * Tablica górnych ograniczeń średnic składowych.
+     */
+    private final int[] upperBounds;
+    /**
+     * Tablica ekscentryczności wierzchołków środkowych składowych.
+     */
+    private final int[] centerEccentricities;
+    /**
+     * Liczba wykonanych przeszukiwań wszerz.
+     */
+    private final int traversalCount;
+    /**
+     * Liczba wywołań silnika jednoczesnych przeszukiwań.
+     */
+    private final int runCount;
+    /**
+     * Czas działania w nanosekundach.
+     */
+    private final long runtimeNanos;
+
+    /**
+     * Konstruktor klasy
+     * Przekazane tablice nie są kopiowane i nie mogą być później modyfikowane.
+     *
+     * @param componentLabels      tablica etykiet składowych
+     * @param componentSizes       tablica liczby wierzchołków składowych
+     * @param lowerBounds          tablica dolnych ograniczeń średnic
+     * @param upperBounds          tablica górnych ograniczeń średnic
+     * @param centerEccentricities tablica ekscentryczności wierzchołków środkowych
+     * @param traversalCount       liczba wykonanych przeszukiwań wszerz
+     * @param runCount             liczba wywołań silnika jednoczesnych przeszukiwań
+     * @param runtimeNanos         czas działania w nanosekundach
+     */
+    HopDiameterEstimate(int[] componentLabels, int[] componentSizes, int[] lowerBounds, int[] upperBounds, int[] centerEccentricities, int traversalCount, int runCount, long runtimeNanos) {
+        this.componentLabels = componentLabels;
+        this.componentSizes = componentSizes;
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.centerEccentricities = centerEccentricities;
+        this.traversalCount = traversalCount;
+        this.runCount = runCount;
+        this.runtimeNanos = runtimeNanos;
+    }
+
+    /**
+     * Zwraca liczbę spójnych składowych.
+     *
+     * @return liczba składowych
+     */
+    public int getComponentCount() {
+        return componentLabels.length;
+    }
+
+    /**
+     * Zwraca etykietę k-tej składowej, czyli najmniejszy indeks jej wierzchołka.
+     *
+     * @param k pozycja składowej
+     * @return etykieta składowej
+     */
+    public int getComponentLabel(int k) {
+        return componentLabels[k];
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków k-tej składowej.
+     *
+     * @param k pozycja składowej
+     * @return liczba wierzchołków składowej
+     */
+    public int getComponentSize(int k) {
+        return componentSizes[k];
+    }
+
+    /**
+     * Zwraca dolne ograniczenie średnicy k-tej składowej.
+     *
+     * @param k pozycja składowej
+     * @return dolne ograniczenie średnicy
+     */
+    public int getDiameterLowerBound(int k) {
+        return lowerBounds[k];
+    }
+
+    /**
+     * Zwraca górne ograniczenie średnicy k-tej składowej.
+     *
+     * @param k pozycja składowej
+     * @return górne ograniczenie średnicy
+     */
+    public int getDiameterUpperBound(int k) {
+        return upperBounds[k];
+    }
+
+    /**
+     * Sprawdza, czy średnica k-tej składowej została wyznaczona dokładnie.
+     *
+     * @param k pozycja składowej
+     * @return true, jeżeli ograniczenia średnicy są równe; w przeciwnym razie false
+     */
+    public boolean isExact(int k) {
+        return lowerBounds[k] == upperBounds[k];
+    }
+
+    /**
+     * Zwraca ekscentryczność wierzchołka środkowego k-tej składowej, która jest górnym ograniczeniem jej promienia.
+     *
+     * @param k pozycja składowej
+     * @return ekscentryczność wierzchołka środkowego
+     */
+    public int getCenterEccentricity(int k) {
+        return centerEccentricities[k];
+    }
+
+    /**
+     * Zwraca dolne ograniczenie średnicy grafu, czyli największe dolne ograniczenie średnicy składowej.
+     *
+     * @return dolne ograniczenie średnicy grafu
+     */
+    public int getDiameterLowerBound() {
+        int max = 0;
+
+        for (int bound : lowerBounds)
+            max = Math.max(max, bound);
+
+        return max;
+    }
+
+    /**
+     * Zwraca górne ograniczenie średnicy grafu, czyli największe górne ograniczenie średnicy składowej.
+     *
+     * @return górne ograniczenie średnicy grafu
+     */
+    public int getDiameterUpperBound() {
+        int max = 0;
+
+        for (int bound : upperBounds)
+            max = Math.max(max, bound);
+
+        return max;
+    }
+
+    /**
+     * Sprawdza, czy średnice wszystkich składowych zostały wyznaczone dokładnie.
+     *
+     * @return true, jeżeli wszystkie średnice są dokładne; w przeciwnym razie false
+     */
+    public boolean isExact() {
+        for (int k = 0; k < componentLabels.length; k++) {
+            if (!isExact(k))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Zwraca łączną liczbę wykonanych przeszukiwań wszerz.
+     *
+     * @return liczba przeszukiwań
+     */
+    public int getTraversalCount() {
+        return traversalCount;
+    }
+
+    /**
+     * Zwraca liczbę wywołań silnika jednoczesnych przeszukiwań (do 64 przeszukiwań na wywołanie).
+     *
+     * @return liczba wywołań
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Zwraca czas działania w milisekundach.
+     *
+     * @return czas działania
+     */
+    public double getRuntimeMillis() {
+        return runtimeNanos / 1e6;
+    }
+
+    /**
+     * Zwraca napis podsumowujący wynik.
+     *
+     * @return napis postaci "diameter [d] (components: [n], traversals: [t] in [r] runs, [ms] ms)"
+     */
+    @Override
+    public String toString() {
+        int lower = getDiameterLowerBound();
+        int upper = getDiameterUpperBound();
+        String diameter = lower == upper ? String.valueOf(lower) : lower + "-" + upper;
+
+        return String.format("diameter %s (components: %d, traversals: %d in %d runs, %.1f ms)", diameter, getComponentCount(), traversalCount, runCount, getRuntimeMillis());
+    }
+}
@@ -0,0 +1,226 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa odpowiadająca za wyznaczanie średnicy spójnych składowych grafu mierzonej liczbą kroków (bez uwzględniania wag krawędzi).
+ * Dla każdej składowej z etykietowania ParallelComponentLabeling wykonywane jest podwójne przeszukiwanie (double sweep) dające dolne ograniczenie,
+ * a następnie algorytm iFUB, który od wierzchołka środkowego sprawdza ekscentryczność kolejnych warstw najdalszych wierzchołków
+ * do momentu zrównania się ograniczeń. Warstwy są przetwarzane paczkami po 64 przeszukiwania klasą MultiSourceBreadthFirstSearch.
+ * Liczba przeszukiwań na składową może zostać ograniczona - wtedy wynikiem są ograniczenia średnicy zamiast dokładnej wartości.
+ *
+ * @see MultiSourceBreadthFirstSearch
+ * @see HopDiameterEstimate
+ */
+public class HopDiameterEstimator {
+    /**
+     * Domyślna maksymalna liczba przeszukiwań wszerz na jedną składową.
+     */
+    public static final int DEFAULT_TRAVERSAL_LIMIT = 1024;
+    /**
+     * Kopia grafu, w którym wyznaczana jest średnica.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Silnik jednoczesnych przeszukiwań wszerz.
+     */
+    private final MultiSourceBreadthFirstSearch search;
+    /**
+     * Tablica liczby kroków od pierwszego końca podwójnego przeszukiwania, ważna dla wierzchołków przetwarzanej składowej.
+     */
+    private final int[] hopsFromSweepStart;
+    /**
+     * Liczba wykonanych przeszukiwań wszerz.
+     */
+    private int traversalCount;
+    /**
+     * Liczba wywołań silnika jednoczesnych przeszukiwań.
+     */
+    private int runCount;
+    /**
+     * Dolne ograniczenie średnicy ostatnio przetworzonej składowej.
+     */
+    private int lowerBound;
+    /**
+     * Górne ograniczenie średnicy ostatnio przetworzonej składowej.
+     */
+    private int upperBound;
+    /**
+     * Ekscentryczność wierzchołka środkowego ostatnio przetworzonej składowej.
+     */
+    private int centerEccentricity;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym będzie wyznaczana średnica
+     */
+    public HopDiameterEstimator(GraphSnapshot snapshot) {
+        this.snapshot = snapshot;
+        search = new MultiSourceBreadthFirstSearch(snapshot);
+        hopsFromSweepStart = new int[snapshot.getNodeCount()];
+    }
+
+    /**
+     * Wyznacza średnice wszystkich spójnych składowych grafu przy domyślnym limicie przeszukiwań na składową.
+     *
+     * @return wyniki dla poszczególnych składowych wraz z liczbą przeszukiwań i czasem działania
+     */
+    public HopDiameterEstimate estimate() {
+        return estimate(DEFAULT_TRAVERSAL_LIMIT);
+    }
+
+    /**
+     * Wyznacza średnice wszystkich spójnych składowych grafu.
+     *
+     * @param traversalLimit maksymalna liczba przeszukiwań wszerz na jedną składową (co najmniej 4)
+     * @return wyniki dla poszczególnych składowych wraz z liczbą przeszukiwań i czasem działania
+     * @throws IllegalArgumentException jeżeli limit przeszukiwań jest mniejszy od 4
+     */
+    public HopDiameterEstimate estimate(int traversalLimit) {
+        if (traversalLimit < 4)
+            throw new IllegalArgumentException("HopDiameterEstimator: The traversal limit must be at least 4.");
+
+        long start = System.nanoTime();
+        traversalCount = 0;
+        runCount = 0;
+
+        ParallelComponentLabeling labeling = new ParallelComponentLabeling(snapshot);
+        labeling.run();
+        int[] labels = labeling.getComponentLabels();
+        int componentCount = labeling.getComponentCount();
+
+        int[] componentLabels = new int[componentCount];
+        int[] componentSizes = new int[componentCount];
+        int[] lowerBounds = new int[componentCount];
+        int[] upperBounds = new int[componentCount];
+        int[] centerEccentricities = new int[componentCount];
+        int k = 0;
+
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] != i)
+                continue;
+
+            componentLabels[k] = i;
+            estimateComponent(i, traversalLimit);
+            componentSizes[k] = search.getReachedNodeCount();
+            lowerBounds[k] = lowerBound;
+            upperBounds[k] = upperBound;
+            centerEccentricities[k] = centerEccentricity;
+            k++;
+        }
+
+        return new HopDiameterEstimate(componentLabels, componentSizes, lowerBounds, upperBounds, centerEccentricities, traversalCount, runCount, System.nanoTime() - start);
+    }
+
+    /**
+     * Wyznacza ograniczenia średnicy składowej wierzchołka i zapisuje je w polach obiektu.
+     * Po zakończeniu silnik przeszukiwań zawiera wynik przeszukiwania od wierzchołka środkowego albo - dla składowej jednoelementowej - od wierzchołka.
+     *
+     * @param nodeIndex      indeks dowolnego wierzchołka składowej
+     * @param traversalLimit maksymalna liczba przeszukiwań wszerz na składową
+     */
+    private void estimateComponent(int nodeIndex, int traversalLimit) {
+        int componentTraversals = 0;
+
+        // double sweep: the farthest node from any node is a good start for a second search
+        runSearch(new int[]{nodeIndex});
+        componentTraversals++;
+
+        if (search.getLevelCount() == 0) {
+            lowerBound = upperBound = centerEccentricity = 0;
+            return;
+        }
+
+        int a = search.getFarthestNode(0);
+        runSearch(new int[]{a});
+        int b = search.getFarthestNode(0);
+        int sweepLength = search.getEccentricity(0);
+        lowerBound = sweepLength;
+
+        for (int v : search.getReachedNodes())
+            hopsFromSweepStart[v] = search.getHopDistance(v);
+
+        runSearch(new int[]{b});
+        lowerBound = Math.max(lowerBound, search.getEccentricity(0));
+        componentTraversals += 2;
+
+        // the middle of an a-b shortest path is close to the center of the component, but on a grid there are many such nodes
+        // (for opposite corners the whole anti-diagonal), so the one closest to the centroid of the component is chosen
+        int[] component = search.getReachedNodes();
+        int columnCount = snapshot.getColumnCount();
+        double centroidRow = 0;
+        double centroidColumn = 0;
+
+        for (int v : component) {
+            centroidRow += v / columnCount;
+            centroidColumn += v % columnCount;
+        }
+
+        centroidRow /= component.length;
+        centroidColumn /= component.length;
+
+        int center = a;
+        double centerDistance = Double.MAX_VALUE;
+
+        for (int v : component) {
+            if (hopsFromSweepStart[v] != sweepLength / 2 || search.getHopDistance(v) != sweepLength - sweepLength / 2)
+                continue;
+
+            double dr = v / columnCount - centroidRow;
+            double dc = v % columnCount - centroidColumn;
+
+            if (dr * dr + dc * dc < centerDistance) {
+                center = v;
+                centerDistance = dr * dr + dc * dc;
+            }
+        }
+
+        runSearch(new int[]{center});
+        componentTraversals++;
+        centerEccentricity = search.getEccentricity(0);
+        lowerBound = Math.max(lowerBound, centerEccentricity);
+        upperBound = 2 * centerEccentricity;
+
+        // nodes ordered by the distance from the center, with the start of every level
+        int[] order = search.getReachedNodes();
+        int[] levelStart = new int[centerEccentricity + 2];
+
+        for (int v : order)
+            levelStart[search.getHopDistance(v) + 1]++;
+
+        for (int level = 1; level < levelStart.length; level++)
+            levelStart[level] += levelStart[level - 1];
+
+        int batchSize = MultiSourceBreadthFirstSearch.MAX_SOURCE_COUNT;
+
+        // iFUB: a node at level i has an eccentricity of at most 2i, so checking the farthest levels first narrows both bounds
+        for (int level = centerEccentricity; level > 0 && lowerBound < upperBound; level--) {
+            for (int from = levelStart[level]; from < levelStart[level + 1]; from += batchSize) {
+                int size = Math.min(batchSize, levelStart[level + 1] - from);
+
+                if (componentTraversals + size > traversalLimit)
+                    return;
+
+                runSearch(Arrays.copyOfRange(order, from, from + size));
+                componentTraversals += size;
+
+                for (int i = 0; i < size; i++)
+                    lowerBound = Math.max(lowerBound, search.getEccentricity(i));
+            }
+
+            upperBound = Math.min(upperBound, Math.max(lowerBound, 2 * (level - 1)));
+        }
+    }
+
+    /**
+     * Wykonuje jednoczesne przeszukiwania wszerz i aktualizuje liczniki przeszukiwań.
+     *
+     * @param sourceNodeIndexes tablica indeksów wierzchołków początkowych
+     */
+    private void runSearch(int[] sourceNodeIndexes) {
+        search.run(sourceNodeIndexes);
+        traversalCount += sourceNodeIndexes.length;
+        runCount++;
+    }
+}
@@ -0,0 +1,121 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa implementująca rozszerzalną tablicę wartości typu int, niewymagającą opakowywania wartości w obiekty.
+ */
+class IntArrayList {
+    /**
+     * Tablica przechowująca wartości.
+     */
+    private int[] values;
+    /**
+     * Liczba przechowywanych wartości.
+     */
+    private int size;
+
+    /**
+     * Konstruktor klasy
+     */
+    IntArrayList() {
+        this(16);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param capacity początkowa pojemność tablicy
+     */
+    IntArrayList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Dodaje wartość na koniec tablicy.
+     *
+     * @param value dodawana wartość
+     */
+    void add(int value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, 2 * values.length);
+
+        values[size++] = value;
+    }
+
+    /**
+     * Dodaje na koniec tablicy wszystkie wartości z innej tablicy.
+     *
+     * @param other tablica, której wartości zostaną dodane
+     */
+    void addAll(IntArrayList other) {
+        if (size + other.size > values.length)
+            values = Arrays.copyOf(values, Math.max(2 * values.length, size + other.size));
+
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Zwraca wartość o określonej pozycji.
+     *
+     * @param i pozycja wartości
+     * @return wartość o określonej pozycji
+     */
+    int get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Zmienia wartość o określonej pozycji.
+     *
+     * @param i     pozycja wartości
+     * @param value nowa wartość
+     */
+    void set(int i, int value) {
+        values[i] = value;
+    }
+
+    /**
+     * Zwraca liczbę przechowywanych wartości.
+     *
+     * @return liczba przechowywanych wartości
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sprawdza, czy tablica jest pusta.
+     *
+     * @return true, jeżeli tablica jest pusta; w przeciwnym razie false
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Usuwa określoną liczbę wartości z końca tablicy.
+     *
+     * @param count liczba usuwanych wartości
+     */
+    void removeLast(int count) {
+        size -= count;
+    }
+
+    /**
+     * Usuwa wszystkie wartości z tablicy bez zmniejszania jej pojemności.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Zwraca kopię przechowywanych wartości w postaci tablicy o długości równej ich liczbie.
+     *
+     * @return tablica wartości
+     */
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,119 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa przechowująca wynik wyszukiwania ograniczonego promieniem - zbiór wierzchołków, których odległość od wierzchołka początkowego
+ * nie przekracza zadanego promienia (izochronę), wraz z odległościami i krawędziami brzegowymi obszaru.
+ * Wierzchołki są przechowywane w rosnącej kolejności indeksów, co pozwala sprawdzać przynależność wyszukiwaniem binarnym.
+ *
+ * @see IsochroneFinder
+ */
+public class Isochrone {
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Promień wyszukiwania.
+     */
+    private final double radius;
+    /**
+     * Posortowana tablica indeksów wierzchołków należących do obszaru.
+     */
+    private final int[] nodeIndexes;
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego, równoległa do tablicy indeksów wierzchołków.
+     */
+    private final double[] distances;
+    /**
+     * Posortowana tablica indeksów krawędzi łączących wierzchołek obszaru z wierzchołkiem spoza obszaru.
+     */
+    private final int[] boundaryEdgeIndexes;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param startNodeIndex      indeks wierzchołka początkowego
+     * @param radius              promień wyszukiwania
+     * @param nodeIndexes         posortowana tablica indeksów wierzchołków obszaru
+     * @param distances           tablica odległości wierzchołków obszaru
+     * @param boundaryEdgeIndexes posortowana tablica indeksów krawędzi brzegowych
+     */
+    Isochrone(int startNodeIndex, double radius, int[] nodeIndexes, double[] distances, int[] boundaryEdgeIndexes) {
+        this.startNodeIndex = startNodeIndex;
+        this.radius = radius;
+        this.nodeIndexes = nodeIndexes;
+        this.distances = distances;
+        this.boundaryEdgeIndexes = boundaryEdgeIndexes;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca promień wyszukiwania.
+     *
+     * @return promień wyszukiwania
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków należących do obszaru.
+     *
+     * @return liczba wierzchołków obszaru
+     */
+    public int getNodeCount() {
+        return nodeIndexes.length;
+    }
+
+    /**
+     * Zwraca indeksy wierzchołków należących do obszaru w rosnącej kolejności.
+     *
+     * @return tablica indeksów wierzchołków obszaru
+     */
+    public int[] getNodeIndexes() {
+        return nodeIndexes.clone();
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek należy do obszaru.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return true, jeżeli wierzchołek należy do obszaru; w przeciwnym razie false
+     */
+    public boolean contains(int nodeIndex) {
+        return Arrays.binarySearch(nodeIndexes, nodeIndex) >= 0;
+    }
+
+    /**
+     * Zwraca odległość wierzchołka od wierzchołka początkowego. Jeżeli wierzchołek nie należy do obszaru, zwraca -1.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return odległość od wierzchołka początkowego lub -1
+     */
+    public double getDistanceToNode(int nodeIndex) {
+        int i = Arrays.binarySearch(nodeIndexes, nodeIndex);
+
+        return i < 0 ? -1 : distances[i];
+    }
+
+    /**
+     * Zwraca indeksy krawędzi łączących wierzchołek obszaru z wierzchołkiem spoza obszaru, w rosnącej kolejności.
+     * Indeksy krawędzi są zgodne z numeracją stosowaną w klasie GraphSnapshot.
+     *
+     * @return tablica indeksów krawędzi brzegowych
+     * @see GraphSnapshot#getEdgeIndex(int, int)
+     */
+    public int[] getBoundaryEdgeIndexes() {
+        return boundaryEdgeIndexes.clone();
+    }
+}
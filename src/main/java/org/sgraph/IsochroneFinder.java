@@ -0,0 +1,144 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa wyznaczająca obszary osiągalne w określonej odległości od wierzchołka (izochrony) algorytmem Dijkstry przerwanym po przekroczeniu promienia.
+ * Koszt wyszukiwania zależy od wielkości wyznaczanego obszaru, a nie od liczby wierzchołków grafu - tablice robocze nie są czyszczone między zapytaniami,
+ * a aktualność wpisów jest rozpoznawana po numerze zapytania.
+ * Obiekt klasy nie może być współdzielony między wątkami.
+ *
+ * @see Isochrone
+ */
+public class IsochroneFinder {
+    /**
+     * Kopia grafu, w którym wyznaczane są obszary.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica numerów zapytań, w których wierzchołki zostały osiągnięte.
+     */
+    private final int[] reachedStamp;
+    /**
+     * Tablica numerów zapytań, w których wierzchołki zostały przetworzone.
+     */
+    private final int[] parsedStamp;
+    /**
+     * Kolejka priorytetowa wierzchołków do przetworzenia.
+     */
+    private final NodeHeap heap;
+    /**
+     * Indeksy wierzchołków przetworzonych w aktualnym zapytaniu.
+     */
+    private final IntArrayList parsedNodes = new IntArrayList();
+    /**
+     * Numer aktualnego zapytania.
+     */
+    private int stamp;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph graf, w którym wyznaczane będą obszary
+     */
+    public IsochroneFinder(Graph graph) {
+        this(new GraphSnapshot(graph));
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym wyznaczane będą obszary
+     */
+    public IsochroneFinder(GraphSnapshot snapshot) {
+        this.snapshot = snapshot;
+
+        distanceToNode = new double[snapshot.getNodeCount()];
+        reachedStamp = new int[snapshot.getNodeCount()];
+        parsedStamp = new int[snapshot.getNodeCount()];
+        heap = new NodeHeap(snapshot.getNodeCount());
+    }
+
+    /**
+     * Wyznacza wierzchołki, których odległość od wierzchołka początkowego nie przekracza promienia, oraz krawędzie brzegowe tego obszaru.
+     * Algorytm kończy działanie, gdy najbliższy nieprzetworzony wierzchołek jest dalej niż promień.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @param radius         maksymalna odległość od wierzchołka początkowego
+     * @return obszar osiągalny w zadanej odległości
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny lub promień jest ujemny
+     */
+    public Isochrone calculate(int startNodeIndex, double radius) {
+        if (snapshot.isIndexNotInBounds(startNodeIndex))
+            throw new IllegalArgumentException(String.format("IsochroneFinder: Invalid starting node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        if (radius < 0 || Double.isNaN(radius))
+            throw new IllegalArgumentException("IsochroneFinder: The radius must not be negative.");
+
+        stamp++;
+        heap.clear();
+        parsedNodes.clear();
+
+        reachedStamp[startNodeIndex] = stamp;
+        distanceToNode[startNodeIndex] = 0;
+        heap.insertOrDecrease(startNodeIndex, 0);
+
+        while (!heap.isEmpty() && heap.peekKey() <= radius) {
+            int parsedNodeIndex = heap.poll();
+            parsedStamp[parsedNodeIndex] = stamp;
+            parsedNodes.add(parsedNodeIndex);
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || parsedStamp[nodeIndex] == stamp)
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (reachedStamp[nodeIndex] != stamp || distance < distanceToNode[nodeIndex]) {
+                    reachedStamp[nodeIndex] = stamp;
+                    distanceToNode[nodeIndex] = distance;
+                    heap.insertOrDecrease(nodeIndex, distance);
+                }
+            }
+        }
+
+        int[] nodeIndexes = parsedNodes.toArray();
+        Arrays.sort(nodeIndexes);
+
+        double[] distances = new double[nodeIndexes.length];
+        IntArrayList boundaryEdges = new IntArrayList();
+
+        for (int i = 0; i < nodeIndexes.length; i++) {
+            int parsedNodeIndex = nodeIndexes[i];
+            distances[i] = distanceToNode[parsedNodeIndex];
+
+            // every node left in the heap is farther than the radius, so only parsed nodes belong to the area
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex != -1 && parsedStamp[nodeIndex] != stamp)
+                    boundaryEdges.add(snapshot.getEdgeIndex(parsedNodeIndex, d));
+            }
+        }
+
+        int[] boundaryEdgeIndexes = boundaryEdges.toArray();
+        Arrays.sort(boundaryEdgeIndexes);
+
+        return new Isochrone(startNodeIndex, radius, nodeIndexes, distances, boundaryEdgeIndexes);
+    }
+
+    /**
+     * Zwraca kopię grafu, w którym wyznaczane są obszary.
+     *
+     * @return kopia grafu
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,140 @@
+package org.sgraph;
+
+/**
+ * Klasa realizująca zapytania o najkrótsze ścieżki algorytmem A* z heurystyką punktów orientacyjnych (ALT).
+ * Obiekt klasy przechowuje tablice robocze wielokrotnego użytku i nie może być współdzielony między wątkami.
+ *
+ * @see LandmarkTable
+ */
+public class LandmarkPathFinder {
+    /**
+     * Kopia grafu, w którym wyszukiwane są ścieżki.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Tablice odległości od punktów orientacyjnych.
+     */
+    private final LandmarkTable landmarks;
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     */
+    private final int[] previousNode;
+    /**
+     * Tablica numerów zapytań, w których wierzchołki zostały osiągnięte.
+     */
+    private final int[] reachedStamp;
+    /**
+     * Kolejka wierzchołków uporządkowana według sumy odległości i dolnego ograniczenia odległości do celu.
+     */
+    private final NodeHeap heap;
+    /**
+     * Numer aktualnego zapytania.
+     */
+    private int stamp;
+    /**
+     * Liczba wierzchołków przetworzonych w ostatnim zapytaniu.
+     */
+    private int settledNodeCount;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot  kopia grafu, w którym wyszukiwane będą ścieżki
+     * @param landmarks tablice odległości od punktów orientacyjnych wyznaczone dla tego grafu
+     * @throws IllegalArgumentException jeżeli wymiary tablic nie odpowiadają wymiarom grafu
+     */
+    public LandmarkPathFinder(GraphSnapshot snapshot, LandmarkTable landmarks) {
+        if (snapshot.getColumnCount() != landmarks.getColumnCount() || snapshot.getRowCount() != landmarks.getRowCount())
+            throw new IllegalArgumentException("LandmarkPathFinder: Landmark table dimensions do not match graph dimensions.");
+
+        this.snapshot = snapshot;
+        this.landmarks = landmarks;
+
+        distanceToNode = new double[snapshot.getNodeCount()];
+        previousNode = new int[snapshot.getNodeCount()];
+        reachedStamp = new int[snapshot.getNodeCount()];
+        heap = new NodeHeap(snapshot.getNodeCount());
+    }
+
+    /**
+     * Wyszukuje najkrótszą ścieżkę między dwoma wierzchołkami.
+     * Wierzchołek może zostać przetworzony ponownie, jeżeli później znaleziono do niego krótszą ścieżkę, co zapewnia poprawność wyniku mimo zaokrągleń w tablicach.
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @return wynik zapytania zawierający długość ścieżki i indeksy kolejnych wierzchołków ścieżki
+     * @throws IllegalArgumentException jeżeli któryś z indeksów jest spoza zakresu
+     */
+    public PathQueryResult findPath(int startNodeIndex, int targetNodeIndex) {
+        if (snapshot.isIndexNotInBounds(startNodeIndex) || snapshot.isIndexNotInBounds(targetNodeIndex))
+            throw new IllegalArgumentException(String.format("LandmarkPathFinder: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        stamp++;
+        heap.clear();
+        settledNodeCount = 0;
+
+        reachedStamp[startNodeIndex] = stamp;
+        distanceToNode[startNodeIndex] = 0;
+        previousNode[startNodeIndex] = -1;
+        heap.insertOrDecrease(startNodeIndex, landmarks.getLowerBound(startNodeIndex, targetNodeIndex));
+
+        while (!heap.isEmpty()) {
+            int parsedNodeIndex = heap.poll();
+            settledNodeCount++;
+
+            if (parsedNodeIndex == targetNodeIndex)
+                return new PathQueryResult(startNodeIndex, targetNodeIndex, distanceToNode[targetNodeIndex], getIndexPathToNode(targetNodeIndex));
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1)
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (reachedStamp[nodeIndex] != stamp || distance < distanceToNode[nodeIndex]) {
+                    reachedStamp[nodeIndex] = stamp;
+                    distanceToNode[nodeIndex] = distance;
+                    previousNode[nodeIndex] = parsedNodeIndex;
+                    heap.insertOrDecrease(nodeIndex, distance + landmarks.getLowerBound(nodeIndex, targetNodeIndex));
+                }
+            }
+        }
+
+        return new PathQueryResult(startNodeIndex, targetNodeIndex, -1, null);
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków przetworzonych w ostatnim zapytaniu.
+     *
+     * @return liczba przetworzonych wierzchołków
+     */
+    public int getSettledNodeCount() {
+        return settledNodeCount;
+    }
+
+    /**
+     * Odtwarza ścieżkę do wierzchołka z tablicy poprzedników.
+     *
+     * @param nodeIndex indeks wierzchołka docelowego
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     */
+    private int[] getIndexPathToNode(int nodeIndex) {
+        int length = 0;
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            length++;
+
+        int[] path = new int[length];
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            path[--length] = i;
+
+        return path;
+    }
+}
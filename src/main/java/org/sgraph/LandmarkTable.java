@@ -0,0 +1,322 @@
+package org.sgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+
+/**
+ * Klasa przechowująca tablice odległości wierzchołków od punktów orientacyjnych (landmarków) dla heurystyki ALT algorytmu A*.
+ * Każda spójna składowa grafu ma własny zestaw punktów orientacyjnych wybieranych metodą najdalszego punktu.
+ * Odległości są przechowywane jako wartości typu float, a dolne ograniczenie odległości wyznaczane jest z nierówności trójkąta.
+ *
+ * @see LandmarkPathFinder
+ */
+public class LandmarkTable {
+    /**
+     * Liczba rozpoczynająca plik z zapisanymi tablicami.
+     */
+    private static final int FILE_MAGIC = 0x53474c4d; // "SGLM"
+    /**
+     * Domyślna liczba punktów orientacyjnych w każdej składowej.
+     */
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+    /**
+     * Największa długość tablicy, którą można bezpiecznie utworzyć w maszynie wirtualnej.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Liczba wierszy w siatce.
+     */
+    private final int rowCount;
+    /**
+     * Liczba punktów orientacyjnych w każdej składowej.
+     */
+    private final int landmarkCount;
+    /**
+     * Tablica indeksów punktów orientacyjnych. Pozycja landmark * componentCount + c odpowiada punktowi o numerze landmark w składowej c.
+     */
+    private final int[] landmarkNodeIndexes;
+    /**
+     * Tablica odległości wierzchołków od punktów orientacyjnych ich składowej. Pozycja landmark * nodeCount + i odpowiada wierzchołkowi i.
+     */
+    private final float[] distances;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param columnCount         liczba kolumn w siatce
+     * @param rowCount            liczba wierszy w siatce
+     * @param landmarkCount       liczba punktów orientacyjnych w każdej składowej
+     * @param landmarkNodeIndexes tablica indeksów punktów orientacyjnych
+     * @param distances           tablica odległości wierzchołków od punktów orientacyjnych
+     */
+    private LandmarkTable(int columnCount, int rowCount, int landmarkCount, int[] landmarkNodeIndexes, float[] distances) {
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.landmarkCount = landmarkCount;
+        this.landmarkNodeIndexes = landmarkNodeIndexes;
+        this.distances = distances;
+    }
+
+    /**
+     * Wyznacza punkty orientacyjne i tablice odległości dla przekazanego grafu.
+     *
+     * @param graph         graf, dla którego wyznaczane są tablice
+     * @param landmarkCount liczba punktów orientacyjnych w każdej składowej
+     * @return tablice odległości od punktów orientacyjnych
+     */
+    public static LandmarkTable calculate(Graph graph, int landmarkCount) {
+        return calculate(new GraphSnapshot(graph), landmarkCount);
+    }
+
+    /**
+     * Wyznacza punkty orientacyjne i tablice odległości dla przekazanej kopii grafu.
+     * Pierwszym punktem składowej jest wierzchołek najdalszy od jej wierzchołka o najmniejszym indeksie (zwykle narożnika),
+     * a każdym kolejnym - wierzchołek najbardziej oddalony od wszystkich dotychczas wybranych punktów.
+     * Odległości od punktów o tym samym numerze we wszystkich składowych są wyznaczane jednym wielokrotnym przebiegiem algorytmu Dijkstry.
+     *
+     * @param snapshot      kopia grafu, dla której wyznaczane są tablice
+     * @param landmarkCount liczba punktów orientacyjnych w każdej składowej
+     * @return tablice odległości od punktów orientacyjnych
+     * @throws IllegalArgumentException jeżeli liczba punktów orientacyjnych jest niedodatnia
+     */
+    public static LandmarkTable calculate(GraphSnapshot snapshot, int landmarkCount) {
+        if (landmarkCount <= 0)
+            throw new IllegalArgumentException("LandmarkTable: The number of landmarks must be positive.");
+
+        int nodeCount = snapshot.getNodeCount();
+        int[] componentOfNode = new int[nodeCount];
+        int[] sources = labelComponents(snapshot, componentOfNode);
+        int componentCount = sources.length;
+
+        int[] landmarkNodeIndexes = new int[landmarkCount * componentCount];
+        float[] distances = new float[landmarkCount * nodeCount];
+        double[] minDistance = new double[nodeCount];
+        double[] farthest = new double[componentCount];
+
+        Arrays.fill(minDistance, Double.MAX_VALUE);
+
+        // the first pass starts from component representatives and only chooses the first landmarks
+        for (int landmark = -1; landmark < landmarkCount; landmark++) {
+            MultiSourcePathFinder pathFinder = new MultiSourcePathFinder(snapshot, sources);
+            pathFinder.run();
+            Arrays.fill(farthest, -1);
+
+            for (int i = 0; i < nodeCount; i++) {
+                double distance = pathFinder.getDistanceToNode(i);
+
+                if (landmark >= 0) {
+                    distances[landmark * nodeCount + i] = (float) distance;
+                    minDistance[i] = Math.min(minDistance[i], distance);
+                } else {
+                    minDistance[i] = distance;
+                }
+
+                int component = componentOfNode[i];
+
+                if (minDistance[i] > farthest[component]) {
+                    farthest[component] = minDistance[i];
+                    sources[component] = i;
+                }
+            }
+
+            if (landmark >= 0)
+                System.arraycopy(pathFinder.getSourceNodeIndexes(), 0, landmarkNodeIndexes, landmark * componentCount, componentCount);
+
+            if (landmark == -1)
+                Arrays.fill(minDistance, Double.MAX_VALUE);
+        }
+
+        return new LandmarkTable(snapshot.getColumnCount(), snapshot.getRowCount(), landmarkCount, landmarkNodeIndexes, distances);
+    }
+
+    /**
+     * Oznacza spójne składowe grafu algorytmem przeszukiwania wszerz.
+     *
+     * @param snapshot        kopia grafu
+     * @param componentOfNode tablica, do której zapisywane są numery składowych wierzchołków
+     * @return tablica indeksów wierzchołków o najmniejszym indeksie w kolejnych składowych
+     */
+    private static int[] labelComponents(GraphSnapshot snapshot, int[] componentOfNode) {
+        IntArrayList representatives = new IntArrayList();
+        IntArrayList queue = new IntArrayList();
+
+        Arrays.fill(componentOfNode, -1);
+
+        for (int i = 0; i < componentOfNode.length; i++) {
+            if (componentOfNode[i] != -1)
+                continue;
+
+            int component = representatives.size();
+            representatives.add(i);
+            componentOfNode[i] = component;
+            queue.clear();
+            queue.add(i);
+
+            for (int head = 0; head < queue.size(); head++) {
+                int parsedNodeIndex = queue.get(head);
+
+                for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                    int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                    if (nodeIndex != -1 && componentOfNode[nodeIndex] == -1) {
+                        componentOfNode[nodeIndex] = component;
+                        queue.add(nodeIndex);
+                    }
+                }
+            }
+        }
+
+        return representatives.toArray();
+    }
+
+    /**
+     * Zapisuje tablice do pliku binarnego.
+     *
+     * @param file plik, do którego będą zapisywane tablice
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia podczas pisania do pliku
+     */
+    public void writeToFile(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(rowCount);
+            out.writeInt(columnCount);
+            out.writeInt(landmarkCount);
+            out.writeInt(landmarkNodeIndexes.length);
+
+            for (int nodeIndex : landmarkNodeIndexes)
+                out.writeInt(nodeIndex);
+
+            for (float distance : distances)
+                out.writeFloat(distance);
+        }
+    }
+
+    /**
+     * Wczytuje tablice z pliku binarnego zapisanego metodą writeToFile.
+     *
+     * @param file plik wejściowy
+     * @return tablice wczytane z pliku
+     * @throws IOException            jeżeli wystąpił błąd z czytaniem pliku lub nie udało się go otworzyć
+     * @throws InputMismatchException jeżeli plik nie zawiera tablic punktów orientacyjnych lub jego nagłówek jest niespójny
+     */
+    public static LandmarkTable readFromFile(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC)
+                throw new InputMismatchException("LandmarkTable: File does not contain landmark tables.");
+
+            int rowCount = in.readInt();
+            int columnCount = in.readInt();
+            int landmarkCount = in.readInt();
+            int landmarkNodeCount = in.readInt();
+
+            if (rowCount <= 0 || columnCount <= 0 || landmarkCount <= 0 || landmarkNodeCount <= 0)
+                throw new InputMismatchException("LandmarkTable: Incorrect table dimensions.");
+
+            // every component has landmarkCount landmarks, and there are at most as many components as nodes
+            long nodeCount = (long) rowCount * columnCount;
+            long distanceCount = landmarkCount * nodeCount;
+
+            if (landmarkNodeCount % landmarkCount != 0 || landmarkNodeCount / landmarkCount > nodeCount)
+                throw new InputMismatchException("LandmarkTable: The number of landmarks does not match the number of components.");
+
+            if (nodeCount > Integer.MAX_VALUE || distanceCount > MAX_ARRAY_LENGTH)
+                throw new InputMismatchException("LandmarkTable: The tables are too large to be loaded.");
+
+            int[] landmarkNodeIndexes = new int[landmarkNodeCount];
+            float[] distances = new float[(int) distanceCount];
+
+            for (int i = 0; i < landmarkNodeCount; i++) {
+                landmarkNodeIndexes[i] = in.readInt();
+
+                if (landmarkNodeIndexes[i] < 0 || landmarkNodeIndexes[i] >= nodeCount)
+                    throw new InputMismatchException(String.format("LandmarkTable: Invalid landmark node index %d.", landmarkNodeIndexes[i]));
+            }
+
+            for (int i = 0; i < distances.length; i++)
+                distances[i] = in.readFloat();
+
+            return new LandmarkTable(columnCount, rowCount, landmarkCount, landmarkNodeIndexes, distances);
+        }
+    }
+
+    /**
+     * Zwraca dolne ograniczenie odległości między wierzchołkami wynikające z nierówności trójkąta: max |d(L, v) - d(L, t)| po punktach orientacyjnych L.
+     * Wynik jest pomniejszany o błąd zaokrąglenia wartości typu float, dzięki czemu nigdy nie przekracza rzeczywistej odległości.
+     *
+     * @param nodeIndex       indeks wierzchołka
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @return dolne ograniczenie odległości
+     */
+    public double getLowerBound(int nodeIndex, int targetNodeIndex) {
+        int nodeCount = rowCount * columnCount;
+        double bound = 0;
+
+        for (int offset = 0; offset < distances.length; offset += nodeCount) {
+            float first = distances[offset + nodeIndex];
+            float second = distances[offset + targetNodeIndex];
+            double difference = Math.abs((double) first - second) - Math.ulp(Math.max(first, second));
+
+            if (difference > bound)
+                bound = difference;
+        }
+
+        return bound;
+    }
+
+    /**
+     * Zwraca liczbę kolumn w siatce.
+     *
+     * @return liczba kolumn w siatce
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Zwraca liczbę wierszy w siatce.
+     *
+     * @return liczba wierszy w siatce
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Zwraca liczbę punktów orientacyjnych w każdej składowej.
+     *
+     * @return liczba punktów orientacyjnych
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Zwraca indeksy wszystkich punktów orientacyjnych.
+     *
+     * @return tablica indeksów punktów orientacyjnych
+     */
+    public int[] getLandmarkNodeIndexes() {
+        return landmarkNodeIndexes.clone();
+    }
+
+    /**
+     * Zwraca rozmiar tablic odległości w bajtach.
+     *
+     * @return rozmiar tablic w bajtach
+     */
+    public long getMemoryUsage() {
+        return 4L * distances.length + 4L * landmarkNodeIndexes.length;
+    }
+}
@@ -0,0 +1,296 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa realizująca jednoczesne przeszukiwanie wszerz (MS-BFS) od maksymalnie 64 wierzchołków początkowych.
+ * Każdy wierzchołek przechowuje jedną wartość typu long na zbiór przeszukiwań, które już go odwiedziły, i jedną na zbiór przeszukiwań,
+ * dla których należy do aktualnego frontu. Przeszukiwania przechodzące przez ten sam wierzchołek na tym samym poziomie
+ * są więc rozwijane jedną operacją bitową, a każda krawędź jest sprawdzana najwyżej raz na poziom dla wszystkich przeszukiwań.
+ * Tablice są wielokrotnie wykorzystywane przez kolejne wywołania, a zerowane są tylko odwiedzone wierzchołki.
+ * Obiekt klasy nie może być współdzielony między wątkami.
+ */
+public class MultiSourceBreadthFirstSearch {
+    /**
+     * Maksymalna liczba wierzchołków początkowych jednego wywołania.
+     */
+    public static final int MAX_SOURCE_COUNT = 64;
+    /**
+     * Kopia grafu, w którym działa algorytm.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Tablica zbiorów przeszukiwań, które odwiedziły wierzchołek - bit i oznacza przeszukiwanie od i-tego wierzchołka początkowego.
+     */
+    private final long[] seen;
+    /**
+     * Tablica zbiorów przeszukiwań, dla których wierzchołek należy do aktualnego frontu.
+     */
+    private final long[] visit;
+    /**
+     * Tablica zbiorów przeszukiwań, dla których wierzchołek należy do następnego frontu.
+     */
+    private final long[] visitNext;
+    /**
+     * Tablica liczby kroków od najbliższego wierzchołka początkowego (-1 dla nieodwiedzonych).
+     */
+    private final int[] hopDistances;
+    /**
+     * Tablica ekscentryczności wierzchołków początkowych w ich składowych, czyli liczby kroków do najdalszego wierzchołka.
+     */
+    private final int[] eccentricities = new int[MAX_SOURCE_COUNT];
+    /**
+     * Tablica indeksów wierzchołków najdalszych od wierzchołków początkowych.
+     */
+    private final int[] farthestNodes = new int[MAX_SOURCE_COUNT];
+    /**
+     * Lista wierzchołków aktualnego frontu.
+     */
+    private IntArrayList frontier = new IntArrayList();
+    /**
+     * Lista wierzchołków następnego frontu.
+     */
+    private IntArrayList nextFrontier = new IntArrayList();
+    /**
+     * Lista odwiedzonych wierzchołków w kolejności odwiedzenia, czyli w niemalejącej kolejności liczby kroków.
+     */
+    private final IntArrayList reachedNodes = new IntArrayList();
+    /**
+     * Liczba wierzchołków początkowych ostatniego wywołania.
+     */
+    private int sourceCount;
+    /**
+     * Liczba poziomów ostatniego wywołania.
+     */
+    private int levelCount;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym będzie działać algorytm
+     */
+    public MultiSourceBreadthFirstSearch(GraphSnapshot snapshot) {
+        this.snapshot = snapshot;
+
+        int nodeCount = snapshot.getNodeCount();
+        seen = new long[nodeCount];
+        visit = new long[nodeCount];
+        visitNext = new long[nodeCount];
+        hopDistances = new int[nodeCount];
+        Arrays.fill(hopDistances, -1);
+    }
+
+    /**
+     * Rozpoczyna jednoczesne przeszukiwania wszerz od wierzchołków początkowych.
+     * Przeszukiwanie od i-tego wierzchołka początkowego jest reprezentowane przez bit i.
+     *
+     * @param sourceNodeIndexes tablica indeksów wierzchołków początkowych (od 1 do 64 wierzchołków)
+     * @throws IllegalArgumentException jeżeli liczba wierzchołków początkowych lub indeks któregoś z nich jest niepoprawny
+     */
+    public void run(int[] sourceNodeIndexes) {
+        if (sourceNodeIndexes.length == 0 || sourceNodeIndexes.length > MAX_SOURCE_COUNT)
+            throw new IllegalArgumentException(String.format("MultiSourceBreadthFirstSearch: Invalid number of source nodes. Allowed range: %d - %d", 1, MAX_SOURCE_COUNT));
+
+        for (int nodeIndex : sourceNodeIndexes) {
+            if (snapshot.isIndexNotInBounds(nodeIndex))
+                throw new IllegalArgumentException(String.format("MultiSourceBreadthFirstSearch: Invalid source node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+        }
+
+        clear();
+        sourceCount = sourceNodeIndexes.length;
+
+        for (int i = 0; i < sourceCount; i++) {
+            int nodeIndex = sourceNodeIndexes[i];
+
+            if (seen[nodeIndex] == 0) {
+                frontier.add(nodeIndex);
+                reachedNodes.add(nodeIndex);
+                hopDistances[nodeIndex] = 0;
+            }
+
+            seen[nodeIndex] |= 1L << i;
+            visit[nodeIndex] |= 1L << i;
+            eccentricities[i] = 0;
+            farthestNodes[i] = nodeIndex;
+        }
+
+        int level = 0;
+
+        while (!frontier.isEmpty()) {
+            level++;
+
+            for (int k = 0; k < frontier.size(); k++) {
+                int nodeIndex = frontier.get(k);
+                long searches = visit[nodeIndex];
+                visit[nodeIndex] = 0;
+
+                for (int direction = 0; direction < GraphSnapshot.DIRECTION_COUNT; direction++) {
+                    int adjacentNodeIndex = snapshot.getAdjacentNodeIndex(nodeIndex, direction);
+
+                    if (adjacentNodeIndex == -1)
+                        continue;
+
+                    long newSearches = searches & ~seen[adjacentNodeIndex];
+
+                    if (newSearches == 0)
+                        continue;
+
+                    if (visitNext[adjacentNodeIndex] == 0)
+                        nextFrontier.add(adjacentNodeIndex);
+
+                    visitNext[adjacentNodeIndex] |= newSearches;
+                }
+            }
+
+            long levelSearches = 0; // searches which reached a node on this level and have no farthest node for it yet
+
+            for (int k = 0; k < nextFrontier.size(); k++) {
+                int nodeIndex = nextFrontier.get(k);
+                long newSearches = visitNext[nodeIndex];
+                visitNext[nodeIndex] = 0;
+
+                if (seen[nodeIndex] == 0) {
+                    reachedNodes.add(nodeIndex);
+                    hopDistances[nodeIndex] = level;
+                }
+
+                seen[nodeIndex] |= newSearches;
+                visit[nodeIndex] = newSearches;
+
+                for (long bits = newSearches & ~levelSearches; bits != 0; bits &= bits - 1) {
+                    int i = Long.numberOfTrailingZeros(bits);
+                    eccentricities[i] = level;
+                    farthestNodes[i] = nodeIndex;
+                }
+
+                levelSearches |= newSearches;
+            }
+
+            IntArrayList swap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swap;
+            nextFrontier.clear();
+        }
+
+        levelCount = level - 1; // the last level did not reach any node
+    }
+
+    /**
+     * Zeruje stan wierzchołków odwiedzonych w poprzednim wywołaniu.
+     */
+    private void clear() {
+        for (int k = 0; k < reachedNodes.size(); k++) {
+            int nodeIndex = reachedNodes.get(k);
+            seen[nodeIndex] = 0;
+            hopDistances[nodeIndex] = -1;
+        }
+
+        reachedNodes.clear();
+        frontier.clear();
+        nextFrontier.clear();
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków początkowych ostatniego wywołania.
+     *
+     * @return liczba wierzchołków początkowych
+     */
+    public int getSourceCount() {
+        return sourceCount;
+    }
+
+    /**
+     * Zwraca ekscentryczność i-tego wierzchołka początkowego w jego składowej, czyli liczbę kroków do najdalszego wierzchołka.
+     *
+     * @param i pozycja wierzchołka początkowego
+     * @return ekscentryczność wierzchołka początkowego
+     * @throws IllegalArgumentException jeżeli pozycja jest spoza zakresu
+     */
+    public int getEccentricity(int i) {
+        checkSource(i);
+
+        return eccentricities[i];
+    }
+
+    /**
+     * Zwraca indeks jednego z wierzchołków najdalszych od i-tego wierzchołka początkowego.
+     *
+     * @param i pozycja wierzchołka początkowego
+     * @return indeks najdalszego wierzchołka
+     * @throws IllegalArgumentException jeżeli pozycja jest spoza zakresu
+     */
+    public int getFarthestNode(int i) {
+        checkSource(i);
+
+        return farthestNodes[i];
+    }
+
+    /**
+     * Sprawdza, czy pozycja wierzchołka początkowego jest poprawna.
+     *
+     * @param i pozycja wierzchołka początkowego
+     * @throws IllegalArgumentException jeżeli pozycja jest spoza zakresu
+     */
+    private void checkSource(int i) {
+        if (i < 0 || i >= sourceCount)
+            throw new IllegalArgumentException(String.format("MultiSourceBreadthFirstSearch: Invalid source position. Allowed range: %d - %d", 0, sourceCount - 1));
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek został odwiedzony przez przeszukiwanie od i-tego wierzchołka początkowego.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @param i         pozycja wierzchołka początkowego
+     * @return true, jeżeli wierzchołek został odwiedzony; w przeciwnym razie false
+     */
+    public boolean isReached(int nodeIndex, int i) {
+        return (seen[nodeIndex] & (1L << i)) != 0;
+    }
+
+    /**
+     * Zwraca liczbę kroków od najbliższego wierzchołka początkowego.
+     * Jeżeli wierzchołek nie został odwiedzony, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return liczba kroków lub -1
+     */
+    public int getHopDistance(int nodeIndex) {
+        return hopDistances[nodeIndex];
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków odwiedzonych przez którekolwiek przeszukiwanie.
+     *
+     * @return liczba odwiedzonych wierzchołków
+     */
+    public int getReachedNodeCount() {
+        return reachedNodes.size();
+    }
+
+    /**
+     * Zwraca indeksy odwiedzonych wierzchołków w kolejności odwiedzenia, czyli w niemalejącej kolejności liczby kroków od najbliższego wierzchołka początkowego.
+     *
+     * @return tablica indeksów odwiedzonych wierzchołków
+     */
+    public int[] getReachedNodes() {
+        return reachedNodes.toArray();
+    }
+
+    /**
+     * Zwraca liczbę poziomów ostatniego wywołania, czyli największą ekscentryczność wierzchołków początkowych.
+     *
+     * @return liczba poziomów
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Zwraca kopię grafu, w którym działa algorytm.
+     *
+     * @return kopia grafu
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
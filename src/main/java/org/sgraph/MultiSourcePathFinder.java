@@ -0,0 +1,206 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa odpowiadająca za działanie algorytmu Dijkstry rozpoczynanego jednocześnie z wielu wierzchołków źródłowych.
+ * Dla każdego wierzchołka wyznacza odległość do najbliższego wierzchołka źródłowego oraz to, do którego źródła należy (podział Woronoja grafu).
+ */
+public class MultiSourcePathFinder {
+    /**
+     * Kopia grafu, w którym działa algorytm.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Tablica indeksów wierzchołków źródłowych.
+     */
+    private final int[] sourceNodeIndexes;
+    /**
+     * Tablica najkrótszych odległości do najbliższego wierzchołka źródłowego.
+     * Wartość Double.MAX_VALUE oznacza brak połączenia z którymkolwiek źródłem.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     * Dla wierzchołków źródłowych i wierzchołków niepołączonych, wartość ustalona na -1.
+     */
+    private final int[] previousNode;
+    /**
+     * Tablica pozycji (w tablicy wierzchołków źródłowych) źródeł, do których należą wierzchołki.
+     * Dla wierzchołków niepołączonych z żadnym źródłem, wartość ustalona na -1.
+     */
+    private final int[] ownerOfNode;
+    /**
+     * Zakres wartości najkrótszych odległości połączonych wierzchołków od najbliższego źródła.
+     */
+    private Range nodeValueRange;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph             graf, w którym będzie działał algorytm
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @throws IllegalArgumentException jeżeli tablica źródeł jest pusta lub któryś z indeksów jest niepoprawny
+     */
+    public MultiSourcePathFinder(Graph graph, int[] sourceNodeIndexes) {
+        this(new GraphSnapshot(graph), sourceNodeIndexes);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot          kopia grafu, w którym będzie działał algorytm
+     * @param sourceNodeIndexes tablica indeksów wierzchołków źródłowych
+     * @throws IllegalArgumentException jeżeli tablica źródeł jest pusta lub któryś z indeksów jest niepoprawny
+     */
+    public MultiSourcePathFinder(GraphSnapshot snapshot, int[] sourceNodeIndexes) {
+        if (sourceNodeIndexes.length == 0)
+            throw new IllegalArgumentException("MultiSourcePathFinder: At least one source node is required.");
+
+        for (int nodeIndex : sourceNodeIndexes) {
+            if (snapshot.isIndexNotInBounds(nodeIndex))
+                throw new IllegalArgumentException(String.format("MultiSourcePathFinder: Invalid source node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+        }
+
+        this.snapshot = snapshot;
+        this.sourceNodeIndexes = sourceNodeIndexes.clone();
+
+        distanceToNode = new double[snapshot.getNodeCount()];
+        previousNode = new int[snapshot.getNodeCount()];
+        ownerOfNode = new int[snapshot.getNodeCount()];
+
+        Arrays.fill(distanceToNode, Double.MAX_VALUE);
+        Arrays.fill(previousNode, -1);
+        Arrays.fill(ownerOfNode, -1);
+    }
+
+    /**
+     * Uruchamia algorytm Dijkstry, umieszczając w kolejce wszystkie wierzchołki źródłowe z odległością 0.
+     * Przy równych odległościach wierzchołek należy do źródła, które dotarło do niego jako pierwsze.
+     */
+    public void run() {
+        NodeHeap heap = new NodeHeap(snapshot.getNodeCount());
+        boolean[] parsedNodes = new boolean[snapshot.getNodeCount()];
+
+        for (int i = 0; i < sourceNodeIndexes.length; i++) {
+            int nodeIndex = sourceNodeIndexes[i];
+
+            if (ownerOfNode[nodeIndex] != -1) // repeated source keeps its first position
+                continue;
+
+            distanceToNode[nodeIndex] = 0;
+            ownerOfNode[nodeIndex] = i;
+            heap.insertOrDecrease(nodeIndex, 0);
+        }
+
+        while (!heap.isEmpty()) {
+            int parsedNodeIndex = heap.poll();
+            parsedNodes[parsedNodeIndex] = true;
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || parsedNodes[nodeIndex])
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (distance < distanceToNode[nodeIndex]) {
+                    distanceToNode[nodeIndex] = distance;
+                    previousNode[nodeIndex] = parsedNodeIndex;
+                    ownerOfNode[nodeIndex] = ownerOfNode[parsedNodeIndex];
+                    heap.insertOrDecrease(nodeIndex, distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zwraca odległość wierzchołka o określonym indeksie od najbliższego wierzchołka źródłowego.
+     * Jeżeli wierzchołek nie jest połączony z żadnym źródłem, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return odległość od najbliższego wierzchołka źródłowego
+     */
+    public double getDistanceToNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return distanceToNode[nodeIndex] == Double.MAX_VALUE ? -1 : distanceToNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca pozycję (w tablicy wierzchołków źródłowych) źródła, do którego należy wierzchołek.
+     * Jeżeli wierzchołek nie jest połączony z żadnym źródłem, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return pozycja źródła, do którego należy wierzchołek
+     */
+    public int getOwnerOfNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return ownerOfNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca indeks wierzchołka źródłowego, do którego należy wierzchołek.
+     * Jeżeli wierzchołek nie jest połączony z żadnym źródłem, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return indeks najbliższego wierzchołka źródłowego
+     */
+    public int getNearestSourceNodeIndex(int nodeIndex) {
+        int owner = getOwnerOfNode(nodeIndex);
+
+        return owner == -1 ? -1 : sourceNodeIndexes[owner];
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę od najbliższego wierzchołka źródłowego do wierzchołka o określonym indeksie.
+     * Jeżeli droga nie istnieje, to zwraca null.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka źródłowego
+     */
+    public int[] getIndexPathToNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return new ShortestPathTree(getNearestSourceNodeIndex(nodeIndex), distanceToNode, previousNode).getIndexPathToNode(nodeIndex);
+    }
+
+    /**
+     * Zwraca tablicę indeksów wierzchołków źródłowych.
+     *
+     * @return tablica indeksów wierzchołków źródłowych
+     */
+    public int[] getSourceNodeIndexes() {
+        return sourceNodeIndexes.clone();
+    }
+
+    /**
+     * Oblicza zakres wartości najkrótszych odległości od najbliższych wierzchołków źródłowych.
+     * Ignoruje wierzchołki niepołączone z żadnym źródłem.
+     */
+    public void calculateNodeValueRange() {
+        nodeValueRange = ScanKernel.getDefault().distanceRange(distanceToNode);
+    }
+
+    /**
+     * Zwraca zakres wartości najkrótszych odległości od najbliższych wierzchołków źródłowych.
+     *
+     * @return zakres wartości najkrótszych odległości
+     */
+    public Range getNodeValueRange() {
+        return nodeValueRange;
+    }
+
+    /**
+     * Sprawdza poprawność indeksu wierzchołka.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest spoza zakresu
+     */
+    private void checkIndex(int nodeIndex) {
+        if (snapshot.isIndexNotInBounds(nodeIndex))
+            throw new IllegalArgumentException(String.format("MultiSourcePathFinder: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+    }
+}
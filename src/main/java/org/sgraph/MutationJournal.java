@@ -0,0 +1,515 @@
+package org.sgraph;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ * Klasa zapisująca zmiany połączeń grafu w binarnym dzienniku dopisywanym na końcu pliku, wraz z okresowymi punktami kontrolnymi.
+ * <p>
+ * Katalog dziennika zawiera dwa pliki: punkt kontrolny z wymiarami i wagami wszystkich krawędzi (w układzie indeksów krawędzi klasy GraphSnapshot)
+ * oraz dziennik zmian wprowadzonych po jego zapisaniu - po 16 bajtów na zmianę (dwa indeksy wierzchołków i nowa waga, 0 dla usunięcia).
+ * Zapis zmiany kosztuje więc O(1), a nie przepisanie całego grafu jak w Graph.readToFile. Oba pliki zawierają numer generacji -
+ * nowy punkt kontrolny jest zapisywany do pliku tymczasowego i podmieniany atomowo, a dziennik o innej generacji niż punkt kontrolny jest pomijany,
+ * więc przerwanie w dowolnym momencie pozostawia spójny stan. Niepełny ostatni rekord dziennika (przerwany zapis) jest odrzucany.
+ * <p>
+ * Odtworzenie stanu wczytuje punkt kontrolny blokami i nakłada na niego zmiany z dziennika na tablicy wag, bez tworzenia obiektów wierzchołków.
+ * Obiekt klasy nie jest bezpieczny wątkowo - zmiany grafu muszą być wprowadzane z jednego wątku.
+ *
+ * @see Graph.MutationListener
+ */
+public class MutationJournal implements Graph.MutationListener, Closeable {
+    /**
+     * Nazwa pliku punktu kontrolnego.
+     */
+    public static final String CHECKPOINT_FILE_NAME = "checkpoint.bin";
+    /**
+     * Nazwa pliku dziennika zmian.
+     */
+    public static final String JOURNAL_FILE_NAME = "journal.bin";
+    /**
+     * Liczba rozpoczynająca plik punktu kontrolnego.
+     */
+    private static final int CHECKPOINT_MAGIC = 0x53474331; // "SGC1"
+    /**
+     * Liczba rozpoczynająca plik dziennika.
+     */
+    private static final int JOURNAL_MAGIC = 0x53474A31; // "SGJ1"
+    /**
+     * Rozmiar nagłówka punktu kontrolnego w bajtach (znacznik, generacja, liczba kolumn i wierszy).
+     */
+    private static final int CHECKPOINT_HEADER_SIZE = 4 + 8 + 4 + 4;
+    /**
+     * Rozmiar nagłówka dziennika w bajtach (znacznik i generacja).
+     */
+    private static final int JOURNAL_HEADER_SIZE = 4 + 8;
+    /**
+     * Rozmiar rekordu dziennika w bajtach.
+     */
+    private static final int RECORD_SIZE = 4 + 4 + 8;
+    /**
+     * Rozmiar bufora wejścia/wyjścia w bajtach.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Graf, którego zmiany są zapisywane.
+     */
+    private final Graph graph;
+    /**
+     * Katalog dziennika.
+     */
+    private final Path directory;
+    /**
+     * Bufor rekordów oczekujących na zapis.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Kanał pliku dziennika otwarty do dopisywania.
+     */
+    private FileChannel journal;
+    /**
+     * Numer generacji aktualnego punktu kontrolnego i dziennika.
+     */
+    private long generation;
+    /**
+     * Liczba zmian zapisanych w dzienniku od ostatniego punktu kontrolnego.
+     */
+    private long recordCount;
+
+    /**
+     * Konstruktor klasy
+     * Otwiera dziennik do dopisywania, odrzucając niepełny ostatni rekord, i zaczyna zapisywać zmiany grafu.
+     *
+     * @param graph       graf, którego zmiany będą zapisywane
+     * @param directory   katalog dziennika
+     * @param generation  numer generacji punktu kontrolnego
+     * @param recordCount liczba poprawnych rekordów dziennika
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private MutationJournal(Graph graph, Path directory, long generation, long recordCount) throws IOException {
+        this.graph = graph;
+        this.directory = directory;
+        this.generation = generation;
+        this.recordCount = recordCount;
+
+        journal = FileChannel.open(directory.resolve(JOURNAL_FILE_NAME), StandardOpenOption.WRITE);
+        journal.truncate(JOURNAL_HEADER_SIZE + recordCount * RECORD_SIZE);
+        journal.position(journal.size());
+        graph.setMutationListener(this);
+    }
+
+    /**
+     * Tworzy nowy dziennik w katalogu, zapisując punkt kontrolny grafu, i zaczyna zapisywać zmiany grafu.
+     * Istniejący dziennik w katalogu zostaje zastąpiony.
+     *
+     * @param directory katalog dziennika, tworzony jeżeli nie istnieje
+     * @param graph     graf, którego zmiany będą zapisywane
+     * @return dziennik zapisujący zmiany grafu
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    public static MutationJournal create(File directory, Graph graph) throws IOException {
+        Path path = directory.toPath();
+        Files.createDirectories(path);
+
+        long generation = readCheckpointGeneration(path) + 1;
+        writeCheckpoint(path, new GraphSnapshot(graph), generation);
+        writeJournalHeader(path, generation);
+
+        return new MutationJournal(graph, path, generation, 0);
+    }
+
+    /**
+     * Odtwarza graf z punktu kontrolnego i dziennika zapisanych w katalogu i zaczyna zapisywać jego dalsze zmiany w tym samym dzienniku.
+     *
+     * @param directory katalog dziennika
+     * @return dziennik zapisujący zmiany odtworzonego grafu
+     * @throws IOException            jeżeli wystąpił błąd wejścia/wyjścia lub plik skończył się przedwcześnie
+     * @throws InputMismatchException jeżeli pliki są uszkodzone
+     */
+    public static MutationJournal open(File directory) throws IOException {
+        Path path = directory.toPath();
+        Recovery recovery = recover(path);
+        Graph graph = toGraph(recovery.snapshot);
+
+        if (recovery.recordCount == -1) { // the journal belongs to an older checkpoint
+            writeJournalHeader(path, recovery.generation);
+            recovery.recordCount = 0;
+        }
+
+        return new MutationJournal(graph, path, recovery.generation, recovery.recordCount);
+    }
+
+    /**
+     * Odtwarza kopię grafu z punktu kontrolnego i dziennika zapisanych w katalogu bez tworzenia obiektów wierzchołków.
+     * Jest to najszybszy sposób odczytu stanu, np. do wyszukiwania ścieżek zaraz po ponownym uruchomieniu.
+     *
+     * @param directory katalog dziennika
+     * @return kopia odtworzonego grafu
+     * @throws IOException            jeżeli wystąpił błąd wejścia/wyjścia lub plik skończył się przedwcześnie
+     * @throws InputMismatchException jeżeli pliki są uszkodzone
+     */
+    public static GraphSnapshot recoverSnapshot(File directory) throws IOException {
+        return recover(directory.toPath()).snapshot;
+    }
+
+    /**
+     * Zapisuje zmianę połączenia w dzienniku.
+     *
+     * @param firstNodeIndex  indeks pierwszego wierzchołka połączenia
+     * @param secondNodeIndex indeks drugiego wierzchołka połączenia
+     * @param edge            nowa wartość wagi na krawędzi połączenia lub 0, jeżeli połączenie zostało usunięte
+     * @throws UncheckedIOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    @Override
+    public void connectionChanged(int firstNodeIndex, int secondNodeIndex, double edge) {
+        if (journal == null)
+            throw new IllegalStateException("MutationJournal: The journal has been closed.");
+
+        if (buffer.remaining() < RECORD_SIZE)
+            writeBuffer();
+
+        buffer.putInt(firstNodeIndex).putInt(secondNodeIndex).putDouble(edge);
+        recordCount++;
+    }
+
+    /**
+     * Zapisuje oczekujące rekordy i wymusza ich zapis na dysku.
+     *
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+        journal.force(false);
+    }
+
+    /**
+     * Zapisuje nowy punkt kontrolny z aktualnym stanem grafu i zaczyna nowy, pusty dziennik.
+     *
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    public void checkpoint() throws IOException {
+        flush();
+        writeCheckpoint(directory, new GraphSnapshot(graph), generation + 1);
+        generation++;
+
+        journal.close();
+        writeJournalHeader(directory, generation);
+        journal = FileChannel.open(directory.resolve(JOURNAL_FILE_NAME), StandardOpenOption.WRITE);
+        journal.position(journal.size());
+        recordCount = 0;
+    }
+
+    /**
+     * Zapisuje oczekujące rekordy, zamyka dziennik i przestaje zapisywać zmiany grafu.
+     *
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    @Override
+    public void close() throws IOException {
+        if (journal == null)
+            return;
+
+        flush();
+        journal.close();
+        journal = null;
+        graph.setMutationListener(null);
+    }
+
+    /**
+     * Zwraca graf, którego zmiany są zapisywane.
+     *
+     * @return graf
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Zwraca liczbę zmian zapisanych w dzienniku od ostatniego punktu kontrolnego.
+     *
+     * @return liczba zmian
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Zapisuje zawartość bufora w pliku dziennika.
+     *
+     * @throws UncheckedIOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private void writeBuffer() {
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining())
+                journal.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("MutationJournal: Failed to write the journal.", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Klasa przechowująca wynik odtwarzania stanu z katalogu dziennika.
+     */
+    private static class Recovery {
+        /**
+         * Kopia odtworzonego grafu.
+         */
+        private GraphSnapshot snapshot;
+        /**
+         * Numer generacji punktu kontrolnego.
+         */
+        private long generation;
+        /**
+         * Liczba poprawnych rekordów dziennika lub -1, jeżeli dziennik należy do innej generacji.
+         */
+        private long recordCount;
+    }
+
+    /**
+     * Wczytuje punkt kontrolny i nakłada na niego zmiany z dziennika tej samej generacji.
+     *
+     * @param directory katalog dziennika
+     * @return wynik odtwarzania
+     * @throws IOException            jeżeli wystąpił błąd wejścia/wyjścia lub plik skończył się przedwcześnie
+     * @throws InputMismatchException jeżeli pliki są uszkodzone
+     */
+    private static Recovery recover(Path directory) throws IOException {
+        Recovery recovery = new Recovery();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int columnCount;
+        int rowCount;
+        double[] edges;
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE_NAME), StandardOpenOption.READ)) {
+            readFully(channel, buffer.limit(CHECKPOINT_HEADER_SIZE));
+            buffer.flip();
+
+            if (buffer.getInt() != CHECKPOINT_MAGIC)
+                throw new InputMismatchException("MutationJournal: The checkpoint file is corrupted.");
+
+            recovery.generation = buffer.getLong();
+            columnCount = buffer.getInt();
+            rowCount = buffer.getInt();
+
+            if (columnCount <= 0 || rowCount <= 0 || channel.size() != CHECKPOINT_HEADER_SIZE + 16L * columnCount * rowCount)
+                throw new InputMismatchException("MutationJournal: The checkpoint file is corrupted.");
+
+            edges = new double[2 * columnCount * rowCount];
+
+            for (int offset = 0; offset < edges.length; ) {
+                buffer.clear().limit(Math.min(BUFFER_SIZE, 8 * (edges.length - offset)));
+                readFully(channel, buffer);
+                buffer.flip();
+
+                int count = buffer.remaining() / 8;
+                buffer.asDoubleBuffer().get(edges, offset, count);
+                offset += count;
+            }
+        }
+
+        recovery.recordCount = replayJournal(directory, recovery.generation, columnCount, edges, buffer);
+        recovery.snapshot = new GraphSnapshot(columnCount, rowCount, edges);
+
+        return recovery;
+    }
+
+    /**
+     * Nakłada zmiany z dziennika na tablicę wag krawędzi.
+     *
+     * @param directory   katalog dziennika
+     * @param generation  numer generacji punktu kontrolnego
+     * @param columnCount liczba kolumn w siatce
+     * @param edges       tablica wag krawędzi indeksowana indeksem krawędzi
+     * @param buffer      bufor odczytu
+     * @return liczba nałożonych rekordów lub -1, jeżeli dziennik nie istnieje lub należy do innej generacji
+     * @throws IOException            jeżeli wystąpił błąd wejścia/wyjścia
+     * @throws InputMismatchException jeżeli rekord opisuje niesąsiadujące wierzchołki
+     */
+    private static long replayJournal(Path directory, long generation, int columnCount, double[] edges, ByteBuffer buffer) throws IOException {
+        Path path = directory.resolve(JOURNAL_FILE_NAME);
+
+        if (!Files.exists(path))
+            return -1;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < JOURNAL_HEADER_SIZE)
+                return -1;
+
+            buffer.clear().limit(JOURNAL_HEADER_SIZE);
+            readFully(channel, buffer);
+            buffer.flip();
+
+            if (buffer.getInt() != JOURNAL_MAGIC || buffer.getLong() != generation)
+                return -1;
+
+            long recordCount = (channel.size() - JOURNAL_HEADER_SIZE) / RECORD_SIZE; // a torn last record is ignored
+            long remaining = recordCount;
+            int nodeCount = edges.length / 2;
+
+            while (remaining > 0) {
+                int count = (int) Math.min(remaining, BUFFER_SIZE / RECORD_SIZE);
+                buffer.clear().limit(count * RECORD_SIZE);
+                readFully(channel, buffer);
+                buffer.flip();
+
+                for (int i = 0; i < count; i++) {
+                    int firstNodeIndex = buffer.getInt();
+                    int secondNodeIndex = buffer.getInt();
+                    double edge = buffer.getDouble();
+                    int nodeIndex = Math.min(firstNodeIndex, secondNodeIndex);
+                    int difference = Math.abs(firstNodeIndex - secondNodeIndex);
+
+                    if (nodeIndex < 0 || Math.max(firstNodeIndex, secondNodeIndex) >= nodeCount || edge < 0)
+                        throw new InputMismatchException("MutationJournal: The journal file is corrupted.");
+
+                    if (difference == 1 && nodeIndex % columnCount + 1 != columnCount)
+                        edges[2 * nodeIndex] = edge;
+                    else if (difference == columnCount)
+                        edges[2 * nodeIndex + 1] = edge;
+                    else
+                        throw new InputMismatchException("MutationJournal: The journal file is corrupted.");
+                }
+
+                remaining -= count;
+            }
+
+            return recordCount;
+        }
+    }
+
+    /**
+     * Zapisuje punkt kontrolny do pliku tymczasowego i atomowo zastępuje nim poprzedni punkt kontrolny.
+     *
+     * @param directory  katalog dziennika
+     * @param snapshot   kopia zapisywanego grafu
+     * @param generation numer generacji punktu kontrolnego
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private static void writeCheckpoint(Path directory, GraphSnapshot snapshot, long generation) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE_NAME + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(CHECKPOINT_MAGIC).putLong(generation).putInt(snapshot.getColumnCount()).putInt(snapshot.getRowCount());
+
+            for (int e = 0; e < snapshot.getEdgeIndexCount(); e++) {
+                if (buffer.remaining() < 8)
+                    writeFully(channel, buffer);
+
+                buffer.putDouble(snapshot.getEdge(e));
+            }
+
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Tworzy pusty dziennik o określonej generacji, zastępując poprzedni.
+     *
+     * @param directory  katalog dziennika
+     * @param generation numer generacji dziennika
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private static void writeJournalHeader(Path directory, long generation) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(JOURNAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(JOURNAL_MAGIC).putLong(generation);
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Odczytuje numer generacji istniejącego punktu kontrolnego.
+     *
+     * @param directory katalog dziennika
+     * @return numer generacji lub 0, jeżeli punkt kontrolny nie istnieje lub jest uszkodzony
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private static long readCheckpointGeneration(Path directory) throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE_NAME);
+
+        if (!Files.exists(path) || Files.size(path) < CHECKPOINT_HEADER_SIZE)
+            return 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readFully(channel, buffer);
+            buffer.flip();
+
+            return buffer.getInt() == CHECKPOINT_MAGIC ? buffer.getLong() : 0;
+        }
+    }
+
+    /**
+     * Tworzy graf z kopii grafu, dodając kolejno wszystkie krawędzie.
+     *
+     * @param snapshot kopia grafu
+     * @return graf z obliczonym zakresem wag i liczbą spójnych grafów
+     */
+    private static Graph toGraph(GraphSnapshot snapshot) {
+        int columnCount = snapshot.getColumnCount();
+        Graph graph = new Graph(columnCount, snapshot.getRowCount());
+
+        for (int e = 0; e < snapshot.getEdgeIndexCount(); e++) {
+            double edge = snapshot.getEdge(e);
+
+            if (edge != 0)
+                graph.addConnection(e / 2, e % 2 == 0 ? e / 2 + 1 : e / 2 + columnCount, edge);
+        }
+
+        graph.calculateSubraphCount();
+        graph.calculateEdgeValueRange();
+
+        return graph;
+    }
+
+    /**
+     * Wypełnia bufor danymi z kanału.
+     *
+     * @param channel kanał pliku
+     * @param buffer  wypełniany bufor
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia lub plik skończył się przedwcześnie
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1)
+                throw new IOException("MutationJournal: Unexpected end of file.");
+        }
+    }
+
+    /**
+     * Zapisuje zawartość bufora w kanale i czyści bufor.
+     *
+     * @param channel kanał pliku
+     * @param buffer  zapisywany bufor
+     * @throws IOException jeżeli wystąpił błąd wejścia/wyjścia
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+
+        buffer.clear();
+    }
+}
@@ -57,6 +57,21 @@ public class Node {
         connections.remove(new Connection(node, 1));
     }
 
+    /**
+     * Zmienia wartość wagi na krawędzi istniejącego połączenia z określonym wierzchołkiem.
+     * Jeżeli połączenie nie istnieje, nic nie robi.
+     *
+     * @param node wierzchołek, z którym istnieje połączenie
+     * @param edge nowa wartość wagi na krawędzi połączenia
+     */
+    public void setEdgeOnConnection(Node node, double edge)
+    {
+        int index = connections.indexOf(new Connection(node, 1));
+
+        if (index != -1)
+            connections.set(index, new Connection(node, edge));
+    }
+
     /**
      * Sprawdza, czy istnieje połączenie z przekazanym wierzchołkiem.
      *
@@ -93,6 +108,28 @@ public class Node {
         return (index == -1) ? 0 : connections.get(index).getWeight();
     }
 
+    /**
+     * Zwraca wartość wagi na krawędzi i-tego połączenia wierzchołka.
+     *
+     * @param i numer połączenia
+     * @return wartość wagi na krawędzi połączenia
+     */
+    public double getEdgeOnConnection(int i)
+    {
+        return connections.get(i).getWeight();
+    }
+
+    /**
+     * Zwraca indeks wierzchołka i-tego połączenia wierzchołka.
+     *
+     * @param i numer połączenia
+     * @return indeks połączonego wierzchołka
+     */
+    public int getConnectedNodeIndex(int i)
+    {
+        return connections.get(i).getNode().getIndex();
+    }
+
     /**
      * Zwraca tablicę wierzchołków, z którymi istnieje połączenie.
      *
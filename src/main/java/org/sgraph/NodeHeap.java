@@ -0,0 +1,173 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa implementująca indeksowany kopiec binarny (min-heap) indeksów wierzchołków o priorytetach typu double.
+ * Pozwala na zmniejszenie priorytetu wierzchołka znajdującego się już w kopcu i może być wielokrotnie używana.
+ */
+class NodeHeap implements NodeQueue {
+    /**
+     * Tablica indeksów wierzchołków ułożonych w kopiec.
+     */
+    private final int[] heap;
+    /**
+     * Tablica priorytetów wierzchołków indeksowana indeksem wierzchołka.
+     */
+    private final double[] keys;
+    /**
+     * Tablica pozycji wierzchołków w kopcu. Wartość -1 oznacza, że wierzchołka nie ma w kopcu.
+     */
+    private final int[] position;
+    /**
+     * Liczba wierzchołków w kopcu.
+     */
+    private int size;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param nodeCount liczba wierzchołków w grafie
+     */
+    NodeHeap(int nodeCount) {
+        heap = new int[nodeCount];
+        keys = new double[nodeCount];
+        position = new int[nodeCount];
+
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Sprawdza, czy kopiec jest pusty.
+     *
+     * @return true, jeżeli kopiec jest pusty; w przeciwnym razie false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków w kopcu.
+     *
+     * @return liczba wierzchołków w kopcu
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Dodaje wierzchołek do kopca lub zmniejsza jego priorytet, jeżeli już się w nim znajduje.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param key       nowy priorytet wierzchołka
+     */
+    @Override
+    public void insertOrDecrease(int nodeIndex, double key) {
+        int i = position[nodeIndex];
+
+        if (i == -1) {
+            i = size++;
+            position[nodeIndex] = i;
+            heap[i] = nodeIndex;
+        } else if (key >= keys[nodeIndex]) {
+            return;
+        }
+
+        keys[nodeIndex] = key;
+        siftUp(i);
+    }
+
+    /**
+     * Zwraca priorytet wierzchołka o najmniejszym priorytecie bez wyjmowania go z kopca.
+     *
+     * @return najmniejszy priorytet w kopcu
+     */
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Wyjmuje z kopca wierzchołek o najmniejszym priorytecie.
+     *
+     * @return indeks wierzchołka o najmniejszym priorytecie
+     */
+    @Override
+    public int poll() {
+        int minNodeIndex = heap[0];
+        position[minNodeIndex] = -1;
+
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return minNodeIndex;
+    }
+
+    /**
+     * Usuwa wszystkie wierzchołki z kopca.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+
+        size = 0;
+    }
+
+    /**
+     * Przesuwa element kopca w górę, dopóki jego priorytet jest mniejszy od priorytetu rodzica.
+     *
+     * @param i pozycja elementu w kopcu
+     */
+    private void siftUp(int i) {
+        int nodeIndex = heap[i];
+        double key = keys[nodeIndex];
+
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+
+            if (keys[heap[parent]] <= key)
+                break;
+
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+
+        heap[i] = nodeIndex;
+        position[nodeIndex] = i;
+    }
+
+    /**
+     * Przesuwa element kopca w dół, dopóki jego priorytet jest większy od priorytetu któregoś z dzieci.
+     *
+     * @param i pozycja elementu w kopcu
+     */
+    private void siftDown(int i) {
+        int nodeIndex = heap[i];
+        double key = keys[nodeIndex];
+
+        while (true) {
+            int child = 2 * i + 1;
+
+            if (child >= size)
+                break;
+
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+                child++;
+
+            if (keys[heap[child]] >= key)
+                break;
+
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+
+        heap[i] = nodeIndex;
+        position[nodeIndex] = i;
+    }
+}
@@ -0,0 +1,34 @@
+package org.sgraph;
+
+/**
+ * Interfejs kolejki priorytetowej indeksów wierzchołków wykorzystywanej przez algorytm Dijkstry.
+ * Implementacje mogą zwracać ten sam wierzchołek wielokrotnie - wierzchołki już przetworzone powinny zostać pominięte przez algorytm.
+ */
+interface NodeQueue {
+    /**
+     * Sprawdza, czy kolejka jest pusta.
+     *
+     * @return true, jeżeli kolejka jest pusta; w przeciwnym razie false
+     */
+    boolean isEmpty();
+
+    /**
+     * Dodaje wierzchołek do kolejki lub zmniejsza jego priorytet, jeżeli już się w niej znajduje.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param key       nowy priorytet wierzchołka
+     */
+    void insertOrDecrease(int nodeIndex, double key);
+
+    /**
+     * Wyjmuje z kolejki wierzchołek o najmniejszym priorytecie.
+     *
+     * @return indeks wierzchołka o najmniejszym priorytecie
+     */
+    int poll();
+
+    /**
+     * Usuwa wszystkie wierzchołki z kolejki.
+     */
+    void clear();
+}
@@ -0,0 +1,328 @@
+package org.sgraph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.sgraph.Move.MoveDirection;
+
+/**
+ * Klasa przechowująca ścieżkę w grafie-siatce w postaci indeksu wierzchołka początkowego i ciągu przejść między sąsiednimi wierzchołkami.
+ * Każde przejście zajmuje 2 bity (numer kierunku typu Move.MoveDirection), więc w jednej wartości typu long mieści się 32 kroków ścieżki.
+ * Obiekty klasy są niezmienne.
+ */
+public class PackedPath implements Iterable<MoveDirection> {
+    /**
+     * Liczba przejść zapisanych w jednej wartości typu long.
+     */
+    private static final int MOVES_PER_WORD = 32;
+    /**
+     * Kierunki przejść indeksowane numerem kierunku.
+     */
+    private static final MoveDirection[] DIRECTIONS = {MoveDirection.UP, MoveDirection.LEFT, MoveDirection.RIGHT, MoveDirection.DOWN};
+    /**
+     * Liczba kolumn w siatce.
+     */
+    private final int columnCount;
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Indeks wierzchołka końcowego.
+     */
+    private final int targetNodeIndex;
+    /**
+     * Liczba przejść na ścieżce.
+     */
+    private final int length;
+    /**
+     * Tablica numerów kierunków kolejnych przejść. Przejście i zajmuje bity 2 * (i % 32) i 2 * (i % 32) + 1 wartości o pozycji i / 32.
+     */
+    private final long[] moves;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param columnCount     liczba kolumn w siatce
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka końcowego
+     * @param length          liczba przejść na ścieżce
+     * @param moves           tablica zakodowanych numerów kierunków przejść
+     */
+    private PackedPath(int columnCount, int startNodeIndex, int targetNodeIndex, int length, long[] moves) {
+        this.columnCount = columnCount;
+        this.startNodeIndex = startNodeIndex;
+        this.targetNodeIndex = targetNodeIndex;
+        this.length = length;
+        this.moves = moves;
+    }
+
+    /**
+     * Tworzy ścieżkę z tablicy indeksów kolejnych wierzchołków.
+     *
+     * @param indexPath   tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     * @param columnCount liczba kolumn w siatce
+     * @param rowCount    liczba wierszy w siatce
+     * @return ścieżka w postaci ciągu przejść
+     * @throws IllegalArgumentException jeżeli tablica jest pusta lub kolejne wierzchołki nie sąsiadują w siatce
+     */
+    public static PackedPath fromIndexPath(int[] indexPath, int columnCount, int rowCount) {
+        if (indexPath.length == 0)
+            throw new IllegalArgumentException("PackedPath: The path must contain at least one node.");
+
+        long[] moves = new long[getWordCount(indexPath.length - 1)];
+
+        for (int i = 1; i < indexPath.length; i++) {
+            MoveDirection direction = Move.getDirection(indexPath[i - 1], indexPath[i], columnCount, rowCount);
+
+            if (direction == MoveDirection.NO_MOVE)
+                throw new IllegalArgumentException(String.format("PackedPath: Nodes %d and %d are not adjacent in the grid.", indexPath[i - 1], indexPath[i]));
+
+            moves[(i - 1) / MOVES_PER_WORD] |= (long) direction.ordinal() << 2 * ((i - 1) % MOVES_PER_WORD);
+        }
+
+        return new PackedPath(columnCount, indexPath[0], indexPath[indexPath.length - 1], indexPath.length - 1, moves);
+    }
+
+    /**
+     * Tworzy ścieżkę do wierzchołka z tablicy poprzedników drzewa najkrótszych ścieżek bez tworzenia pośredniej tablicy indeksów.
+     *
+     * @param previousNode    tablica indeksów poprzedników wierzchołków (-1 dla wierzchołka początkowego)
+     * @param targetNodeIndex indeks wierzchołka końcowego
+     * @param columnCount     liczba kolumn w siatce
+     * @return ścieżka w postaci ciągu przejść
+     */
+    static PackedPath fromPreviousNodes(int[] previousNode, int targetNodeIndex, int columnCount) {
+        int length = 0;
+        int startNodeIndex = targetNodeIndex;
+
+        while (previousNode[startNodeIndex] != -1) {
+            startNodeIndex = previousNode[startNodeIndex];
+            length++;
+        }
+
+        long[] moves = new long[getWordCount(length)];
+        int i = length;
+
+        for (int nodeIndex = targetNodeIndex; nodeIndex != startNodeIndex; nodeIndex = previousNode[nodeIndex]) {
+            i--;
+            moves[i / MOVES_PER_WORD] |= (long) getDirection(previousNode[nodeIndex], nodeIndex, columnCount) << 2 * (i % MOVES_PER_WORD);
+        }
+
+        return new PackedPath(columnCount, startNodeIndex, targetNodeIndex, length, moves);
+    }
+
+    /**
+     * Zwraca liczbę wartości typu long potrzebnych do zapisania określonej liczby przejść.
+     *
+     * @param length liczba przejść
+     * @return liczba wartości typu long
+     */
+    private static int getWordCount(int length) {
+        return (length + MOVES_PER_WORD - 1) / MOVES_PER_WORD;
+    }
+
+    /**
+     * Zwraca numer kierunku przejścia między sąsiednimi wierzchołkami.
+     * Przejścia pionowe są sprawdzane najpierw, dzięki czemu wynik jest jednoznaczny również dla siatki o jednej kolumnie.
+     *
+     * @param fromNodeIndex indeks wierzchołka przed przejściem
+     * @param toNodeIndex   indeks wierzchołka po przejściu
+     * @param columnCount   liczba kolumn w siatce
+     * @return numer kierunku przejścia
+     */
+    private static int getDirection(int fromNodeIndex, int toNodeIndex, int columnCount) {
+        if (toNodeIndex == fromNodeIndex - columnCount)
+            return MoveDirection.UP.ordinal();
+        else if (toNodeIndex == fromNodeIndex + columnCount)
+            return MoveDirection.DOWN.ordinal();
+        else if (toNodeIndex == fromNodeIndex - 1)
+            return MoveDirection.LEFT.ordinal();
+        else
+            return MoveDirection.RIGHT.ordinal();
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka końcowego.
+     *
+     * @return indeks wierzchołka końcowego
+     */
+    public int getTargetNodeIndex() {
+        return targetNodeIndex;
+    }
+
+    /**
+     * Zwraca liczbę przejść na ścieżce. Liczba wierzchołków na ścieżce jest o jeden większa.
+     *
+     * @return liczba przejść na ścieżce
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Zwraca liczbę kolumn w siatce, w której wyznaczono ścieżkę.
+     *
+     * @return liczba kolumn w siatce
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Zwraca kierunek przejścia o określonej pozycji.
+     *
+     * @param i pozycja przejścia
+     * @return kierunek przejścia
+     * @throws IllegalArgumentException jeżeli pozycja jest spoza zakresu
+     */
+    public MoveDirection getMove(int i) {
+        if (i < 0 || i >= length)
+            throw new IllegalArgumentException(String.format("PackedPath: Invalid move index. Allowed range: %d - %d", 0, length - 1));
+
+        return DIRECTIONS[getDirection(i)];
+    }
+
+    /**
+     * Zwraca numer kierunku przejścia o określonej pozycji bez sprawdzania jej poprawności.
+     *
+     * @param i pozycja przejścia
+     * @return numer kierunku przejścia
+     */
+    private int getDirection(int i) {
+        return (int) (moves[i / MOVES_PER_WORD] >>> 2 * (i % MOVES_PER_WORD)) & 3;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka osiągniętego po przejściu w określonym kierunku.
+     *
+     * @param nodeIndex indeks wierzchołka przed przejściem
+     * @param direction numer kierunku przejścia
+     * @return indeks wierzchołka po przejściu
+     */
+    private int move(int nodeIndex, int direction) {
+        return switch (direction) {
+            case 0 -> nodeIndex - columnCount;
+            case 1 -> nodeIndex - 1;
+            case 2 -> nodeIndex + 1;
+            default -> nodeIndex + columnCount;
+        };
+    }
+
+    /**
+     * Zwraca iterator po kierunkach kolejnych przejść.
+     *
+     * @return iterator po kierunkach przejść
+     */
+    @Override
+    public Iterator<MoveDirection> iterator() {
+        return new Iterator<>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < length;
+            }
+
+            @Override
+            public MoveDirection next() {
+                if (i >= length)
+                    throw new NoSuchElementException();
+
+                return DIRECTIONS[getDirection(i++)];
+            }
+        };
+    }
+
+    /**
+     * Odtwarza indeksy kolejnych wierzchołków ścieżki.
+     *
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     */
+    public int[] toIndexArray() {
+        int[] path = new int[length + 1];
+        path[0] = startNodeIndex;
+
+        for (int i = 0; i < length; i++)
+            path[i + 1] = move(path[i], getDirection(i));
+
+        return path;
+    }
+
+    /**
+     * Zwraca napis zawierający kierunki kolejnych przejść zapisane literami U, L, R i D.
+     *
+     * @return napis reprezentujący przejścia
+     */
+    public String toMoveString() {
+        char[] text = new char[length];
+
+        for (int i = 0; i < length; i++)
+            text[i] = "ULRD".charAt(getDirection(i));
+
+        return new String(text);
+    }
+
+    /**
+     * Zwraca zużycie pamięci przez zakodowane przejścia w bajtach.
+     *
+     * @return rozmiar tablicy przejść w bajtach
+     */
+    public long getMemoryUsage() {
+        return 8L * moves.length;
+    }
+
+    /**
+     * Sprawdza, czy przekazany obiekt jest równy obiektowi klasy.
+     * Ścieżki są równe, jeżeli zaczynają się w tym samym wierzchołku tej samej siatki i składają się z tych samych przejść.
+     *
+     * @param obj porównywany obiekt
+     * @return true, jeżeli obiekty są równe; w przeciwnym razie - false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof PackedPath p)
+            return p.columnCount == columnCount && p.startNodeIndex == startNodeIndex && p.length == length && Arrays.equals(p.moves, moves);
+
+        return false;
+    }
+
+    /**
+     * Zwraca skrót obiektu zgodny z metodą equals.
+     *
+     * @return skrót obiektu
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * startNodeIndex + length) + Arrays.hashCode(moves);
+    }
+
+    /**
+     * Zwraca napis postaci "[indeks] -> [indeks] -> ..." zawierający indeksy kolejnych wierzchołków ścieżki.
+     *
+     * @return napis reprezentujący ścieżkę
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(8 * (length + 1));
+        int nodeIndex = startNodeIndex;
+        text.append(nodeIndex);
+
+        for (int i = 0; i < length; i++) {
+            nodeIndex = move(nodeIndex, getDirection(i));
+            text.append(" -> ").append(nodeIndex);
+        }
+
+        return text.toString();
+    }
+}
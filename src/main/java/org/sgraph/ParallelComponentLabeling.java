@@ -0,0 +1,274 @@
+package org.sgraph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Klasa odpowiadająca za równoległe wyznaczanie spójnych składowych grafu-siatki metodą find-union.
+ * Siatka jest dzielona na pasy wierszy, które są etykietowane niezależnie w puli ForkJoinPool, a następnie etykiety są łączone
+ * wzdłuż granic pasów bez blokad (operacjami compare-and-set). Krawędzie zawsze wskazują wierzchołek o mniejszym indeksie,
+ * więc etykietą składowej jest najmniejszy indeks jej wierzchołka, niezależnie od kolejności operacji.
+ *
+ * @see BitsetBreadthFirstSearch
+ */
+public class ParallelComponentLabeling {
+    /**
+     * Przybliżona liczba wierzchołków w jednym pasie wierszy.
+     */
+    private static final int STRIPE_NODE_COUNT = 1 << 16;
+    /**
+     * Liczba wierzchołków przetwarzanych sekwencyjnie przez jedno zadanie przy spłaszczaniu etykiet.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+    /**
+     * Kopia grafu, w którym wyznaczane są składowe.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Pula wątków przetwarzająca pasy wierszy.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Tablica rodziców w lesie find-union. Po zakończeniu działania zawiera etykiety składowych.
+     */
+    private AtomicIntegerArray parent;
+    /**
+     * Liczba spójnych składowych.
+     */
+    private int componentCount;
+
+    /**
+     * Konstruktor klasy
+     * Pasy wierszy są przetwarzane we wspólnej puli ForkJoinPool.
+     *
+     * @param snapshot kopia grafu, w którym będą wyznaczane składowe
+     */
+    public ParallelComponentLabeling(GraphSnapshot snapshot) {
+        this(snapshot, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym będą wyznaczane składowe
+     * @param pool     pula wątków przetwarzająca pasy wierszy
+     */
+    public ParallelComponentLabeling(GraphSnapshot snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Wyznacza liczbę spójnych składowych grafu we wspólnej puli ForkJoinPool.
+     *
+     * @param snapshot kopia grafu
+     * @return liczba spójnych składowych
+     */
+    public static int countComponents(GraphSnapshot snapshot) {
+        ParallelComponentLabeling labeling = new ParallelComponentLabeling(snapshot);
+        labeling.run();
+
+        return labeling.getComponentCount();
+    }
+
+    /**
+     * Wyznacza spójne składowe grafu.
+     * Najpierw etykietuje równolegle pasy wierszy, łącząc tylko krawędzie wewnątrz pasa,
+     * następnie łączy równolegle etykiety wzdłuż granic pasów i spłaszcza las find-union, zliczając korzenie.
+     */
+    public void run() {
+        int columnCount = snapshot.getColumnCount();
+        int rowCount = snapshot.getRowCount();
+        int stripeRowCount = Math.max(1, STRIPE_NODE_COUNT / columnCount);
+        int stripeCount = (rowCount + stripeRowCount - 1) / stripeRowCount;
+
+        parent = new AtomicIntegerArray(snapshot.getNodeCount());
+
+        // stripes write disjoint parts of the array, so plain accesses are enough until the tasks are joined
+        ParallelTasks.forEachRange(pool, 0, stripeCount, 1, (from, to) -> {
+            for (int k = from; k < to; k++)
+                labelStripe(k * stripeRowCount, Math.min(rowCount, (k + 1) * stripeRowCount));
+        });
+
+        ParallelTasks.forEachRange(pool, 1, stripeCount, 1, (from, to) -> {
+            for (int k = from; k < to; k++)
+                mergeBoundary(k * stripeRowCount);
+        });
+
+        AtomicInteger rootCount = new AtomicInteger();
+        ParallelTasks.forEachRange(pool, 0, snapshot.getNodeCount(), SEQUENTIAL_THRESHOLD, (from, to) -> {
+            int roots = 0;
+
+            for (int i = from; i < to; i++) {
+                int root = find(i);
+                parent.set(i, root);
+
+                if (root == i)
+                    roots++;
+            }
+
+            rootCount.addAndGet(roots);
+        });
+
+        componentCount = rootCount.get();
+    }
+
+    /**
+     * Etykietuje pas wierszy, łącząc każdy wierzchołek z sąsiadem po lewej i sąsiadem powyżej z tego samego pasa.
+     *
+     * @param firstRow numer pierwszego wiersza pasa (włącznie)
+     * @param lastRow  numer ostatniego wiersza pasa (wyłącznie)
+     */
+    private void labelStripe(int firstRow, int lastRow) {
+        int columnCount = snapshot.getColumnCount();
+
+        for (int i = firstRow * columnCount; i < lastRow * columnCount; i++) {
+            parent.setPlain(i, i);
+
+            if (i % columnCount != 0 && snapshot.getEdge(2 * (i - 1)) != 0)
+                unionLocal(i - 1, i);
+
+            if (i >= (firstRow + 1) * columnCount && snapshot.getEdge(2 * (i - columnCount) + 1) != 0)
+                unionLocal(i - columnCount, i);
+        }
+    }
+
+    /**
+     * Łączy etykiety wierzchołków z pierwszego wiersza pasa z etykietami ich sąsiadów powyżej.
+     *
+     * @param row numer pierwszego wiersza pasa
+     */
+    private void mergeBoundary(int row) {
+        int columnCount = snapshot.getColumnCount();
+
+        for (int i = row * columnCount; i < (row + 1) * columnCount; i++) {
+            if (snapshot.getEdge(2 * (i - columnCount) + 1) != 0)
+                union(i - columnCount, i);
+        }
+    }
+
+    /**
+     * Łączy drzewa dwóch wierzchołków z tego samego pasa, podłączając korzeń o większym indeksie pod korzeń o mniejszym indeksie.
+     * Może być wywoływana tylko przez zadanie przetwarzające pas obu wierzchołków.
+     *
+     * @param first  indeks pierwszego wierzchołka
+     * @param second indeks drugiego wierzchołka
+     */
+    private void unionLocal(int first, int second) {
+        int firstRoot = findLocal(first);
+        int secondRoot = findLocal(second);
+
+        if (firstRoot < secondRoot)
+            parent.setPlain(secondRoot, firstRoot);
+        else if (secondRoot < firstRoot)
+            parent.setPlain(firstRoot, secondRoot);
+    }
+
+    /**
+     * Zwraca korzeń drzewa wierzchołka z pasa przetwarzanego przez bieżące zadanie, skracając ścieżkę o połowę.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return indeks korzenia
+     */
+    private int findLocal(int nodeIndex) {
+        while (parent.getPlain(nodeIndex) != nodeIndex) {
+            int grandparent = parent.getPlain(parent.getPlain(nodeIndex));
+            parent.setPlain(nodeIndex, grandparent);
+            nodeIndex = grandparent;
+        }
+
+        return nodeIndex;
+    }
+
+    /**
+     * Łączy drzewa dwóch wierzchołków bez blokad, podłączając korzeń o większym indeksie pod korzeń o mniejszym indeksie.
+     * Jeżeli inny wątek zmienił korzeń w międzyczasie, operacja jest powtarzana.
+     *
+     * @param first  indeks pierwszego wierzchołka
+     * @param second indeks drugiego wierzchołka
+     */
+    private void union(int first, int second) {
+        while (true) {
+            int firstRoot = find(first);
+            int secondRoot = find(second);
+
+            if (firstRoot == secondRoot)
+                return;
+
+            int larger = Math.max(firstRoot, secondRoot);
+            int smaller = Math.min(firstRoot, secondRoot);
+
+            if (parent.compareAndSet(larger, larger, smaller))
+                return;
+        }
+    }
+
+    /**
+     * Zwraca korzeń drzewa wierzchołka, skracając ścieżkę o połowę operacjami compare-and-set.
+     * Rodzic ma zawsze mniejszy indeks od dziecka, więc współbieżne skracanie nie tworzy cykli.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return indeks korzenia
+     */
+    private int find(int nodeIndex) {
+        while (true) {
+            int p = parent.get(nodeIndex);
+
+            if (p == nodeIndex)
+                return nodeIndex;
+
+            int grandparent = parent.get(p);
+
+            if (grandparent != p)
+                parent.compareAndSet(nodeIndex, p, grandparent);
+
+            nodeIndex = grandparent;
+        }
+    }
+
+    /**
+     * Zwraca liczbę spójnych składowych wyznaczoną w ostatnim wywołaniu metody run.
+     *
+     * @return liczba spójnych składowych
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Zwraca etykietę składowej wierzchołka, czyli najmniejszy indeks wierzchołka w jego składowej.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @return etykieta składowej
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     * @throws IllegalStateException    jeżeli składowe nie zostały wyznaczone
+     */
+    public int getComponentLabel(int nodeIndex) {
+        if (parent == null)
+            throw new IllegalStateException("ParallelComponentLabeling: The components have not been labeled yet.");
+
+        if (snapshot.isIndexNotInBounds(nodeIndex))
+            throw new IllegalArgumentException(String.format("ParallelComponentLabeling: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        return parent.get(nodeIndex);
+    }
+
+    /**
+     * Zwraca tablicę etykiet składowych wszystkich wierzchołków.
+     *
+     * @return tablica etykiet składowych indeksowana indeksem wierzchołka
+     * @throws IllegalStateException jeżeli składowe nie zostały wyznaczone
+     */
+    public int[] getComponentLabels() {
+        if (parent == null)
+            throw new IllegalStateException("ParallelComponentLabeling: The components have not been labeled yet.");
+
+        int[] labels = new int[parent.length()];
+
+        for (int i = 0; i < labels.length; i++)
+            labels[i] = parent.getPlain(i);
+
+        return labels;
+    }
+}
@@ -0,0 +1,92 @@
+package org.sgraph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Klasa zawierająca statyczne metody pozwalające na równoległe przetwarzanie przedziałów indeksów w puli ForkJoinPool.
+ */
+class ParallelTasks {
+    /**
+     * Interfejs funkcyjny reprezentujący przetwarzanie przedziału indeksów.
+     */
+    @FunctionalInterface
+    interface RangeAction {
+        /**
+         * Przetwarza indeksy z przedziału [from; to).
+         *
+         * @param from pierwszy indeks przedziału (włącznie)
+         * @param to   ostatni indeks przedziału (wyłącznie)
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Dzieli przedział indeksów na fragmenty nie dłuższe od progu i przetwarza je równolegle w przekazanej puli wątków.
+     * Jeżeli przedział jest krótszy od progu, jest przetwarzany w wątku wywołującym.
+     *
+     * @param pool      pula wątków
+     * @param from      pierwszy indeks przedziału (włącznie)
+     * @param to        ostatni indeks przedziału (wyłącznie)
+     * @param threshold maksymalna długość fragmentu przetwarzanego sekwencyjnie
+     * @param action    przetwarzanie fragmentu przedziału
+     */
+    static void forEachRange(ForkJoinPool pool, int from, int to, int threshold, RangeAction action) {
+        if (to - from <= threshold)
+            action.apply(from, to);
+        else
+            pool.invoke(new RangeTask(from, to, threshold, action));
+    }
+
+    /**
+     * Zadanie dzielące przedział indeksów na połowy, dopóki nie jest on krótszy od progu.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    private static class RangeTask extends RecursiveAction {
+        /**
+         * Pierwszy indeks przedziału (włącznie).
+         */
+        private final int from;
+        /**
+         * Ostatni indeks przedziału (wyłącznie).
+         */
+        private final int to;
+        /**
+         * Maksymalna długość fragmentu przetwarzanego sekwencyjnie.
+         */
+        private final int threshold;
+        /**
+         * Przetwarzanie fragmentu przedziału.
+         */
+        private final RangeAction action;
+
+        /**
+         * Konstruktor klasy
+         *
+         * @param from      pierwszy indeks przedziału (włącznie)
+         * @param to        ostatni indeks przedziału (wyłącznie)
+         * @param threshold maksymalna długość fragmentu przetwarzanego sekwencyjnie
+         * @param action    przetwarzanie fragmentu przedziału
+         */
+        RangeTask(int from, int to, int threshold, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.action = action;
+        }
+
+        /**
+         * Przetwarza przedział sekwencyjnie lub dzieli go na dwa równolegle przetwarzane zadania.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                action.apply(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, threshold, action), new RangeTask(middle, to, threshold, action));
+        }
+    }
+}
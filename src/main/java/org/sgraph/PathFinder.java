@@ -1,6 +1,5 @@
 package org.sgraph;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 
@@ -9,9 +8,24 @@ import java.util.LinkedList;
  */
 public class PathFinder {
     /**
-     * Graf, w którym będzie działał algorytm Dijkstry.
+     * Typ wyliczeniowy reprezentujący kolejki priorytetowe, które może wykorzystywać algorytm Dijkstry.
      */
-    private final Graph graph;
+    public enum QueueType {
+        /**
+         * Indeksowany kopiec binarny ze zmniejszaniem priorytetu.
+         */
+        BINARY_HEAP,
+        /**
+         * Kopiec pozycyjny (radix heap) oparty na bitach odległości.
+         * Wykorzystuje monotoniczność kolejki w algorytmie Dijkstry i jest szybszy od kopca binarnego dla wąskich zakresów wag na krawędziach.
+         */
+        RADIX_HEAP
+    }
+
+    /**
+     * Kopia grafu, w którym będzie działał algorytm Dijkstry.
+     */
+    private final GraphSnapshot graph;
     /**
      * Indeks Wierzchołka od którego zaczyna się wyznaczanie najkrótszych ścieżek.
      */
@@ -33,7 +47,11 @@ public class PathFinder {
     /**
      * Kolejka priorytetowa indeksów wierzchołków do przetworzenia.
      */
-    private final ArrayList<Integer> queue;
+    private final NodeQueue queue;
+    /**
+     * Maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane.
+     */
+    private final BlockMask mask;
     /**
      * Zakres wartości najkrótszych odległości połączonych wierzchołków od wierzchołka początkowego.
      */
@@ -41,38 +59,81 @@ public class PathFinder {
 
     /**
      * Konstruktor klasy
-     * Wykorzystuje algorytm BFS do wyznaczenia zawartości kolejki priorytetowej.
+     * Wykorzystuje kopiec binarny jako kolejkę priorytetową.
      *
      * @param graph          graf, w którym będzie działał algorytm Dijkstry
      * @param startNodeIndex indeks wierzchołka początkowego, od którego rozpoczyna się wyznaczanie najkrótszych ścieżek
-     * @throws IllegalArgumentException jeżeli przekazana liczba wierzchołków jest niedodatnia
-     * @see BreadthFirstSearch
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
      */
     public PathFinder(Graph graph, int startNodeIndex)
+    {
+        this(graph, startNodeIndex, QueueType.BINARY_HEAP);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph          graf, w którym będzie działał algorytm Dijkstry
+     * @param startNodeIndex indeks wierzchołka początkowego, od którego rozpoczyna się wyznaczanie najkrótszych ścieżek
+     * @param queueType      rodzaj kolejki priorytetowej wykorzystywanej przez algorytm
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public PathFinder(Graph graph, int startNodeIndex, QueueType queueType)
+    {
+        this(new GraphSnapshot(graph), startNodeIndex, queueType);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph          kopia grafu, w którym będzie działał algorytm Dijkstry
+     * @param startNodeIndex indeks wierzchołka początkowego, od którego rozpoczyna się wyznaczanie najkrótszych ścieżek
+     * @param queueType      rodzaj kolejki priorytetowej wykorzystywanej przez algorytm
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public PathFinder(GraphSnapshot graph, int startNodeIndex, QueueType queueType)
+    {
+        this(graph, startNodeIndex, queueType, null);
+    }
+
+    /**
+     * Konstruktor klasy
+     * Wyszukiwanie omija wierzchołki i krawędzie zablokowane przez maskę bez modyfikowania grafu.
+     * Jeżeli wierzchołek początkowy jest zablokowany, żaden wierzchołek nie jest osiągalny.
+     *
+     * @param graph          kopia grafu, w którym będzie działał algorytm Dijkstry
+     * @param startNodeIndex indeks wierzchołka początkowego, od którego rozpoczyna się wyznaczanie najkrótszych ścieżek
+     * @param queueType      rodzaj kolejki priorytetowej wykorzystywanej przez algorytm
+     * @param mask           maska zablokowanych wierzchołków i krawędzi lub null, jeżeli nic nie jest zablokowane
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny lub maska nie pasuje do wymiarów grafu
+     */
+    public PathFinder(GraphSnapshot graph, int startNodeIndex, QueueType queueType, BlockMask mask)
     {
         this.graph = graph;
 
         if (startNodeIndex < 0 || startNodeIndex >= graph.getNodeCount())
             throw new IllegalArgumentException(String.format("PathFinder: Invalid starting node index. Allowed range: %d - %d", 0, graph.getNodeCount() - 1));
 
+        if (mask != null && !mask.matches(graph))
+            throw new IllegalArgumentException("PathFinder: The mask does not match graph dimensions.");
+
         this.startNodeIndex = startNodeIndex;
+        this.mask = mask;
 
         distanceToNode = new double[graph.getNodeCount()];
         previousNode = new int[graph.getNodeCount()];
         parsedNodes = new boolean[graph.getNodeCount()];
-        queue = new ArrayList<>();
+        queue = queueType == QueueType.RADIX_HEAP ? new RadixHeap() : new NodeHeap(graph.getNodeCount());
 
         Arrays.fill(distanceToNode, Double.MAX_VALUE);
+        Arrays.fill(previousNode, -1);
+
+        if (mask != null && mask.isNodeBlocked(startNodeIndex))
+            return;
 
         // params for the starting node
-        queue.add(startNodeIndex);
         distanceToNode[startNodeIndex] = 0;
-        previousNode[startNodeIndex] = -1;
-
-        // get connected nodes
-        BreadthFirstSearch bfs = new BreadthFirstSearch(graph);
-        bfs.run(startNodeIndex);
-        queue.addAll(bfs.getConnectedNodeIndexes());
+        queue.insertOrDecrease(startNodeIndex, 0);
     }
 
     /**
@@ -80,36 +141,62 @@ public class PathFinder {
      */
     public void run()
     {
+        run(CancellationToken.none());
+    }
+
+    /**
+     * Uruchamia algorytm Dijkstry, rozpoczynając od wierzchołka początkowego, i wyznacza najkrótsze ścieżki w grafie,
+     * przerywając działanie po zgłoszeniu przerwania lub upływie terminu.
+     * Po przerwaniu odległości przetworzonych wierzchołków są ostateczne, a pozostałych osiągniętych wierzchołków - są najlepszymi dotychczas znalezionymi.
+     * Ponowne wywołanie metody kontynuuje przerwane wyszukiwanie.
+     *
+     * @param token obiekt zgłaszający przerwanie
+     * @return true, jeżeli wyznaczono wszystkie najkrótsze ścieżki; false, jeżeli działanie zostało przerwane
+     */
+    public boolean run(CancellationToken token)
+    {
+        int step = 0;
+
         while (!queue.isEmpty()) {
-            int parsedNodeIndex = getNodeFromQueue();
+            if (step++ % CancellationToken.CHECK_INTERVAL == 0 && token.isCancelled())
+                return false;
+
+            int parsedNodeIndex = queue.poll();
+
+            if (parsedNodes[parsedNodeIndex]) // outdated queue entry
+                continue;
+
             parsedNodes[parsedNodeIndex] = true;
 
-            for (int nodeIndex : graph.getConnectedNodeIndexes(parsedNodeIndex)) {
-                if (!parsedNodes[nodeIndex] && (distanceToNode[parsedNodeIndex] + graph.getEdgeOnNodeConnection(parsedNodeIndex, nodeIndex) < distanceToNode[nodeIndex])) {
-                    distanceToNode[nodeIndex] = distanceToNode[parsedNodeIndex] + graph.getEdgeOnNodeConnection(parsedNodeIndex, nodeIndex);
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = graph.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || (mask != null && mask.isMoveBlocked(graph.getEdgeIndex(parsedNodeIndex, d), nodeIndex)))
+                    continue;
+
+                if (!parsedNodes[nodeIndex] && (distanceToNode[parsedNodeIndex] + graph.getEdge(parsedNodeIndex, d) < distanceToNode[nodeIndex])) {
+                    distanceToNode[nodeIndex] = distanceToNode[parsedNodeIndex] + graph.getEdge(parsedNodeIndex, d);
                     previousNode[nodeIndex] = parsedNodeIndex;
+                    queue.insertOrDecrease(nodeIndex, distanceToNode[nodeIndex]);
                 }
             }
         }
+
+        return true;
     }
 
     /**
-     * Priorytetowo wyjmuje z kolejki wierzchołek, którego odległość do wierzchołka początkowego jest najmniejsza.
+     * Sprawdza, czy wierzchołek został przetworzony przez algorytm, czyli czy jego odległość od wierzchołka początkowego jest ostateczna.
      *
-     * @return indeks wierzchołka, którego odległość do wierzchołka początkowego jest najmniejsza
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return true, jeżeli wierzchołek został przetworzony; w przeciwnym razie false
      */
-    private int getNodeFromQueue()
+    public boolean isNodeParsed(int nodeIndex)
     {
-        int minNodeIndex = queue.get(0); // gets first element;
-
-        for (int nodeIndex : queue) {
-            if (distanceToNode[nodeIndex] < distanceToNode[nodeIndex])
-                minNodeIndex = nodeIndex;
-        }
-
-        queue.remove((Object)minNodeIndex);
+        if (nodeIndex < 0 || nodeIndex >= graph.getNodeCount())
+            throw new IllegalArgumentException(String.format("PathFinder: Invalid node index. Allowed range: %d - %d", 0, graph.getNodeCount() - 1));
 
-        return minNodeIndex;
+        return parsedNodes[nodeIndex];
     }
 
     /**
@@ -143,16 +230,7 @@ public class PathFinder {
         if (distanceToNode[nodeIndex] == Double.MAX_VALUE) // no path
             return null;
 
-        String path = "";
-        LinkedList<Integer> indexes = getIndexPathToNode(nodeIndex);
-
-        for (int index : indexes) {
-            path = path.concat(Integer.toString(index));
-
-            if (index != nodeIndex) path = path.concat(" -> ");
-        }
-
-        return path;
+        return PackedPath.fromPreviousNodes(previousNode, nodeIndex, graph.getColumnCount()).toString();
     }
 
     /**
@@ -183,26 +261,30 @@ public class PathFinder {
     }
 
     /**
-     * Oblicza zakres wartości najkrótszych odległości od wierzchołka początkowego.
-     * Ignoruje połączenia o wartości domyślnej.
+     * Zwraca najkrótszą ścieżkę do wierzchołka o określonym indeksie w postaci ciągu przejść zajmujących 2 bity każde.
+     * Jeżeli droga nie istnieje, to zwraca null.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return ścieżka do wierzchołka w postaci ciągu przejść
      */
-    public void calculateNodeValueRange()
+    public PackedPath getPackedPathToNode(int nodeIndex)
     {
-        double minValue = Double.MAX_VALUE;
-        double maxValue = -1;
-
-        for (double d : distanceToNode) {
-            if (d == Double.MAX_VALUE)
-                continue;
+        if (nodeIndex < 0 || nodeIndex >= graph.getNodeCount())
+            throw new IllegalArgumentException(String.format("PathFinder: Invalid node index. Allowed range: %d - %d", 0, graph.getNodeCount() - 1));
 
-            if (d < minValue)
-                minValue = d;
+        if (distanceToNode[nodeIndex] == Double.MAX_VALUE) // no path
+            return null;
 
-            if (d > maxValue)
-                maxValue = d;
-        }
+        return PackedPath.fromPreviousNodes(previousNode, nodeIndex, graph.getColumnCount());
+    }
 
-        nodeValueRange = new Range(minValue, maxValue);
+    /**
+     * Oblicza zakres wartości najkrótszych odległości od wierzchołka początkowego.
+     * Ignoruje połączenia o wartości domyślnej.
+     */
+    public void calculateNodeValueRange()
+    {
+        nodeValueRange = ScanKernel.getDefault().distanceRange(distanceToNode);
     }
 
     /**
@@ -0,0 +1,83 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca wynik zapytania o najkrótszą ścieżkę między dwoma wierzchołkami.
+ */
+public class PathQueryResult {
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Indeks wierzchołka docelowego.
+     */
+    private final int targetNodeIndex;
+    /**
+     * Długość najkrótszej ścieżki lub -1, jeżeli ścieżka nie istnieje.
+     */
+    private final double distance;
+    /**
+     * Tablica indeksów wierzchołków na najkrótszej ścieżce lub null, jeżeli ścieżka nie istnieje.
+     */
+    private final int[] path;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @param distance        długość najkrótszej ścieżki lub -1, jeżeli ścieżka nie istnieje
+     * @param path            tablica indeksów wierzchołków na ścieżce lub null, jeżeli ścieżka nie istnieje
+     */
+    public PathQueryResult(int startNodeIndex, int targetNodeIndex, double distance, int[] path) {
+        this.startNodeIndex = startNodeIndex;
+        this.targetNodeIndex = targetNodeIndex;
+        this.distance = distance;
+        this.path = path;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka docelowego.
+     *
+     * @return indeks wierzchołka docelowego
+     */
+    public int getTargetNodeIndex() {
+        return targetNodeIndex;
+    }
+
+    /**
+     * Zwraca długość najkrótszej ścieżki. Jeżeli ścieżka nie istnieje, zwraca -1.
+     *
+     * @return długość najkrótszej ścieżki
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę w postaci tablicy indeksów wierzchołków. Jeżeli ścieżka nie istnieje, zwraca null.
+     *
+     * @return tablica indeksów wierzchołków na ścieżce
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Sprawdza, czy ścieżka między wierzchołkami istnieje.
+     *
+     * @return true, jeżeli ścieżka istnieje; w przeciwnym razie false
+     */
+    public boolean hasPath() {
+        return path != null;
+    }
+}
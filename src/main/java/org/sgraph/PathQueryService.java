@@ -0,0 +1,263 @@
+package org.sgraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Klasa odpowiadająca za współbieżne wykonywanie wielu zapytań o najkrótsze ścieżki w jednym grafie.
+ * Zapytania są wykonywane na puli wątków o ograniczonym rozmiarze, a każdy wątek wielokrotnie używa własnych tablic roboczych algorytmu Dijkstry.
+ * Zapytania działają na kopii grafu wykonanej w momencie utworzenia obiektu - późniejsze zmiany w grafie nie są uwzględniane.
+ */
+public class PathQueryService implements AutoCloseable {
+    /**
+     * Kopia grafu, w którym wykonywane są zapytania.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Pula wątków wykonujących zapytania.
+     */
+    private final ExecutorService executor;
+    /**
+     * Tablice robocze algorytmu Dijkstry przypisane do wątków puli.
+     */
+    private final ThreadLocal<SearchWorkspace> workspaces;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy pulę wątków o rozmiarze równym liczbie dostępnych procesorów.
+     *
+     * @param graph graf, w którym będą wykonywane zapytania
+     */
+    public PathQueryService(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph       graf, w którym będą wykonywane zapytania
+     * @param threadCount liczba wątków wykonujących zapytania
+     * @throws IllegalArgumentException jeżeli liczba wątków jest niedodatnia
+     */
+    public PathQueryService(Graph graph, int threadCount) {
+        this(new GraphSnapshot(graph), threadCount);
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot    kopia grafu, w którym będą wykonywane zapytania
+     * @param threadCount liczba wątków wykonujących zapytania
+     * @throws IllegalArgumentException jeżeli liczba wątków jest niedodatnia
+     */
+    public PathQueryService(GraphSnapshot snapshot, int threadCount) {
+        if (threadCount <= 0)
+            throw new IllegalArgumentException("PathQueryService: The number of threads must be positive.");
+
+        this.snapshot = snapshot;
+
+        executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "sgraph-path-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workspaces = ThreadLocal.withInitial(() -> new SearchWorkspace(snapshot.getNodeCount()));
+    }
+
+    /**
+     * Zleca wyznaczenie najkrótszej ścieżki między dwoma wierzchołkami.
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @return obiekt reprezentujący przyszły wynik zapytania
+     * @throws IllegalArgumentException jeżeli indeks któregoś z wierzchołków jest niepoprawny
+     */
+    public CompletableFuture<PathQueryResult> findPath(int startNodeIndex, int targetNodeIndex) {
+        checkIndex(startNodeIndex);
+        checkIndex(targetNodeIndex);
+
+        return CompletableFuture.supplyAsync(() -> {
+            SearchWorkspace workspace = workspaces.get();
+            workspace.run(snapshot, startNodeIndex, targetNodeIndex);
+
+            return new PathQueryResult(startNodeIndex, targetNodeIndex, workspace.getDistanceToNode(targetNodeIndex), workspace.getIndexPathToNode(targetNodeIndex));
+        }, executor);
+    }
+
+    /**
+     * Zleca wyznaczenie najkrótszej ścieżki między dwoma wierzchołkami z możliwością porzucenia zapytania.
+     * Zapytanie przerwane przed rozpoczęciem lub w trakcie wyszukiwania kończy się wyjątkiem CancellationException, nie zajmując dalej wątku puli.
+     *
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego
+     * @param token           obiekt zgłaszający przerwanie
+     * @return obiekt reprezentujący przyszły wynik zapytania
+     * @throws IllegalArgumentException jeżeli indeks któregoś z wierzchołków jest niepoprawny
+     */
+    public CompletableFuture<PathQueryResult> findPath(int startNodeIndex, int targetNodeIndex, CancellationToken token) {
+        checkIndex(startNodeIndex);
+        checkIndex(targetNodeIndex);
+
+        return CompletableFuture.supplyAsync(() -> {
+            token.throwIfCancelled("PathQueryService");
+
+            SearchWorkspace workspace = workspaces.get();
+
+            if (!workspace.run(snapshot, startNodeIndex, targetNodeIndex, token))
+                token.throwIfCancelled("PathQueryService");
+
+            return new PathQueryResult(startNodeIndex, targetNodeIndex, workspace.getDistanceToNode(targetNodeIndex), workspace.getIndexPathToNode(targetNodeIndex));
+        }, executor);
+    }
+
+    /**
+     * Zleca wyznaczenie najkrótszych ścieżek dla par wierzchołków o tych samych pozycjach w przekazanych tablicach.
+     *
+     * @param startNodeIndexes  tablica indeksów wierzchołków początkowych
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @return lista obiektów reprezentujących przyszłe wyniki zapytań, w kolejności par
+     * @throws IllegalArgumentException jeżeli tablice mają różne długości lub któryś z indeksów jest niepoprawny
+     */
+    public List<CompletableFuture<PathQueryResult>> findPaths(int[] startNodeIndexes, int[] targetNodeIndexes) {
+        if (startNodeIndexes.length != targetNodeIndexes.length)
+            throw new IllegalArgumentException("PathQueryService: The number of starting and target nodes must be equal.");
+
+        List<CompletableFuture<PathQueryResult>> results = new ArrayList<>(startNodeIndexes.length);
+
+        for (int i = 0; i < startNodeIndexes.length; i++)
+            results.add(findPath(startNodeIndexes[i], targetNodeIndexes[i]));
+
+        return results;
+    }
+
+    /**
+     * Zleca wyznaczenie najkrótszych ścieżek od wierzchołka początkowego do wielu wierzchołków docelowych jednym przebiegiem algorytmu Dijkstry.
+     * Ścieżki są zwracane w postaci ciągów przejść zajmujących 2 bity każde, co pozwala przechowywać bardzo dużą liczbę ścieżek.
+     * Wyszukiwanie kończy się po przetworzeniu wszystkich wierzchołków docelowych.
+     *
+     * @param startNodeIndex    indeks wierzchołka początkowego
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @return obiekt reprezentujący przyszłą tablicę ścieżek w kolejności wierzchołków docelowych (null oznacza brak ścieżki)
+     * @throws IllegalArgumentException jeżeli indeks któregoś z wierzchołków jest niepoprawny
+     */
+    public CompletableFuture<PackedPath[]> findPackedPaths(int startNodeIndex, int[] targetNodeIndexes) {
+        checkIndex(startNodeIndex);
+
+        for (int targetNodeIndex : targetNodeIndexes)
+            checkIndex(targetNodeIndex);
+
+        return CompletableFuture.supplyAsync(() -> {
+            boolean[] targetNodes = new boolean[snapshot.getNodeCount()];
+            int targetNodeCount = 0;
+
+            for (int targetNodeIndex : targetNodeIndexes) {
+                if (!targetNodes[targetNodeIndex]) {
+                    targetNodes[targetNodeIndex] = true;
+                    targetNodeCount++;
+                }
+            }
+
+            SearchWorkspace workspace = workspaces.get();
+            workspace.run(snapshot, startNodeIndex, targetNodes, targetNodeCount);
+
+            PackedPath[] paths = new PackedPath[targetNodeIndexes.length];
+
+            for (int i = 0; i < targetNodeIndexes.length; i++)
+                paths[i] = workspace.getPackedPathToNode(targetNodeIndexes[i], snapshot.getColumnCount());
+
+            return paths;
+        }, executor);
+    }
+
+    /**
+     * Zleca wyznaczenie najkrótszych ścieżek od wierzchołka początkowego do wszystkich połączonych wierzchołków.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @return obiekt reprezentujący przyszłe drzewo najkrótszych ścieżek
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest niepoprawny
+     */
+    public CompletableFuture<ShortestPathTree> findShortestPathTree(int startNodeIndex) {
+        checkIndex(startNodeIndex);
+
+        return CompletableFuture.supplyAsync(() -> {
+            SearchWorkspace workspace = workspaces.get();
+            workspace.run(snapshot, startNodeIndex, -1);
+
+            return workspace.toShortestPathTree();
+        }, executor);
+    }
+
+    /**
+     * Zleca wyznaczenie drzew najkrótszych ścieżek dla każdego z przekazanych wierzchołków początkowych.
+     *
+     * @param startNodeIndexes tablica indeksów wierzchołków początkowych
+     * @return lista obiektów reprezentujących przyszłe drzewa najkrótszych ścieżek, w kolejności wierzchołków
+     * @throws IllegalArgumentException jeżeli któryś z indeksów jest niepoprawny
+     */
+    public List<CompletableFuture<ShortestPathTree>> findShortestPathTrees(int[] startNodeIndexes) {
+        List<CompletableFuture<ShortestPathTree>> results = new ArrayList<>(startNodeIndexes.length);
+
+        for (int startNodeIndex : startNodeIndexes)
+            results.add(findShortestPathTree(startNodeIndex));
+
+        return results;
+    }
+
+    /**
+     * Zleca wyznaczenie odległości od wierzchołka początkowego do określonych wierzchołków docelowych.
+     * Wyszukiwanie kończy się po przetworzeniu wszystkich oznaczonych wierzchołków docelowych.
+     * Tablica oznaczeń jest współdzielona przez zapytania i nie może być modyfikowana w trakcie ich wykonywania.
+     *
+     * @param startNodeIndex    indeks wierzchołka początkowego
+     * @param targetNodeIndexes tablica indeksów wierzchołków docelowych
+     * @param targetNodes       tablica oznaczająca wierzchołki docelowe
+     * @param targetNodeCount   liczba oznaczonych wierzchołków docelowych
+     * @return obiekt reprezentujący przyszłą tablicę odległości w kolejności wierzchołków docelowych (-1 oznacza brak ścieżki)
+     */
+    CompletableFuture<double[]> findDistances(int startNodeIndex, int[] targetNodeIndexes, boolean[] targetNodes, int targetNodeCount) {
+        checkIndex(startNodeIndex);
+
+        return CompletableFuture.supplyAsync(() -> {
+            SearchWorkspace workspace = workspaces.get();
+            workspace.run(snapshot, startNodeIndex, targetNodes, targetNodeCount);
+
+            double[] distances = new double[targetNodeIndexes.length];
+
+            for (int i = 0; i < targetNodeIndexes.length; i++)
+                distances[i] = workspace.getDistanceToNode(targetNodeIndexes[i]);
+
+            return distances;
+        }, executor);
+    }
+
+    /**
+     * Zwraca kopię grafu, w którym wykonywane są zapytania.
+     *
+     * @return kopia grafu
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Kończy przyjmowanie nowych zapytań. Zapytania już zlecone zostaną wykonane.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Sprawdza poprawność indeksu wierzchołka.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest spoza zakresu
+     */
+    private void checkIndex(int nodeIndex) {
+        if (snapshot.isIndexNotInBounds(nodeIndex))
+            throw new IllegalArgumentException(String.format("PathQueryService: Invalid node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+    }
+}
@@ -52,4 +52,28 @@ public class Properties {
      * Domyślna nazwa pliku wyjściowego.
      */
     public static final String DEFAULT_FILE_NAME = "graph.txt";
+    /**
+     * Maksymalny rozmiar pamięci podręcznej drzew najkrótszych ścieżek w bajtach.
+     */
+    public static final long TREE_CACHE_SIZE = 64L * 1024 * 1024;
+    /**
+     * Liczba wierzchołków grafu, od której front wyszukiwania najkrótszych ścieżek jest rysowany w trakcie jego trwania.
+     */
+    public static final int PROGRESSIVE_RENDER_NODE_COUNT = 40000;
+    /**
+     * Liczba wierzchołków w paczce zdarzeń rysowanej podczas wyszukiwania najkrótszych ścieżek.
+     */
+    public static final int SETTLE_BATCH_SIZE = 2048;
+    /**
+     * Liczba wierzchołków, od której spójne składowe są wyznaczane równolegle w pasach wierszy, jeżeli dostępny jest więcej niż jeden wątek.
+     */
+    public static final int PARALLEL_LABELING_NODE_COUNT = 1 << 20;
+    /**
+     * Liczba losowych wierzchołków początkowych, od których szacowane jest wykorzystanie krawędzi przez najkrótsze ścieżki.
+     */
+    public static final int EDGE_USAGE_SAMPLE_COUNT = 256;
+    /**
+     * Liczba przedziałów rozkładu wag krawędzi wyświetlanego w podpowiedzi skali kolorów krawędzi.
+     */
+    public static final int EDGE_HISTOGRAM_BIN_COUNT = 8;
 }
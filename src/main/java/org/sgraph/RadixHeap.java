@@ -0,0 +1,149 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa implementująca kopiec pozycyjny (radix heap) indeksów wierzchołków o nieujemnych priorytetach typu double.
+ * Kolejka jest monotoniczna - priorytet dodawanego wierzchołka nie może być mniejszy od priorytetu ostatnio wyjętego wierzchołka, co zawsze zachodzi w algorytmie Dijkstry.
+ * Priorytety są porównywane poprzez bity ich reprezentacji (dla nieujemnych wartości typu double porządek bitów jest zgodny z porządkiem wartości), dzięki czemu kolejka jest dokładna i nie wymaga kwantyzacji odległości.
+ * Zmniejszenie priorytetu jest realizowane przez ponowne dodanie wierzchołka, więc ten sam wierzchołek może zostać wyjęty wielokrotnie.
+ */
+class RadixHeap implements NodeQueue {
+    /**
+     * Liczba kubełków - jeden dla priorytetów równych ostatnio wyjętemu i po jednym dla każdego bitu, na którym priorytet się od niego różni.
+     */
+    private static final int BUCKET_COUNT = 65;
+    /**
+     * Tablice priorytetów (bitów wartości typu double) elementów w kubełkach.
+     */
+    private final long[][] bucketKeys = new long[BUCKET_COUNT][];
+    /**
+     * Tablice indeksów wierzchołków w kubełkach.
+     */
+    private final int[][] bucketNodes = new int[BUCKET_COUNT][];
+    /**
+     * Liczby elementów w kubełkach.
+     */
+    private final int[] bucketSizes = new int[BUCKET_COUNT];
+    /**
+     * Priorytet ostatnio wyjętego elementu.
+     */
+    private long last;
+    /**
+     * Liczba elementów w kolejce.
+     */
+    private int size;
+
+    /**
+     * Konstruktor klasy
+     */
+    RadixHeap() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketKeys[i] = new long[8];
+            bucketNodes[i] = new int[8];
+        }
+    }
+
+    /**
+     * Sprawdza, czy kolejka jest pusta.
+     *
+     * @return true, jeżeli kolejka jest pusta; w przeciwnym razie false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Dodaje wierzchołek do kolejki. Poprzednie wpisy wierzchołka pozostają w kolejce.
+     *
+     * @param nodeIndex indeks wierzchołka
+     * @param key       priorytet wierzchołka
+     * @throws IllegalArgumentException jeżeli priorytet jest mniejszy od priorytetu ostatnio wyjętego wierzchołka
+     */
+    @Override
+    public void insertOrDecrease(int nodeIndex, double key) {
+        long bits = Double.doubleToRawLongBits(key);
+
+        if (bits < last || key < 0)
+            throw new IllegalArgumentException("RadixHeap: Key must not be lower than the last extracted key.");
+
+        push(getBucket(bits), bits, nodeIndex);
+        size++;
+    }
+
+    /**
+     * Wyjmuje z kolejki wierzchołek o najmniejszym priorytecie.
+     * Jeżeli kubełek priorytetów równych ostatnio wyjętemu jest pusty, najmniejszy niepusty kubełek jest rozdzielany na kubełki niższe.
+     *
+     * @return indeks wierzchołka o najmniejszym priorytecie
+     */
+    @Override
+    public int poll() {
+        if (bucketSizes[0] == 0) {
+            int i = 1;
+
+            while (bucketSizes[i] == 0)
+                i++;
+
+            long[] keys = bucketKeys[i];
+            int[] nodes = bucketNodes[i];
+            int count = bucketSizes[i];
+            long min = keys[0];
+
+            for (int j = 1; j < count; j++)
+                min = Math.min(min, keys[j]);
+
+            last = min;
+            bucketSizes[i] = 0;
+
+            // every element lands in a lower bucket, so the arrays of bucket i are not written while being read
+            for (int j = 0; j < count; j++)
+                push(getBucket(keys[j]), keys[j], nodes[j]);
+        }
+
+        size--;
+
+        return bucketNodes[0][--bucketSizes[0]];
+    }
+
+    /**
+     * Usuwa wszystkie wierzchołki z kolejki.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        last = 0;
+        size = 0;
+    }
+
+    /**
+     * Zwraca numer kubełka dla priorytetu - pozycję najstarszego bitu, na którym priorytet różni się od ostatnio wyjętego.
+     *
+     * @param bits priorytet w postaci bitów wartości typu double
+     * @return numer kubełka
+     */
+    private int getBucket(long bits) {
+        return bits == last ? 0 : 64 - Long.numberOfLeadingZeros(bits ^ last);
+    }
+
+    /**
+     * Dodaje element na koniec kubełka, powiększając w razie potrzeby jego tablice.
+     *
+     * @param bucket    numer kubełka
+     * @param bits      priorytet w postaci bitów wartości typu double
+     * @param nodeIndex indeks wierzchołka
+     */
+    private void push(int bucket, long bits, int nodeIndex) {
+        int count = bucketSizes[bucket];
+
+        if (count == bucketKeys[bucket].length) {
+            bucketKeys[bucket] = Arrays.copyOf(bucketKeys[bucket], 2 * count);
+            bucketNodes[bucket] = Arrays.copyOf(bucketNodes[bucket], 2 * count);
+        }
+
+        bucketKeys[bucket][count] = bits;
+        bucketNodes[bucket][count] = nodeIndex;
+        bucketSizes[bucket] = count + 1;
+    }
+}
@@ -64,6 +64,19 @@ public class Range {
         return min != max ? Color.hsb((1 - (value - min) / (max - min)) * 240, 1, 1, 1) : Color.hsb(0, 1, 1, 1);
     }
 
+    /**
+     * Zwraca kolor ze skali od niebieskiego do czerwonego dla wartości przekształconej już do przedziału od 0 do 1.
+     * Wynik jest taki sam jak dla metody getHSBValue wywołanej z wartością przed przekształceniem.
+     *
+     * @param normalizedValue wartość liczbowa przekształcona do przedziału od 0 do 1
+     * @return kolor z zakresu od niebieskiego do czerwonego
+     * @see ScanKernel#normalize(double[], Range, double[])
+     */
+    public Color getNormalizedHSBValue(double normalizedValue)
+    {
+        return min != max ? Color.hsb((1 - normalizedValue) * 240, 1, 1, 1) : Color.hsb(0, 1, 1, 1);
+    }
+
     /**
      * Zwraca napis postaci "[MIN] - [MAX]" reprezentujący aktualny stan obiektu.
      *
@@ -0,0 +1,359 @@
+package org.sgraph;
+
+/**
+ * Typ wyliczeniowy implementacji pętli przechodzących po całych tablicach wag krawędzi lub odległości (zakres wartości, normalizacja, histogram, zliczanie).
+ * Implementację używaną domyślnie wybiera właściwość systemowa sgraph.scanKernel (SCALAR, BRANCHLESS lub VECTOR) przy uruchomieniu programu.
+ * Bez właściwości lub przy nazwie nieznanej implementacji (wielkość liter nie ma znaczenia) wybierana jest implementacja VECTOR,
+ * jeżeli moduł jdk.incubator.vector jest dostępny, a w przeciwnym razie BRANCHLESS.
+ * Porównanie implementacji na dużych tablicach umożliwia program ScanKernelBenchmark ze źródeł testowych.
+ */
+public enum ScanKernel {
+    /**
+     * Proste pętle z rozgałęzieniami, przetwarzające jedną wartość na iterację.
+     */
+    SCALAR {
+        @Override
+        public Range edgeValueRange(double[] edges) {
+            double min = Double.MAX_VALUE;
+            double max = 0;
+
+            for (double edge : edges) {
+                if (edge > max)
+                    max = edge;
+
+                if (edge != 0 && edge < min)
+                    min = edge;
+            }
+
+            return (max == 0) ? new Range(0, 0) : new Range(min, max);
+        }
+
+        @Override
+        public Range distanceRange(double[] distances) {
+            double min = Double.MAX_VALUE;
+            double max = -1;
+
+            for (double d : distances) {
+                if (d == Double.MAX_VALUE)
+                    continue;
+
+                if (d < min)
+                    min = d;
+
+                if (d > max)
+                    max = d;
+            }
+
+            return (max == -1) ? new Range(0, 0) : new Range(min, max);
+        }
+
+        @Override
+        public void normalize(double[] values, Range range, double[] target) {
+            checkLengths(values, target);
+
+            for (int i = 0; i < values.length; i++)
+                target[i] = range.getMin() != range.getMax() ? (values[i] - range.getMin()) / (range.getMax() - range.getMin()) : 0;
+        }
+
+        @Override
+        public int[] histogram(double[] values, Range range, int binCount) {
+            int[] bins = createBins(binCount);
+            double scale = getBinScale(range, binCount);
+
+            for (double value : values) {
+                if (value < range.getMin() || value > range.getMax())
+                    continue;
+
+                bins[Math.min((int) ((value - range.getMin()) * scale), binCount - 1)]++;
+            }
+
+            return bins;
+        }
+
+        @Override
+        public int count(double[] values, double value) {
+            int count = 0;
+
+            for (double v : values) {
+                if (v == value)
+                    count++;
+            }
+
+            return count;
+        }
+    },
+    /**
+     * Pętle bez rozgałęzień porównujące bity liczb jako liczby całkowite w dwóch niezależnych akumulatorach.
+     * Dla nieujemnych liczb typu double kolejność bitów traktowanych jak long jest zgodna z kolejnością wartości, a porównania long
+     * kompilator JIT zamienia na instrukcje bez skoków. Histogram zależy od losowego dostępu do przedziałów, a rzadko spełniona równość
+     * przy zliczaniu nie utrudnia przewidywania skoków, więc obie te pętle korzystają z implementacji SCALAR.
+     */
+    BRANCHLESS {
+        /**
+         * Bity liczby Double.MAX_VALUE, którą oznaczane są nieosiągnięte wierzchołki.
+         */
+        private static final long UNREACHED_BITS = 0x7FEFFFFFFFFFFFFFL;
+
+        @Override
+        public Range edgeValueRange(double[] edges) {
+            long max0 = 0, max1 = 0;
+            long min0 = Long.MAX_VALUE, min1 = Long.MAX_VALUE;
+            int i = 0;
+
+            // bits - 1 turns a missing edge (0) into -1, which the mask maps above every weight
+            for (; i + 1 < edges.length; i += 2) {
+                long e0 = Double.doubleToRawLongBits(edges[i]);
+                long e1 = Double.doubleToRawLongBits(edges[i + 1]);
+
+                max0 = Math.max(max0, e0);
+                max1 = Math.max(max1, e1);
+                min0 = Math.min(min0, (e0 - 1) & Long.MAX_VALUE);
+                min1 = Math.min(min1, (e1 - 1) & Long.MAX_VALUE);
+            }
+
+            if (i < edges.length) {
+                long e0 = Double.doubleToRawLongBits(edges[i]);
+
+                max0 = Math.max(max0, e0);
+                min0 = Math.min(min0, (e0 - 1) & Long.MAX_VALUE);
+            }
+
+            long max = Math.max(max0, max1);
+            long min = Math.min(min0, min1) + 1;
+
+            return (max == 0) ? new Range(0, 0) : new Range(Double.longBitsToDouble(min), Double.longBitsToDouble(max));
+        }
+
+        @Override
+        public Range distanceRange(double[] distances) {
+            long min0 = Long.MAX_VALUE, min1 = Long.MAX_VALUE;
+            long key0 = Long.MAX_VALUE, key1 = Long.MAX_VALUE;
+            int i = 0;
+
+            // unreached nodes never lower the minimum; the maximum is found as the minimum of a key that
+            // decreases with the distance and turns an unreached node into -1, which the mask maps above every key
+            for (; i + 1 < distances.length; i += 2) {
+                long d0 = Double.doubleToRawLongBits(distances[i]);
+                long d1 = Double.doubleToRawLongBits(distances[i + 1]);
+
+                min0 = Math.min(min0, d0);
+                min1 = Math.min(min1, d1);
+                key0 = Math.min(key0, (UNREACHED_BITS - 1 - d0) & Long.MAX_VALUE);
+                key1 = Math.min(key1, (UNREACHED_BITS - 1 - d1) & Long.MAX_VALUE);
+            }
+
+            if (i < distances.length) {
+                long d0 = Double.doubleToRawLongBits(distances[i]);
+
+                min0 = Math.min(min0, d0);
+                key0 = Math.min(key0, (UNREACHED_BITS - 1 - d0) & Long.MAX_VALUE);
+            }
+
+            long key = Math.min(key0, key1);
+
+            if (key == Long.MAX_VALUE) // every node is unreached
+                return new Range(0, 0);
+
+            return new Range(Double.longBitsToDouble(Math.min(min0, min1)), Double.longBitsToDouble(UNREACHED_BITS - 1 - key));
+        }
+
+        @Override
+        public void normalize(double[] values, Range range, double[] target) {
+            checkLengths(values, target);
+
+            double min = range.getMin();
+            double scale = range.getMin() != range.getMax() ? 1 / (range.getMax() - range.getMin()) : 0;
+
+            // a single subtract-multiply per value keeps the loop free of divisions and branches
+            for (int i = 0; i < values.length; i++)
+                target[i] = (values[i] - min) * scale;
+        }
+
+        @Override
+        public int[] histogram(double[] values, Range range, int binCount) {
+            return SCALAR.histogram(values, range, binCount);
+        }
+
+        @Override
+        public int count(double[] values, double value) {
+            return SCALAR.count(values, value);
+        }
+    },
+    /**
+     * Pętle korzystające z inkubowanego modułu jdk.incubator.vector, przetwarzające naraz tyle wartości, ile mieści rejestr wektorowy procesora.
+     * Moduł jest dostępny tylko po uruchomieniu programu z opcją --add-modules jdk.incubator.vector, a bez niego implementacja korzysta z BRANCHLESS.
+     *
+     * @see #isVectorAvailable()
+     */
+    VECTOR {
+        @Override
+        public Range edgeValueRange(double[] edges) {
+            return IS_VECTOR_AVAILABLE ? VectorScanKernels.edgeValueRange(edges) : BRANCHLESS.edgeValueRange(edges);
+        }
+
+        @Override
+        public Range distanceRange(double[] distances) {
+            return IS_VECTOR_AVAILABLE ? VectorScanKernels.distanceRange(distances) : BRANCHLESS.distanceRange(distances);
+        }
+
+        @Override
+        public void normalize(double[] values, Range range, double[] target) {
+            if (!IS_VECTOR_AVAILABLE) {
+                BRANCHLESS.normalize(values, range, target);
+                return;
+            }
+
+            checkLengths(values, target);
+            VectorScanKernels.normalize(values, range.getMin(), range.getMin() != range.getMax() ? 1 / (range.getMax() - range.getMin()) : 0, target);
+        }
+
+        @Override
+        public int[] histogram(double[] values, Range range, int binCount) {
+            if (!IS_VECTOR_AVAILABLE)
+                return BRANCHLESS.histogram(values, range, binCount);
+
+            int[] bins = createBins(binCount);
+            VectorScanKernels.histogram(values, range.getMin(), range.getMax(), getBinScale(range, binCount), bins);
+
+            return bins;
+        }
+
+        @Override
+        public int count(double[] values, double value) {
+            return IS_VECTOR_AVAILABLE ? VectorScanKernels.count(values, value) : BRANCHLESS.count(values, value);
+        }
+    };
+
+    /**
+     * Nazwa właściwości systemowej wybierającej domyślną implementację.
+     */
+    public static final String PROPERTY_NAME = "sgraph.scanKernel";
+    /**
+     * Informacja, czy moduł jdk.incubator.vector został załadowany przy uruchomieniu programu.
+     * Moduł jest wymagany tylko statycznie, więc klasy VectorScanKernels można użyć wyłącznie wtedy, gdy znajduje się w warstwie startowej.
+     */
+    private static final boolean IS_VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    /**
+     * Implementacja używana domyślnie przez klasy grafu.
+     */
+    private static final ScanKernel DEFAULT = readDefault();
+
+    /**
+     * Zwraca zakres wartości wag krawędzi z pominięciem brakujących krawędzi o wadze 0.
+     *
+     * @param edges tablica wag krawędzi
+     * @return zakres wartości wag lub [0;0], jeżeli w tablicy nie ma żadnych krawędzi
+     */
+    public abstract Range edgeValueRange(double[] edges);
+
+    /**
+     * Zwraca zakres wartości odległości z pominięciem nieosiągniętych wierzchołków o odległości Double.MAX_VALUE.
+     *
+     * @param distances tablica odległości
+     * @return zakres wartości odległości lub [0;0], jeżeli żaden wierzchołek nie został osiągnięty
+     */
+    public abstract Range distanceRange(double[] distances);
+
+    /**
+     * Przekształca wartości liniowo tak, aby granice zakresu odpowiadały wartościom 0 i 1 (np. przed wyznaczeniem kolorów).
+     * Jeżeli granice zakresu są równe, wszystkie wartości są zamieniane na 0.
+     *
+     * @param values tablica wartości
+     * @param range  zakres wartości
+     * @param target tablica, do której zostaną zapisane przekształcone wartości (może być tablicą values)
+     * @throws IllegalArgumentException jeżeli tablice mają różne długości
+     */
+    public abstract void normalize(double[] values, Range range, double[] target);
+
+    /**
+     * Zlicza wartości z zakresu w przedziałach równej szerokości. Wartości spoza zakresu są pomijane,
+     * a górna granica zakresu należy do ostatniego przedziału.
+     *
+     * @param values   tablica wartości
+     * @param range    zakres zliczanych wartości
+     * @param binCount liczba przedziałów
+     * @return tablica liczby wartości w kolejnych przedziałach
+     * @throws IllegalArgumentException jeżeli liczba przedziałów jest niedodatnia
+     */
+    public abstract int[] histogram(double[] values, Range range, int binCount);
+
+    /**
+     * Zlicza wartości równe przekazanej wartości (np. krawędzie o wagach granicznych).
+     *
+     * @param values tablica wartości
+     * @param value  zliczana wartość
+     * @return liczba wartości równych przekazanej wartości
+     */
+    public abstract int count(double[] values, double value);
+
+    /**
+     * Sprawdza, czy moduł jdk.incubator.vector jest dostępny, a implementacja VECTOR korzysta z instrukcji wektorowych.
+     *
+     * @return wartość logiczna, czy moduł jdk.incubator.vector jest dostępny
+     */
+    public static boolean isVectorAvailable() {
+        return IS_VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Zwraca implementację wybraną właściwością systemową sgraph.scanKernel lub, jeżeli właściwość nie jest ustawiona albo nie wskazuje żadnej implementacji,
+     * VECTOR przy dostępnym module jdk.incubator.vector i BRANCHLESS w przeciwnym razie.
+     *
+     * @return domyślna implementacja
+     */
+    public static ScanKernel getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Odczytuje domyślną implementację z właściwości systemowej.
+     * Nieznana nazwa implementacji jest pomijana bez komunikatu, aby błędna konfiguracja nie przerywała inicjalizacji klasy.
+     *
+     * @return implementacja wskazana właściwością lub najszybsza dostępna implementacja, jeżeli właściwość nie wskazuje żadnej implementacji
+     */
+    private static ScanKernel readDefault() {
+        String name = System.getProperty(PROPERTY_NAME, "");
+
+        for (ScanKernel kernel : values()) {
+            if (kernel.name().equalsIgnoreCase(name))
+                return kernel;
+        }
+
+        return IS_VECTOR_AVAILABLE ? VECTOR : BRANCHLESS;
+    }
+
+    /**
+     * Sprawdza, czy tablica wynikowa ma długość tablicy wartości.
+     *
+     * @param values tablica wartości
+     * @param target tablica wynikowa
+     */
+    private static void checkLengths(double[] values, double[] target) {
+        if (values.length != target.length)
+            throw new IllegalArgumentException("ScanKernel: The target array length does not match the value array length.");
+    }
+
+    /**
+     * Tworzy tablicę przedziałów histogramu.
+     *
+     * @param binCount liczba przedziałów
+     * @return tablica wypełniona zerami
+     */
+    private static int[] createBins(int binCount) {
+        if (binCount <= 0)
+            throw new IllegalArgumentException("ScanKernel: The number of bins must be positive.");
+
+        return new int[binCount];
+    }
+
+    /**
+     * Zwraca liczbę przedziałów histogramu przypadającą na jednostkę wartości.
+     *
+     * @param range    zakres zliczanych wartości
+     * @param binCount liczba przedziałów
+     * @return skala przedziałów lub 0, jeżeli granice zakresu są równe
+     */
+    private static double getBinScale(Range range, int binCount) {
+        return range.getMin() != range.getMax() ? binCount / (range.getMax() - range.getMin()) : 0;
+    }
+}
@@ -0,0 +1,252 @@
+package org.sgraph;
+
+import java.util.Arrays;
+
+/**
+ * Klasa przechowująca tablice robocze algorytmu Dijkstry, które mogą być wielokrotnie używane przez kolejne zapytania.
+ * Tablice nie są czyszczone między zapytaniami - aktualność wpisów jest rozpoznawana po numerze zapytania.
+ * Obiekt klasy nie może być używany jednocześnie przez kilka wątków.
+ */
+class SearchWorkspace {
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     */
+    private final int[] previousNode;
+    /**
+     * Tablica numerów zapytań, w których wierzchołki zostały osiągnięte.
+     */
+    private final int[] reachedStamp;
+    /**
+     * Tablica numerów zapytań, w których wierzchołki zostały przetworzone.
+     */
+    private final int[] parsedStamp;
+    /**
+     * Kolejka priorytetowa wierzchołków do przetworzenia.
+     */
+    private final NodeHeap heap;
+    /**
+     * Numer aktualnego zapytania.
+     */
+    private int stamp;
+    /**
+     * Indeks wierzchołka początkowego ostatniego zapytania.
+     */
+    private int startNodeIndex = -1;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param nodeCount liczba wierzchołków w grafie
+     */
+    SearchWorkspace(int nodeCount) {
+        distanceToNode = new double[nodeCount];
+        previousNode = new int[nodeCount];
+        reachedStamp = new int[nodeCount];
+        parsedStamp = new int[nodeCount];
+        heap = new NodeHeap(nodeCount);
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków, dla której zostały utworzone tablice robocze.
+     *
+     * @return liczba wierzchołków
+     */
+    int getNodeCount() {
+        return distanceToNode.length;
+    }
+
+    /**
+     * Uruchamia algorytm Dijkstry od wierzchołka początkowego.
+     * Jeżeli podano wierzchołek docelowy, algorytm kończy działanie po jego przetworzeniu.
+     *
+     * @param snapshot        kopia grafu, w którym działa algorytm
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego lub -1, jeżeli mają zostać wyznaczone wszystkie ścieżki
+     */
+    void run(GraphSnapshot snapshot, int startNodeIndex, int targetNodeIndex) {
+        search(snapshot, startNodeIndex, targetNodeIndex, null, 0, CancellationToken.none());
+    }
+
+    /**
+     * Uruchamia algorytm Dijkstry od wierzchołka początkowego, przerywając działanie po zgłoszeniu przerwania lub upływie terminu.
+     * Jeżeli podano wierzchołek docelowy, algorytm kończy działanie po jego przetworzeniu.
+     *
+     * @param snapshot        kopia grafu, w którym działa algorytm
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego lub -1, jeżeli mają zostać wyznaczone wszystkie ścieżki
+     * @param token           obiekt zgłaszający przerwanie
+     * @return true, jeżeli algorytm zakończył działanie; false, jeżeli działanie zostało przerwane
+     */
+    boolean run(GraphSnapshot snapshot, int startNodeIndex, int targetNodeIndex, CancellationToken token) {
+        return search(snapshot, startNodeIndex, targetNodeIndex, null, 0, token);
+    }
+
+    /**
+     * Uruchamia algorytm Dijkstry od wierzchołka początkowego i kończy jego działanie po przetworzeniu wszystkich wierzchołków docelowych.
+     *
+     * @param snapshot        kopia grafu, w którym działa algorytm
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodes     tablica oznaczająca wierzchołki docelowe
+     * @param targetNodeCount liczba oznaczonych wierzchołków docelowych
+     */
+    void run(GraphSnapshot snapshot, int startNodeIndex, boolean[] targetNodes, int targetNodeCount) {
+        search(snapshot, startNodeIndex, -1, targetNodes, targetNodeCount, CancellationToken.none());
+    }
+
+    /**
+     * Wykonuje algorytm Dijkstry z warunkami zakończenia przekazanymi przez publiczne warianty metody run.
+     *
+     * @param snapshot        kopia grafu, w którym działa algorytm
+     * @param startNodeIndex  indeks wierzchołka początkowego
+     * @param targetNodeIndex indeks wierzchołka docelowego lub -1
+     * @param targetNodes     tablica oznaczająca wierzchołki docelowe lub null
+     * @param targetNodeCount liczba oznaczonych wierzchołków docelowych
+     * @param token           obiekt zgłaszający przerwanie
+     * @return true, jeżeli algorytm zakończył działanie; false, jeżeli działanie zostało przerwane
+     */
+    private boolean search(GraphSnapshot snapshot, int startNodeIndex, int targetNodeIndex, boolean[] targetNodes, int targetNodeCount, CancellationToken token) {
+        nextStamp();
+        heap.clear();
+        this.startNodeIndex = startNodeIndex;
+
+        reach(startNodeIndex, 0, -1);
+
+        int step = 0;
+
+        while (!heap.isEmpty()) {
+            if (step++ % CancellationToken.CHECK_INTERVAL == 0 && token.isCancelled())
+                return false;
+
+            int parsedNodeIndex = heap.poll();
+            parsedStamp[parsedNodeIndex] = stamp;
+
+            if (parsedNodeIndex == targetNodeIndex)
+                break;
+
+            if (targetNodes != null && targetNodes[parsedNodeIndex] && --targetNodeCount == 0)
+                break;
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || parsedStamp[nodeIndex] == stamp)
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (reachedStamp[nodeIndex] != stamp || distance < distanceToNode[nodeIndex])
+                    reach(nodeIndex, distance, parsedNodeIndex);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Zapisuje nową odległość wierzchołka i jego poprzednika, a następnie umieszcza go w kolejce.
+     *
+     * @param nodeIndex         indeks wierzchołka
+     * @param distance          nowa odległość wierzchołka
+     * @param previousNodeIndex indeks poprzednika
+     */
+    private void reach(int nodeIndex, double distance, int previousNodeIndex) {
+        reachedStamp[nodeIndex] = stamp;
+        distanceToNode[nodeIndex] = distance;
+        previousNode[nodeIndex] = previousNodeIndex;
+        heap.insertOrDecrease(nodeIndex, distance);
+    }
+
+    /**
+     * Zwiększa numer zapytania. Po wyczerpaniu zakresu numerów zeruje tablice numerów.
+     */
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamp, 0);
+            Arrays.fill(parsedStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Sprawdza, czy wierzchołek został przetworzony w ostatnim zapytaniu, czyli czy jego odległość jest ostateczna.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return true, jeżeli wierzchołek został przetworzony; w przeciwnym razie false
+     */
+    boolean isParsed(int nodeIndex) {
+        return parsedStamp[nodeIndex] == stamp;
+    }
+
+    /**
+     * Zwraca odległość wierzchołka od wierzchołka początkowego wyznaczoną w ostatnim zapytaniu.
+     * Jeżeli wierzchołek nie został przetworzony, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return odległość wierzchołka od wierzchołka początkowego
+     */
+    double getDistanceToNode(int nodeIndex) {
+        return isParsed(nodeIndex) ? distanceToNode[nodeIndex] : -1;
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę do wierzchołka wyznaczoną w ostatnim zapytaniu w postaci tablicy indeksów wierzchołków.
+     * Jeżeli wierzchołek nie został przetworzony, zwraca null.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     */
+    int[] getIndexPathToNode(int nodeIndex) {
+        if (!isParsed(nodeIndex))
+            return null;
+
+        int length = 0;
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            length++;
+
+        int[] path = new int[length];
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            path[--length] = i;
+
+        return path;
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę do wierzchołka wyznaczoną w ostatnim zapytaniu w postaci ciągu przejść.
+     * Jeżeli wierzchołek nie został przetworzony, zwraca null.
+     *
+     * @param nodeIndex   indeks sprawdzanego wierzchołka
+     * @param columnCount liczba kolumn w siatce
+     * @return ścieżka do wierzchołka w postaci ciągu przejść
+     */
+    PackedPath getPackedPathToNode(int nodeIndex, int columnCount) {
+        return isParsed(nodeIndex) ? PackedPath.fromPreviousNodes(previousNode, nodeIndex, columnCount) : null;
+    }
+
+    /**
+     * Tworzy niezależną od tablic roboczych kopię drzewa najkrótszych ścieżek wyznaczonego w ostatnim zapytaniu.
+     *
+     * @return drzewo najkrótszych ścieżek
+     */
+    ShortestPathTree toShortestPathTree() {
+        double[] distances = new double[distanceToNode.length];
+        int[] previous = new int[previousNode.length];
+
+        for (int i = 0; i < distances.length; i++) {
+            if (isParsed(i)) {
+                distances[i] = distanceToNode[i];
+                previous[i] = previousNode[i];
+            } else {
+                distances[i] = Double.MAX_VALUE;
+                previous[i] = -1;
+            }
+        }
+
+        return new ShortestPathTree(startNodeIndex, distances, previous);
+    }
+}
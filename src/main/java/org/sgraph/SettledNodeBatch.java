@@ -0,0 +1,109 @@
+package org.sgraph;
+
+import java.util.List;
+
+/**
+ * Klasa przechowująca paczkę zdarzeń przetworzenia wierzchołków przez algorytm Dijkstry - indeksy wierzchołków,
+ * ich ostateczne odległości od wierzchołka początkowego i poprzedników na najkrótszych ścieżkach, w kolejności przetwarzania.
+ * Obiekty klasy są niezmienne.
+ *
+ * @see SettledNodePublisher
+ */
+public class SettledNodeBatch {
+    /**
+     * Tablica indeksów przetworzonych wierzchołków.
+     */
+    private final int[] nodeIndexes;
+    /**
+     * Tablica odległości przetworzonych wierzchołków od wierzchołka początkowego.
+     */
+    private final double[] distances;
+    /**
+     * Tablica indeksów poprzedników przetworzonych wierzchołków (-1 dla wierzchołka początkowego).
+     */
+    private final int[] previousNodes;
+
+    /**
+     * Konstruktor klasy
+     * Przekazane tablice nie są kopiowane i nie mogą być później modyfikowane.
+     *
+     * @param nodeIndexes   tablica indeksów przetworzonych wierzchołków
+     * @param distances     tablica odległości przetworzonych wierzchołków
+     * @param previousNodes tablica indeksów poprzedników przetworzonych wierzchołków
+     */
+    SettledNodeBatch(int[] nodeIndexes, double[] distances, int[] previousNodes) {
+        this.nodeIndexes = nodeIndexes;
+        this.distances = distances;
+        this.previousNodes = previousNodes;
+    }
+
+    /**
+     * Łączy kolejne paczki w jedną paczkę zachowującą kolejność zdarzeń.
+     *
+     * @param batches lista łączonych paczek
+     * @return paczka zawierająca zdarzenia wszystkich przekazanych paczek
+     */
+    static SettledNodeBatch merge(List<SettledNodeBatch> batches) {
+        if (batches.size() == 1)
+            return batches.get(0);
+
+        int size = 0;
+
+        for (SettledNodeBatch batch : batches)
+            size += batch.getSize();
+
+        int[] nodeIndexes = new int[size];
+        double[] distances = new double[size];
+        int[] previousNodes = new int[size];
+        int offset = 0;
+
+        for (SettledNodeBatch batch : batches) {
+            System.arraycopy(batch.nodeIndexes, 0, nodeIndexes, offset, batch.getSize());
+            System.arraycopy(batch.distances, 0, distances, offset, batch.getSize());
+            System.arraycopy(batch.previousNodes, 0, previousNodes, offset, batch.getSize());
+            offset += batch.getSize();
+        }
+
+        return new SettledNodeBatch(nodeIndexes, distances, previousNodes);
+    }
+
+    /**
+     * Zwraca liczbę zdarzeń w paczce.
+     *
+     * @return liczba zdarzeń
+     */
+    public int getSize() {
+        return nodeIndexes.length;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka przetworzonego w zdarzeniu o określonej pozycji.
+     *
+     * @param i pozycja zdarzenia w paczce
+     * @return indeks przetworzonego wierzchołka
+     */
+    public int getNodeIndex(int i) {
+        return nodeIndexes[i];
+    }
+
+    /**
+     * Zwraca odległość od wierzchołka początkowego wierzchołka przetworzonego w zdarzeniu o określonej pozycji.
+     *
+     * @param i pozycja zdarzenia w paczce
+     * @return odległość przetworzonego wierzchołka
+     */
+    public double getDistance(int i) {
+        return distances[i];
+    }
+
+    /**
+     * Zwraca indeks poprzednika wierzchołka przetworzonego w zdarzeniu o określonej pozycji.
+     * Dla wierzchołka początkowego zwraca -1.
+     *
+     * @param i pozycja zdarzenia w paczce
+     * @return indeks poprzednika przetworzonego wierzchołka
+     */
+    public int getPreviousNode(int i) {
+        return previousNodes[i];
+    }
+}
@@ -0,0 +1,464 @@
+package org.sgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Klasa wykonująca algorytm Dijkstry i publikująca paczki zdarzeń przetworzenia wierzchołków w miarę postępu wyszukiwania.
+ * Pozwala na przykład rysować rozszerzający się front wyszukiwania przed zakończeniem algorytmu.
+ * <p>
+ * Wyszukiwanie jest wykonywane jednokrotnie w wątku wywołującym metodę run, a subskrybenci otrzymują tylko zdarzenia opublikowane po subskrypcji.
+ * Zdarzenia są dostarczane przez przekazany wykonawca zgodnie z zapotrzebowaniem zgłoszonym metodą request.
+ * Wyszukiwanie nigdy nie czeka na subskrybentów - paczki, na które nie zgłoszono zapotrzebowania, są łączone i dostarczane jako jedna większa paczka.
+ * Jeżeli wszyscy subskrybenci anulowali subskrypcje, wyszukiwanie jest przerywane i nie wyznacza drzewa najkrótszych ścieżek.
+ */
+public class SettledNodePublisher implements Flow.Publisher<SettledNodeBatch> {
+    /**
+     * Domyślna liczba zdarzeń w publikowanej paczce.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    /**
+     * Kopia grafu, w którym działa algorytm.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Liczba zdarzeń w publikowanej paczce.
+     */
+    private final int batchSize;
+    /**
+     * Wykonawca dostarczający zdarzenia subskrybentom.
+     */
+    private final Executor executor;
+    /**
+     * Lista aktywnych subskrypcji.
+     */
+    private final List<SettledNodeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    /**
+     * Tablica odległości wierzchołków od wierzchołka początkowego.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     */
+    private final int[] previousNode;
+    /**
+     * Stan wyszukiwania.
+     */
+    private SearchState state = SearchState.NOT_STARTED;
+    /**
+     * Informacja, czy publikacja została kiedykolwiek zasubskrybowana.
+     */
+    private volatile boolean wasSubscribed;
+    /**
+     * Liczba wierzchołków przetworzonych przez algorytm.
+     */
+    private int settledNodeCount;
+
+    /**
+     * Konstruktor klasy
+     * Wykorzystuje domyślny rozmiar paczki i wspólną pulę wątków do dostarczania zdarzeń.
+     *
+     * @param graph          graf, w którym działa algorytm
+     * @param startNodeIndex indeks wierzchołka początkowego
+     */
+    public SettledNodePublisher(Graph graph, int startNodeIndex) {
+        this(new GraphSnapshot(graph), startNodeIndex, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot       kopia grafu, w którym działa algorytm
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @param batchSize      liczba zdarzeń w publikowanej paczce
+     * @param executor       wykonawca dostarczający zdarzenia subskrybentom
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny lub rozmiar paczki jest niedodatni
+     */
+    public SettledNodePublisher(GraphSnapshot snapshot, int startNodeIndex, int batchSize, Executor executor) {
+        if (snapshot.isIndexNotInBounds(startNodeIndex))
+            throw new IllegalArgumentException(String.format("SettledNodePublisher: Invalid starting node index. Allowed range: %d - %d", 0, snapshot.getNodeCount() - 1));
+
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("SettledNodePublisher: The batch size must be positive.");
+
+        this.snapshot = snapshot;
+        this.startNodeIndex = startNodeIndex;
+        this.batchSize = batchSize;
+        this.executor = executor;
+
+        distanceToNode = new double[snapshot.getNodeCount()];
+        previousNode = new int[snapshot.getNodeCount()];
+    }
+
+    /**
+     * Rejestruje subskrybenta. Jeżeli wyszukiwanie zostało już zakończone, subskrybent otrzymuje jedynie sygnał zakończenia.
+     *
+     * @param subscriber subskrybent zdarzeń
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super SettledNodeBatch> subscriber) {
+        SettledNodeSubscription subscription = new SettledNodeSubscription(subscriber);
+        boolean isCompleted;
+
+        synchronized (this) {
+            isCompleted = state.isFinished();
+
+            if (!isCompleted) {
+                subscriptions.add(subscription);
+                wasSubscribed = true;
+            }
+        }
+
+        subscriber.onSubscribe(subscription);
+
+        if (isCompleted)
+            subscription.complete();
+    }
+
+    /**
+     * Wykonuje algorytm Dijkstry od wierzchołka początkowego i publikuje paczki zdarzeń przetworzenia wierzchołków.
+     * Po zakończeniu wyszukiwania wysyła subskrybentom sygnał zakończenia.
+     *
+     * @throws IllegalStateException jeżeli wyszukiwanie zostało już uruchomione
+     */
+    public void run() {
+        synchronized (this) {
+            if (state != SearchState.NOT_STARTED)
+                throw new IllegalStateException("SettledNodePublisher: The search has already been started.");
+
+            state = SearchState.RUNNING;
+        }
+
+        Arrays.fill(distanceToNode, Double.MAX_VALUE);
+        Arrays.fill(previousNode, -1);
+
+        boolean[] parsedNodes = new boolean[snapshot.getNodeCount()];
+        NodeHeap heap = new NodeHeap(snapshot.getNodeCount());
+
+        int[] nodeIndexes = new int[batchSize];
+        double[] distances = new double[batchSize];
+        int[] previousNodes = new int[batchSize];
+        int size = 0;
+        boolean isAbandoned = false;
+
+        distanceToNode[startNodeIndex] = 0;
+        heap.insertOrDecrease(startNodeIndex, 0);
+
+        while (!heap.isEmpty()) {
+            int parsedNodeIndex = heap.poll();
+            parsedNodes[parsedNodeIndex] = true;
+            settledNodeCount++;
+
+            nodeIndexes[size] = parsedNodeIndex;
+            distances[size] = distanceToNode[parsedNodeIndex];
+            previousNodes[size] = previousNode[parsedNodeIndex];
+
+            if (++size == batchSize) {
+                publish(new SettledNodeBatch(nodeIndexes, distances, previousNodes));
+
+                nodeIndexes = new int[batchSize];
+                distances = new double[batchSize];
+                previousNodes = new int[batchSize];
+                size = 0;
+
+                if (wasSubscribed && subscriptions.isEmpty()) { // every subscriber has cancelled
+                    isAbandoned = true;
+                    break;
+                }
+            }
+
+            for (int d = 0; d < GraphSnapshot.DIRECTION_COUNT; d++) {
+                int nodeIndex = snapshot.getAdjacentNodeIndex(parsedNodeIndex, d);
+
+                if (nodeIndex == -1 || parsedNodes[nodeIndex])
+                    continue;
+
+                double distance = distanceToNode[parsedNodeIndex] + snapshot.getEdge(parsedNodeIndex, d);
+
+                if (distance < distanceToNode[nodeIndex]) {
+                    distanceToNode[nodeIndex] = distance;
+                    previousNode[nodeIndex] = parsedNodeIndex;
+                    heap.insertOrDecrease(nodeIndex, distance);
+                }
+            }
+        }
+
+        if (size > 0)
+            publish(new SettledNodeBatch(Arrays.copyOf(nodeIndexes, size), Arrays.copyOf(distances, size), Arrays.copyOf(previousNodes, size)));
+
+        synchronized (this) {
+            state = isAbandoned ? SearchState.ABANDONED : SearchState.COMPLETED;
+        }
+
+        for (SettledNodeSubscription subscription : subscriptions)
+            subscription.complete();
+    }
+
+    /**
+     * Przekazuje paczkę zdarzeń wszystkim aktywnym subskrypcjom.
+     *
+     * @param batch publikowana paczka
+     */
+    private void publish(SettledNodeBatch batch) {
+        for (SettledNodeSubscription subscription : subscriptions)
+            subscription.offer(batch);
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków przetworzonych przez algorytm. Wynik jest ostateczny po zakończeniu metody run.
+     *
+     * @return liczba przetworzonych wierzchołków
+     */
+    public int getSettledNodeCount() {
+        return settledNodeCount;
+    }
+
+    /**
+     * Tworzy drzewo najkrótszych ścieżek z wyników zakończonego wyszukiwania.
+     * Wyszukiwanie przerwane po anulowaniu wszystkich subskrypcji nie wyznacza pełnego drzewa, więc drzewo nie jest wtedy tworzone.
+     *
+     * @return drzewo najkrótszych ścieżek
+     * @throws IllegalStateException jeżeli wyszukiwanie nie zostało zakończone lub zostało przerwane
+     */
+    public synchronized ShortestPathTree toShortestPathTree() {
+        if (state == SearchState.ABANDONED)
+            throw new IllegalStateException("SettledNodePublisher: The search was abandoned after every subscriber had cancelled.");
+
+        if (state != SearchState.COMPLETED)
+            throw new IllegalStateException("SettledNodePublisher: The search has not been completed.");
+
+        return new ShortestPathTree(startNodeIndex, distanceToNode.clone(), previousNode.clone());
+    }
+
+    /**
+     * Sprawdza, czy wyszukiwanie zostało przerwane po anulowaniu wszystkich subskrypcji.
+     *
+     * @return wartość logiczna, czy wyszukiwanie zostało przerwane
+     */
+    public synchronized boolean isAbandoned() {
+        return state == SearchState.ABANDONED;
+    }
+
+    /**
+     * Typ wyliczeniowy stanów wyszukiwania.
+     */
+    private enum SearchState {
+        /**
+         * Wyszukiwanie nie zostało jeszcze uruchomione.
+         */
+        NOT_STARTED,
+        /**
+         * Wyszukiwanie jest w trakcie.
+         */
+        RUNNING,
+        /**
+         * Wyszukiwanie przetworzyło wszystkie osiągalne wierzchołki.
+         */
+        COMPLETED,
+        /**
+         * Wyszukiwanie zostało przerwane, ponieważ wszyscy subskrybenci anulowali subskrypcje.
+         */
+        ABANDONED;
+
+        /**
+         * Sprawdza, czy wyszukiwanie zostało zakończone, niezależnie od tego, czy przetworzyło wszystkie wierzchołki.
+         *
+         * @return wartość logiczna, czy wyszukiwanie zostało zakończone
+         */
+        boolean isFinished() {
+            return this == COMPLETED || this == ABANDONED;
+        }
+    }
+
+    /**
+     * Klasa reprezentująca subskrypcję jednego subskrybenta.
+     * Paczki oczekujące na zapotrzebowanie subskrybenta są przechowywane i łączone w jedną paczkę przy dostarczaniu.
+     * Zdarzenia są dostarczane kolejno przez co najwyżej jedno zadanie wykonawcy naraz.
+     */
+    private final class SettledNodeSubscription implements Flow.Subscription {
+        /**
+         * Subskrybent zdarzeń.
+         */
+        private final Flow.Subscriber<? super SettledNodeBatch> subscriber;
+        /**
+         * Paczki oczekujące na dostarczenie.
+         */
+        private final List<SettledNodeBatch> pendingBatches = new ArrayList<>();
+        /**
+         * Liczba paczek, na które subskrybent zgłosił zapotrzebowanie.
+         */
+        private long demand;
+        /**
+         * Informacja, czy wyszukiwanie zostało zakończone.
+         */
+        private boolean isCompleted;
+        /**
+         * Informacja, czy subskrypcja została zakończona (anulowana lub zakończona sygnałem).
+         */
+        private boolean isDone;
+        /**
+         * Informacja, czy zadanie dostarczające zdarzenia zostało zlecone wykonawcy.
+         */
+        private boolean isDraining;
+        /**
+         * Błąd do przekazania subskrybentowi lub null.
+         */
+        private Throwable error;
+
+        /**
+         * Konstruktor klasy
+         *
+         * @param subscriber subskrybent zdarzeń
+         */
+        private SettledNodeSubscription(Flow.Subscriber<? super SettledNodeBatch> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Zgłasza zapotrzebowanie na kolejne paczki. Niedodatnia liczba paczek kończy subskrypcję błędem.
+         *
+         * @param n liczba paczek
+         */
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (isDone)
+                    return;
+
+                if (n <= 0)
+                    error = new IllegalArgumentException("SettledNodePublisher: The number of requested batches must be positive.");
+                else
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // saturating on overflow
+            }
+
+            schedule();
+        }
+
+        /**
+         * Anuluje subskrypcję. Oczekujące paczki są odrzucane.
+         */
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                isDone = true;
+                pendingBatches.clear();
+            }
+
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Dodaje paczkę do oczekujących paczek.
+         *
+         * @param batch opublikowana paczka
+         */
+        private void offer(SettledNodeBatch batch) {
+            synchronized (this) {
+                if (isDone)
+                    return;
+
+                pendingBatches.add(batch);
+            }
+
+            schedule();
+        }
+
+        /**
+         * Oznacza zakończenie wyszukiwania. Sygnał zakończenia jest wysyłany po dostarczeniu wszystkich oczekujących paczek.
+         */
+        private void complete() {
+            synchronized (this) {
+                isCompleted = true;
+            }
+
+            schedule();
+        }
+
+        /**
+         * Zleca wykonawcy dostarczenie zdarzeń, jeżeli jest co dostarczyć i zadanie nie zostało już zlecone.
+         */
+        private void schedule() {
+            synchronized (this) {
+                if (isDone || isDraining || !(error != null || (demand > 0 && !pendingBatches.isEmpty()) || (isCompleted && pendingBatches.isEmpty())))
+                    return;
+
+                isDraining = true;
+            }
+
+            executor.execute(this::drain);
+        }
+
+        /**
+         * Dostarcza subskrybentowi oczekujące zdarzenia, dopóki zgłosił na nie zapotrzebowanie, a następnie ewentualny sygnał zakończenia.
+         */
+        private void drain() {
+            while (true) {
+                SettledNodeBatch batch = null;
+                Throwable signalledError = null;
+                boolean signalComplete = false;
+
+                synchronized (this) {
+                    if (isDone) {
+                        isDraining = false;
+                        return;
+                    }
+
+                    if (error != null) {
+                        signalledError = error;
+                        isDone = true;
+                    } else if (demand > 0 && !pendingBatches.isEmpty()) {
+                        batch = SettledNodeBatch.merge(pendingBatches);
+                        pendingBatches.clear();
+                        demand--;
+                    } else if (isCompleted && pendingBatches.isEmpty()) {
+                        signalComplete = true;
+                        isDone = true;
+                    } else {
+                        isDraining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    if (batch != null) {
+                        subscriber.onNext(batch);
+                        continue;
+                    }
+
+                    if (signalledError != null)
+                        subscriber.onError(signalledError);
+                    else if (signalComplete)
+                        subscriber.onComplete();
+                } catch (RuntimeException e) { // a failing subscriber is treated as cancelled
+                    cancel();
+                }
+
+                subscriptions.remove(this);
+
+                synchronized (this) {
+                    isDraining = false;
+                }
+
+                return;
+            }
+        }
+    }
+}
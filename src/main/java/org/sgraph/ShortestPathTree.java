@@ -0,0 +1,145 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca drzewo najkrótszych ścieżek od wierzchołka początkowego w postaci tablic typu prostego.
+ */
+public class ShortestPathTree {
+    /**
+     * Indeks wierzchołka początkowego.
+     */
+    private final int startNodeIndex;
+    /**
+     * Tablica najkrótszych odległości do wierzchołka początkowego.
+     * Wartość Double.MAX_VALUE oznacza brak połączenia.
+     */
+    private final double[] distanceToNode;
+    /**
+     * Tablica indeksów poprzedników wierzchołków na najkrótszych ścieżkach.
+     * Dla wierzchołka początkowego i wierzchołków niepołączonych, wartość ustalona na -1.
+     */
+    private final int[] previousNode;
+
+    /**
+     * Konstruktor klasy
+     * Przekazane tablice nie są kopiowane.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @param distanceToNode tablica najkrótszych odległości do wierzchołka początkowego
+     * @param previousNode   tablica indeksów poprzedników wierzchołków
+     * @throws IllegalArgumentException jeżeli tablice mają różne długości
+     */
+    public ShortestPathTree(int startNodeIndex, double[] distanceToNode, int[] previousNode) {
+        if (distanceToNode.length != previousNode.length)
+            throw new IllegalArgumentException("ShortestPathTree: Distance and predecessor arrays must have equal lengths.");
+
+        this.startNodeIndex = startNodeIndex;
+        this.distanceToNode = distanceToNode;
+        this.previousNode = previousNode;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka początkowego.
+     *
+     * @return indeks wierzchołka początkowego
+     */
+    public int getStartNodeIndex() {
+        return startNodeIndex;
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków w drzewie (wraz z niepołączonymi).
+     *
+     * @return liczba wierzchołków
+     */
+    public int getNodeCount() {
+        return distanceToNode.length;
+    }
+
+    /**
+     * Zwraca odległość wierzchołka o określonym indeksie od wierzchołka początkowego.
+     * Jeżeli wierzchołek nie jest połączony z wierzchołkiem początkowym, zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return odległość sprawdzanego wierzchołka od wierzchołka początkowego
+     */
+    public double getDistanceToNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return distanceToNode[nodeIndex] == Double.MAX_VALUE ? -1 : distanceToNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca zakres odległości wierzchołków połączonych z wierzchołkiem początkowym.
+     *
+     * @return zakres wartości odległości
+     * @see ScanKernel#distanceRange(double[])
+     */
+    public Range getDistanceRange() {
+        return ScanKernel.getDefault().distanceRange(distanceToNode);
+    }
+
+    /**
+     * Przekształca odległości wszystkich wierzchołków liniowo tak, aby granice zakresu odpowiadały wartościom 0 i 1 (np. przed wyznaczeniem kolorów).
+     * Wartości dla wierzchołków niepołączonych z wierzchołkiem początkowym nie mają znaczenia i powinny zostać pominięte.
+     *
+     * @param range zakres wartości odległości
+     * @return tablica przekształconych odległości indeksowana indeksem wierzchołka
+     * @see ScanKernel#normalize(double[], Range, double[])
+     */
+    public double[] getNormalizedDistances(Range range) {
+        double[] normalized = new double[distanceToNode.length];
+        ScanKernel.getDefault().normalize(distanceToNode, range, normalized);
+
+        return normalized;
+    }
+
+    /**
+     * Zwraca indeks poprzednika wierzchołka na najkrótszej ścieżce.
+     * Dla wierzchołka początkowego i wierzchołków niepołączonych zwraca -1.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return indeks poprzednika wierzchołka
+     */
+    public int getPreviousNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        return previousNode[nodeIndex];
+    }
+
+    /**
+     * Zwraca najkrótszą ścieżkę do wierzchołka o określonym indeksie w postaci tablicy indeksów wierzchołków.
+     * Jeżeli droga nie istnieje, to zwraca null.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @return tablica indeksów wierzchołków na ścieżce, zaczynając od wierzchołka początkowego
+     */
+    public int[] getIndexPathToNode(int nodeIndex) {
+        checkIndex(nodeIndex);
+
+        if (distanceToNode[nodeIndex] == Double.MAX_VALUE) // no path
+            return null;
+
+        int length = 0;
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            length++;
+
+        int[] path = new int[length];
+
+        for (int i = nodeIndex; i != -1; i = previousNode[i])
+            path[--length] = i;
+
+        return path;
+    }
+
+    /**
+     * Sprawdza poprawność indeksu wierzchołka.
+     *
+     * @param nodeIndex indeks sprawdzanego wierzchołka
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka jest spoza zakresu
+     */
+    private void checkIndex(int nodeIndex) {
+        if (nodeIndex < 0 || nodeIndex >= distanceToNode.length)
+            throw new IllegalArgumentException(String.format("ShortestPathTree: Invalid node index. Allowed range: %d - %d", 0, distanceToNode.length - 1));
+    }
+}
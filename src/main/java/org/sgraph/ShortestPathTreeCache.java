@@ -0,0 +1,280 @@
+package org.sgraph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Klasa przechowująca ograniczoną pamięć podręczną drzew najkrótszych ścieżek grafu, usuwającą najdawniej używane drzewa (LRU).
+ * Drzewa są identyfikowane wierzchołkiem początkowym i licznikiem modyfikacji grafu - po dodaniu lub usunięciu połączenia w grafie
+ * wszystkie zapamiętane drzewa stają się nieaktualne i są usuwane przy następnym odwołaniu.
+ * Metody klasy są synchronizowane, więc obiekt może być współdzielony między wątkami.
+ */
+public class ShortestPathTreeCache {
+    /**
+     * Przybliżony narzut pamięciowy jednego drzewa (obiekty i nagłówki tablic) w bajtach.
+     */
+    private static final long TREE_OVERHEAD = 64;
+    /**
+     * Graf, dla którego wyznaczane są drzewa.
+     */
+    private final Graph graph;
+    /**
+     * Maksymalny łączny rozmiar zapamiętanych drzew w bajtach.
+     */
+    private final long maxByteSize;
+    /**
+     * Zapamiętane drzewa indeksowane wierzchołkiem początkowym, w kolejności od najdawniej używanego.
+     */
+    private final LinkedHashMap<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Licznik modyfikacji grafu, dla którego zostały wyznaczone zapamiętane drzewa.
+     */
+    private long version = -1;
+    /**
+     * Kopia grafu odpowiadająca licznikowi modyfikacji zapamiętanych drzew.
+     */
+    private GraphSnapshot snapshot;
+    /**
+     * Tablice robocze algorytmu Dijkstry.
+     */
+    private SearchWorkspace workspace;
+    /**
+     * Łączny rozmiar zapamiętanych drzew w bajtach.
+     */
+    private long byteSize;
+    /**
+     * Liczba odwołań, dla których drzewo było zapamiętane.
+     */
+    private long hitCount;
+    /**
+     * Liczba odwołań, dla których drzewo musiało zostać wyznaczone.
+     */
+    private long missCount;
+    /**
+     * Liczba drzew usuniętych z powodu przekroczenia rozmiaru.
+     */
+    private long evictionCount;
+    /**
+     * Liczba unieważnień pamięci po modyfikacji grafu.
+     */
+    private long invalidationCount;
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param graph       graf, dla którego wyznaczane będą drzewa
+     * @param maxByteSize maksymalny łączny rozmiar zapamiętanych drzew w bajtach
+     * @throws IllegalArgumentException jeżeli maksymalny rozmiar jest ujemny
+     */
+    public ShortestPathTreeCache(Graph graph, long maxByteSize) {
+        if (maxByteSize < 0)
+            throw new IllegalArgumentException("ShortestPathTreeCache: The maximum size must not be negative.");
+
+        this.graph = graph;
+        this.maxByteSize = maxByteSize;
+    }
+
+    /**
+     * Zwraca drzewo najkrótszych ścieżek od wierzchołka początkowego, wyznaczając je, jeżeli nie jest zapamiętane lub graf został zmodyfikowany.
+     * Nowo wyznaczone drzewo jest zapamiętywane, a najdawniej używane drzewa są usuwane do czasu zmieszczenia się w maksymalnym rozmiarze.
+     * Drzewo większe od maksymalnego rozmiaru nie jest zapamiętywane.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @return drzewo najkrótszych ścieżek
+     * @throws IllegalArgumentException jeżeli indeks wierzchołka początkowego jest niepoprawny
+     */
+    public synchronized ShortestPathTree getShortestPathTree(int startNodeIndex) {
+        if (startNodeIndex < 0 || startNodeIndex >= graph.getNodeCount())
+            throw new IllegalArgumentException(String.format("ShortestPathTreeCache: Invalid starting node index. Allowed range: %d - %d", 0, graph.getNodeCount() - 1));
+
+        validate();
+
+        ShortestPathTree tree = trees.get(startNodeIndex);
+
+        if (tree != null) {
+            hitCount++;
+            return tree;
+        }
+
+        missCount++;
+
+        if (snapshot == null)
+            snapshot = new GraphSnapshot(graph);
+
+        if (workspace == null)
+            workspace = new SearchWorkspace(snapshot.getNodeCount());
+
+        workspace.run(snapshot, startNodeIndex, -1);
+        tree = workspace.toShortestPathTree();
+
+        store(tree);
+
+        return tree;
+    }
+
+    /**
+     * Zapamiętuje drzewo wyznaczone poza pamięcią podręczną (np. przez SettledNodePublisher), jeżeli graf nie został zmodyfikowany od czasu jego wyznaczenia.
+     * Najdawniej używane drzewa są usuwane do czasu zmieszczenia się w maksymalnym rozmiarze, a drzewo większe od maksymalnego rozmiaru nie jest zapamiętywane.
+     *
+     * @param tree         drzewo najkrótszych ścieżek
+     * @param graphVersion licznik modyfikacji grafu, dla którego drzewo zostało wyznaczone
+     * @return true, jeżeli drzewo zostało zapamiętane; w przeciwnym razie false
+     * @throws IllegalArgumentException jeżeli liczba wierzchołków drzewa nie odpowiada grafowi
+     */
+    public synchronized boolean put(ShortestPathTree tree, long graphVersion) {
+        if (tree.getNodeCount() != graph.getNodeCount())
+            throw new IllegalArgumentException("ShortestPathTreeCache: The tree does not match graph dimensions.");
+
+        validate();
+
+        if (graphVersion != version) // the graph changed while the tree was being built
+            return false;
+
+        ShortestPathTree previousTree = trees.remove(tree.getStartNodeIndex());
+
+        if (previousTree != null)
+            byteSize -= getTreeSize(previousTree);
+
+        return store(tree);
+    }
+
+    /**
+     * Zapamiętuje aktualne drzewo i usuwa najdawniej używane drzewa do czasu zmieszczenia się w maksymalnym rozmiarze.
+     *
+     * @param tree drzewo najkrótszych ścieżek
+     * @return true, jeżeli drzewo zostało zapamiętane; false, jeżeli jest większe od maksymalnego rozmiaru
+     */
+    private boolean store(ShortestPathTree tree) {
+        long treeSize = getTreeSize(tree);
+
+        if (treeSize > maxByteSize)
+            return false;
+
+        trees.put(tree.getStartNodeIndex(), tree);
+        byteSize += treeSize;
+
+        Iterator<Map.Entry<Integer, ShortestPathTree>> iterator = trees.entrySet().iterator();
+
+        while (byteSize > maxByteSize) {
+            byteSize -= getTreeSize(iterator.next().getValue());
+            iterator.remove();
+            evictionCount++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sprawdza, czy drzewo od wierzchołka początkowego jest zapamiętane i aktualne, nie zmieniając kolejności używania drzew.
+     *
+     * @param startNodeIndex indeks wierzchołka początkowego
+     * @return true, jeżeli drzewo jest zapamiętane; w przeciwnym razie false
+     */
+    public synchronized boolean contains(int startNodeIndex) {
+        validate();
+
+        return trees.containsKey(startNodeIndex);
+    }
+
+    /**
+     * Usuwa wszystkie zapamiętane drzewa.
+     */
+    public synchronized void clear() {
+        trees.clear();
+        byteSize = 0;
+    }
+
+    /**
+     * Zwraca liczbę zapamiętanych drzew.
+     *
+     * @return liczba zapamiętanych drzew
+     */
+    public synchronized int getTreeCount() {
+        validate();
+
+        return trees.size();
+    }
+
+    /**
+     * Zwraca łączny rozmiar zapamiętanych drzew w bajtach.
+     *
+     * @return rozmiar zapamiętanych drzew
+     */
+    public synchronized long getByteSize() {
+        validate();
+
+        return byteSize;
+    }
+
+    /**
+     * Zwraca maksymalny łączny rozmiar zapamiętanych drzew w bajtach.
+     *
+     * @return maksymalny rozmiar zapamiętanych drzew
+     */
+    public long getMaxByteSize() {
+        return maxByteSize;
+    }
+
+    /**
+     * Zwraca liczbę odwołań, dla których drzewo było zapamiętane.
+     *
+     * @return liczba trafień
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Zwraca liczbę odwołań, dla których drzewo musiało zostać wyznaczone.
+     *
+     * @return liczba chybień
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Zwraca liczbę drzew usuniętych z powodu przekroczenia rozmiaru.
+     *
+     * @return liczba usuniętych drzew
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Zwraca liczbę unieważnień pamięci po modyfikacji grafu.
+     *
+     * @return liczba unieważnień
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Zwraca rozmiar drzewa w bajtach - tablicę odległości typu double i tablicę poprzedników typu int wraz z narzutem.
+     *
+     * @param tree drzewo najkrótszych ścieżek
+     * @return rozmiar drzewa w bajtach
+     */
+    static long getTreeSize(ShortestPathTree tree) {
+        return (8L + 4L) * tree.getNodeCount() + TREE_OVERHEAD;
+    }
+
+    /**
+     * Usuwa zapamiętane drzewa i kopię grafu, jeżeli graf został zmodyfikowany od czasu ich wyznaczenia.
+     */
+    private void validate() {
+        if (graph.getVersion() == version)
+            return;
+
+        if (!trees.isEmpty())
+            invalidationCount++;
+
+        trees.clear();
+        byteSize = 0;
+        snapshot = null;
+        version = graph.getVersion();
+    }
+}
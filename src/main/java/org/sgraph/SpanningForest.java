@@ -0,0 +1,106 @@
+package org.sgraph;
+
+/**
+ * Klasa przechowująca minimalny las rozpinający grafu-siatki jako zbiór bitowy indeksów krawędzi.
+ * Krawędź o indeksie 2i łączy wierzchołek i z sąsiadem po prawej, a krawędź o indeksie 2i + 1 - z sąsiadem poniżej.
+ * Obiekty klasy są niezmienne.
+ *
+ * @see SpanningForestFinder
+ */
+public class SpanningForest {
+    /**
+     * Zbiór bitowy krawędzi lasu - bit e słowa e / 64 oznacza krawędź o indeksie e.
+     */
+    private final long[] edgeBits;
+    /**
+     * Liczba wierzchołków grafu.
+     */
+    private final int nodeCount;
+    /**
+     * Liczba krawędzi lasu.
+     */
+    private final int edgeCount;
+    /**
+     * Suma wag krawędzi lasu.
+     */
+    private final double totalWeight;
+
+    /**
+     * Konstruktor klasy
+     * Przekazana tablica nie jest kopiowana i nie może być później modyfikowana.
+     *
+     * @param edgeBits    zbiór bitowy krawędzi lasu
+     * @param nodeCount   liczba wierzchołków grafu
+     * @param edgeCount   liczba krawędzi lasu
+     * @param totalWeight suma wag krawędzi lasu
+     */
+    SpanningForest(long[] edgeBits, int nodeCount, int edgeCount, double totalWeight) {
+        this.edgeBits = edgeBits;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Sprawdza, czy krawędź należy do lasu.
+     *
+     * @param edgeIndex indeks krawędzi
+     * @return true, jeżeli krawędź należy do lasu; w przeciwnym razie false
+     */
+    public boolean containsEdge(int edgeIndex) {
+        return (edgeBits[edgeIndex >>> 6] & (1L << edgeIndex)) != 0;
+    }
+
+    /**
+     * Zwraca liczbę krawędzi lasu.
+     *
+     * @return liczba krawędzi
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Zwraca liczbę drzew lasu, czyli liczbę spójnych składowych grafu.
+     *
+     * @return liczba drzew
+     */
+    public int getTreeCount() {
+        return nodeCount - edgeCount;
+    }
+
+    /**
+     * Zwraca sumę wag krawędzi lasu.
+     *
+     * @return suma wag
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Zwraca indeksy krawędzi lasu w rosnącej kolejności.
+     *
+     * @return tablica indeksów krawędzi
+     */
+    public int[] getEdgeIndexes() {
+        int[] edgeIndexes = new int[edgeCount];
+        int k = 0;
+
+        for (int w = 0; w < edgeBits.length; w++) {
+            for (long bits = edgeBits[w]; bits != 0; bits &= bits - 1)
+                edgeIndexes[k++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        return edgeIndexes;
+    }
+
+    /**
+     * Zwraca kopię zbioru bitowego krawędzi lasu.
+     *
+     * @return zbiór bitowy krawędzi
+     */
+    public long[] getEdgeBits() {
+        return edgeBits.clone();
+    }
+}
@@ -0,0 +1,355 @@
+package org.sgraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Klasa odpowiadająca za wyznaczanie minimalnego lasu rozpinającego grafu-siatki, czyli najtańszego zbioru krawędzi
+ * zachowującego połączenia między wszystkimi wierzchołkami każdej spójnej składowej.
+ * Duże grafy są przetwarzane równolegle rundami algorytmu Borůvki w puli ForkJoinPool, a małe - algorytmem Kruskala
+ * z sortowaniem pozycyjnym wag. Krawędzie o równych wagach są porządkowane według indeksu, więc las jest jednoznaczny
+ * i obie metody zwracają ten sam wynik.
+ *
+ * @see SpanningForest
+ */
+public class SpanningForestFinder {
+    /**
+     * Liczba wierzchołków, od której las jest wyznaczany równolegle, jeżeli pula ma więcej niż jeden wątek.
+     */
+    private static final int PARALLEL_NODE_COUNT = 1 << 18;
+    /**
+     * Liczba wierzchołków lub składowych przetwarzanych sekwencyjnie przez jedno zadanie.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+    /**
+     * Liczba bitów klucza sortowanych w jednym przebiegu sortowania pozycyjnego.
+     */
+    private static final int RADIX_BITS = 16;
+    /**
+     * Kopia grafu, w którym wyznaczany jest las.
+     */
+    private final GraphSnapshot snapshot;
+    /**
+     * Pula wątków przetwarzająca rundy algorytmu Borůvki.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Konstruktor klasy
+     * Tworzy kopię przekazanego grafu i przetwarza duże grafy we wspólnej puli ForkJoinPool.
+     *
+     * @param graph graf, w którym będzie wyznaczany las
+     */
+    public SpanningForestFinder(Graph graph) {
+        this(new GraphSnapshot(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor klasy
+     *
+     * @param snapshot kopia grafu, w którym będzie wyznaczany las
+     * @param pool     pula wątków przetwarzająca duże grafy
+     */
+    public SpanningForestFinder(GraphSnapshot snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Wyznacza minimalny las rozpinający grafu metodą dobraną do rozmiaru grafu i liczby wątków puli.
+     *
+     * @return minimalny las rozpinający
+     */
+    public SpanningForest find() {
+        if (snapshot.getNodeCount() >= PARALLEL_NODE_COUNT && pool.getParallelism() > 1)
+            return findBoruvka();
+
+        return findKruskal();
+    }
+
+    /**
+     * Wyznacza minimalny las rozpinający algorytmem Kruskala.
+     * Istniejące krawędzie są sortowane pozycyjnie według bitów wag (dla nieujemnych wartości typu double porządek bitów
+     * jest zgodny z porządkiem wartości), a sortowanie jest stabilne, więc krawędzie o równych wagach zachowują rosnącą kolejność indeksów.
+     *
+     * @return minimalny las rozpinający
+     */
+    SpanningForest findKruskal() {
+        int nodeCount = snapshot.getNodeCount();
+        int columnCount = snapshot.getColumnCount();
+        IntArrayList existingEdges = new IntArrayList();
+
+        for (int e = 0; e < snapshot.getEdgeIndexCount(); e++) {
+            if (snapshot.getEdge(e) != 0)
+                existingEdges.add(e);
+        }
+
+        int[] edgeIndexes = sortByWeight(existingEdges.toArray());
+        int[] parent = new int[nodeCount];
+        long[] edgeBits = new long[(snapshot.getEdgeIndexCount() + 63) >>> 6];
+
+        for (int i = 0; i < nodeCount; i++)
+            parent[i] = i;
+
+        for (int e : edgeIndexes) {
+            int first = find(parent, e / 2);
+            int second = find(parent, getOtherEnd(e, columnCount));
+
+            if (first == second)
+                continue;
+
+            parent[Math.max(first, second)] = Math.min(first, second);
+            edgeBits[e >>> 6] |= 1L << e;
+        }
+
+        return createForest(edgeBits);
+    }
+
+    /**
+     * Wyznacza minimalny las rozpinający równoległymi rundami algorytmu Borůvki.
+     * W każdej rundzie każda składowa wybiera najlżejszą krawędź prowadzącą do innej składowej (minimum wyznaczane operacjami compare-and-set),
+     * wybrane krawędzie są dodawane do lasu, a połączone składowe otrzymują wspólną etykietę. Liczba składowych maleje co najmniej dwukrotnie w każdej rundzie.
+     *
+     * @return minimalny las rozpinający
+     */
+    SpanningForest findBoruvka() {
+        int nodeCount = snapshot.getNodeCount();
+        int columnCount = snapshot.getColumnCount();
+
+        int[] component = new int[nodeCount];
+        int[] parent = new int[nodeCount];
+        int[] root = new int[nodeCount];
+        int[] components = new int[nodeCount]; // labels of the components which still have outgoing edges
+        AtomicIntegerArray lightestEdge = new AtomicIntegerArray(nodeCount);
+        AtomicLongArray edgeBits = new AtomicLongArray((snapshot.getEdgeIndexCount() + 63) >>> 6);
+
+        for (int i = 0; i < nodeCount; i++) {
+            component[i] = i;
+            components[i] = i;
+        }
+
+        int componentCount = nodeCount;
+
+        while (componentCount > 0) {
+            int[] active = components;
+
+            ParallelTasks.forEachRange(pool, 0, componentCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+                for (int k = from; k < to; k++)
+                    lightestEdge.set(active[k], -1);
+            });
+
+            // every edge is offered to the components on both of its ends
+            ParallelTasks.forEachRange(pool, 0, nodeCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+                for (int u = from; u < to; u++) {
+                    for (int e = 2 * u; e <= 2 * u + 1; e++) {
+                        if (snapshot.getEdge(e) == 0)
+                            continue;
+
+                        int first = component[u];
+                        int second = component[getOtherEnd(e, columnCount)];
+
+                        if (first != second) {
+                            offerEdge(lightestEdge, first, e);
+                            offerEdge(lightestEdge, second, e);
+                        }
+                    }
+                }
+            });
+
+            // each component hooks onto the component at the other end of its lightest edge;
+            // two components choosing the same edge would form a cycle, so the one with the lower label stays a root
+            ParallelTasks.forEachRange(pool, 0, componentCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    int c = active[k];
+                    int e = lightestEdge.get(c);
+
+                    if (e == -1) {
+                        parent[c] = c;
+                        continue;
+                    }
+
+                    int first = component[e / 2];
+                    int other = first == c ? component[getOtherEnd(e, columnCount)] : first;
+                    parent[c] = lightestEdge.get(other) == e && c < other ? c : other;
+                    edgeBits.accumulateAndGet(e >>> 6, 1L << e, (a, b) -> a | b);
+                }
+            });
+
+            ParallelTasks.forEachRange(pool, 0, componentCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    int c = active[k];
+
+                    while (parent[c] != c)
+                        c = parent[c];
+
+                    root[active[k]] = c;
+                }
+            });
+
+            ParallelTasks.forEachRange(pool, 0, nodeCount, SEQUENTIAL_THRESHOLD, (from, to) -> {
+                for (int u = from; u < to; u++)
+                    component[u] = root[component[u]];
+            });
+
+            // components without outgoing edges are finished trees
+            int remaining = 0;
+
+            for (int k = 0; k < componentCount; k++) {
+                int c = active[k];
+
+                if (root[c] == c && lightestEdge.get(c) != -1)
+                    components[remaining++] = c;
+            }
+
+            componentCount = remaining;
+        }
+
+        long[] bits = new long[edgeBits.length()];
+
+        for (int w = 0; w < bits.length; w++)
+            bits[w] = edgeBits.get(w);
+
+        return createForest(bits);
+    }
+
+    /**
+     * Zgłasza krawędź jako kandydata na najlżejszą krawędź wychodzącą ze składowej i zapisuje ją, jeżeli jest lżejsza od aktualnej.
+     *
+     * @param lightestEdge tablica najlżejszych krawędzi składowych (-1, jeżeli składowa nie ma jeszcze kandydata)
+     * @param c            etykieta składowej
+     * @param e            indeks krawędzi
+     */
+    private void offerEdge(AtomicIntegerArray lightestEdge, int c, int e) {
+        while (true) {
+            int current = lightestEdge.get(c);
+
+            if (current != -1 && !isLighter(e, current))
+                return;
+
+            if (lightestEdge.compareAndSet(c, current, e))
+                return;
+        }
+    }
+
+    /**
+     * Sprawdza, czy krawędź jest lżejsza od innej krawędzi. Krawędzie o równych wagach są porządkowane według indeksu.
+     *
+     * @param e indeks pierwszej krawędzi
+     * @param f indeks drugiej krawędzi
+     * @return true, jeżeli pierwsza krawędź jest lżejsza; w przeciwnym razie false
+     */
+    private boolean isLighter(int e, int f) {
+        double we = snapshot.getEdge(e);
+        double wf = snapshot.getEdge(f);
+
+        return we < wf || (we == wf && e < f);
+    }
+
+    /**
+     * Sortuje stabilnie indeksy krawędzi według wag, przetwarzając bity wag od najmniej znaczących grupami po 16 bitów.
+     * Przebiegi, w których wszystkie klucze mają te same bity, są pomijane.
+     *
+     * @param edgeIndexes tablica indeksów krawędzi w rosnącej kolejności
+     * @return tablica indeksów krawędzi posortowana według wag
+     */
+    private int[] sortByWeight(int[] edgeIndexes) {
+        int size = edgeIndexes.length;
+        long[] keys = new long[size];
+        long[] keyBuffer = new long[size];
+        int[] buffer = new int[size];
+        int[] counts = new int[1 << RADIX_BITS];
+
+        for (int k = 0; k < size; k++)
+            keys[k] = Double.doubleToRawLongBits(snapshot.getEdge(edgeIndexes[k]));
+
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (long key : keys)
+                counts[(int) (key >>> shift) & ((1 << RADIX_BITS) - 1)]++;
+
+            if (size == 0 || counts[(int) (keys[0] >>> shift) & ((1 << RADIX_BITS) - 1)] == size)
+                continue;
+
+            for (int d = 0, offset = 0; d < counts.length; d++) {
+                int count = counts[d];
+                counts[d] = offset;
+                offset += count;
+            }
+
+            for (int k = 0; k < size; k++) {
+                int position = counts[(int) (keys[k] >>> shift) & ((1 << RADIX_BITS) - 1)]++;
+                buffer[position] = edgeIndexes[k];
+                keyBuffer[position] = keys[k];
+            }
+
+            int[] swapIndexes = edgeIndexes;
+            edgeIndexes = buffer;
+            buffer = swapIndexes;
+
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+        }
+
+        return edgeIndexes;
+    }
+
+    /**
+     * Tworzy obiekt lasu, zliczając krawędzie i sumę ich wag.
+     *
+     * @param edgeBits zbiór bitowy krawędzi lasu
+     * @return las rozpinający
+     */
+    private SpanningForest createForest(long[] edgeBits) {
+        int edgeCount = 0;
+        double totalWeight = 0;
+
+        for (int w = 0; w < edgeBits.length; w++) {
+            for (long bits = edgeBits[w]; bits != 0; bits &= bits - 1) {
+                totalWeight += snapshot.getEdge((w << 6) + Long.numberOfTrailingZeros(bits));
+                edgeCount++;
+            }
+        }
+
+        return new SpanningForest(edgeBits, snapshot.getNodeCount(), edgeCount, totalWeight);
+    }
+
+    /**
+     * Zwraca indeks korzenia drzewa wierzchołka w lesie find-union, skracając ścieżkę o połowę.
+     *
+     * @param parent    tablica rodziców
+     * @param nodeIndex indeks wierzchołka
+     * @return indeks korzenia
+     */
+    private static int find(int[] parent, int nodeIndex) {
+        while (parent[nodeIndex] != nodeIndex) {
+            parent[nodeIndex] = parent[parent[nodeIndex]];
+            nodeIndex = parent[nodeIndex];
+        }
+
+        return nodeIndex;
+    }
+
+    /**
+     * Zwraca indeks wierzchołka na drugim końcu krawędzi wychodzącej z wierzchołka e / 2.
+     *
+     * @param e           indeks krawędzi
+     * @param columnCount liczba kolumn w siatce
+     * @return indeks sąsiada po prawej dla krawędzi parzystych lub sąsiada poniżej dla krawędzi nieparzystych
+     */
+    private static int getOtherEnd(int e, int columnCount) {
+        return e % 2 == 0 ? e / 2 + 1 : e / 2 + columnCount;
+    }
+
+    /**
+     * Zwraca kopię grafu, w którym wyznaczany jest las.
+     *
+     * @return kopia grafu
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,190 @@
+package org.sgraph;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Klasa z implementacjami pętli klasy ScanKernel korzystającymi z inkubowanego modułu jdk.incubator.vector.
+ * Klasa może zostać załadowana tylko wtedy, gdy moduł jest dostępny w warstwie startowej (np. po uruchomieniu z opcją --add-modules jdk.incubator.vector),
+ * dlatego odwołuje się do niej wyłącznie implementacja ScanKernel.VECTOR po sprawdzeniu dostępności modułu.
+ * Wartości przetwarzane są w wektorach o długości preferowanej przez procesor, a końcówka tablicy - pojedynczo.
+ *
+ * @see ScanKernel#VECTOR
+ */
+final class VectorScanKernels {
+    /**
+     * Rodzaj wektorów liczb typu double o długości preferowanej przez procesor.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    /**
+     * Rodzaj wektorów liczb typu int o tej samej liczbie elementów co wektory SPECIES.
+     */
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+    /**
+     * Liczba wartości, dla których numery przedziałów histogramu są wyznaczane przed zliczeniem.
+     */
+    private static final int HISTOGRAM_CHUNK_SIZE = 1024;
+
+    /**
+     * Konstruktor klasy
+     * Klasa zawiera wyłącznie metody statyczne.
+     */
+    private VectorScanKernels() {
+    }
+
+    /**
+     * Zwraca zakres wartości wag krawędzi z pominięciem brakujących krawędzi o wadze 0.
+     *
+     * @param edges tablica wag krawędzi
+     * @return zakres wartości wag lub [0;0], jeżeli w tablicy nie ma żadnych krawędzi
+     */
+    static Range edgeValueRange(double[] edges) {
+        DoubleVector infinity = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector minVector = infinity;
+        DoubleVector maxVector = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(edges.length);
+        int i = 0;
+
+        // missing edges (0) are blended to infinity so that they never lower the minimum
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, edges, i);
+
+            maxVector = maxVector.max(v);
+            minVector = minVector.min(v.blend(infinity, v.eq(0)));
+        }
+
+        double min = minVector.reduceLanes(VectorOperators.MIN);
+        double max = maxVector.reduceLanes(VectorOperators.MAX);
+
+        for (; i < edges.length; i++) {
+            max = Math.max(max, edges[i]);
+
+            if (edges[i] != 0)
+                min = Math.min(min, edges[i]);
+        }
+
+        return (max == 0) ? new Range(0, 0) : new Range(min, max);
+    }
+
+    /**
+     * Zwraca zakres wartości odległości z pominięciem nieosiągniętych wierzchołków o odległości Double.MAX_VALUE.
+     *
+     * @param distances tablica odległości
+     * @return zakres wartości odległości lub [0;0], jeżeli żaden wierzchołek nie został osiągnięty
+     */
+    static Range distanceRange(double[] distances) {
+        DoubleVector minusOne = DoubleVector.broadcast(SPECIES, -1);
+        DoubleVector minVector = DoubleVector.broadcast(SPECIES, Double.MAX_VALUE);
+        DoubleVector maxVector = minusOne;
+        int bound = SPECIES.loopBound(distances.length);
+        int i = 0;
+
+        // unreached nodes never lower the minimum and are blended to -1 for the maximum
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, distances, i);
+
+            minVector = minVector.min(v);
+            maxVector = maxVector.max(v.blend(minusOne, v.eq(Double.MAX_VALUE)));
+        }
+
+        double min = minVector.reduceLanes(VectorOperators.MIN);
+        double max = maxVector.reduceLanes(VectorOperators.MAX);
+
+        for (; i < distances.length; i++) {
+            if (distances[i] == Double.MAX_VALUE)
+                continue;
+
+            min = Math.min(min, distances[i]);
+            max = Math.max(max, distances[i]);
+        }
+
+        return (max == -1) ? new Range(0, 0) : new Range(min, max);
+    }
+
+    /**
+     * Przekształca wartości liniowo tak, aby granice zakresu odpowiadały wartościom 0 i 1.
+     *
+     * @param values tablica wartości
+     * @param min    lewa granica zakresu
+     * @param scale  odwrotność szerokości zakresu lub 0, jeżeli granice zakresu są równe
+     * @param target tablica, do której zostaną zapisane przekształcone wartości
+     */
+    static void normalize(double[] values, double min, double scale, double[] target) {
+        int bound = SPECIES.loopBound(values.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length())
+            DoubleVector.fromArray(SPECIES, values, i).sub(min).mul(scale).intoArray(target, i);
+
+        for (; i < values.length; i++)
+            target[i] = (values[i] - min) * scale;
+    }
+
+    /**
+     * Zlicza wartości z zakresu w przedziałach równej szerokości.
+     * Numery przedziałów są wyznaczane wektorowo dla kolejnych fragmentów tablicy, a zliczanie odbywa się pojedynczo.
+     *
+     * @param values   tablica wartości
+     * @param min      lewa granica zakresu
+     * @param max      prawa granica zakresu
+     * @param scale    liczba przedziałów na jednostkę wartości
+     * @param bins     tablica liczby wartości w przedziałach
+     */
+    static void histogram(double[] values, double min, double max, double scale, int[] bins) {
+        int binCount = bins.length;
+        int[] counts = new int[binCount + 1]; // the extra bin collects values outside the range
+        int[] chunk = new int[HISTOGRAM_CHUNK_SIZE];
+        int bound = SPECIES.loopBound(values.length);
+        int i = 0;
+
+        while (i < bound) {
+            int chunkEnd = Math.min(bound, i + HISTOGRAM_CHUNK_SIZE);
+            int length = 0;
+
+            for (; i < chunkEnd; i += SPECIES.length(), length += SPECIES.length()) {
+                DoubleVector v = DoubleVector.fromArray(SPECIES, values, i);
+                VectorMask<Double> outside = v.lt(min).or(v.compare(VectorOperators.GT, max));
+                DoubleVector bin = v.sub(min).mul(scale).min(binCount - 1).blend(binCount, outside);
+
+                ((IntVector) bin.convertShape(VectorOperators.D2I, INT_SPECIES, 0)).intoArray(chunk, length);
+            }
+
+            for (int j = 0; j < length; j++)
+                counts[chunk[j]]++;
+        }
+
+        for (; i < values.length; i++) {
+            if (values[i] >= min && values[i] <= max)
+                counts[Math.min((int) ((values[i] - min) * scale), binCount - 1)]++;
+        }
+
+        System.arraycopy(counts, 0, bins, 0, binCount);
+    }
+
+    /**
+     * Zlicza wartości równe przekazanej wartości.
+     *
+     * @param values tablica wartości
+     * @param value  zliczana wartość
+     * @return liczba wartości równych przekazanej wartości
+     */
+    static int count(double[] values, double value) {
+        int bound = SPECIES.loopBound(values.length);
+        int count = 0;
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length())
+            count += DoubleVector.fromArray(SPECIES, values, i).eq(value).trueCount();
+
+        for (; i < values.length; i++) {
+            if (values[i] == value)
+                count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,96 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetBreadthFirstSearchTest {
+
+    @Test
+    void run() {
+        BitsetBreadthFirstSearch instance = new BitsetBreadthFirstSearch(new GraphSnapshot(TestGraphs.createDetourGrid()));
+        instance.run(0);
+        int[] expectedValue = {0, 1, 2, 1, 2, 3};
+        int[] actualValue = instance.getHopDistances();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(3, instance.getLevelCount());
+        assertFalse(instance.hasNotVisitedNode());
+    }
+
+    @Test
+    void runMatchesBreadthFirstSearch() {
+        // narrow enough for the frontier to switch to the bitset expansion
+        Graph graph = GraphGenerator.generateGraph(20, 1500, 3, 0.5, 4.0);
+        GraphSnapshot snapshot = new GraphSnapshot(graph);
+        BitsetBreadthFirstSearch instance = new BitsetBreadthFirstSearch(snapshot);
+        instance.run(0);
+
+        BreadthFirstSearch bfs = new BreadthFirstSearch(graph);
+        bfs.run(0);
+        ArrayList<Integer> expectedValue = bfs.getConnectedNodeIndexes();
+        expectedValue.add(0); // the old search does not list the starting node
+        expectedValue.sort(null);
+
+        assertArrayEquals(expectedValue.stream().mapToInt(Integer::intValue).toArray(), instance.getVisitedNodeIndexes());
+        assertTrue(instance.getBottomUpLevelCount() > 0);
+
+        // every reached node is one hop further than its closest reached neighbour
+        for (int i : instance.getVisitedNodeIndexes()) {
+            int closest = Integer.MAX_VALUE;
+
+            for (Move.MoveDirection direction : new Move.MoveDirection[]{Move.MoveDirection.UP, Move.MoveDirection.LEFT, Move.MoveDirection.RIGHT, Move.MoveDirection.DOWN}) {
+                int neighbour = snapshot.getAdjacentNodeIndex(i, direction);
+
+                if (neighbour != -1)
+                    closest = Math.min(closest, instance.getHopDistance(neighbour));
+            }
+
+            assertEquals(i == 0 ? 0 : closest + 1, instance.getHopDistance(i));
+        }
+    }
+
+    @Test
+    void countComponents() {
+        Graph graph = GraphGenerator.generateGraph(200, 150, 4, 0.5, 4.0);
+        int expectedValue = 0;
+        BreadthFirstSearch bfs = new BreadthFirstSearch(graph);
+
+        while (bfs.hasNotVisitedNode()) {
+            expectedValue++;
+            bfs.run(bfs.getNotVisitedNode());
+        }
+
+        int actualValue = BitsetBreadthFirstSearch.countComponents(new GraphSnapshot(graph));
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void countComponentsWithMask() {
+        Graph graph = GraphGenerator.generateGraph(200, 150, 1, 0.5, 4.0);
+        BlockMask mask = new BlockMask(200, 150);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 4000; i++) {
+            mask.blockNode(random.nextInt(graph.getNodeCount()));
+            mask.blockEdge(random.nextInt(2 * graph.getNodeCount()));
+        }
+
+        int expectedValue = 0;
+        BreadthFirstSearch bfs = new BreadthFirstSearch(graph, mask);
+
+        while (bfs.hasNotVisitedNode()) {
+            expectedValue++;
+            bfs.run(bfs.getNotVisitedNode());
+        }
+
+        int actualValue = BitsetBreadthFirstSearch.countComponents(new GraphSnapshot(graph), mask);
+
+        assertEquals(expectedValue, actualValue);
+        assertTrue(actualValue > 1);
+    }
+}
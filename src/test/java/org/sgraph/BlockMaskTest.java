@@ -0,0 +1,58 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockMaskTest {
+
+    @Test
+    void blockConnection() {
+        BlockMask instance = new BlockMask(3, 2);
+        instance.blockConnection(1, 0);
+        instance.blockConnection(4, 1);
+        long[] expectedValue = {0b1001}; // edges 0 (0-1) and 3 (1-4)
+        long[] actualValue = instance.getBlockedEdgeBits();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(2, instance.getBlockedEdgeCount());
+
+        instance.unblockConnection(0, 1);
+
+        assertFalse(instance.isEdgeBlocked(0));
+        assertThrows(IllegalArgumentException.class, () -> instance.blockConnection(2, 3)); // 2 is in the last column
+    }
+
+    @Test
+    void isNodeBlocked() {
+        BlockMask instance = new BlockMask(3, 2, new long[]{0b100000}, null);
+
+        assertTrue(instance.isNodeBlocked(5));
+        assertFalse(instance.isNodeBlocked(4));
+        assertThrows(IllegalArgumentException.class, () -> instance.isNodeBlocked(6));
+        assertThrows(IllegalArgumentException.class, () -> new BlockMask(3, 2, new long[2], null));
+    }
+
+    @Test
+    void isConnectionBlocked() {
+        // in a single column every connection is vertical
+        Graph graph = new Graph(1, 3);
+        graph.addConnection(0, 1, 1.0);
+        graph.addConnection(1, 2, 1.0);
+        BlockMask mask = new BlockMask(1, 3);
+        mask.blockConnection(0, 1);
+
+        assertTrue(mask.isConnectionBlocked(0, 1));
+        assertTrue(mask.isConnectionBlocked(1, 0));
+        assertFalse(mask.isConnectionBlocked(1, 2));
+
+        BreadthFirstSearch instance = new BreadthFirstSearch(graph, mask);
+        instance.run(0);
+        BreadthFirstSearch snapshotInstance = new BreadthFirstSearch(new GraphSnapshot(graph), mask);
+        snapshotInstance.run(0);
+
+        assertTrue(instance.getConnectedNodeIndexes().isEmpty());
+        assertTrue(snapshotInstance.getConnectedNodeIndexes().isEmpty());
+        assertEquals(2, BitsetBreadthFirstSearch.countComponents(new GraphSnapshot(graph), mask));
+    }
+}
@@ -0,0 +1,28 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void isCancelled() {
+        CancellationToken instance = new CancellationToken();
+
+        assertFalse(instance.isCancelled());
+        instance.cancel();
+        assertTrue(instance.isCancelled());
+        assertTrue(CancellationToken.withTimeout(0).isCancelled());
+        assertFalse(CancellationToken.none().isCancelled());
+    }
+
+    @Test
+    void throwIfCancelled() {
+        CancellationToken instance = CancellationToken.withTimeout(0);
+
+        assertThrows(CancellationException.class, () -> GraphGenerator.generateGraph(10, 10, 1, 0, 1, instance));
+    }
+}
@@ -0,0 +1,89 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.InputMismatchException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractionHierarchyQueryTest {
+
+    @Test
+    void findPath() {
+        ContractionHierarchyQuery instance = new ContractionHierarchyQuery(ContractionHierarchy.build(TestGraphs.createDetourGrid()));
+        PathQueryResult result = instance.findPath(0, 2);
+        int[] expectedValue = {0, 3, 4, 1, 2};
+        int[] actualValue = result.getPath();
+
+        assertEquals(4.0, result.getDistance());
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void findPathMatchesPathFinder() {
+        Graph graph = GraphGenerator.generateGraph(15, 12, 1, 0.5, 4.0);
+        ContractionHierarchyQuery instance = new ContractionHierarchyQuery(ContractionHierarchy.build(graph));
+
+        for (int start = 0; start < graph.getNodeCount(); start += 17) {
+            PathFinder pathFinder = new PathFinder(graph, start);
+            pathFinder.run();
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                double expectedValue = pathFinder.getDistanceToNode(target);
+                double actualValue = instance.findPath(start, target).getDistance();
+
+                assertEquals(expectedValue, actualValue, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void readFromFile(@TempDir File directory) throws IOException {
+        File file = new File(directory, "graph.ch");
+        ContractionHierarchy.build(TestGraphs.createDetourGrid()).writeToFile(file);
+        ContractionHierarchyQuery instance = new ContractionHierarchyQuery(ContractionHierarchy.readFromFile(file));
+        double expectedValue = 5.0;
+        double actualValue = instance.findPath(5, 0).getDistance();
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    private File writeCorrupted(File directory, ContractionHierarchy hierarchy, long position, int value) throws IOException {
+        File file = new File(directory, "corrupt.ch");
+        hierarchy.writeToFile(file);
+
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(position);
+            out.writeInt(value);
+        }
+
+        return file;
+    }
+
+    @Test
+    void readFromFileWithInconsistentArrays(@TempDir File directory) throws IOException {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(TestGraphs.createDetourGrid());
+        int nodeCount = hierarchy.getNodeCount();
+        long firstEdgePosition = 24 + 4L * nodeCount;
+        long edgePosition = firstEdgePosition + 4L * (nodeCount + 1);
+
+        File repeatedRank = writeCorrupted(directory, hierarchy, 24, hierarchy.getRank(1));
+        assertThrows(InputMismatchException.class, () -> ContractionHierarchy.readFromFile(repeatedRank));
+
+        File decreasingOffset = writeCorrupted(directory, hierarchy, firstEdgePosition + 4, hierarchy.getFirstEdge(2) + 1);
+        assertThrows(InputMismatchException.class, () -> ContractionHierarchy.readFromFile(decreasingOffset));
+
+        File invalidTarget = writeCorrupted(directory, hierarchy, edgePosition, nodeCount);
+        assertThrows(InputMismatchException.class, () -> ContractionHierarchy.readFromFile(invalidTarget));
+
+        File invalidMiddle = writeCorrupted(directory, hierarchy, edgePosition + 12, -2);
+        assertThrows(InputMismatchException.class, () -> ContractionHierarchy.readFromFile(invalidMiddle));
+
+        File invalidEdgeCount = writeCorrupted(directory, hierarchy, 12, Integer.MAX_VALUE);
+        assertThrows(InputMismatchException.class, () -> ContractionHierarchy.readFromFile(invalidEdgeCount));
+    }
+}
@@ -0,0 +1,34 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSteppingPathFinderTest {
+
+    @Test
+    void getDistanceToNode() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 1, 0.5, 4.0);
+        ShortestPathTree expectedValue;
+
+        try (PathQueryService service = new PathQueryService(graph, 1)) {
+            expectedValue = service.findShortestPathTree(7).join();
+        }
+
+        DeltaSteppingPathFinder instance = new DeltaSteppingPathFinder(new GraphSnapshot(graph), 7, 0.75, ForkJoinPool.commonPool());
+        instance.run();
+
+        for (int i = 0; i < graph.getNodeCount(); i++)
+            assertEquals(expectedValue.getDistanceToNode(i), instance.getDistanceToNode(i));
+    }
+
+    @Test
+    void getDefaultDelta() {
+        double expectedValue = 1.5;
+        double actualValue = DeltaSteppingPathFinder.getDefaultDelta(new Range(1, 2));
+
+        assertEquals(expectedValue, actualValue);
+    }
+}
@@ -0,0 +1,45 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceMatrixTest {
+
+    @Test
+    void calculate() {
+        Graph graph = new Graph(3, 1);
+        graph.addConnection(0, 1, 1.0);
+        graph.addConnection(1, 2, 2.0);
+
+        DistanceMatrix instance = DistanceMatrix.calculate(graph, new int[]{0, 2}, new int[]{0, 1, 2});
+        double[][] expectedValue = {{0.0, 1.0, 3.0}, {3.0, 2.0, 0.0}};
+        double[][] actualValue = instance.toArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void getDistance() {
+        Graph graph = new Graph(2, 2);
+        graph.addConnection(0, 1, 1.5);
+
+        DistanceMatrix instance = DistanceMatrix.calculate(graph, new int[]{0}, new int[]{1, 3});
+
+        assertEquals(1.5, instance.getDistance(0, 0));
+        assertEquals(-1, instance.getDistance(0, 1));
+    }
+
+    @Test
+    void calculateWithoutTargets() {
+        Graph graph = new Graph(3, 1);
+        graph.addConnection(0, 1, 1.0);
+
+        DistanceMatrix instance = DistanceMatrix.calculate(graph, new int[]{0, 2}, new int[0]);
+        double[][] expectedValue = {{}, {}};
+        double[][] actualValue = instance.toArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrix.calculate(graph, new int[]{3}, new int[0]));
+    }
+}
@@ -0,0 +1,53 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicShortestPathTreeTest {
+
+    @Test
+    void removeConnection() {
+        DynamicShortestPathTree instance = new DynamicShortestPathTree(TestGraphs.createDetourGrid(), 0);
+        instance.removeConnection(4, 1);
+        double expectedValue = 6.0;
+        double actualValue = instance.getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(5.0, instance.getDistanceToNode(1));
+    }
+
+    @Test
+    void addConnection() {
+        Graph graph = TestGraphs.createDetourGrid();
+        graph.removeConnection(0, 1);
+        DynamicShortestPathTree instance = new DynamicShortestPathTree(graph, 0);
+        instance.addConnection(0, 1, 0.5);
+        double expectedValue = 1.5;
+        double actualValue = instance.getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(1, instance.getPreviousNode(2));
+    }
+
+    @Test
+    void updateConnection() {
+        Graph graph = GraphGenerator.generateGraph(20, 15, 1, 0.5, 4.0);
+        DynamicShortestPathTree instance = new DynamicShortestPathTree(graph, 0);
+
+        for (int i = 0; i < graph.getNodeCount(); i += 7) {
+            if (graph.getEdgeOnNodeConnection(i, i + 1) != 0 && (i + 1) % graph.getColumnCount() != 0)
+                instance.updateConnection(i, i + 1, i % 2 == 0 ? 0.1 : 8.0);
+        }
+
+        PathFinder pathFinder = new PathFinder(graph, 0);
+        pathFinder.run();
+
+        for (int i = 0; i < graph.getNodeCount(); i++) {
+            double expectedValue = pathFinder.getDistanceToNode(i);
+            double actualValue = instance.getDistanceToNode(i);
+
+            assertEquals(expectedValue, actualValue, 1e-9);
+        }
+    }
+}
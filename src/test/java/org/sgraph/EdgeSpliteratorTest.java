@@ -0,0 +1,35 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeSpliteratorTest {
+
+    @Test
+    void trySplit() {
+        int columnCount = 3;
+        EdgeSpliterator instance = new EdgeSpliterator(columnCount, 0, 8, e -> e % 3 == 0 ? 0 : 1); // 16 rows of edges, every third missing
+        Spliterator.OfInt prefix = instance.trySplit();
+        int[] edges = new int[2 * columnCount * 8];
+        int[] count = {0};
+
+        assertNotNull(prefix);
+        assertEquals(2 * columnCount * 4, prefix.estimateSize()); // split on the row boundary
+
+        prefix.forEachRemaining((int e) -> edges[count[0]++] = e);
+        assertTrue(instance.tryAdvance((int e) -> edges[count[0]++] = e));
+        assertNull(instance.trySplit()); // started mid-row
+        instance.forEachRemaining((int e) -> edges[count[0]++] = e);
+
+        int expectedValue = 2 * columnCount * 8 * 2 / 3;
+        int actualValue = count[0];
+
+        assertEquals(expectedValue, actualValue);
+
+        for (int i = 1; i < count[0]; i++)
+            assertTrue(edges[i - 1] < edges[i] && edges[i] % 3 != 0);
+    }
+}
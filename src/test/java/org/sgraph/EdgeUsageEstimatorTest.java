@@ -0,0 +1,127 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeUsageEstimatorTest {
+
+    // usage of every edge counted from all pairs of nodes with Floyd-Warshall distances and path counts
+    private double[] bruteForceUsage(GraphSnapshot snapshot) {
+        int n = snapshot.getNodeCount();
+        double[][] distance = new double[n][n];
+        double[][] pathCount = new double[n][n];
+
+        for (int s = 0; s < n; s++) {
+            for (int t = 0; t < n; t++)
+                distance[s][t] = s == t ? 0 : Double.POSITIVE_INFINITY;
+
+            for (int direction = 0; direction < GraphSnapshot.DIRECTION_COUNT; direction++) {
+                int t = snapshot.getAdjacentNodeIndex(s, direction);
+
+                if (t != -1)
+                    distance[s][t] = snapshot.getEdge(s, direction);
+            }
+        }
+
+        for (int k = 0; k < n; k++)
+            for (int s = 0; s < n; s++)
+                for (int t = 0; t < n; t++)
+                    distance[s][t] = Math.min(distance[s][t], distance[s][k] + distance[k][t]);
+
+        for (int s = 0; s < n; s++) {
+            Integer[] order = new Integer[n];
+
+            for (int t = 0; t < n; t++)
+                order[t] = t;
+
+            final int source = s;
+            Arrays.sort(order, (a, b) -> Double.compare(distance[source][a], distance[source][b]));
+            pathCount[s][s] = 1;
+
+            for (int t : order) {
+                for (int direction = 0; direction < GraphSnapshot.DIRECTION_COUNT && t != s; direction++) {
+                    int u = snapshot.getAdjacentNodeIndex(t, direction);
+
+                    if (u != -1 && distance[s][u] + snapshot.getEdge(t, direction) == distance[s][t])
+                        pathCount[s][t] += pathCount[s][u];
+                }
+            }
+        }
+
+        double[] usage = new double[snapshot.getEdgeIndexCount()];
+
+        for (int e = 0; e < usage.length; e++) {
+            int u = e / 2;
+            int v = e % 2 == 0 ? u + 1 : u + snapshot.getColumnCount();
+            double weight = snapshot.getEdge(e);
+
+            if (weight == 0)
+                continue;
+
+            for (int s = 0; s < n; s++) {
+                for (int t = 0; t < n; t++) {
+                    if (distance[s][u] + weight + distance[v][t] == distance[s][t])
+                        usage[e] += pathCount[s][u] * pathCount[v][t] / pathCount[s][t];
+
+                    if (distance[s][v] + weight + distance[u][t] == distance[s][t])
+                        usage[e] += pathCount[s][v] * pathCount[u][t] / pathCount[s][t];
+                }
+            }
+        }
+
+        return usage;
+    }
+
+    @Test
+    void estimate() {
+        EdgeUsage instance = new EdgeUsageEstimator(TestGraphs.createDetourGrid()).estimate(6);
+        double[] expectedValue = bruteForceUsage(new GraphSnapshot(TestGraphs.createDetourGrid()));
+        double[] actualValue = instance.getUsages();
+
+        assertArrayEquals(expectedValue, actualValue, 1e-9);
+        assertTrue(instance.isExact());
+        assertEquals(0.0, instance.getUsage(0)); // 0-1 is longer than 0-3-4-1
+    }
+
+    @Test
+    void estimateMatchesBruteForce() {
+        // unit weights produce many equally short paths
+        Graph graph = new Graph(7, 6);
+
+        for (int i = 0; i < 42; i++) {
+            if (i % 7 != 6)
+                graph.addConnection(i, i + 1, 1.0);
+            if (i + 7 < 42)
+                graph.addConnection(i, i + 7, 1.0);
+        }
+
+        GraphSnapshot snapshot = new GraphSnapshot(graph);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            double[] expectedValue = bruteForceUsage(snapshot);
+            double[] actualValue = new EdgeUsageEstimator(snapshot, pool).estimate(snapshot.getNodeCount()).getUsages();
+
+            assertArrayEquals(expectedValue, actualValue, 1e-6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void estimateWithSeed() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 1, 0.5, 4.0);
+        EdgeUsageEstimator instance = new EdgeUsageEstimator(graph);
+        EdgeUsage expectedValue = instance.estimate(50, 7);
+        EdgeUsage actualValue = instance.estimate(50, 7);
+
+        assertArrayEquals(expectedValue.getUsages(), actualValue.getUsages(), 1e-6);
+        assertEquals(50, actualValue.getSampleCount());
+        assertFalse(actualValue.isExact());
+        assertThrows(IllegalArgumentException.class, () -> instance.estimate(0));
+    }
+}
@@ -0,0 +1,78 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphSubgridTest {
+
+    private double[] getEdges(GraphSnapshot snapshot) {
+        double[] edges = new double[snapshot.getEdgeIndexCount()];
+
+        for (int e = 0; e < edges.length; e++)
+            edges[e] = snapshot.getEdge(e);
+
+        return edges;
+    }
+
+    @Test
+    void getEdge() {
+        GraphSubgrid instance = new GraphSnapshot(TestGraphs.createDetourGrid()).subgrid(1, 0, 2, 2); // nodes 1, 2, 4, 5
+        double[] expectedValue = {1.0, 1.0, 0, 1.0, 3.0, 0, 0, 0};
+        double[] actualValue = getEdges(instance);
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(new Range(1.0, 3.0).toString(), instance.getEdgeValueRange().toString());
+        assertEquals(0.0, instance.getEdge(0, Move.MoveDirection.LEFT.ordinal())); // the 0-1 edge lies outside the view
+    }
+
+    @Test
+    void subgrid() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 3, 0.5, 4.0);
+        GraphSubgrid instance = new GraphSnapshot(graph).subgrid(5, 3, 12, 9);
+        GraphSnapshot expectedValue = graph.subgrid(5, 3, 12, 9);
+
+        assertArrayEquals(getEdges(expectedValue), getEdges(instance));
+        assertArrayEquals(getEdges(expectedValue), getEdges(instance.compact()));
+        assertEquals(expectedValue.getEdgeValueRange().toString(), instance.getEdgeValueRange().toString());
+
+        // a view of a view reads straight from the outermost copy
+        GraphSubgrid nested = instance.subgrid(2, 1, 6, 4);
+
+        assertSame(instance.getParent(), nested.getParent());
+        assertArrayEquals(getEdges(graph.subgrid(7, 4, 6, 4)), getEdges(nested));
+        assertEquals(graph.getColumnCount() * 4 + 7, nested.getParentNodeIndex(0));
+        assertEquals(0, nested.getNodeIndex(graph.getColumnCount() * 4 + 7));
+        assertEquals(-1, nested.getNodeIndex(0));
+
+        assertThrows(IllegalArgumentException.class, () -> instance.subgrid(10, 0, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> graph.subgrid(0, -1, 3, 1));
+    }
+
+    @Test
+    void runSearchesOnSubgrid() {
+        Graph graph = GraphGenerator.generateGraph(40, 30, 4, 1.0, 9.0);
+        GraphSubgrid view = new GraphSnapshot(graph).subgrid(8, 6, 20, 15);
+        GraphSnapshot copy = view.compact();
+
+        PathFinder expectedValue = new PathFinder(copy, 0, PathFinder.QueueType.BINARY_HEAP);
+        PathFinder actualValue = new PathFinder(view, 0, PathFinder.QueueType.BINARY_HEAP);
+        expectedValue.run();
+        actualValue.run();
+
+        for (int i = 0; i < view.getNodeCount(); i++)
+            assertEquals(expectedValue.getDistanceToNode(i), actualValue.getDistanceToNode(i));
+
+        assertEquals(BitsetBreadthFirstSearch.countComponents(copy), BitsetBreadthFirstSearch.countComponents(view));
+
+        BreadthFirstSearch search = new BreadthFirstSearch(view, null);
+        int componentCount = 0;
+
+        while (search.hasNotVisitedNode()) {
+            search.run(search.getNotVisitedNode());
+            componentCount++;
+        }
+
+        assertEquals(BitsetBreadthFirstSearch.countComponents(copy), componentCount);
+    }
+}
@@ -2,6 +2,8 @@ package org.sgraph;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GraphTest {
@@ -32,4 +34,147 @@ class GraphTest {
 
         assertEquals(expectedValue, actualValue);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVersion() {
+        Graph instance = new Graph(3, 4);
+        instance.addConnection(0, 1, 1.0);
+        instance.removeConnection(0, 1);
+        instance.removeConnection(0, 1); // already removed
+        long expectedValue = 2;
+        long actualValue = instance.getVersion();
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void calculateEdgeValueRange() {
+        Graph instance = new Graph(3, 2);
+        instance.addConnection(1, 2, 2.0); // last column neighbour
+        instance.addConnection(2, 5, 7.0); // last column, last row neighbour
+        instance.addConnection(3, 4, 0.5);
+        instance.calculateEdgeValueRange();
+        Range actualValue = instance.getEdgeValueRange();
+
+        assertEquals(0.5, actualValue.getMin());
+        assertEquals(7.0, actualValue.getMax());
+
+        // the only edge with the minimal weight was counted, so its removal recalculates the range
+        instance.removeConnection(3, 4);
+
+        assertEquals(2.0, instance.getEdgeValueRange().getMin());
+    }
+
+    @Test
+    void calculateEdgeValueRangeInSingleColumn() {
+        Graph instance = new Graph(1, 3);
+        instance.addConnection(0, 1, 2.0);
+        instance.addConnection(1, 2, 4.0);
+        instance.calculateEdgeValueRange();
+        GraphSnapshot snapshot = new GraphSnapshot(instance);
+
+        assertEquals(2.0, snapshot.getEdge(1)); // lower neighbour directly follows the node
+        assertEquals(0.0, snapshot.getEdge(0));
+        assertEquals("2.0 - 4.0", instance.getEdgeValueRange().toString());
+    }
+
+    @Test
+    void getEdgeHistogram() {
+        GraphSnapshot instance = new GraphSnapshot(TestGraphs.createDetourGrid()); // weights 1.0 (x5), 3.0 and 5.0
+        int[] expectedValue = {5, 2};
+        int[] actualValue = instance.getEdgeHistogram(2);
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertArrayEquals(new int[]{3, 1}, instance.subgrid(1, 0, 2, 2).getEdgeHistogram(2));
+        assertArrayEquals(new int[]{0, 0, 0}, new GraphSnapshot(new Graph(3, 2)).getEdgeHistogram(3));
+        assertThrows(IllegalArgumentException.class, () -> instance.getEdgeHistogram(0));
+    }
+
+    @Test
+    void applyBatch() {
+        Graph instance = GraphGenerator.generateGraph(60, 40, 1, 0.5, 4.0);
+        Random random = new Random(5);
+        EdgeBatch batch = new EdgeBatch();
+
+        for (int round = 0; round < 20; round++) {
+            batch.clear();
+
+            for (int i = 0; i < 300; i++) {
+                int nodeIndex = random.nextInt(instance.getNodeCount());
+                int adjacentNodeIndex = random.nextBoolean() ? nodeIndex + 1 : nodeIndex + 60;
+
+                if (adjacentNodeIndex >= instance.getNodeCount() || (adjacentNodeIndex == nodeIndex + 1 && adjacentNodeIndex % 60 == 0))
+                    continue;
+
+                if (random.nextInt(3) == 0)
+                    batch.removeConnection(nodeIndex, adjacentNodeIndex);
+                else
+                    batch.setConnection(nodeIndex, adjacentNodeIndex, 0.1 + 10 * random.nextDouble());
+            }
+
+            long version = instance.getVersion();
+            instance.applyBatch(batch);
+            Range actualValue = instance.getEdgeValueRange();
+            int actualCount = instance.getSubgraphCount();
+
+            // full recomputation must agree with the incrementally maintained values
+            instance.calculateEdgeValueRange();
+            instance.calculateSubraphCount();
+            Range expectedValue = instance.getEdgeValueRange();
+
+            assertEquals(expectedValue.getMin(), actualValue.getMin());
+            assertEquals(expectedValue.getMax(), actualValue.getMax());
+            assertEquals(instance.getSubgraphCount(), actualCount);
+            assertEquals(version + 1, instance.getVersion());
+        }
+    }
+
+    @Test
+    void applyBatchWithInvalidConnection() {
+        Graph instance = new Graph(3, 2);
+        instance.addConnection(0, 1, 1.0);
+        EdgeBatch batch = new EdgeBatch();
+        batch.setConnection(0, 1, 2.0);
+        batch.setConnection(0, 4, 1.0); // diagonal neighbours
+
+        assertThrows(IllegalArgumentException.class, () -> instance.applyBatch(batch));
+        assertEquals(1.0, instance.getEdgeOnNodeConnection(0, 1));
+    }
+
+    @Test
+    void edges() {
+        Graph instance = new Graph(3, 2);
+        instance.addConnection(1, 2, 2.0);
+        instance.addConnection(2, 5, 7.0);
+        instance.addConnection(3, 4, 0.5);
+        int[] expectedValue = {2, 5, 6};
+        int[] actualValue = instance.edges().toArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(9.5, instance.edges().mapToDouble(instance::getEdge).sum());
+        assertEquals(0.0, instance.getEdge(4)); // last column has no right neighbour
+        assertThrows(IllegalArgumentException.class, () -> instance.getEdge(12));
+    }
+
+    @Test
+    void edgesInParallel() {
+        Graph graph = GraphGenerator.generateGraph(50, 40, 3, 1.0, 9.0);
+        GraphSnapshot snapshot = new GraphSnapshot(graph);
+        int[] expectedValue = snapshot.edges().toArray();
+        int[] actualValue = graph.edges().parallel().toArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(snapshot.edgeWeights().sum(), snapshot.edgeWeights().parallel().sum(), 1e-9);
+        assertEquals(snapshot.getEdgeValueRange().getMax(), snapshot.edgeWeights().parallel().max().orElse(0));
+
+        for (int e : actualValue) {
+            int first = graph.getEdgeFirstNodeIndex(e);
+            int second = graph.getEdgeSecondNodeIndex(e);
+
+            assertEquals(snapshot.getEdgeFirstNodeIndex(e), first);
+            assertEquals(snapshot.getEdgeSecondNodeIndex(e), second);
+            assertEquals(graph.getEdgeOnNodeConnection(first, second), snapshot.getEdge(e));
+            assertEquals(graph.getEdge(e), snapshot.getEdge(e));
+        }
+    }
+}
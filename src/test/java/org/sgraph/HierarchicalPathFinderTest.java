@@ -0,0 +1,49 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalPathFinderTest {
+
+    @Test
+    void findPath() {
+        HierarchicalPathFinder instance = new HierarchicalPathFinder(TestGraphs.createDetourGrid(), 2);
+        PathQueryResult result = instance.findPath(0, 2);
+        int[] expectedValue = {0, 3, 4, 1, 2};
+        int[] actualValue = result.getPath();
+
+        assertEquals(4.0, result.getDistance());
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void findPathMatchesPathFinder() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 1, 0.5, 4.0);
+        HierarchicalPathFinder instance = new HierarchicalPathFinder(graph, 4);
+
+        for (int start = 0; start < graph.getNodeCount(); start += 37) {
+            PathFinder pathFinder = new PathFinder(graph, start);
+            pathFinder.run();
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                double expectedValue = pathFinder.getDistanceToNode(target);
+                double actualValue = instance.findPath(start, target).getDistance();
+
+                assertEquals(expectedValue, actualValue, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void removeConnection() {
+        Graph graph = TestGraphs.createDetourGrid();
+        HierarchicalPathFinder instance = new HierarchicalPathFinder(graph, 2);
+        instance.removeConnection(4, 1);
+        double expectedValue = 6.0;
+        double actualValue = instance.findPath(0, 2).getDistance();
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(0, graph.getEdgeOnNodeConnection(4, 1));
+    }
+}
@@ -0,0 +1,40 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HopDiameterEstimatorTest {
+
+    @Test
+    void estimate() {
+        Graph graph = GraphGenerator.generateGraph(20, 10, 1, 0.5, 4.0);
+        HopDiameterEstimate instance = new HopDiameterEstimator(new GraphSnapshot(graph)).estimate();
+        int expectedValue = 28; // corner to corner
+        int actualValue = instance.getDiameterLowerBound();
+
+        assertEquals(expectedValue, actualValue);
+        assertTrue(instance.isExact());
+        assertEquals(1, instance.getComponentCount());
+        assertEquals(200, instance.getComponentSize(0));
+        assertTrue(instance.getTraversalCount() >= 4);
+    }
+
+    @Test
+    void estimateComponents() {
+        // 3x2 grid split into the path 0-3-4-1 and the edge 2-5
+        Graph graph = new Graph(3, 2);
+        graph.addConnection(0, 3, 1.0);
+        graph.addConnection(3, 4, 1.0);
+        graph.addConnection(4, 1, 1.0);
+        graph.addConnection(2, 5, 1.0);
+
+        HopDiameterEstimate instance = new HopDiameterEstimator(new GraphSnapshot(graph)).estimate();
+
+        assertEquals(2, instance.getComponentCount());
+        assertEquals(3, instance.getDiameterLowerBound(0));
+        assertEquals(2, instance.getComponentLabel(1));
+        assertEquals(1, instance.getDiameterUpperBound(1));
+        assertEquals(3, instance.getDiameterUpperBound());
+    }
+}
@@ -0,0 +1,40 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsochroneFinderTest {
+
+    @Test
+    void calculate() {
+        Isochrone instance = new IsochroneFinder(TestGraphs.createDetourGrid()).calculate(0, 3.0);
+        int[] expectedValue = {0, 1, 3, 4};
+        int[] actualValue = instance.getNodeIndexes();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertArrayEquals(new int[]{2, 8}, instance.getBoundaryEdgeIndexes()); // edges 1-2 and 4-5
+        assertEquals(3.0, instance.getDistanceToNode(1));
+        assertEquals(-1, instance.getDistanceToNode(2));
+    }
+
+    @Test
+    void calculateMatchesPathFinder() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 2, 0.5, 4.0);
+        IsochroneFinder instance = new IsochroneFinder(graph);
+        PathFinder pathFinder = new PathFinder(graph, 17);
+        pathFinder.run();
+
+        for (double radius : new double[]{0, 2.5, 10, 40}) {
+            Isochrone isochrone = instance.calculate(17, radius);
+
+            for (int i = 0; i < graph.getNodeCount(); i++) {
+                double distance = pathFinder.getDistanceToNode(i);
+                boolean expectedValue = distance != -1 && distance <= radius;
+                boolean actualValue = isochrone.contains(i);
+
+                assertEquals(expectedValue, actualValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.InputMismatchException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandmarkPathFinderTest {
+
+    @Test
+    void findPath() {
+        Graph graph = TestGraphs.createDetourGrid();
+        LandmarkPathFinder instance = new LandmarkPathFinder(new GraphSnapshot(graph), LandmarkTable.calculate(graph, 2));
+        PathQueryResult result = instance.findPath(0, 2);
+        int[] expectedValue = {0, 3, 4, 1, 2};
+        int[] actualValue = result.getPath();
+
+        assertEquals(4.0, result.getDistance());
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void findPathMatchesPathFinder() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 3, 0.5, 4.0);
+        LandmarkPathFinder instance = new LandmarkPathFinder(new GraphSnapshot(graph), LandmarkTable.calculate(graph, 4));
+
+        for (int start = 0; start < graph.getNodeCount(); start += 37) {
+            PathFinder pathFinder = new PathFinder(graph, start);
+            pathFinder.run();
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                double expectedValue = pathFinder.getDistanceToNode(target);
+                double actualValue = instance.findPath(start, target).getDistance();
+
+                assertEquals(expectedValue, actualValue, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void readFromFile(@TempDir File directory) throws IOException {
+        Graph graph = TestGraphs.createDetourGrid();
+        File file = new File(directory, "graph.lm");
+        LandmarkTable.calculate(graph, 2).writeToFile(file);
+        LandmarkTable table = LandmarkTable.readFromFile(file);
+        LandmarkPathFinder instance = new LandmarkPathFinder(new GraphSnapshot(graph), table);
+        double expectedValue = 5.0;
+        double actualValue = instance.findPath(5, 0).getDistance();
+
+        assertEquals(expectedValue, actualValue);
+        assertTrue(table.getLowerBound(5, 0) <= expectedValue);
+    }
+
+    private File writeHeader(File directory, int rowCount, int columnCount, int landmarkCount, int... landmarkNodeIndexes) throws IOException {
+        File file = new File(directory, "corrupt.lm");
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x53474c4d);
+            out.writeInt(rowCount);
+            out.writeInt(columnCount);
+            out.writeInt(landmarkCount);
+            out.writeInt(landmarkNodeIndexes.length);
+
+            for (int nodeIndex : landmarkNodeIndexes)
+                out.writeInt(nodeIndex);
+        }
+
+        return file;
+    }
+
+    @Test
+    void readFromFileWithInvalidHeader(@TempDir File directory) throws IOException {
+        File notDivisible = writeHeader(directory, 2, 3, 2, 0, 1, 2);
+        assertThrows(InputMismatchException.class, () -> LandmarkTable.readFromFile(notDivisible));
+
+        File tooLarge = writeHeader(directory, 100000, 100000, 1, 0); // landmarkCount * nodeCount overflows int
+        assertThrows(InputMismatchException.class, () -> LandmarkTable.readFromFile(tooLarge));
+
+        File invalidIndex = writeHeader(directory, 2, 3, 1, 6);
+        assertThrows(InputMismatchException.class, () -> LandmarkTable.readFromFile(invalidIndex));
+    }
+}
@@ -0,0 +1,54 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourceBreadthFirstSearchTest {
+
+    @Test
+    void run() {
+        MultiSourceBreadthFirstSearch instance = new MultiSourceBreadthFirstSearch(new GraphSnapshot(TestGraphs.createDetourGrid()));
+        instance.run(new int[]{0, 1, 4});
+        int[] expectedValue = {3, 2, 2};
+        int[] actualValue = {instance.getEccentricity(0), instance.getEccentricity(1), instance.getEccentricity(2)};
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(5, instance.getFarthestNode(0));
+        assertEquals(1, instance.getHopDistance(2)); // closest source is 1
+        assertEquals(3, instance.getLevelCount());
+    }
+
+    @Test
+    void runMatchesSingleSourceRuns() {
+        Graph graph = GraphGenerator.generateGraph(60, 40, 3, 0.5, 4.0);
+        MultiSourceBreadthFirstSearch instance = new MultiSourceBreadthFirstSearch(new GraphSnapshot(graph));
+        int[] sources = new int[MultiSourceBreadthFirstSearch.MAX_SOURCE_COUNT];
+
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = 37 * i;
+
+        instance.run(sources);
+        int[] expectedValue = new int[sources.length];
+        int[] actualValue = new int[sources.length];
+
+        for (int i = 0; i < sources.length; i++)
+            actualValue[i] = instance.getEccentricity(i);
+
+        for (int i = 0; i < sources.length; i++) {
+            instance.run(new int[]{sources[i]});
+            expectedValue[i] = instance.getEccentricity(0);
+        }
+
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void runWithInvalidSources() {
+        MultiSourceBreadthFirstSearch instance = new MultiSourceBreadthFirstSearch(new GraphSnapshot(TestGraphs.createDetourGrid()));
+
+        assertThrows(IllegalArgumentException.class, () -> instance.run(new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> instance.run(new int[65]));
+        assertThrows(IllegalArgumentException.class, () -> instance.run(new int[]{6}));
+    }
+}
@@ -0,0 +1,51 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourcePathFinderTest {
+
+    // 4x1 path graph 0 - 1 - 2 - 3 with sources at both ends
+    private MultiSourcePathFinder createInstance() {
+        Graph graph = new Graph(4, 1);
+        graph.addConnection(0, 1, 1.0);
+        graph.addConnection(1, 2, 3.0);
+        graph.addConnection(2, 3, 1.0);
+
+        MultiSourcePathFinder instance = new MultiSourcePathFinder(graph, new int[]{0, 3});
+        instance.run();
+
+        return instance;
+    }
+
+    @Test
+    void getDistanceToNode() {
+        MultiSourcePathFinder instance = createInstance();
+        double expectedValue = 1.0;
+        double actualValue = instance.getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void getOwnerOfNode() {
+        MultiSourcePathFinder instance = createInstance();
+        int[] expectedValue = {0, 0, 1, 1};
+        int[] actualValue = new int[4];
+
+        for (int i = 0; i < 4; i++)
+            actualValue[i] = instance.getOwnerOfNode(i);
+
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void getIndexPathToNode() {
+        MultiSourcePathFinder instance = createInstance();
+        int[] expectedValue = {3, 2};
+        int[] actualValue = instance.getIndexPathToNode(2);
+
+        assertArrayEquals(expectedValue, actualValue);
+    }
+}
@@ -0,0 +1,90 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationJournalTest {
+
+    private void assertSameEdges(Graph expected, GraphSnapshot actual) {
+        GraphSnapshot snapshot = new GraphSnapshot(expected);
+
+        for (int e = 0; e < snapshot.getEdgeIndexCount(); e++)
+            assertEquals(snapshot.getEdge(e), actual.getEdge(e));
+    }
+
+    @Test
+    void open(@TempDir File directory) throws IOException {
+        Graph graph = TestGraphs.createDetourGrid();
+
+        try (MutationJournal journal = MutationJournal.create(directory, graph)) {
+            graph.removeConnection(0, 1);
+            graph.addConnection(1, 2, 1.0); // already defined, not recorded
+
+            EdgeBatch batch = new EdgeBatch();
+            batch.setConnection(4, 5, 0.5);
+            batch.setConnection(0, 1, 2.0);
+            graph.applyBatch(batch);
+
+            assertEquals(3, journal.getRecordCount());
+        }
+
+        MutationJournal instance = MutationJournal.open(directory);
+        long expectedValue = 3;
+        long actualValue = instance.getRecordCount();
+
+        assertEquals(expectedValue, actualValue);
+        assertSameEdges(graph, new GraphSnapshot(instance.getGraph()));
+        assertEquals(1, instance.getGraph().getSubgraphCount());
+
+        // edits of the recovered graph continue the same journal
+        instance.getGraph().removeConnection(2, 5);
+        instance.close();
+        graph.removeConnection(2, 5);
+
+        assertSameEdges(graph, MutationJournal.recoverSnapshot(directory));
+    }
+
+    @Test
+    void checkpoint(@TempDir File directory) throws IOException {
+        Graph graph = TestGraphs.createDetourGrid();
+
+        try (MutationJournal instance = MutationJournal.create(directory, graph)) {
+            graph.removeConnection(4, 5);
+            instance.checkpoint();
+
+            assertEquals(0, instance.getRecordCount());
+
+            graph.removeConnection(0, 3);
+        }
+
+        assertSameEdges(graph, MutationJournal.recoverSnapshot(directory));
+    }
+
+    @Test
+    void recoverSnapshot(@TempDir File directory) throws IOException {
+        Graph graph = TestGraphs.createDetourGrid();
+
+        try (MutationJournal journal = MutationJournal.create(directory, graph)) {
+            graph.removeConnection(4, 5);
+            graph.removeConnection(0, 3);
+
+            assertEquals(2, journal.getRecordCount());
+        }
+
+        // a crash in the middle of the last record leaves a torn tail
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, MutationJournal.JOURNAL_FILE_NAME), "rw")) {
+            file.setLength(file.length() - 5);
+        }
+
+        GraphSnapshot actualValue = MutationJournal.recoverSnapshot(directory);
+
+        assertEquals(0.0, actualValue.getEdge(2 * 4)); // 4-5 removal survived
+        assertEquals(1.0, actualValue.getEdge(2 * 0 + 1)); // 0-3 removal was torn
+    }
+}
@@ -0,0 +1,69 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.sgraph.Move.MoveDirection;
+
+class PackedPathTest {
+
+    @Test
+    void toIndexArray() {
+        int[] expectedValue = {0, 3, 4, 1, 2, 5};
+        int[] actualValue = PackedPath.fromIndexPath(expectedValue, 3, 2).toIndexArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void iterator() {
+        List<MoveDirection> expectedValue = List.of(MoveDirection.DOWN, MoveDirection.RIGHT, MoveDirection.UP, MoveDirection.RIGHT);
+        List<MoveDirection> actualValue = new ArrayList<>();
+
+        for (MoveDirection direction : PackedPath.fromIndexPath(new int[]{0, 3, 4, 1, 2}, 3, 2))
+            actualValue.add(direction);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void toMoveString() {
+        // longer than one 64-bit word of moves
+        int[] path = new int[41];
+
+        for (int i = 0; i < path.length; i++)
+            path[i] = i < 21 ? i : 20 + 50 * (i - 20);
+
+        String expectedValue = "R".repeat(20) + "D".repeat(20);
+        String actualValue = PackedPath.fromIndexPath(path, 50, 21).toMoveString();
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void fromPreviousNodes() {
+        // single column grid - vertical moves have the same index offset as horizontal ones
+        PackedPath instance = PackedPath.fromPreviousNodes(new int[]{1, 2, -1}, 0, 1);
+        String expectedValue = "UU";
+        String actualValue = instance.toMoveString();
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(2, instance.getStartNodeIndex());
+    }
+
+    @Test
+    void fromIndexPath() {
+        assertThrows(IllegalArgumentException.class, () -> PackedPath.fromIndexPath(new int[]{2, 3}, 3, 2));
+    }
+
+    @Test
+    void testToString() {
+        String expectedValue = "0 -> 3 -> 4";
+        String actualValue = PackedPath.fromIndexPath(new int[]{0, 3, 4}, 3, 2).toString();
+
+        assertEquals(expectedValue, actualValue);
+    }
+}
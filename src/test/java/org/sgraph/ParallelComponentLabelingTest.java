@@ -0,0 +1,67 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelComponentLabelingTest {
+
+    // 3x2 grid split into {0, 1, 3, 4} and {2, 5}
+    private Graph createGraph() {
+        Graph graph = new Graph(3, 2);
+        graph.addConnection(0, 1, 5.0);
+        graph.addConnection(0, 3, 1.0);
+        graph.addConnection(3, 4, 1.0);
+        graph.addConnection(4, 1, 1.0);
+        graph.addConnection(2, 5, 1.0);
+
+        return graph;
+    }
+
+    @Test
+    void run() {
+        ParallelComponentLabeling instance = new ParallelComponentLabeling(new GraphSnapshot(createGraph()));
+        instance.run();
+        int[] expectedValue = {0, 0, 2, 0, 0, 2};
+        int[] actualValue = instance.getComponentLabels();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(2, instance.getComponentCount());
+    }
+
+    @Test
+    void runMatchesBitsetBreadthFirstSearch() {
+        // tall enough to be split into several stripes merged by concurrent unions
+        Graph graph = GraphGenerator.generateGraph(40, 5000, 20, 0.5, 4.0);
+        GraphSnapshot snapshot = new GraphSnapshot(graph);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelComponentLabeling instance = new ParallelComponentLabeling(snapshot, pool);
+        instance.run();
+        pool.shutdown();
+
+        BitsetBreadthFirstSearch bfs = new BitsetBreadthFirstSearch(snapshot);
+        int expectedValue = 0;
+
+        for (int nodeIndex = bfs.getNotVisitedNode(); nodeIndex != -1; nodeIndex = bfs.getNotVisitedNode()) {
+            expectedValue++;
+            bfs.run(nodeIndex);
+        }
+
+        assertEquals(expectedValue, instance.getComponentCount());
+        assertEquals(graph.getSubgraphCount(), instance.getComponentCount());
+    }
+
+    @Test
+    void getComponentLabel() {
+        ParallelComponentLabeling instance = new ParallelComponentLabeling(new GraphSnapshot(createGraph()));
+
+        assertThrows(IllegalStateException.class, () -> instance.getComponentLabel(0));
+
+        instance.run();
+
+        assertEquals(2, instance.getComponentLabel(5));
+        assertThrows(IllegalArgumentException.class, () -> instance.getComponentLabel(6));
+    }
+}
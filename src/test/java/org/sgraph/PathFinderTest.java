@@ -0,0 +1,84 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathFinderTest {
+
+    @Test
+    void getDistanceToNode() {
+        for (PathFinder.QueueType queueType : PathFinder.QueueType.values()) {
+            PathFinder instance = new PathFinder(TestGraphs.createDetourGrid(), 0, queueType);
+            instance.run();
+            double expectedValue = 4.0;
+            double actualValue = instance.getDistanceToNode(2);
+
+            assertEquals(expectedValue, actualValue);
+        }
+    }
+
+    @Test
+    void getIndexPathToNode() {
+        for (PathFinder.QueueType queueType : PathFinder.QueueType.values()) {
+            PathFinder instance = new PathFinder(TestGraphs.createDetourGrid(), 0, queueType);
+            instance.run();
+            LinkedList<Integer> expectedValue = new LinkedList<>(List.of(0, 3, 4, 1, 2));
+            LinkedList<Integer> actualValue = instance.getIndexPathToNode(2);
+
+            assertEquals(expectedValue, actualValue);
+        }
+    }
+
+    @Test
+    void getPathToNode() {
+        PathFinder instance = new PathFinder(TestGraphs.createDetourGrid(), 5);
+        instance.run();
+        String expectedValue = "5 -> 2";
+        String actualValue = instance.getPathToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void run() {
+        PathFinder instance = new PathFinder(TestGraphs.createDetourGrid(), 0);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertFalse(instance.run(token));
+        assertFalse(instance.isNodeParsed(0));
+
+        // the interrupted search is continued by the next call
+        assertTrue(instance.run(new CancellationToken()));
+        double expectedValue = 4.0;
+        double actualValue = instance.getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    void runWithMask() {
+        GraphSnapshot snapshot = new GraphSnapshot(TestGraphs.createDetourGrid());
+        BlockMask mask = new BlockMask(3, 2);
+        mask.blockNode(4);
+
+        PathFinder instance = new PathFinder(snapshot, 0, PathFinder.QueueType.BINARY_HEAP, mask);
+        instance.run();
+        LinkedList<Integer> expectedValue = new LinkedList<>(List.of(0, 1, 2));
+        LinkedList<Integer> actualValue = instance.getIndexPathToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(6.0, instance.getDistanceToNode(2));
+        assertEquals(-1, instance.getDistanceToNode(4));
+
+        // the same snapshot without the mask is not affected
+        PathFinder unmasked = new PathFinder(snapshot, 0, PathFinder.QueueType.BINARY_HEAP);
+        unmasked.run();
+
+        assertEquals(4.0, unmasked.getDistanceToNode(2));
+    }
+}
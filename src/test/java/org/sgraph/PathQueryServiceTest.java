@@ -0,0 +1,72 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathQueryServiceTest {
+
+    @Test
+    void findPath() {
+        try (PathQueryService instance = new PathQueryService(TestGraphs.createDetourGrid(), 2)) {
+            PathQueryResult result = instance.findPath(0, 2).join();
+            double expectedValue = 4.0;
+            double actualValue = result.getDistance();
+
+            assertEquals(expectedValue, actualValue);
+            assertArrayEquals(new int[]{0, 3, 4, 1, 2}, result.getPath());
+        }
+    }
+
+    @Test
+    void findPathWithToken() {
+        try (PathQueryService instance = new PathQueryService(TestGraphs.createDetourGrid(), 2)) {
+            CompletableFuture<PathQueryResult> result = instance.findPath(0, 2, CancellationToken.withTimeout(0));
+
+            assertThrows(CompletionException.class, result::join);
+            assertEquals(4.0, instance.findPath(0, 2, CancellationToken.withTimeout(60_000)).join().getDistance());
+        }
+    }
+
+    @Test
+    void findPaths() {
+        try (PathQueryService instance = new PathQueryService(TestGraphs.createDetourGrid(), 4)) {
+            List<CompletableFuture<PathQueryResult>> results = instance.findPaths(new int[]{0, 5, 3}, new int[]{5, 0, 3});
+            double[] expectedValue = {5.0, 5.0, 0.0};
+            double[] actualValue = results.stream().mapToDouble(f -> f.join().getDistance()).toArray();
+
+            assertArrayEquals(expectedValue, actualValue);
+        }
+    }
+
+    @Test
+    void findPackedPaths() {
+        try (PathQueryService instance = new PathQueryService(TestGraphs.createDetourGrid(), 2)) {
+            PackedPath[] paths = instance.findPackedPaths(0, new int[]{2, 5, 0}).join();
+            String expectedValue = "DRUR";
+            String actualValue = paths[0].toMoveString();
+
+            assertEquals(expectedValue, actualValue);
+            assertArrayEquals(new int[]{0, 3, 4, 5}, paths[1].toIndexArray());
+            assertEquals(0, paths[2].getLength());
+        }
+    }
+
+    @Test
+    void findShortestPathTree() {
+        Graph graph = new Graph(2, 2);
+        graph.addConnection(0, 1, 2.0);
+
+        try (PathQueryService instance = new PathQueryService(graph, 1)) {
+            ShortestPathTree tree = instance.findShortestPathTree(1).join();
+
+            assertEquals(2.0, tree.getDistanceToNode(0));
+            assertEquals(-1, tree.getDistanceToNode(3));
+            assertNull(tree.getIndexPathToNode(2));
+        }
+    }
+}
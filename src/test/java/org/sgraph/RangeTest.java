@@ -41,6 +41,16 @@ class RangeTest {
         assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    void getNormalizedHSBValue() {
+        Range instance = new Range(2, 6);
+        Color expectedValue = instance.getHSBValue(3);
+        Color actualValue = instance.getNormalizedHSBValue(0.25);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(Color.hsb(0, 1, 1, 1), new Range(2, 2).getNormalizedHSBValue(0));
+    }
+
     @Test
     void testToString() {
         Range instance = new Range(0, 1);
@@ -0,0 +1,64 @@
+package org.sgraph;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+// compares ScanKernel implementations on large arrays; not run by the test suite
+// usage: java --add-modules jdk.incubator.vector -cp <classes> org.sgraph.ScanKernelBenchmark [value count] [rounds]
+final class ScanKernelBenchmark {
+
+    private ScanKernelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int valueCount = args.length > 0 ? Integer.parseInt(args[0]) : 8_000_000;
+        int roundCount = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        // a quarter of missing edges, as in a generated graph with several subgraphs
+        Random random = new Random(1);
+        double[] edges = new double[valueCount];
+
+        for (int i = 0; i < edges.length; i++)
+            edges[i] = random.nextInt(4) == 0 ? 0 : 0.5 + 9.5 * random.nextDouble();
+
+        double[] distances = edges.clone();
+
+        for (int i = 0; i < distances.length; i += 9)
+            distances[i] = Double.MAX_VALUE;
+
+        Range range = ScanKernel.SCALAR.edgeValueRange(edges);
+        double[] target = new double[valueCount];
+
+        System.out.printf("%d values, best of %d rounds, Vector API available: %b%n", valueCount, roundCount, ScanKernel.isVectorAvailable());
+        System.out.printf("%-12s %12s %12s %12s %12s %12s%n", "kernel", "edge range", "dist range", "normalize", "histogram", "count");
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            System.out.printf("%-12s %9.2f ms %9.2f ms %9.2f ms %9.2f ms %9.2f ms%n", kernel,
+                    measure(roundCount, k -> k.edgeValueRange(edges).getMin(), kernel),
+                    measure(roundCount, k -> k.distanceRange(distances).getMax(), kernel),
+                    measure(roundCount, k -> {
+                        k.normalize(edges, range, target);
+                        return target[target.length - 1];
+                    }, kernel),
+                    measure(roundCount, k -> k.histogram(edges, range, 64)[0], kernel),
+                    measure(roundCount, k -> k.count(edges, range.getMax()), kernel));
+        }
+    }
+
+    // returns the shortest time in milliseconds; results are summed so that the calls are not eliminated
+    private static double measure(int roundCount, ToDoubleFunction<ScanKernel> scan, ScanKernel kernel) {
+        long best = Long.MAX_VALUE;
+        double sink = 0;
+
+        for (int round = 0; round < roundCount; round++) {
+            long start = System.nanoTime();
+            sink += scan.applyAsDouble(kernel);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        if (Double.isNaN(sink))
+            System.out.println("ScanKernelBenchmark: Unexpected result.");
+
+        return best / 1e6;
+    }
+}
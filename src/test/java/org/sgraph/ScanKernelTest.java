@@ -0,0 +1,103 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanKernelTest {
+
+    // weights with missing edges and a length that leaves a remainder after unrolling
+    private double[] createValues() {
+        Random random = new Random(3);
+        double[] values = new double[1003];
+
+        for (int i = 0; i < values.length; i++)
+            values[i] = random.nextInt(4) == 0 ? 0 : 0.5 + 9.5 * random.nextDouble();
+
+        return values;
+    }
+
+    @Test
+    void edgeValueRange() {
+        double[] edges = createValues();
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            Range expectedValue = ScanKernel.SCALAR.edgeValueRange(edges);
+            Range actualValue = kernel.edgeValueRange(edges);
+
+            assertEquals(expectedValue.toString(), actualValue.toString());
+            assertEquals("0.0 - 0.0", kernel.edgeValueRange(new double[5]).toString());
+            assertEquals("2.0 - 2.0", kernel.edgeValueRange(new double[]{0, 0, 0, 0, 2.0}).toString());
+        }
+    }
+
+    @Test
+    void distanceRange() {
+        double[] distances = createValues();
+
+        for (int i = 0; i < distances.length; i += 7)
+            distances[i] = Double.MAX_VALUE;
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            Range expectedValue = ScanKernel.SCALAR.distanceRange(distances);
+            Range actualValue = kernel.distanceRange(distances);
+
+            assertEquals(expectedValue.toString(), actualValue.toString());
+            assertEquals(0.0, actualValue.getMin());
+            assertEquals("0.0 - 0.0", kernel.distanceRange(new double[]{Double.MAX_VALUE}).toString());
+        }
+    }
+
+    @Test
+    void normalize() {
+        double[] values = createValues();
+        Range range = ScanKernel.SCALAR.edgeValueRange(values);
+        double[] expectedValue = new double[values.length];
+        ScanKernel.SCALAR.normalize(values, range, expectedValue);
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            double[] actualValue = values.clone();
+            kernel.normalize(actualValue, range, actualValue);
+
+            assertArrayEquals(expectedValue, actualValue, 1e-12);
+            assertThrows(IllegalArgumentException.class, () -> kernel.normalize(values, range, new double[1]));
+        }
+    }
+
+    @Test
+    void histogram() {
+        double[] values = {0, 1.0, 1.5, 2.0, 2.5, 3.0, 4.0, 7.0};
+        int[] expectedValue = {2, 3}; // the upper bound falls into the last bin
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            int[] actualValue = kernel.histogram(values, new Range(1.0, 3.0), 2);
+
+            assertArrayEquals(expectedValue, actualValue);
+            assertArrayEquals(ScanKernel.SCALAR.histogram(createValues(), new Range(0.5, 10.0), 16), kernel.histogram(createValues(), new Range(0.5, 10.0), 16));
+            assertThrows(IllegalArgumentException.class, () -> kernel.histogram(values, new Range(1.0, 3.0), 0));
+        }
+    }
+
+    @Test
+    void count() {
+        double[] values = createValues();
+        Range range = ScanKernel.SCALAR.edgeValueRange(values);
+        values[values.length - 1] = range.getMax(); // the remainder after the vector loop
+
+        for (ScanKernel kernel : ScanKernel.values()) {
+            assertEquals(ScanKernel.SCALAR.count(values, 0), kernel.count(values, 0));
+            assertEquals(2, kernel.count(values, range.getMax()));
+            assertEquals(0, kernel.count(values, -1));
+        }
+    }
+
+    @Test
+    void getDefault() {
+        ScanKernel expectedValue = ScanKernel.isVectorAvailable() ? ScanKernel.VECTOR : ScanKernel.BRANCHLESS;
+        ScanKernel actualValue = ScanKernel.getDefault();
+
+        assertEquals(expectedValue, actualValue);
+    }
+}
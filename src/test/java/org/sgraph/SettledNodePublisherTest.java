@@ -0,0 +1,131 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettledNodePublisherTest {
+
+    // subscriber which records batches and requests a given number of them up front
+    private static class RecordingSubscriber implements Flow.Subscriber<SettledNodeBatch> {
+        private final long initialRequest;
+        private final List<SettledNodeBatch> batches = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean isCompleted;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(SettledNodeBatch item) {
+            batches.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            isCompleted = true;
+        }
+    }
+
+    @Test
+    void run() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 2, 0.5, 4.0);
+        SettledNodePublisher instance = new SettledNodePublisher(new GraphSnapshot(graph), 0, 64, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        instance.subscribe(subscriber);
+        instance.run();
+
+        PathFinder pathFinder = new PathFinder(graph, 0);
+        pathFinder.run();
+        double previousDistance = 0;
+        int eventCount = 0;
+
+        for (SettledNodeBatch batch : subscriber.batches) {
+            for (int i = 0; i < batch.getSize(); i++) {
+                double expectedValue = pathFinder.getDistanceToNode(batch.getNodeIndex(i));
+                double actualValue = batch.getDistance(i);
+
+                assertEquals(expectedValue, actualValue, 1e-9);
+                assertTrue(actualValue >= previousDistance); // nodes are settled in order of distance
+                previousDistance = actualValue;
+                eventCount++;
+            }
+        }
+
+        assertEquals(instance.getSettledNodeCount(), eventCount);
+        assertTrue(subscriber.isCompleted);
+    }
+
+    @Test
+    void subscribe() {
+        // one node per batch, but the subscriber asks for a single batch until the search is over
+        SettledNodePublisher instance = new SettledNodePublisher(new GraphSnapshot(TestGraphs.createDetourGrid()), 0, 1, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        instance.subscribe(subscriber);
+        instance.run();
+
+        assertFalse(subscriber.isCompleted);
+        subscriber.subscription.request(1);
+
+        int[] expectedValue = {1, 5};
+        int[] actualValue = subscriber.batches.stream().mapToInt(SettledNodeBatch::getSize).toArray();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(0, subscriber.batches.get(1).getPreviousNode(0)); // node 3 comes right after the start
+        assertTrue(subscriber.isCompleted);
+    }
+
+    @Test
+    void toShortestPathTree() {
+        Graph graph = TestGraphs.createDetourGrid();
+        SettledNodePublisher instance = new SettledNodePublisher(new GraphSnapshot(graph), 0, 2, Runnable::run);
+
+        assertThrows(IllegalStateException.class, instance::toShortestPathTree);
+
+        instance.run();
+        ShortestPathTree tree = instance.toShortestPathTree();
+        double expectedValue = 4.0;
+        double actualValue = tree.getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+        assertFalse(instance.isAbandoned());
+    }
+
+    @Test
+    void toShortestPathTreeAfterCancel() {
+        Graph graph = GraphGenerator.generateGraph(30, 20, 1, 0.5, 4.0);
+        SettledNodePublisher instance = new SettledNodePublisher(new GraphSnapshot(graph), 0, 10, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(SettledNodeBatch item) {
+                super.onNext(item);
+                super.subscription.cancel();
+            }
+        };
+        instance.subscribe(subscriber);
+        instance.run();
+
+        int expectedValue = 10;
+        int actualValue = instance.getSettledNodeCount();
+
+        assertEquals(expectedValue, actualValue);
+        assertTrue(instance.isAbandoned());
+        assertThrows(IllegalStateException.class, instance::toShortestPathTree); // a partial tree must not be cached as complete
+    }
+}
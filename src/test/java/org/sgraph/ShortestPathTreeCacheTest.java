@@ -0,0 +1,73 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathTreeCacheTest {
+
+    @Test
+    void getShortestPathTree() {
+        ShortestPathTreeCache instance = new ShortestPathTreeCache(TestGraphs.createDetourGrid(), 1024);
+        ShortestPathTree first = instance.getShortestPathTree(0);
+        ShortestPathTree second = instance.getShortestPathTree(0);
+
+        assertSame(first, second);
+        assertEquals(4.0, second.getDistanceToNode(2));
+        assertEquals(1, instance.getHitCount());
+        assertEquals(1, instance.getMissCount());
+    }
+
+    @Test
+    void getEvictionCount() {
+        Graph graph = TestGraphs.createDetourGrid();
+        ShortestPathTreeCache instance = new ShortestPathTreeCache(graph, 2 * ShortestPathTreeCache.getTreeSize(new ShortestPathTree(0, new double[6], new int[6])));
+
+        for (int i = 0; i < 3; i++)
+            instance.getShortestPathTree(i);
+
+        instance.getShortestPathTree(2); // the most recently used tree stays cached
+        long expectedValue = 1;
+        long actualValue = instance.getEvictionCount();
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(2, instance.getTreeCount());
+        assertEquals(1, instance.getHitCount());
+    }
+
+    @Test
+    void getInvalidationCount() {
+        Graph graph = TestGraphs.createDetourGrid();
+        ShortestPathTreeCache instance = new ShortestPathTreeCache(graph, 1024);
+        instance.getShortestPathTree(0);
+        graph.removeConnection(4, 1);
+        double expectedValue = 6.0;
+        double actualValue = instance.getShortestPathTree(0).getDistanceToNode(2);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(1, instance.getInvalidationCount());
+        assertEquals(2, instance.getMissCount());
+    }
+
+    @Test
+    void put() {
+        Graph graph = TestGraphs.createDetourGrid();
+        ShortestPathTreeCache instance = new ShortestPathTreeCache(graph, 1024);
+        long version = graph.getVersion();
+        SettledNodePublisher publisher = new SettledNodePublisher(new GraphSnapshot(graph), 0, 2, Runnable::run);
+        publisher.run();
+        ShortestPathTree expectedValue = publisher.toShortestPathTree();
+
+        assertTrue(instance.put(expectedValue, version));
+        assertTrue(instance.contains(0));
+
+        ShortestPathTree actualValue = instance.getShortestPathTree(0);
+
+        assertSame(expectedValue, actualValue);
+        assertEquals(0, instance.getMissCount());
+
+        graph.removeConnection(4, 1); // a tree built before the change is stale
+        assertFalse(instance.put(expectedValue, version));
+        assertFalse(instance.contains(0));
+    }
+}
@@ -0,0 +1,36 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathTreeTest {
+
+    // node 3 is not connected with the start node
+    private ShortestPathTree createTree() {
+        double[] distances = {0, 2.0, 4.0, Double.MAX_VALUE, 3.0};
+        int[] previous = {-1, 0, 1, -1, 1};
+
+        return new ShortestPathTree(0, distances, previous);
+    }
+
+    @Test
+    void getDistanceRange() {
+        ShortestPathTree instance = createTree();
+        String expectedValue = "0.0 - 4.0";
+        String actualValue = instance.getDistanceRange().toString();
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(-1, instance.getDistanceToNode(3));
+    }
+
+    @Test
+    void getNormalizedDistances() {
+        ShortestPathTree instance = createTree();
+        double[] expectedValue = {0, 0.5, 1.0, 0.75};
+        double[] actualValue = instance.getNormalizedDistances(instance.getDistanceRange());
+
+        assertArrayEquals(expectedValue, new double[]{actualValue[0], actualValue[1], actualValue[2], actualValue[4]});
+        assertArrayEquals(createTree().getIndexPathToNode(2), instance.getIndexPathToNode(2));
+    }
+}
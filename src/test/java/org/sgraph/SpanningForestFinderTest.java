@@ -0,0 +1,35 @@
+package org.sgraph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanningForestFinderTest {
+
+    @Test
+    void find() {
+        SpanningForest instance = new SpanningForestFinder(TestGraphs.createDetourGrid()).find();
+        int[] expectedValue = {1, 2, 3, 5, 6}; // edges 0-3, 1-2, 1-4, 2-5 and 3-4
+        int[] actualValue = instance.getEdgeIndexes();
+
+        assertArrayEquals(expectedValue, actualValue);
+        assertEquals(5.0, instance.getTotalWeight());
+        assertEquals(1, instance.getTreeCount());
+        assertFalse(instance.containsEdge(0));
+    }
+
+    @Test
+    void findBoruvka() {
+        Graph graph = GraphGenerator.generateGraph(120, 80, 5, 0.5, 4.0);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SpanningForestFinder instance = new SpanningForestFinder(new GraphSnapshot(graph), pool);
+        SpanningForest expectedValue = instance.findKruskal();
+        SpanningForest actualValue = instance.findBoruvka();
+        pool.shutdown();
+
+        assertArrayEquals(expectedValue.getEdgeBits(), actualValue.getEdgeBits());
+        assertEquals(graph.getSubgraphCount(), actualValue.getTreeCount());
+    }
+}
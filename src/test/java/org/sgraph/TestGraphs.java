@@ -0,0 +1,26 @@
+package org.sgraph;
+
+// graphs shared by the tests of the search and analysis classes
+final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    // 3x2 grid with one cycle:
+    //   0 -5- 1 -1- 2
+    //   1     1     1
+    //   3 -1- 4 -3- 5
+    // the shortest path from 0 to 2 is 0-3-4-1-2 (4.0), so it avoids the direct 0-1 edge
+    static Graph createDetourGrid() {
+        Graph graph = new Graph(3, 2);
+        graph.addConnection(0, 1, 5.0);
+        graph.addConnection(1, 2, 1.0);
+        graph.addConnection(0, 3, 1.0);
+        graph.addConnection(3, 4, 1.0);
+        graph.addConnection(4, 1, 1.0);
+        graph.addConnection(4, 5, 3.0);
+        graph.addConnection(2, 5, 1.0);
+
+        return graph;
+    }
+}